@@ -0,0 +1,67 @@
+package com.github.jgility.core.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.github.jgility.core.planning.Backlog;
+import com.github.jgility.core.requirement.IProductRequirement;
+import com.github.jgility.core.requirement.ProductStory;
+
+/**
+ * Misst das Hinzufügen und Entfernen von Anforderungen eines {@link Backlog} in Abhängigkeit
+ * seiner Größe. Die Größe des {@link Backlog} bleibt während der Messung konstant.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+public class BacklogBenchmark
+{
+
+    @Param( { "1000", "10000", "100000", "1000000" } )
+    private int size;
+
+    private Backlog<IProductRequirement> backlog;
+
+    private ProductStory story;
+
+    @Setup( Level.Trial )
+    public void setUp()
+    {
+        ModelGenerator generator = new ModelGenerator( 42 );
+        backlog = generator.createProductBacklog( size );
+        story = generator.createProductStory();
+    }
+
+    /**
+     * Hängt eine Anforderung an und entfernt sie wieder
+     */
+    @Benchmark
+    public boolean addRemoveLast()
+    {
+        backlog.addRequirement( story );
+        return backlog.removeRequirement( story );
+    }
+
+    /**
+     * Entfernt die erste Anforderung und hängt sie am Ende wieder an
+     */
+    @Benchmark
+    public Backlog<IProductRequirement> removeFirstAddLast()
+    {
+        IProductRequirement first = backlog.getRequirementList().get( 0 );
+        backlog.removeRequirement( first );
+        backlog.addRequirement( first );
+        return backlog;
+    }
+}
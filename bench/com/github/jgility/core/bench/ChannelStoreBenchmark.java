@@ -0,0 +1,97 @@
+package com.github.jgility.core.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.github.jgility.core.persistence.ChannelProductStore;
+import com.github.jgility.core.persistence.Durability;
+import com.github.jgility.core.persistence.XmlProductStore;
+import com.github.jgility.core.project.Product;
+
+/**
+ * Vergleicht das Speichern und Laden über einen {@link java.nio.channels.FileChannel} mit dem
+ * {@link XmlProductStore} für die verschiedenen Stufen der {@link Durability}
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+public class ChannelStoreBenchmark
+{
+
+    @Param( { "NONE", "DATA", "FULL" } )
+    private Durability durability;
+
+    @Param( { "10000" } )
+    private int backlogSize;
+
+    private Path directory;
+
+    private Product product;
+
+    private XmlProductStore xmlStore;
+
+    private ChannelProductStore channelStore;
+
+    @Setup( Level.Trial )
+    public void setUp()
+        throws IOException
+    {
+        ModelGenerator generator = new ModelGenerator( 42 );
+        generator.setProjects( 20 );
+        generator.setProductBacklogSize( backlogSize );
+        product = generator.createProduct();
+        directory = Files.createTempDirectory( "jgility-bench" );
+        xmlStore = new XmlProductStore( directory.resolve( "product.xml" ) );
+        channelStore = new ChannelProductStore( directory.resolve( "product.dat" ), durability );
+        xmlStore.save( product );
+        channelStore.save( product );
+    }
+
+    @TearDown( Level.Trial )
+    public void tearDown()
+        throws IOException
+    {
+        Files.delete( xmlStore.getFile() );
+        Files.delete( channelStore.getFile() );
+        Files.delete( directory );
+    }
+
+    @Benchmark
+    public void saveXml()
+    {
+        xmlStore.save( product );
+    }
+
+    @Benchmark
+    public void saveChannel()
+    {
+        channelStore.save( product );
+    }
+
+    @Benchmark
+    public Product loadXml()
+    {
+        return xmlStore.load();
+    }
+
+    @Benchmark
+    public Product loadChannel()
+    {
+        return channelStore.load();
+    }
+}
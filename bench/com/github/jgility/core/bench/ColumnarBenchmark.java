@@ -0,0 +1,111 @@
+package com.github.jgility.core.bench;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.github.jgility.core.analytics.ColumnarBacklog;
+import com.github.jgility.core.planning.Backlog;
+import com.github.jgility.core.requirement.IProductRequirement;
+import com.github.jgility.core.requirement.Priority;
+import com.github.jgility.core.requirement.RequirementKind;
+
+/**
+ * Vergleicht Auswertungen über die Anforderungs-Objekte eines {@link Backlog} mit denselben
+ * Auswertungen über eine {@link ColumnarBacklog}
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+public class ColumnarBenchmark
+{
+
+    @Param( { "10000", "1000000" } )
+    private int size;
+
+    private Backlog<IProductRequirement> backlog;
+
+    private ColumnarBacklog columns;
+
+    @Setup( Level.Trial )
+    public void setUp()
+    {
+        backlog = new ModelGenerator( 42 ).createProductBacklog( size );
+        columns = new ColumnarBacklog( backlog );
+    }
+
+    /**
+     * Summiert die Schätzung je Anforderungsart über die Objekte
+     */
+    @Benchmark
+    public double[] objectSumByKind()
+    {
+        double[] sums = new double[RequirementKind.values().length];
+        for ( IProductRequirement requirement : backlog.getRequirementList() )
+        {
+            sums[requirement.getRequirementKind().ordinal()] += requirement.getEstimated();
+        }
+        return sums;
+    }
+
+    /**
+     * Summiert die Schätzung je Anforderungsart über die Spalten
+     */
+    @Benchmark
+    public double[] columnarSumByKind()
+    {
+        return columns.sumEstimatedByKind( null );
+    }
+
+    /**
+     * Summiert die Schätzung aller dringenden Fehler über die Objekte
+     */
+    @Benchmark
+    public double objectFilteredSum()
+    {
+        List<IProductRequirement> requirements = backlog.getRequirementList();
+        double sum = 0;
+        for ( int i = 0; i < requirements.size(); i++ )
+        {
+            IProductRequirement requirement = requirements.get( i );
+            if ( Priority.BLOCKER == requirement.getPriority()
+                && RequirementKind.BUG == requirement.getRequirementKind() )
+            {
+                sum += requirement.getEstimated();
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Summiert die Schätzung aller dringenden Fehler über die Spalten
+     */
+    @Benchmark
+    public double columnarFilteredSum()
+    {
+        BitSet selection = columns.selectPriority( Priority.BLOCKER );
+        selection.and( columns.selectKind( RequirementKind.BUG ) );
+        return columns.sumEstimated( selection );
+    }
+
+    /**
+     * Baut die spaltenorientierte Abbildung neu auf
+     */
+    @Benchmark
+    public ColumnarBacklog build()
+    {
+        return new ColumnarBacklog( backlog );
+    }
+}
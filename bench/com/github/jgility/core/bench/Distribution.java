@@ -0,0 +1,145 @@
+package com.github.jgility.core.bench;
+
+import java.util.Random;
+
+/**
+ * Verteilung der Anzahl von Elementen, welche der {@link ModelGenerator} je Ebene erzeugt
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public abstract class Distribution
+{
+
+    /**
+     * Liefert die nächste Anzahl
+     * 
+     * @param random zu verwendender Zufallsgenerator
+     * @return Anzahl größer oder gleich <code>0</code>
+     */
+    public abstract int next( Random random );
+
+    /**
+     * Erzeugt eine Verteilung mit immer gleichem Wert
+     * 
+     * @param value fester Wert
+     * @return konstante {@link Distribution}
+     */
+    public static Distribution constant( final int value )
+    {
+        checkRange( value, value );
+        return new Distribution()
+        {
+            @Override
+            public int next( Random random )
+            {
+                return value;
+            }
+
+            @Override
+            public String toString()
+            {
+                return "constant(" + value + ")";
+            }
+        };
+    }
+
+    /**
+     * Erzeugt eine Gleichverteilung zwischen <code>min</code> und <code>max</code> (jeweils
+     * inklusive)
+     * 
+     * @param min kleinster Wert
+     * @param max größter Wert
+     * @return gleichverteilte {@link Distribution}
+     */
+    public static Distribution uniform( final int min, final int max )
+    {
+        checkRange( min, max );
+        return new Distribution()
+        {
+            @Override
+            public int next( Random random )
+            {
+                return min + random.nextInt( max - min + 1 );
+            }
+
+            @Override
+            public String toString()
+            {
+                return "uniform(" + min + ", " + max + ")";
+            }
+        };
+    }
+
+    /**
+     * Erzeugt eine Normalverteilung, deren Werte auf <code>0</code> bis <code>max</code> begrenzt
+     * werden
+     * 
+     * @param mean Mittelwert
+     * @param deviation Standardabweichung
+     * @param max größter Wert
+     * @return normalverteilte {@link Distribution}
+     */
+    public static Distribution normal( final double mean, final double deviation, final int max )
+    {
+        checkRange( 0, max );
+        return new Distribution()
+        {
+            @Override
+            public int next( Random random )
+            {
+                long value = Math.round( mean + random.nextGaussian() * deviation );
+                return (int) Math.max( 0, Math.min( max, value ) );
+            }
+
+            @Override
+            public String toString()
+            {
+                return "normal(" + mean + ", " + deviation + ", " + max + ")";
+            }
+        };
+    }
+
+    /**
+     * Liest eine Verteilung aus ihrer Textform, z.B. <code>12</code>, <code>uniform:5:20</code>
+     * oder <code>normal:10:3:30</code>
+     * 
+     * @param text Textform der Verteilung
+     * @return gelesene {@link Distribution}
+     * @throws IllegalArgumentException wenn der Text keine gültige Verteilung beschreibt
+     */
+    public static Distribution parse( String text )
+        throws IllegalArgumentException
+    {
+        String[] parts = text.trim().split( ":" );
+        try
+        {
+            if ( 1 == parts.length )
+            {
+                return constant( Integer.parseInt( parts[0] ) );
+            }
+            else if ( "uniform".equals( parts[0] ) && 3 == parts.length )
+            {
+                return uniform( Integer.parseInt( parts[1] ), Integer.parseInt( parts[2] ) );
+            }
+            else if ( "normal".equals( parts[0] ) && 4 == parts.length )
+            {
+                return normal( Double.parseDouble( parts[1] ), Double.parseDouble( parts[2] ),
+                               Integer.parseInt( parts[3] ) );
+            }
+        }
+        catch ( NumberFormatException e )
+        {
+            throw new IllegalArgumentException( "invalid distribution: " + text, e );
+        }
+        throw new IllegalArgumentException( "invalid distribution: " + text );
+    }
+
+    private static void checkRange( int min, int max )
+        throws IllegalArgumentException
+    {
+        if ( min < 0 || max < min )
+        {
+            throw new IllegalArgumentException( "invalid range: " + min + " - " + max );
+        }
+    }
+}
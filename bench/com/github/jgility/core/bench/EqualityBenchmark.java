@@ -0,0 +1,130 @@
+package com.github.jgility.core.bench;
+
+import java.util.GregorianCalendar;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.github.jgility.core.planning.IIteration;
+import com.github.jgility.core.planning.Iteration;
+import com.github.jgility.core.planning.Release;
+import com.github.jgility.core.project.Person;
+import com.github.jgility.core.requirement.IProductRequirement;
+import com.github.jgility.core.requirement.IterationStory;
+
+/**
+ * Misst {@link Object#equals(Object)} und {@link Object#hashCode()} der Modellklassen. Mit
+ * <code>-prof gc</code> muss <code>gc.alloc.rate.norm</code> für alle Methoden 0 B/op betragen,
+ * z.B. <code>ant benchmark -Dbench.args="-prof gc Equality"</code>.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+public class EqualityBenchmark
+{
+
+    @Param( { "100000" } )
+    private int size;
+
+    private Set<IProductRequirement> storySet;
+
+    private IProductRequirement[] stories;
+
+    private IterationStory story;
+
+    private Release release;
+
+    private Release releaseCopy;
+
+    private Person person;
+
+    private Person personCopy;
+
+    private int index;
+
+    @Setup( Level.Trial )
+    public void setUp()
+    {
+        ModelGenerator generator = new ModelGenerator( 42 );
+        List<IProductRequirement> storyList = generator.createProductStories( size );
+        stories = storyList.toArray( new IProductRequirement[size] );
+        storySet = new HashSet<>( storyList );
+
+        generator.setStoriesPerIteration( 10 );
+        generator.setTasksPerStory( Distribution.constant( 3 ) );
+        generator.setDependenciesPerStory( Distribution.constant( 2 ) );
+        release = generator.createRelease( new GregorianCalendar( 2012, 0, 2 ), 4 );
+        releaseCopy = new Release( release.getStart(), release.getEnd() );
+        for ( IIteration iteration : release.getIterationList() )
+        {
+            Iteration iterationCopy = new Iteration( iteration.getStart(), iteration.getEnd() );
+            iterationCopy.getIterationBacklog()
+                .addAllRequirement( iteration.getIterationBacklog().getRequirementList() );
+            releaseCopy.addIteration( iterationCopy );
+        }
+        story =
+            (IterationStory) release.getIteration( 1 ).getIterationBacklog().getRequirementList()
+                .get( 0 );
+
+        person = new Person( "Max", "Mustermann", "max@example.com" );
+        personCopy =
+            new Person( new String( "Max" ), new String( "Mustermann" ),
+                        new String( "max@example.com" ) );
+    }
+
+    @Benchmark
+    public boolean hashSetContains()
+    {
+        index = ( index + 1 ) % size;
+        return storySet.contains( stories[index] );
+    }
+
+    @Benchmark
+    public int storyHashCode()
+    {
+        return story.hashCode();
+    }
+
+    @Benchmark
+    public boolean storyEquals()
+    {
+        return story.equals( story );
+    }
+
+    @Benchmark
+    public int releaseHashCode()
+    {
+        return release.hashCode();
+    }
+
+    @Benchmark
+    public boolean releaseEquals()
+    {
+        return release.equals( releaseCopy );
+    }
+
+    @Benchmark
+    public int personHashCode()
+    {
+        return person.hashCode();
+    }
+
+    @Benchmark
+    public boolean personEquals()
+    {
+        return person.equals( personCopy );
+    }
+}
@@ -0,0 +1,115 @@
+package com.github.jgility.core.bench;
+
+import java.io.OutputStream;
+import java.util.GregorianCalendar;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.github.jgility.core.exchange.ExportFormat;
+import com.github.jgility.core.exchange.StoryExporter;
+import com.github.jgility.core.planning.Backlog;
+import com.github.jgility.core.planning.Release;
+import com.github.jgility.core.requirement.IProductRequirement;
+
+/**
+ * Misst den Export eines Backlogs als CSV und JSON in einen {@link OutputStream}, welcher die
+ * Ausgabe nur zählt, sowie den Burndown und die Textausgabe eines Releases.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+public class ExportBenchmark
+{
+
+    @Param( { "100000" } )
+    private int rows;
+
+    private Backlog<IProductRequirement> backlog;
+
+    private Release release;
+
+    private StoryExporter csvExporter;
+
+    private StoryExporter jsonExporter;
+
+    @Setup( Level.Trial )
+    public void setUp()
+    {
+        ModelGenerator generator = new ModelGenerator( 42 );
+        backlog = generator.createProductBacklog( rows );
+        release = generator.createRelease( new GregorianCalendar( 2012, 0, 1 ), 20 );
+        csvExporter = new StoryExporter( ExportFormat.CSV );
+        jsonExporter = new StoryExporter( ExportFormat.JSON );
+    }
+
+    /**
+     * Exportiert das Backlog als CSV
+     */
+    @Benchmark
+    public long exportCsv()
+    {
+        CountingOutputStream output = new CountingOutputStream();
+        csvExporter.exportBacklog( backlog, output );
+        return output.count;
+    }
+
+    /**
+     * Exportiert das Backlog als JSON
+     */
+    @Benchmark
+    public long exportJson()
+    {
+        CountingOutputStream output = new CountingOutputStream();
+        jsonExporter.exportBacklog( backlog, output );
+        return output.count;
+    }
+
+    /**
+     * Exportiert den Burndown des Releases als CSV
+     */
+    @Benchmark
+    public long exportBurndown()
+    {
+        CountingOutputStream output = new CountingOutputStream();
+        csvExporter.exportBurndown( release, output );
+        return output.count;
+    }
+
+    /**
+     * Textausgabe des Releases
+     */
+    @Benchmark
+    public String releaseToString()
+    {
+        return release.toString();
+    }
+
+    private static final class CountingOutputStream
+        extends OutputStream
+    {
+        private long count;
+
+        @Override
+        public void write( int b )
+        {
+            count++;
+        }
+
+        @Override
+        public void write( byte[] b, int off, int len )
+        {
+            count += len;
+        }
+    }
+}
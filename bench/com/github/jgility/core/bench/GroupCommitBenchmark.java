@@ -0,0 +1,86 @@
+package com.github.jgility.core.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import com.github.jgility.core.persistence.ChannelProductStore;
+import com.github.jgility.core.persistence.Durability;
+import com.github.jgility.core.persistence.GroupCommitProductStore;
+import com.github.jgility.core.project.Product;
+
+/**
+ * Vergleicht gleichzeitige Speicherungen, welche nacheinander auf einen {@link ChannelProductStore}
+ * warten, mit Speicherungen über einen {@link GroupCommitProductStore}
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Threads( 8 )
+public class GroupCommitBenchmark
+{
+
+    @Param( { "1000" } )
+    private int backlogSize;
+
+    private Path directory;
+
+    private Product product;
+
+    private ChannelProductStore channelStore;
+
+    private GroupCommitProductStore groupStore;
+
+    @Setup( Level.Trial )
+    public void setUp()
+        throws IOException
+    {
+        ModelGenerator generator = new ModelGenerator( 42 );
+        generator.setProjects( 5 );
+        generator.setProductBacklogSize( backlogSize );
+        product = generator.createProduct();
+        directory = Files.createTempDirectory( "jgility-bench" );
+        channelStore =
+            new ChannelProductStore( directory.resolve( "product.dat" ), Durability.DATA );
+        groupStore = new GroupCommitProductStore( channelStore );
+    }
+
+    @TearDown( Level.Trial )
+    public void tearDown()
+        throws IOException
+    {
+        groupStore.shutdown();
+        Files.deleteIfExists( channelStore.getFile() );
+        Files.delete( directory );
+    }
+
+    @Benchmark
+    public void saveDirect()
+    {
+        synchronized ( channelStore )
+        {
+            channelStore.save( product );
+        }
+    }
+
+    @Benchmark
+    public void saveGroupCommit()
+    {
+        groupStore.save( product );
+    }
+}
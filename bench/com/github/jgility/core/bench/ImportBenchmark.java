@@ -0,0 +1,101 @@
+package com.github.jgility.core.bench;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.github.jgility.core.exchange.ImportResult;
+import com.github.jgility.core.exchange.StoryImporter;
+import com.github.jgility.core.planning.Backlog;
+import com.github.jgility.core.requirement.IProductRequirement;
+import com.github.jgility.core.requirement.Priority;
+import com.github.jgility.core.requirement.ProductStory;
+import com.github.jgility.core.requirement.RequirementKind;
+
+/**
+ * Misst den Import von {@link ProductStory}s aus CSV und JSON im Vergleich zum einzelnen Anlegen
+ * und Hinzufügen. Das Ergebnis in Datensätzen je Sekunde ergibt sich aus <code>rows</code> durch
+ * die gemessene Zeit.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+public class ImportBenchmark
+{
+
+    @Param( { "100000" } )
+    private int rows;
+
+    private String csv;
+
+    private String json;
+
+    private StoryImporter importer;
+
+    @Setup( Level.Trial )
+    public void setUp()
+    {
+        StringBuilder csvBuilder =
+            new StringBuilder( "id,title,description,estimated,priority,requester,"
+                + "requirementKind\n" );
+        StringBuilder jsonBuilder = new StringBuilder( "[" );
+        for ( int i = 1; i <= rows; i++ )
+        {
+            csvBuilder.append( i ).append( ",Story " ).append( i )
+                .append( ",\"Generated story, number " ).append( i )
+                .append( "\",3.5,MAJOR,Requester,USER_STORY\n" );
+            jsonBuilder.append( i > 1 ? ",\n" : "\n" ).append( "{\"id\":" ).append( i )
+                .append( ",\"title\":\"Story " ).append( i )
+                .append( "\",\"description\":\"Generated story, number " ).append( i )
+                .append( "\",\"estimated\":3.5,\"priority\":\"MAJOR\",\"requester\":\"Requester\","
+                             + "\"requirementKind\":\"USER_STORY\"}" );
+        }
+        csv = csvBuilder.toString();
+        json = jsonBuilder.append( "]" ).toString();
+        importer = new StoryImporter();
+    }
+
+    /**
+     * Importiert alle Datensätze aus CSV
+     */
+    @Benchmark
+    public ImportResult importCsv()
+    {
+        return importer.importCsv( new StringReader( csv ), new Backlog<IProductRequirement>() );
+    }
+
+    /**
+     * Importiert alle Datensätze aus JSON
+     */
+    @Benchmark
+    public ImportResult importJson()
+    {
+        return importer.importJson( new StringReader( json ), new Backlog<IProductRequirement>() );
+    }
+
+    /**
+     * Legt dieselbe Anzahl an Anforderungen einzeln an und fügt sie einzeln hinzu
+     */
+    @Benchmark
+    public Backlog<IProductRequirement> serialConstruction()
+    {
+        Backlog<IProductRequirement> backlog = new Backlog<>();
+        for ( int i = 1; i <= rows; i++ )
+        {
+            backlog.addRequirement( new ProductStory( i, "Story " + i, "Generated story, number "
+                + i, 3.5f, Priority.MAJOR, "Requester", RequirementKind.USER_STORY ) );
+        }
+        return backlog;
+    }
+}
@@ -0,0 +1,396 @@
+package com.github.jgility.core.bench;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import com.github.jgility.core.metrics.Histogram;
+import com.github.jgility.core.metrics.HistogramMetricsRegistry;
+import com.github.jgility.core.metrics.Metrics;
+import com.github.jgility.core.planning.Backlog;
+import com.github.jgility.core.planning.IIteration;
+import com.github.jgility.core.planning.IRelease;
+import com.github.jgility.core.project.Product;
+import com.github.jgility.core.project.Project;
+import com.github.jgility.core.requirement.IIterationRequirement;
+import com.github.jgility.core.requirement.ImplementState;
+import com.github.jgility.core.transaction.UnitOfWork;
+
+/**
+ * Lokaler Lasttest, welcher mit mehreren Threads lesend und schreibend auf ein generiertes
+ * {@link Product} zugreift und Durchsatz sowie Latenz-Perzentile je Operation ausgibt. Jedes
+ * {@link Project} wird, wie in einem Dienst, über eine eigene {@link ReadWriteLock} geschützt.<br>
+ * Parameter werden als <code>name=wert</code> übergeben, z.B.
+ * <code>threads=8 duration=30 writeRatio=0.2 projects=2000 releases=uniform:10:30</code>. Mit
+ * <code>output=datei.json</code> werden die Ergebnisse zusätzlich als JSON geschrieben, mit
+ * <code>metrics=true</code> werden zusätzlich die internen {@link Metrics} der Bibliothek
+ * ausgegeben.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public class LoadHarness
+{
+
+    private static final double[] PERCENTILES = { 50, 90, 99, 99.9 };
+
+    private final Map<String, String> options;
+
+    private final List<Project> projects = new ArrayList<>();
+
+    private final List<ReadWriteLock> locks = new ArrayList<>();
+
+    private final double writeRatio;
+
+    private volatile boolean measuring;
+
+    private volatile boolean running = true;
+
+    private volatile long blackhole;
+
+    /**
+     * Instanziiert einen {@link LoadHarness} mit übergebenen Parametern
+     * 
+     * @param options Parameter des Lasttests
+     */
+    public LoadHarness( Map<String, String> options )
+    {
+        this.options = options;
+        this.writeRatio = Double.parseDouble( option( "writeRatio", "0.2" ) );
+    }
+
+    /**
+     * Startet den Lasttest
+     * 
+     * @param args Parameter in der Form <code>name=wert</code>
+     * @throws Exception wenn der Lasttest nicht ausgeführt werden kann
+     */
+    public static void main( String[] args )
+        throws Exception
+    {
+        Map<String, String> options = new LinkedHashMap<>();
+        for ( String arg : args )
+        {
+            int index = arg.indexOf( '=' );
+            if ( index <= 0 )
+            {
+                throw new IllegalArgumentException( "argument has to be name=value: " + arg );
+            }
+            options.put( arg.substring( 0, index ), arg.substring( index + 1 ) );
+        }
+        new LoadHarness( options ).run();
+    }
+
+    /**
+     * Erzeugt das Modell, führt die Last aus und gibt die Ergebnisse aus
+     * 
+     * @throws InterruptedException wenn der Lasttest unterbrochen wird
+     * @throws IOException wenn die Ergebnisse nicht geschrieben werden können
+     */
+    public void run()
+        throws InterruptedException, IOException
+    {
+        ModelGenerator generator = new ModelGenerator( Long.parseLong( option( "seed", "42" ) ) );
+        generator.setProjects( Integer.parseInt( option( "projects", "200" ) ) );
+        generator.setReleasesPerProject( distribution( "releases", "uniform:10:30" ) );
+        generator.setIterationsPerRelease( distribution( "iterations", "uniform:2:6" ) );
+        generator.setStoriesPerIteration( distribution( "stories", "normal:8:3:20" ) );
+        generator.setTasksPerStory( distribution( "tasks", "uniform:0:4" ) );
+        generator.setDependenciesPerStory( distribution( "dependencies", "uniform:0:2" ) );
+        generator.setTeamSize( distribution( "team", "uniform:3:9" ) );
+
+        long start = System.nanoTime();
+        Product product = generator.createProduct();
+        long generation = System.nanoTime() - start;
+        projects.addAll( product.getProjects() );
+        for ( int i = 0; i < projects.size(); i++ )
+        {
+            locks.add( new ReentrantReadWriteLock() );
+        }
+        System.out.printf( Locale.ROOT, "generated %d projects in %.1f ms%n", projects.size(),
+                           generation / 1e6 );
+
+        int threadCount = Integer.parseInt( option( "threads", "4" ) );
+        long warmup = Long.parseLong( option( "warmup", "5" ) ) * 1000;
+        long duration = Long.parseLong( option( "duration", "30" ) ) * 1000;
+
+        HistogramMetricsRegistry metrics = null;
+        if ( Boolean.parseBoolean( option( "metrics", "false" ) ) )
+        {
+            metrics = new HistogramMetricsRegistry();
+            Metrics.setRegistry( metrics );
+        }
+
+        List<Worker> workers = new ArrayList<>();
+        for ( int i = 0; i < threadCount; i++ )
+        {
+            Worker worker = new Worker( new Random( i ) );
+            workers.add( worker );
+            worker.start();
+        }
+        Thread.sleep( warmup );
+        if ( null != metrics )
+        {
+            metrics.reset();
+        }
+        measuring = true;
+        Thread.sleep( duration );
+        measuring = false;
+        running = false;
+
+        Map<Operation, Histogram> results = new LinkedHashMap<>();
+        long errors = 0;
+        for ( Operation operation : Operation.values() )
+        {
+            results.put( operation, new Histogram() );
+        }
+        for ( Worker worker : workers )
+        {
+            worker.join();
+            errors += worker.errors;
+            for ( Operation operation : Operation.values() )
+            {
+                results.get( operation ).add( worker.histograms[operation.ordinal()] );
+            }
+        }
+
+        print( results, errors, duration, threadCount );
+        if ( null != metrics )
+        {
+            System.out.println( "internal metrics:" );
+            for ( Map.Entry<String, Histogram> entry : metrics.getHistograms().entrySet() )
+            {
+                System.out.printf( Locale.ROOT, "%-24s %s%n", entry.getKey(), entry.getValue() );
+            }
+            Metrics.disable();
+        }
+        String output = options.get( "output" );
+        if ( null != output )
+        {
+            try (Writer writer = new FileWriter( output ))
+            {
+                writeJson( writer, results, errors, duration, threadCount );
+            }
+        }
+    }
+
+    private String option( String name, String defaultValue )
+    {
+        String value = options.get( name );
+        return null == value ? defaultValue : value;
+    }
+
+    private Distribution distribution( String name, String defaultValue )
+    {
+        return Distribution.parse( option( name, defaultValue ) );
+    }
+
+    private void print( Map<Operation, Histogram> results, long errors, long duration,
+                        int threads )
+    {
+        System.out.printf( Locale.ROOT, "threads=%d writeRatio=%.2f duration=%ds errors=%d%n",
+                           threads, writeRatio, duration / 1000, errors );
+        System.out.printf( Locale.ROOT, "%-16s %12s %12s %10s %10s %10s %10s %10s%n",
+                           "operation", "ops", "ops/s", "mean(us)", "p50(us)", "p90(us)",
+                           "p99(us)", "p99.9(us)" );
+        for ( Map.Entry<Operation, Histogram> entry : results.entrySet() )
+        {
+            Histogram histogram = entry.getValue();
+            System.out.printf( Locale.ROOT,
+                               "%-16s %12d %12.0f %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                               entry.getKey().label, histogram.getTotalCount(),
+                               histogram.getTotalCount() * 1000.0 / duration,
+                               histogram.getMean() / 1e3,
+                               histogram.getValueAtPercentile( 50 ) / 1e3,
+                               histogram.getValueAtPercentile( 90 ) / 1e3,
+                               histogram.getValueAtPercentile( 99 ) / 1e3,
+                               histogram.getValueAtPercentile( 99.9 ) / 1e3 );
+        }
+    }
+
+    private void writeJson( Writer writer, Map<Operation, Histogram> results, long errors,
+                            long duration, int threads )
+    {
+        PrintWriter out = new PrintWriter( writer );
+        out.printf( Locale.ROOT, "{\"threads\":%d,\"writeRatio\":%s,\"durationMs\":%d,"
+            + "\"errors\":%d,\"operations\":[", threads, writeRatio, duration, errors );
+        String separator = "";
+        for ( Map.Entry<Operation, Histogram> entry : results.entrySet() )
+        {
+            Histogram histogram = entry.getValue();
+            out.printf( Locale.ROOT, "%s{\"name\":\"%s\",\"count\":%d,\"throughput\":%.1f,"
+                + "\"meanNanos\":%.1f,\"maxNanos\":%d", separator, entry.getKey().label,
+                        histogram.getTotalCount(), histogram.getTotalCount() * 1000.0 / duration,
+                        histogram.getMean(), histogram.getMax() );
+            for ( double percentile : PERCENTILES )
+            {
+                out.printf( Locale.ROOT, ",\"p%s\":%d",
+                            String.valueOf( percentile ).replace( ".0", "" ),
+                            histogram.getValueAtPercentile( percentile ) );
+            }
+            out.print( "}" );
+            separator = ",";
+        }
+        out.println( "]}" );
+        out.flush();
+    }
+
+    /*
+     * Operationen des Lasttests, lesend oder schreibend
+     */
+    private enum Operation
+    {
+        READ_BACKLOG( "readBacklog", false ),
+
+        READ_PLAN( "readPlan", false ),
+
+        MOVE_STORY( "moveStory", true ),
+
+        REORDER( "reorder", true ),
+
+        CHANGE_STATE( "changeState", true );
+
+        private final String label;
+
+        private final boolean write;
+
+        private Operation( String label, boolean write )
+        {
+            this.label = label;
+            this.write = write;
+        }
+    }
+
+    private final class Worker
+        extends Thread
+    {
+        private final Random random;
+
+        private final Histogram[] histograms = new Histogram[Operation.values().length];
+
+        private final List<Operation> reads = new ArrayList<>();
+
+        private final List<Operation> writes = new ArrayList<>();
+
+        private long errors;
+
+        private long checksum;
+
+        private Worker( Random random )
+        {
+            this.random = random;
+            setDaemon( true );
+            for ( Operation operation : Operation.values() )
+            {
+                histograms[operation.ordinal()] = new Histogram();
+                ( operation.write ? writes : reads ).add( operation );
+            }
+        }
+
+        @Override
+        public void run()
+        {
+            while ( running )
+            {
+                List<Operation> candidates = random.nextDouble() < writeRatio ? writes : reads;
+                Operation operation = candidates.get( random.nextInt( candidates.size() ) );
+                int index = random.nextInt( projects.size() );
+                ReadWriteLock lock = locks.get( index );
+
+                long start = System.nanoTime();
+                ( operation.write ? lock.writeLock() : lock.readLock() ).lock();
+                try
+                {
+                    execute( operation, projects.get( index ) );
+                }
+                catch ( RuntimeException e )
+                {
+                    errors++;
+                }
+                finally
+                {
+                    ( operation.write ? lock.writeLock() : lock.readLock() ).unlock();
+                }
+                if ( measuring )
+                {
+                    histograms[operation.ordinal()].record( System.nanoTime() - start );
+                }
+            }
+            blackhole += checksum;
+        }
+
+        private void execute( Operation operation, Project project )
+        {
+            List<IRelease> releases = project.getReleasePlan();
+            if ( releases.isEmpty() )
+            {
+                return;
+            }
+            IRelease release = releases.get( random.nextInt( releases.size() ) );
+            if ( 0 == release.size() )
+            {
+                return;
+            }
+            Backlog<IIterationRequirement> backlog = randomBacklog( release );
+            switch ( operation )
+            {
+                case READ_BACKLOG:
+                    for ( IIterationRequirement requirement : backlog.getRequirementList() )
+                    {
+                        checksum += Float.floatToIntBits( requirement.getEstimated() );
+                    }
+                    break;
+                case READ_PLAN:
+                    for ( IRelease plan : releases )
+                    {
+                        for ( IIteration iteration : plan.getIterationList() )
+                        {
+                            checksum += iteration.getIterationBacklog().size();
+                        }
+                    }
+                    break;
+                case MOVE_STORY:
+                    Backlog<IIterationRequirement> target = randomBacklog( release );
+                    if ( 0 < backlog.size() && target != backlog )
+                    {
+                        new UnitOfWork().moveRequirements( backlog, target,
+                                                           Collections.singletonList( backlog
+                                                               .getRequirementList().get( 0 ) ) )
+                            .commit();
+                    }
+                    break;
+                case REORDER:
+                    if ( 1 < backlog.size() )
+                    {
+                        backlog.moveRequirement( 0, backlog.size() - 1 );
+                    }
+                    break;
+                case CHANGE_STATE:
+                    if ( 0 < backlog.size() )
+                    {
+                        IIterationRequirement requirement =
+                            backlog.getRequirementList().get( random.nextInt( backlog.size() ) );
+                        ImplementState[] states = ImplementState.values();
+                        requirement.setImplementState( states[random.nextInt( states.length )] );
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private Backlog<IIterationRequirement> randomBacklog( IRelease release )
+        {
+            return release.getIteration( random.nextInt( release.size() ) ).getIterationBacklog();
+        }
+    }
+}
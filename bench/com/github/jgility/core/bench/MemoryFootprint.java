@@ -0,0 +1,103 @@
+package com.github.jgility.core.bench;
+
+import com.github.jgility.core.requirement.CompactProductStory;
+import com.github.jgility.core.requirement.IRequirement;
+import com.github.jgility.core.requirement.ImplementState;
+import com.github.jgility.core.requirement.ImplementableStory;
+import com.github.jgility.core.requirement.Priority;
+import com.github.jgility.core.requirement.ProductStory;
+import com.github.jgility.core.requirement.RequirementKind;
+
+/**
+ * Ermittelt den belegten Heap je Anforderung für {@link ProductStory},
+ * {@link CompactProductStory} und {@link ImplementableStory}. Der Anforderungssteller wird wie
+ * beim Einlesen für jede Anforderung als eigener {@link String} erzeugt.<br>
+ * Aufruf: <code>MemoryFootprint [Anzahl]</code>, Standard sind 500000 Anforderungen
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public final class MemoryFootprint
+{
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private MemoryFootprint()
+    {
+    }
+
+    public static void main( String[] args )
+    {
+        int count = args.length > 0 ? Integer.parseInt( args[0] ) : 500000;
+        measure( "ProductStory", count, new Factory()
+        {
+            @Override
+            public IRequirement create( int id, String requester )
+            {
+                return new ProductStory( id, "Story " + id, "Generated story " + id, 1,
+                                         PRIORITIES[id % PRIORITIES.length], requester,
+                                         RequirementKind.USER_STORY );
+            }
+        } );
+        measure( "CompactProductStory", count, new Factory()
+        {
+            @Override
+            public IRequirement create( int id, String requester )
+            {
+                return new CompactProductStory( id, "Story " + id, "Generated story " + id, 1,
+                                                PRIORITIES[id % PRIORITIES.length], requester,
+                                                RequirementKind.USER_STORY );
+            }
+        } );
+        measure( "ImplementableStory", count, new Factory()
+        {
+            @Override
+            public IRequirement create( int id, String requester )
+            {
+                return new ImplementableStory( id, "Story " + id, "Generated story " + id, 1,
+                                               PRIORITIES[id % PRIORITIES.length], requester,
+                                               RequirementKind.TASK, ImplementState.PENDING );
+            }
+        } );
+    }
+
+    private static void measure( String name, int count, Factory factory )
+    {
+        IRequirement[] stories = new IRequirement[count];
+        long before = usedMemory();
+        for ( int i = 0; i < count; i++ )
+        {
+            stories[i] = factory.create( i + 1, new StringBuilder( "Requester " ).append( i % 16 )
+                .toString() );
+        }
+        long after = usedMemory();
+        System.out.printf( "%-20s %10d stories %8.1f bytes/story%n", name, count,
+                           (double) ( after - before ) / count );
+        if ( stories[count - 1] == null )
+        {
+            throw new IllegalStateException();
+        }
+    }
+
+    private static long usedMemory()
+    {
+        Runtime runtime = Runtime.getRuntime();
+        for ( int i = 0; i < 4; i++ )
+        {
+            System.gc();
+            try
+            {
+                Thread.sleep( 100 );
+            }
+            catch ( InterruptedException e )
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private interface Factory
+    {
+        IRequirement create( int id, String requester );
+    }
+}
@@ -0,0 +1,89 @@
+package com.github.jgility.core.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.github.jgility.core.analytics.MetricCache;
+import com.github.jgility.core.analytics.ReleaseVelocity;
+import com.github.jgility.core.planning.IRelease;
+import com.github.jgility.core.project.Product;
+import com.github.jgility.core.project.Project;
+
+/**
+ * Vergleicht die wiederholte Berechnung der {@link ReleaseVelocity} aller Releases eines
+ * {@link Product} mit dem Abruf aus einem {@link MetricCache}. Für die Berechnung wird die
+ * Kennzahl vor jedem Abruf verworfen.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+public class MetricCacheBenchmark
+{
+
+    @Param( { "20" } )
+    private int projects;
+
+    private List<ReleaseVelocity> metrics;
+
+    private MetricCache cache;
+
+    @Setup( Level.Trial )
+    public void setUp()
+    {
+        ModelGenerator generator = new ModelGenerator( 42 );
+        generator.setProjects( projects );
+        Product product = generator.createProduct();
+        metrics = new ArrayList<>();
+        for ( Project project : product.getProjects() )
+        {
+            for ( IRelease release : project.getReleasePlan() )
+            {
+                metrics.add( new ReleaseVelocity( release ) );
+            }
+        }
+        cache = new MetricCache();
+    }
+
+    @TearDown( Level.Trial )
+    public void tearDown()
+    {
+        cache.close();
+    }
+
+    @Benchmark
+    public float computeVelocity()
+    {
+        float sum = 0;
+        for ( ReleaseVelocity metric : metrics )
+        {
+            cache.invalidate( metric );
+            sum += cache.get( metric );
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public float cachedVelocity()
+    {
+        float sum = 0;
+        for ( ReleaseVelocity metric : metrics )
+        {
+            sum += cache.get( metric );
+        }
+        return sum;
+    }
+}
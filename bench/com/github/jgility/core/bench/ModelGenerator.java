@@ -0,0 +1,351 @@
+package com.github.jgility.core.bench;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Random;
+
+import com.github.jgility.core.planning.Backlog;
+import com.github.jgility.core.planning.Iteration;
+import com.github.jgility.core.planning.Release;
+import com.github.jgility.core.project.Person;
+import com.github.jgility.core.project.Product;
+import com.github.jgility.core.project.Project;
+import com.github.jgility.core.requirement.IIterationRequirement;
+import com.github.jgility.core.requirement.IProductRequirement;
+import com.github.jgility.core.requirement.ImplementState;
+import com.github.jgility.core.requirement.ImplementableStory;
+import com.github.jgility.core.requirement.IterationStory;
+import com.github.jgility.core.requirement.Priority;
+import com.github.jgility.core.requirement.ProductStory;
+import com.github.jgility.core.requirement.RequirementKind;
+
+/**
+ * Erzeugt synthetische Modelle für Benchmarks und Lasttests. Bei gleichem Startwert werden
+ * identische Modelle erzeugt, so dass Messungen reproduzierbar sind. Die Anzahl der Elemente je
+ * Ebene wird über eine {@link Distribution} bestimmt.<br>
+ * Abhängigkeiten zeigen immer auf bereits erzeugte Anforderungen desselben {@link Project}, so dass
+ * der Abhängigkeitsgraph zyklenfrei bleibt.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public class ModelGenerator
+{
+
+    private static final int ITERATION_DAYS = 14;
+
+    private static final ImplementState[] STATES = ImplementState.values();
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private static final RequirementKind[] STORY_KINDS = { RequirementKind.USER_STORY,
+        RequirementKind.BUG, RequirementKind.TECHNICAL_STORY };
+
+    private final Random random;
+
+    private int nextId = 1;
+
+    private int projects = 10;
+
+    private Distribution releasesPerProject = Distribution.constant( 4 );
+
+    private Distribution iterationsPerRelease = Distribution.constant( 6 );
+
+    private Distribution storiesPerIteration = Distribution.constant( 20 );
+
+    private Distribution tasksPerStory = Distribution.constant( 0 );
+
+    private Distribution dependenciesPerStory = Distribution.constant( 0 );
+
+    private Distribution teamSize = Distribution.constant( 0 );
+
+    private int productBacklogSize = 100;
+
+    private List<IIterationRequirement> projectStories = new ArrayList<>();
+
+    /**
+     * Instanziiert einen {@link ModelGenerator} mit übergebenem Startwert
+     * 
+     * @param seed Startwert des Zufallsgenerators
+     */
+    public ModelGenerator( long seed )
+    {
+        random = new Random( seed );
+    }
+
+    /**
+     * Erzeugt ein vollständiges {@link Product} gemäß der eingestellten Größen
+     * 
+     * @return erzeugtes {@link Product}
+     */
+    public Product createProduct()
+    {
+        Product product = new Product( "Product " + nextId(), "Generated product", createPerson() );
+        if ( productBacklogSize > 0 )
+        {
+            product.getProductBacklog()
+                .addAllRequirement( createProductStories( productBacklogSize ) );
+        }
+        for ( int i = 0; i < projects; i++ )
+        {
+            product.addProject( createProject() );
+        }
+        return product;
+    }
+
+    /**
+     * Erzeugt ein {@link Project} mit Team, Releases, Iterationen und Anforderungen
+     * 
+     * @return erzeugtes {@link Project}
+     */
+    public Project createProject()
+    {
+        Project project = new Project( "Project " + nextId(), "Generated project" );
+        int members = teamSize.next( random );
+        for ( int i = 0; i < members; i++ )
+        {
+            project.addMember( createPerson() );
+        }
+
+        projectStories = new ArrayList<>();
+        Calendar start = new GregorianCalendar( 2012, 0, 2 );
+        int releases = releasesPerProject.next( random );
+        for ( int i = 0; i < releases; i++ )
+        {
+            int iterations = iterationsPerRelease.next( random );
+            project.addReleasePlan( createRelease( start, iterations ) );
+            start = addDays( start, Math.max( 1, iterations ) * ITERATION_DAYS + 1 );
+        }
+        return project;
+    }
+
+    /**
+     * Erzeugt ein {@link Release} mit aufeinander folgenden Iterationen
+     * 
+     * @param start Startzeitpunkt des {@link Release}
+     * @param iterations Anzahl der Iterationen
+     * @return erzeugtes {@link Release}
+     */
+    public Release createRelease( Calendar start, int iterations )
+    {
+        Release release =
+            new Release( addDays( start, 0 ), addDays( start, Math.max( 1, iterations )
+                * ITERATION_DAYS ) );
+        for ( int i = 0; i < iterations; i++ )
+        {
+            Iteration iteration =
+                new Iteration( addDays( start, i * ITERATION_DAYS ),
+                               addDays( start, ( i + 1 ) * ITERATION_DAYS ) );
+            int stories = storiesPerIteration.next( random );
+            if ( stories > 0 )
+            {
+                iteration.getIterationBacklog()
+                    .addAllRequirement( createIterationStories( stories ) );
+            }
+            release.addIteration( iteration );
+        }
+        return release;
+    }
+
+    /**
+     * Erzeugt ein {@link Backlog} mit übergebener Anzahl an {@link ProductStory}s
+     * 
+     * @param size Anzahl der Anforderungen
+     * @return erzeugtes {@link Backlog}
+     */
+    public Backlog<IProductRequirement> createProductBacklog( int size )
+    {
+        Backlog<IProductRequirement> backlog = new Backlog<>();
+        if ( size > 0 )
+        {
+            backlog.addAllRequirement( createProductStories( size ) );
+        }
+        return backlog;
+    }
+
+    /**
+     * Erzeugt eine Liste von {@link ProductStory}s mit zufälliger Priorität und Schätzung
+     * 
+     * @param count Anzahl der Anforderungen
+     * @return {@link List} der erzeugten Anforderungen
+     */
+    public List<IProductRequirement> createProductStories( int count )
+    {
+        List<IProductRequirement> stories = new ArrayList<>( count );
+        for ( int i = 0; i < count; i++ )
+        {
+            stories.add( createProductStory() );
+        }
+        return stories;
+    }
+
+    /**
+     * Erzeugt eine {@link ProductStory} mit fortlaufender Nummer
+     * 
+     * @return erzeugte {@link ProductStory}
+     */
+    public ProductStory createProductStory()
+    {
+        int id = nextId();
+        return new ProductStory( id, "Story " + id, "Generated story " + id, randomEstimation(),
+                                 randomPriority(), "Requester", randomKind() );
+    }
+
+    /**
+     * Erzeugt eine Liste von {@link IterationStory}s mit Aufgaben und Abhängigkeiten
+     * 
+     * @param count Anzahl der Anforderungen
+     * @return {@link List} der erzeugten Anforderungen
+     */
+    public List<IIterationRequirement> createIterationStories( int count )
+    {
+        List<IIterationRequirement> stories = new ArrayList<>( count );
+        for ( int i = 0; i < count; i++ )
+        {
+            stories.add( createIterationStory() );
+        }
+        return stories;
+    }
+
+    /**
+     * Erzeugt eine {@link IterationStory} mit Aufgaben und Abhängigkeiten zu bereits erzeugten
+     * Anforderungen
+     * 
+     * @return erzeugte {@link IterationStory}
+     */
+    public IterationStory createIterationStory()
+    {
+        int id = nextId();
+        IterationStory story =
+            new IterationStory( id, "Story " + id, "Generated story " + id, randomEstimation(),
+                                randomPriority(), "Requester", randomKind() );
+        story.setImplementState( STATES[random.nextInt( STATES.length )] );
+
+        int tasks = tasksPerStory.next( random );
+        for ( int i = 0; i < tasks; i++ )
+        {
+            int taskId = nextId();
+            story.addTask( new ImplementableStory( taskId, "Task " + taskId, "Generated task",
+                                                   1 + random.nextInt( 3 ), randomPriority(),
+                                                   "Requester", RequirementKind.TASK,
+                                                   ImplementState.PENDING ) );
+        }
+
+        int dependencies = Math.min( dependenciesPerStory.next( random ), projectStories.size() );
+        for ( int i = 0; i < dependencies; i++ )
+        {
+            story.addDependency( projectStories.get( random.nextInt( projectStories.size() ) ) );
+        }
+        projectStories.add( story );
+        return story;
+    }
+
+    /**
+     * Erzeugt eine {@link Person} mit gültiger E-Mail-Adresse
+     * 
+     * @return erzeugte {@link Person}
+     */
+    public Person createPerson()
+    {
+        int id = nextId();
+        return new Person( "Max", "Mustermann", "max" + id + "@example.com" );
+    }
+
+    private int nextId()
+    {
+        return nextId++;
+    }
+
+    private float randomEstimation()
+    {
+        return 1 + random.nextInt( 13 );
+    }
+
+    private Priority randomPriority()
+    {
+        return PRIORITIES[random.nextInt( PRIORITIES.length )];
+    }
+
+    private RequirementKind randomKind()
+    {
+        return STORY_KINDS[random.nextInt( STORY_KINDS.length )];
+    }
+
+    /*
+     * Erzeugt immer ein neues Datum um Mitternacht, da die Planung übergebene Daten verändert
+     */
+    private static Calendar addDays( Calendar date, int days )
+    {
+        Calendar result =
+            new GregorianCalendar( date.get( Calendar.YEAR ), date.get( Calendar.MONTH ),
+                                   date.get( Calendar.DAY_OF_MONTH ) );
+        result.add( Calendar.DAY_OF_MONTH, days );
+        return result;
+    }
+
+    public int getProjects()
+    {
+        return projects;
+    }
+
+    public void setProjects( int projects )
+    {
+        this.projects = projects;
+    }
+
+    public void setReleasesPerProject( int releasesPerProject )
+    {
+        setReleasesPerProject( Distribution.constant( releasesPerProject ) );
+    }
+
+    public void setReleasesPerProject( Distribution releasesPerProject )
+    {
+        this.releasesPerProject = releasesPerProject;
+    }
+
+    public void setIterationsPerRelease( int iterationsPerRelease )
+    {
+        setIterationsPerRelease( Distribution.constant( iterationsPerRelease ) );
+    }
+
+    public void setIterationsPerRelease( Distribution iterationsPerRelease )
+    {
+        this.iterationsPerRelease = iterationsPerRelease;
+    }
+
+    public void setStoriesPerIteration( int storiesPerIteration )
+    {
+        setStoriesPerIteration( Distribution.constant( storiesPerIteration ) );
+    }
+
+    public void setStoriesPerIteration( Distribution storiesPerIteration )
+    {
+        this.storiesPerIteration = storiesPerIteration;
+    }
+
+    public void setTasksPerStory( Distribution tasksPerStory )
+    {
+        this.tasksPerStory = tasksPerStory;
+    }
+
+    public void setDependenciesPerStory( Distribution dependenciesPerStory )
+    {
+        this.dependenciesPerStory = dependenciesPerStory;
+    }
+
+    public void setTeamSize( Distribution teamSize )
+    {
+        this.teamSize = teamSize;
+    }
+
+    public int getProductBacklogSize()
+    {
+        return productBacklogSize;
+    }
+
+    public void setProductBacklogSize( int productBacklogSize )
+    {
+        this.productBacklogSize = productBacklogSize;
+    }
+}
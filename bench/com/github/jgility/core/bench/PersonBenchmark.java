@@ -0,0 +1,47 @@
+package com.github.jgility.core.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import com.github.jgility.core.project.Person;
+
+/**
+ * Misst die Prüfung der E-Mail-Adresse in {@link Person#setEMail(String)}
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+public class PersonBenchmark
+{
+
+    private final Person person = new Person();
+
+    @Benchmark
+    public Person validEMail()
+    {
+        person.setEMail( "max.mustermann@example.com" );
+        return person;
+    }
+
+    @Benchmark
+    public boolean invalidEMail()
+    {
+        try
+        {
+            person.setEMail( "max.mustermann@example" );
+            return true;
+        }
+        catch ( IllegalArgumentException e )
+        {
+            return false;
+        }
+    }
+}
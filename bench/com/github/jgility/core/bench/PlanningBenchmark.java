@@ -0,0 +1,79 @@
+package com.github.jgility.core.bench;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.github.jgility.core.planning.Release;
+import com.github.jgility.core.util.ReleasePlanningUtils;
+
+/**
+ * Misst die Planungsoperationen {@link Release#addIteration} und
+ * {@link ReleasePlanningUtils#changePlanPerPercent} in Abhängigkeit der Anzahl der Iterationen
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+public class PlanningBenchmark
+{
+
+    @Param( { "4", "8", "16" } )
+    private int iterations;
+
+    private ModelGenerator generator;
+
+    private Release release;
+
+    private Calendar[] ranges;
+
+    private int next;
+
+    @Setup( Level.Trial )
+    public void setUp()
+    {
+        generator = new ModelGenerator( 42 );
+        generator.setStoriesPerIteration( 0 );
+        release = generator.createRelease( new GregorianCalendar( 2012, 0, 2 ), iterations );
+        Calendar start = release.getStart();
+        Calendar end = release.getEnd();
+        Calendar shiftedStart = release.getStart();
+        shiftedStart.add( Calendar.DAY_OF_MONTH, 7 );
+        Calendar shiftedEnd = release.getEnd();
+        shiftedEnd.add( Calendar.DAY_OF_MONTH, 7 );
+        ranges = new Calendar[] { shiftedStart, shiftedEnd, start, end };
+    }
+
+    /**
+     * Erzeugt ein {@link Release} und fügt alle Iterationen hinzu
+     */
+    @Benchmark
+    public Release addIterations()
+    {
+        return generator.createRelease( new GregorianCalendar( 2012, 0, 2 ), iterations );
+    }
+
+    /**
+     * Verschiebt das {@link Release} abwechselnd um eine Woche vor und zurück. Die Länge bleibt
+     * gleich, damit sich keine Rundungsfehler der Iterationslängen aufsummieren.
+     */
+    @Benchmark
+    public Release changePlanPerPercent()
+    {
+        int index = 2 * ( next++ & 1 );
+        ReleasePlanningUtils.changePlanPerPercent( release, (Calendar) ranges[index].clone(),
+                                                   (Calendar) ranges[index + 1].clone() );
+        return release;
+    }
+}
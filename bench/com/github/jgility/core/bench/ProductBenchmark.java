@@ -0,0 +1,84 @@
+package com.github.jgility.core.bench;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.github.jgility.core.project.Product;
+
+/**
+ * Misst {@link Product#hashCode()}, {@link Product#equals(Object)} sowie das Schreiben und Lesen
+ * per JAXB auf tiefen Objekt-Graphen
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+public class ProductBenchmark
+{
+
+    @Param( { "10", "100" } )
+    private int projects;
+
+    private Product product;
+
+    private Product copy;
+
+    private JAXBContext context;
+
+    private byte[] xml;
+
+    @Setup( Level.Trial )
+    public void setUp()
+        throws JAXBException
+    {
+        ModelGenerator generator = new ModelGenerator( 42 );
+        generator.setProjects( projects );
+        product = generator.createProduct();
+        context = JAXBContext.newInstance( Product.class );
+        xml = marshal();
+        copy = (Product) unmarshal();
+    }
+
+    @Benchmark
+    public int deepHashCode()
+    {
+        return product.hashCode();
+    }
+
+    @Benchmark
+    public boolean deepEquals()
+    {
+        return product.equals( copy );
+    }
+
+    @Benchmark
+    public byte[] marshal()
+        throws JAXBException
+    {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        context.createMarshaller().marshal( product, out );
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public Object unmarshal()
+        throws JAXBException
+    {
+        return context.createUnmarshaller().unmarshal( new ByteArrayInputStream( xml ) );
+    }
+}
@@ -0,0 +1,86 @@
+package com.github.jgility.core.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.github.jgility.core.persistence.IProductStore;
+import com.github.jgility.core.persistence.IProductStoreFactory;
+import com.github.jgility.core.persistence.ProductRepository;
+import com.github.jgility.core.persistence.XmlProductStore;
+import com.github.jgility.core.project.Product;
+
+/**
+ * Vergleicht den Zugriff auf ein {@link Product} über den Cache eines {@link ProductRepository}
+ * mit dem Laden aus einem {@link XmlProductStore}
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+public class RepositoryBenchmark
+{
+
+    @Param( { "1000" } )
+    private int backlogSize;
+
+    private Path directory;
+
+    private XmlProductStore store;
+
+    private ProductRepository repository;
+
+    @Setup( Level.Trial )
+    public void setUp()
+        throws IOException
+    {
+        ModelGenerator generator = new ModelGenerator( 42 );
+        generator.setProjects( 5 );
+        generator.setProductBacklogSize( backlogSize );
+        Product product = generator.createProduct();
+        directory = Files.createTempDirectory( "jgility-bench" );
+        store = new XmlProductStore( directory.resolve( "product.xml" ) );
+        store.save( product );
+        repository = new ProductRepository( new IProductStoreFactory()
+        {
+            @Override
+            public IProductStore getStore( String key )
+            {
+                return store;
+            }
+        }, 10 * ProductRepository.estimateWeight( product ) );
+    }
+
+    @TearDown( Level.Trial )
+    public void tearDown()
+        throws IOException
+    {
+        Files.delete( store.getFile() );
+        Files.delete( directory );
+    }
+
+    @Benchmark
+    public Product getCached()
+    {
+        return repository.get( "product" );
+    }
+
+    @Benchmark
+    public Product loadStore()
+    {
+        return store.load();
+    }
+}
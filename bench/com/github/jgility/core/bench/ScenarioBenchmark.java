@@ -0,0 +1,118 @@
+package com.github.jgility.core.bench;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.github.jgility.core.planning.IIteration;
+import com.github.jgility.core.planning.IRelease;
+import com.github.jgility.core.planning.Iteration;
+import com.github.jgility.core.planning.PlanComparison;
+import com.github.jgility.core.planning.Release;
+import com.github.jgility.core.planning.ReleaseScenario;
+import com.github.jgility.core.project.Project;
+import com.github.jgility.core.requirement.IIterationRequirement;
+import com.github.jgility.core.util.ReleasePlanningUtils;
+
+/**
+ * Vergleicht das Anlegen und Umplanen eines {@link ReleaseScenario} mit der vollständigen Kopie
+ * des Projektplans in Abhängigkeit der Anzahl der Releases
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+public class ScenarioBenchmark
+{
+
+    @Param( { "4", "64" } )
+    private int releases;
+
+    private Project project;
+
+    private Calendar shiftedStart;
+
+    private Calendar shiftedEnd;
+
+    @Setup( Level.Trial )
+    public void setUp()
+    {
+        ModelGenerator generator = new ModelGenerator( 42 );
+        generator.setReleasesPerProject( releases );
+        generator.setIterationsPerRelease( 8 );
+        project = generator.createProject();
+        IRelease release = project.getReleasePlan().get( 0 );
+        shiftedStart = release.getStart();
+        shiftedStart.add( Calendar.DAY_OF_MONTH, 7 );
+        shiftedEnd = release.getEnd();
+        shiftedEnd.add( Calendar.DAY_OF_MONTH, 7 );
+    }
+
+    @Benchmark
+    public ReleaseScenario branch()
+    {
+        return project.branchReleasePlan( "Szenario" );
+    }
+
+    /**
+     * Verschiebt das erste {@link IRelease} in einem neuen Szenario
+     */
+    @Benchmark
+    public ReleaseScenario branchAndReschedule()
+    {
+        ReleaseScenario scenario = project.branchReleasePlan( "Szenario" );
+        ReleasePlanningUtils.changePlanPerPercent( scenario.getRelease( 0 ),
+                                                   (Calendar) shiftedStart.clone(),
+                                                   (Calendar) shiftedEnd.clone() );
+        return scenario;
+    }
+
+    @Benchmark
+    public PlanComparison branchRescheduleAndCompare()
+    {
+        return branchAndReschedule().compare();
+    }
+
+    /**
+     * Kopiert den Projektplan vollständig und verschiebt das erste {@link IRelease} der Kopie
+     */
+    @Benchmark
+    public List<IRelease> copyAndReschedule()
+    {
+        List<IRelease> copy = new ArrayList<>();
+        for ( IRelease release : project.getReleasePlan() )
+        {
+            Release releaseCopy = new Release( release.getStart(), release.getEnd() );
+            List<IIteration> iterations = new ArrayList<>();
+            for ( IIteration iteration : release.getIterationList() )
+            {
+                Iteration iterationCopy = new Iteration( iteration.getStart(), iteration.getEnd() );
+                List<IIterationRequirement> requirements =
+                    iteration.getIterationBacklog().getRequirementList();
+                if ( !requirements.isEmpty() )
+                {
+                    iterationCopy.getIterationBacklog()
+                        .addAllRequirement( new ArrayList<>( requirements ) );
+                }
+                iterations.add( iterationCopy );
+            }
+            releaseCopy.addAllIterations( iterations );
+            copy.add( releaseCopy );
+        }
+        ReleasePlanningUtils.changePlanPerPercent( copy.get( 0 ), (Calendar) shiftedStart.clone(),
+                                                   (Calendar) shiftedEnd.clone() );
+        return copy;
+    }
+}
@@ -0,0 +1,94 @@
+package com.github.jgility.core.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.github.jgility.core.planning.Backlog;
+import com.github.jgility.core.requirement.IProductRequirement;
+import com.github.jgility.core.requirement.IRequirement;
+import com.github.jgility.core.search.RequirementIndex;
+
+/**
+ * Vergleicht die Textsuche über einen {@link RequirementIndex} mit dem Durchsuchen aller Titel und
+ * Beschreibungen eines {@link Backlog}
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+public class SearchBenchmark
+{
+
+    @Param( { "10000", "1000000" } )
+    private int size;
+
+    private Backlog<IProductRequirement> backlog;
+
+    private RequirementIndex index;
+
+    private String word;
+
+    @Setup( Level.Trial )
+    public void setUp()
+    {
+        backlog = new ModelGenerator( 42 ).createProductBacklog( size );
+        index = new RequirementIndex();
+        index.index( backlog );
+        word = String.valueOf( backlog.getRequirementList().get( size / 2 ).getID() );
+    }
+
+    @TearDown( Level.Trial )
+    public void tearDown()
+    {
+        index.close();
+    }
+
+    /**
+     * Sucht ein Wort über den Index
+     */
+    @Benchmark
+    public List<IRequirement> indexSearch()
+    {
+        return index.search( "story " + word, 10 );
+    }
+
+    /**
+     * Sucht Wörter mit gemeinsamem Anfang über den Index
+     */
+    @Benchmark
+    public List<IRequirement> indexPrefixSearch()
+    {
+        return index.search( word.substring( 0, word.length() - 1 ) + "*", 10 );
+    }
+
+    /**
+     * Durchsucht Titel und Beschreibung aller Anforderungen
+     */
+    @Benchmark
+    public List<IRequirement> scanSearch()
+    {
+        List<IRequirement> result = new ArrayList<>();
+        for ( IProductRequirement requirement : backlog.getRequirementList() )
+        {
+            if ( requirement.getTitle().contains( word )
+                || requirement.getDescription().contains( word ) )
+            {
+                result.add( requirement );
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,121 @@
+package com.github.jgility.core.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.github.jgility.core.persistence.SnapshotProductStore;
+import com.github.jgility.core.persistence.XmlProductStore;
+import com.github.jgility.core.planning.IRelease;
+import com.github.jgility.core.project.Product;
+import com.github.jgility.core.requirement.IProductRequirement;
+
+/**
+ * Vergleicht die komprimierte Snapshot-Datei mit der XML-Datei beim Speichern und Laden sowie das
+ * Lesen eines einzelnen Releases bzw. einer Backlog-Seite. Die Dateigrößen werden beim Aufbau
+ * ausgegeben.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+public class SnapshotBenchmark
+{
+
+    @Param( { "20" } )
+    private int projects;
+
+    @Param( { "10000" } )
+    private int backlogSize;
+
+    private Path directory;
+
+    private Product product;
+
+    private XmlProductStore xmlStore;
+
+    private SnapshotProductStore snapshotStore;
+
+    @Setup( Level.Trial )
+    public void setUp()
+        throws IOException
+    {
+        ModelGenerator generator = new ModelGenerator( 42 );
+        generator.setProjects( projects );
+        generator.setProductBacklogSize( backlogSize );
+        product = generator.createProduct();
+        directory = Files.createTempDirectory( "jgility-bench" );
+        xmlStore = new XmlProductStore( directory.resolve( "product.xml" ) );
+        snapshotStore = new SnapshotProductStore( directory.resolve( "product.snapshot" ) );
+        xmlStore.save( product );
+        snapshotStore.save( product );
+        System.out.println( "xml: " + Files.size( xmlStore.getFile() ) + " bytes, snapshot: "
+            + Files.size( snapshotStore.getFile() ) + " bytes" );
+    }
+
+    @TearDown( Level.Trial )
+    public void tearDown()
+        throws IOException
+    {
+        snapshotStore.close();
+        Files.delete( xmlStore.getFile() );
+        Files.delete( snapshotStore.getFile() );
+        Files.delete( directory );
+    }
+
+    @Benchmark
+    public void saveXml()
+    {
+        xmlStore.save( product );
+    }
+
+    @Benchmark
+    public void saveSnapshot()
+    {
+        snapshotStore.save( product );
+    }
+
+    @Benchmark
+    public Product loadXml()
+    {
+        return xmlStore.load();
+    }
+
+    @Benchmark
+    public Product loadSnapshot()
+    {
+        return snapshotStore.load();
+    }
+
+    /**
+     * Liest ein Release, ohne die übrigen Blöcke zu entpacken
+     */
+    @Benchmark
+    public IRelease loadRelease()
+    {
+        return snapshotStore.loadRelease( projects / 2, 0 );
+    }
+
+    /**
+     * Liest eine Seite aus der Mitte des Product-Backlogs
+     */
+    @Benchmark
+    public List<IProductRequirement> loadBacklogPage()
+    {
+        return snapshotStore.loadBacklog( backlogSize / 2, 50 );
+    }
+}
@@ -0,0 +1,121 @@
+package com.github.jgility.core.bench;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.github.jgility.core.persistence.PartitionedProductStore;
+import com.github.jgility.core.persistence.XmlProductStore;
+import com.github.jgility.core.project.Product;
+import com.github.jgility.core.project.Project;
+
+/**
+ * Vergleicht das Laden und Speichern eines {@link Product}s als eine XML-Datei mit der Ablage in
+ * einer Partition je {@link Project}. Das Speichern eines einzelnen Projekts schreibt nur dessen
+ * Partition.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+public class StoreBenchmark
+{
+
+    @Param( { "50" } )
+    private int projects;
+
+    private Path directory;
+
+    private Product product;
+
+    private Project project;
+
+    private XmlProductStore xmlStore;
+
+    private PartitionedProductStore partitionedStore;
+
+    @Setup( Level.Trial )
+    public void setUp()
+        throws IOException
+    {
+        ModelGenerator generator = new ModelGenerator( 42 );
+        generator.setProjects( projects );
+        product = generator.createProduct();
+        project = product.getProjects().get( 0 );
+        directory = Files.createTempDirectory( "jgility-bench" );
+        xmlStore = new XmlProductStore( directory.resolve( "product-single.xml" ) );
+        partitionedStore = new PartitionedProductStore( directory.resolve( "partitions" ) );
+        xmlStore.save( product );
+        partitionedStore.save( product );
+    }
+
+    @TearDown( Level.Trial )
+    public void tearDown()
+        throws IOException
+    {
+        delete( directory );
+    }
+
+    @Benchmark
+    public Product loadSingleFile()
+    {
+        return xmlStore.load();
+    }
+
+    @Benchmark
+    public Product loadPartitioned()
+    {
+        return partitionedStore.load();
+    }
+
+    @Benchmark
+    public void saveSingleFile()
+    {
+        xmlStore.save( product );
+    }
+
+    @Benchmark
+    public void savePartitioned()
+    {
+        partitionedStore.save( product );
+    }
+
+    /**
+     * Speichert ein geändertes Projekt, bei einer Datei muss das ganze Produkt geschrieben werden
+     */
+    @Benchmark
+    public void saveProject()
+    {
+        partitionedStore.saveProject( project );
+    }
+
+    private static void delete( Path path )
+        throws IOException
+    {
+        if ( Files.isDirectory( path ) )
+        {
+            try (DirectoryStream<Path> children = Files.newDirectoryStream( path ))
+            {
+                for ( Path child : children )
+                {
+                    delete( child );
+                }
+            }
+        }
+        Files.delete( path );
+    }
+}
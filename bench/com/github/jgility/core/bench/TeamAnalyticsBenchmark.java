@@ -0,0 +1,132 @@
+package com.github.jgility.core.bench;
+
+import java.util.ArrayList;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.github.jgility.core.analytics.TeamAnalytics;
+import com.github.jgility.core.event.ModelEventBus;
+import com.github.jgility.core.planning.IIteration;
+import com.github.jgility.core.planning.IRelease;
+import com.github.jgility.core.project.Product;
+import com.github.jgility.core.project.Project;
+import com.github.jgility.core.project.Team;
+import com.github.jgility.core.requirement.IIterationRequirement;
+import com.github.jgility.core.requirement.ImplementState;
+
+/**
+ * Vergleicht die Abfrage der Kennzahlen aller Teams über eine fortgeschriebene
+ * {@link TeamAnalytics} mit der vollständigen Neuberechnung. Jedes Projekt besitzt ein eigenes
+ * Team, welchem alle Anforderungen des Projekts zugewiesen sind.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+@State( Scope.Thread )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+public class TeamAnalyticsBenchmark
+{
+
+    @Param( { "200" } )
+    private int projects;
+
+    private Product product;
+
+    private List<Team> teams;
+
+    private List<IIterationRequirement> stories;
+
+    private TeamAnalytics analytics;
+
+    private int next;
+
+    @Setup( Level.Trial )
+    public void setUp()
+    {
+        ModelGenerator generator = new ModelGenerator( 42 );
+        generator.setProjects( projects );
+        product = generator.createProduct();
+        teams = new ArrayList<>();
+        stories = new ArrayList<>();
+        for ( Project project : product.getProjects() )
+        {
+            Team team = project.getTeam();
+            teams.add( team );
+            for ( IRelease release : project.getReleasePlan() )
+            {
+                for ( IIteration iteration : release.getIterationList() )
+                {
+                    for ( IIterationRequirement story : iteration.getIterationBacklog()
+                        .getRequirementList() )
+                    {
+                        story.setAssignee( team );
+                        stories.add( story );
+                    }
+                }
+            }
+        }
+        analytics = createAnalytics( ModelEventBus.getDefault() );
+    }
+
+    @TearDown( Level.Trial )
+    public void tearDown()
+    {
+        analytics.close();
+    }
+
+    @Benchmark
+    public float queryTeams()
+    {
+        float sum = 0;
+        for ( Team team : teams )
+        {
+            sum += analytics.getVelocity( team ).getAverageVelocity();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public float updateAndQuery()
+    {
+        IIterationRequirement story = stories.get( next++ % stories.size() );
+        boolean done = ImplementState.DONE == story.getImplementState();
+        story.setImplementState( done ? ImplementState.PENDING : ImplementState.DONE );
+        return analytics.getVelocity( story.getAssignee() ).getAverageVelocity();
+    }
+
+    @Benchmark
+    public float recomputeTeams()
+    {
+        TeamAnalytics fresh = createAnalytics( new ModelEventBus() );
+        float sum = 0;
+        for ( Team team : teams )
+        {
+            sum += fresh.getVelocity( team ).getAverageVelocity();
+        }
+        fresh.close();
+        return sum;
+    }
+
+    private TeamAnalytics createAnalytics( ModelEventBus eventBus )
+    {
+        TeamAnalytics teamAnalytics = new TeamAnalytics( eventBus, TeamAnalytics.DEFAULT_WINDOW );
+        teamAnalytics.setReferenceDate( new GregorianCalendar( 2012, 6, 1 ) );
+        for ( Project project : product.getProjects() )
+        {
+            teamAnalytics.track( project );
+        }
+        return teamAnalytics;
+    }
+}
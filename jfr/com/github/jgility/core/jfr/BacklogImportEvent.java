@@ -0,0 +1,35 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder Event für das Hinzufügen mehrerer Anforderungen in einem Schritt
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+@Name( "com.github.jgility.BacklogImport" )
+@Label( "Backlog Import" )
+@Category( { "Jgility", "Planning" } )
+@Description( "Adding a collection of requirements to a backlog" )
+class BacklogImportEvent
+    extends jdk.jfr.Event
+{
+
+    @Label( "Requirements" )
+    int requirements;
+}
@@ -0,0 +1,165 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.jfr;
+
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+
+import com.github.jgility.core.trace.ITraceSink;
+import com.github.jgility.core.trace.TraceSpan;
+import com.github.jgility.core.trace.TraceType;
+import com.github.jgility.core.trace.Tracing;
+
+/**
+ * Implementiert einen {@link ITraceSink}, welcher Ablaufereignisse als Java Flight Recorder Events
+ * aufzeichnet. Solange keine Aufzeichnung die Events aktiviert hat, wird kein {@link TraceSpan}
+ * erzeugt.<br>
+ * Aktivierung: <code>JfrTraceSink.install()</code>, Aufzeichnung z.B. mit
+ * <code>-XX:StartFlightRecording</code> oder <code>jcmd &lt;pid&gt; JFR.start</code>.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public class JfrTraceSink
+    implements ITraceSink
+{
+
+    private final EventType[] eventTypes;
+
+    /**
+     * Instanziiert ein Objekt der Klasse {@link JfrTraceSink}
+     */
+    public JfrTraceSink()
+    {
+        eventTypes = new EventType[TraceType.values().length];
+        for ( TraceType type : TraceType.values() )
+        {
+            eventTypes[type.ordinal()] = EventType.getEventType( eventClass( type ) );
+        }
+    }
+
+    /**
+     * Aktiviert einen neuen {@link JfrTraceSink} über {@link Tracing#setSink(ITraceSink)}
+     * 
+     * @return aktivierter {@link JfrTraceSink}
+     */
+    public static JfrTraceSink install()
+    {
+        JfrTraceSink sink = new JfrTraceSink();
+        Tracing.setSink( sink );
+        return sink;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see
+     * com.github.jgility.core.trace.ITraceSink#isEnabled(com.github.jgility.core.trace.TraceType)
+     */
+    @Override
+    public boolean isEnabled( TraceType type )
+    {
+        return eventTypes[type.ordinal()].isEnabled();
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.trace.ITraceSink#begin(com.github.jgility.core.trace.TraceSpan)
+     */
+    @Override
+    public void begin( TraceSpan span )
+    {
+        Event event = createEvent( span.getType() );
+        event.begin();
+        span.setHandle( event );
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.trace.ITraceSink#end(com.github.jgility.core.trace.TraceSpan)
+     */
+    @Override
+    public void end( TraceSpan span )
+    {
+        Event event = (Event) span.getHandle();
+        event.end();
+        if ( !event.shouldCommit() )
+        {
+            return;
+        }
+
+        switch ( span.getType() )
+        {
+            case PRODUCT_LOAD:
+                ProductLoadEvent loadEvent = (ProductLoadEvent) event;
+                loadEvent.location = span.getSubject();
+                loadEvent.bytes = span.getBytes();
+                loadEvent.projects = span.getProjects();
+                loadEvent.iterations = span.getIterations();
+                loadEvent.requirements = span.getRequirements();
+                break;
+            case PRODUCT_SAVE:
+                ProductSaveEvent saveEvent = (ProductSaveEvent) event;
+                saveEvent.location = span.getSubject();
+                saveEvent.bytes = span.getBytes();
+                saveEvent.projects = span.getProjects();
+                saveEvent.iterations = span.getIterations();
+                saveEvent.requirements = span.getRequirements();
+                break;
+            case RELEASE_RESCHEDULE:
+                ReleaseRescheduleEvent rescheduleEvent = (ReleaseRescheduleEvent) event;
+                rescheduleEvent.release = span.getSubject();
+                rescheduleEvent.iterations = span.getIterations();
+                rescheduleEvent.requirements = span.getRequirements();
+                break;
+            case BACKLOG_IMPORT:
+                ((BacklogImportEvent) event).requirements = span.getRequirements();
+                break;
+            default:
+                throw new IllegalStateException( "unknown trace type: " + span.getType() );
+        }
+        event.commit();
+    }
+
+    private static Class<? extends Event> eventClass( TraceType type )
+    {
+        switch ( type )
+        {
+            case PRODUCT_LOAD:
+                return ProductLoadEvent.class;
+            case PRODUCT_SAVE:
+                return ProductSaveEvent.class;
+            case RELEASE_RESCHEDULE:
+                return ReleaseRescheduleEvent.class;
+            case BACKLOG_IMPORT:
+                return BacklogImportEvent.class;
+            default:
+                throw new IllegalStateException( "unknown trace type: " + type );
+        }
+    }
+
+    private static Event createEvent( TraceType type )
+    {
+        switch ( type )
+        {
+            case PRODUCT_LOAD:
+                return new ProductLoadEvent();
+            case PRODUCT_SAVE:
+                return new ProductSaveEvent();
+            case RELEASE_RESCHEDULE:
+                return new ReleaseRescheduleEvent();
+            case BACKLOG_IMPORT:
+                return new BacklogImportEvent();
+            default:
+                throw new IllegalStateException( "unknown trace type: " + type );
+        }
+    }
+}
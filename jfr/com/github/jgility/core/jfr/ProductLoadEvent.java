@@ -0,0 +1,51 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder Event für das Laden eines Produkts aus einem Speicher
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+@Name( "com.github.jgility.ProductLoad" )
+@Label( "Product Load" )
+@Category( { "Jgility", "Persistence" } )
+@Description( "Loading a product from a product store" )
+@StackTrace( false )
+class ProductLoadEvent
+    extends jdk.jfr.Event
+{
+
+    @Label( "Location" )
+    String location;
+
+    @Label( "Size" )
+    @DataAmount
+    long bytes;
+
+    @Label( "Projects" )
+    int projects;
+
+    @Label( "Iterations" )
+    int iterations;
+
+    @Label( "Requirements" )
+    int requirements;
+}
@@ -0,0 +1,51 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder Event für das Speichern eines Produkts in einen Speicher
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+@Name( "com.github.jgility.ProductSave" )
+@Label( "Product Save" )
+@Category( { "Jgility", "Persistence" } )
+@Description( "Saving a product to a product store" )
+@StackTrace( false )
+class ProductSaveEvent
+    extends jdk.jfr.Event
+{
+
+    @Label( "Location" )
+    String location;
+
+    @Label( "Size" )
+    @DataAmount
+    long bytes;
+
+    @Label( "Projects" )
+    int projects;
+
+    @Label( "Iterations" )
+    int iterations;
+
+    @Label( "Requirements" )
+    int requirements;
+}
@@ -0,0 +1,41 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder Event für das Verschieben eines Releases samt seiner Iterationen
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+@Name( "com.github.jgility.ReleaseReschedule" )
+@Label( "Release Reschedule" )
+@Category( { "Jgility", "Planning" } )
+@Description( "Changing the start and end of a release and its iterations" )
+class ReleaseRescheduleEvent
+    extends jdk.jfr.Event
+{
+
+    @Label( "Release" )
+    String release;
+
+    @Label( "Iterations" )
+    int iterations;
+
+    @Label( "Requirements" )
+    int requirements;
+}
@@ -0,0 +1,102 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.analytics;
+
+import org.apache.commons.lang3.ObjectUtils;
+
+import com.github.jgility.core.planning.Backlog;
+import com.github.jgility.core.requirement.IImplementableRequirement;
+import com.github.jgility.core.requirement.IRequirement;
+import com.github.jgility.core.requirement.ImplementState;
+import com.github.jgility.core.requirement.Priority;
+
+/**
+ * Anzahl der Anforderungen eines {@link Backlog} mit der Priorität {@link Priority#BLOCKER},
+ * welche nicht erledigt sind
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public class BlockerCount
+    implements IDerivedMetric<Integer>
+{
+
+    private final Backlog<? extends IRequirement> backlog;
+
+    /**
+     * Instanziiert die Kennzahl für ein {@link Backlog}
+     * 
+     * @param backlog auszuwertendes {@link Backlog}
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     */
+    public BlockerCount( Backlog<? extends IRequirement> backlog )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, backlog ) )
+        {
+            throw new IllegalArgumentException( "null-object as backlog is not allowed" );
+        }
+        this.backlog = backlog;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see
+     * com.github.jgility.core.analytics.IDerivedMetric#compute(com.github.jgility.core.analytics
+     * .MetricDependencies)
+     */
+    @Override
+    public Integer compute( MetricDependencies dependencies )
+    {
+        dependencies.readsRequirements( backlog );
+        int blockers = 0;
+        for ( IRequirement requirement : backlog.getRequirementList() )
+        {
+            dependencies.readsPriority( requirement );
+            if ( Priority.BLOCKER != requirement.getPriority() )
+            {
+                continue;
+            }
+            if ( requirement instanceof IImplementableRequirement )
+            {
+                IImplementableRequirement implementable = (IImplementableRequirement) requirement;
+                dependencies.readsImplementState( implementable );
+                if ( ImplementState.DONE == implementable.getImplementState() )
+                {
+                    continue;
+                }
+            }
+            blockers++;
+        }
+        return blockers;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.lang.Object#hashCode()
+     */
+    @Override
+    public int hashCode()
+    {
+        return System.identityHashCode( backlog );
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.lang.Object#equals(java.lang.Object)
+     */
+    @Override
+    public boolean equals( Object obj )
+    {
+        return obj instanceof BlockerCount && backlog == ( (BlockerCount) obj ).backlog;
+    }
+}
@@ -0,0 +1,570 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.analytics;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.ObjectUtils;
+
+import com.github.jgility.core.planning.Backlog;
+import com.github.jgility.core.requirement.IImplementableRequirement;
+import com.github.jgility.core.requirement.IRequirement;
+import com.github.jgility.core.requirement.ImplementState;
+import com.github.jgility.core.requirement.Priority;
+import com.github.jgility.core.requirement.RequirementKind;
+
+/**
+ * Spaltenorientierte, unveränderliche Abbildung eines {@link Backlog} für Auswertungen. Jede
+ * Eigenschaft der Anforderungen liegt in einem eigenen primitiven Array, der Anforderungssteller
+ * wird über ein Wörterbuch als Nummer abgelegt. Auswertungen laufen dadurch ohne Zugriff auf die
+ * einzelnen Anforderungs-Objekte über zusammenhängenden Speicher.<br>
+ * Filter liefern ein {@link BitSet} mit den passenden Zeilen, welches mit
+ * {@link BitSet#and(BitSet)} bzw. {@link BitSet#or(BitSet)} verknüpft und an die Aggregationen
+ * übergeben werden kann. <code>null</code> als Auswahl steht für alle Zeilen.<br>
+ * Nach Änderungen am {@link Backlog} wird eine neue {@link ColumnarBacklog} erzeugt.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public class ColumnarBacklog
+{
+
+    /**
+     * Kennung in der Status-Spalte für Anforderungen ohne {@link ImplementState}
+     */
+    public static final byte NO_STATE = -1;
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private static final RequirementKind[] KINDS = RequirementKind.values();
+
+    private static final ImplementState[] STATES = ImplementState.values();
+
+    private final int size;
+
+    private final int[] ids;
+
+    private final float[] estimated;
+
+    private final float[] effective;
+
+    private final byte[] priorities;
+
+    private final byte[] kinds;
+
+    private final byte[] states;
+
+    private final int[] requesters;
+
+    private final String[] requesterDictionary;
+
+    /**
+     * Erzeugt die spaltenorientierte Abbildung eines {@link Backlog}
+     * 
+     * @param backlog abzubildendes {@link Backlog}
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     */
+    public ColumnarBacklog( Backlog<? extends IRequirement> backlog )
+        throws IllegalArgumentException
+    {
+        this( checkBacklog( backlog ).getRequirementList() );
+    }
+
+    /**
+     * Erzeugt die spaltenorientierte Abbildung einer {@link List} von Anforderungen
+     * 
+     * @param requirements abzubildende Anforderungen
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     */
+    public ColumnarBacklog( List<? extends IRequirement> requirements )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, requirements ) )
+        {
+            throw new IllegalArgumentException( "null-object as requirements is not allowed" );
+        }
+
+        size = requirements.size();
+        ids = new int[size];
+        estimated = new float[size];
+        effective = new float[size];
+        priorities = new byte[size];
+        kinds = new byte[size];
+        states = new byte[size];
+        requesters = new int[size];
+
+        Map<String, Integer> dictionary = new HashMap<>();
+        for ( int i = 0; i < size; i++ )
+        {
+            IRequirement requirement = requirements.get( i );
+            ids[i] = requirement.getID();
+            estimated[i] = requirement.getEstimated();
+            effective[i] = requirement.getEffective();
+            priorities[i] = (byte) requirement.getPriority().ordinal();
+            kinds[i] = (byte) requirement.getRequirementKind().ordinal();
+            states[i] = NO_STATE;
+            if ( requirement instanceof IImplementableRequirement )
+            {
+                ImplementState state =
+                    ( (IImplementableRequirement) requirement ).getImplementState();
+                states[i] = (byte) state.ordinal();
+            }
+
+            String requester = requirement.getRequester();
+            Integer code = dictionary.get( requester );
+            if ( null == code )
+            {
+                code = dictionary.size();
+                dictionary.put( requester, code );
+            }
+            requesters[i] = code;
+        }
+
+        requesterDictionary = new String[dictionary.size()];
+        for ( Map.Entry<String, Integer> entry : dictionary.entrySet() )
+        {
+            requesterDictionary[entry.getValue()] = entry.getKey();
+        }
+    }
+
+    private static Backlog<? extends IRequirement> checkBacklog(
+        Backlog<? extends IRequirement> backlog )
+    {
+        if ( ObjectUtils.equals( null, backlog ) )
+        {
+            throw new IllegalArgumentException( "null-object as backlog is not allowed" );
+        }
+        return backlog;
+    }
+
+    /**
+     * Gibt die Anzahl der abgebildeten Anforderungen zurück
+     * 
+     * @return Anzahl der Zeilen
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * Gibt die Anforderungsnummer einer Zeile zurück
+     * 
+     * @param row Zeile
+     * @return Anforderungsnummer
+     * @throws IndexOutOfBoundsException wenn die Zeile außerhalb der Abbildung liegt
+     */
+    public int getID( int row )
+        throws IndexOutOfBoundsException
+    {
+        checkRow( row );
+        return ids[row];
+    }
+
+    /**
+     * Gibt die geschätzte Zeit einer Zeile zurück
+     * 
+     * @param row Zeile
+     * @return geschätzte Zeit
+     * @throws IndexOutOfBoundsException wenn die Zeile außerhalb der Abbildung liegt
+     */
+    public float getEstimated( int row )
+        throws IndexOutOfBoundsException
+    {
+        checkRow( row );
+        return estimated[row];
+    }
+
+    /**
+     * Gibt die tatsächlich benötigte Zeit einer Zeile zurück
+     * 
+     * @param row Zeile
+     * @return tatsächlich benötigte Zeit
+     * @throws IndexOutOfBoundsException wenn die Zeile außerhalb der Abbildung liegt
+     */
+    public float getEffective( int row )
+        throws IndexOutOfBoundsException
+    {
+        checkRow( row );
+        return effective[row];
+    }
+
+    /**
+     * Gibt die {@link Priority} einer Zeile zurück
+     * 
+     * @param row Zeile
+     * @return {@link Priority}
+     * @throws IndexOutOfBoundsException wenn die Zeile außerhalb der Abbildung liegt
+     */
+    public Priority getPriority( int row )
+        throws IndexOutOfBoundsException
+    {
+        checkRow( row );
+        return PRIORITIES[priorities[row]];
+    }
+
+    /**
+     * Gibt die {@link RequirementKind} einer Zeile zurück
+     * 
+     * @param row Zeile
+     * @return {@link RequirementKind}
+     * @throws IndexOutOfBoundsException wenn die Zeile außerhalb der Abbildung liegt
+     */
+    public RequirementKind getRequirementKind( int row )
+        throws IndexOutOfBoundsException
+    {
+        checkRow( row );
+        return KINDS[kinds[row]];
+    }
+
+    /**
+     * Gibt den {@link ImplementState} einer Zeile zurück
+     * 
+     * @param row Zeile
+     * @return {@link ImplementState} oder <code>null</code>, wenn die Anforderung keinen Status
+     *         besitzt
+     * @throws IndexOutOfBoundsException wenn die Zeile außerhalb der Abbildung liegt
+     */
+    public ImplementState getImplementState( int row )
+        throws IndexOutOfBoundsException
+    {
+        checkRow( row );
+        return NO_STATE == states[row] ? null : STATES[states[row]];
+    }
+
+    /**
+     * Gibt den Anforderungssteller einer Zeile zurück
+     * 
+     * @param row Zeile
+     * @return Anforderungssteller
+     * @throws IndexOutOfBoundsException wenn die Zeile außerhalb der Abbildung liegt
+     */
+    public String getRequester( int row )
+        throws IndexOutOfBoundsException
+    {
+        checkRow( row );
+        return requesterDictionary[requesters[row]];
+    }
+
+    /**
+     * Gibt die unterschiedlichen Anforderungssteller zurück. Die Position entspricht der Nummer im
+     * Wörterbuch.
+     * 
+     * @return Kopie des Wörterbuchs
+     */
+    public String[] getRequesters()
+    {
+        return requesterDictionary.clone();
+    }
+
+    /**
+     * Wählt alle Zeilen mit übergebener {@link Priority} aus
+     * 
+     * @param priority gesuchte {@link Priority}
+     * @return Auswahl der passenden Zeilen
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     */
+    public BitSet selectPriority( Priority priority )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, priority ) )
+        {
+            throw new IllegalArgumentException( "null-object as priority is not allowed" );
+        }
+        return select( priorities, (byte) priority.ordinal() );
+    }
+
+    /**
+     * Wählt alle Zeilen mit übergebener {@link RequirementKind} aus
+     * 
+     * @param kind gesuchte {@link RequirementKind}
+     * @return Auswahl der passenden Zeilen
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     */
+    public BitSet selectKind( RequirementKind kind )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, kind ) )
+        {
+            throw new IllegalArgumentException( "null-object as kind is not allowed" );
+        }
+        return select( kinds, (byte) kind.ordinal() );
+    }
+
+    /**
+     * Wählt alle Zeilen mit übergebenem {@link ImplementState} aus
+     * 
+     * @param state gesuchter {@link ImplementState}, <code>null</code> wählt alle Anforderungen
+     *            ohne Status aus
+     * @return Auswahl der passenden Zeilen
+     */
+    public BitSet selectState( ImplementState state )
+    {
+        return select( states, null == state ? NO_STATE : (byte) state.ordinal() );
+    }
+
+    /**
+     * Wählt alle Zeilen des übergebenen Anforderungsstellers aus
+     * 
+     * @param requester gesuchter Anforderungssteller
+     * @return Auswahl der passenden Zeilen, leer wenn der Anforderungssteller nicht vorkommt
+     */
+    public BitSet selectRequester( String requester )
+    {
+        for ( int code = 0; code < requesterDictionary.length; code++ )
+        {
+            if ( requesterDictionary[code].equals( requester ) )
+            {
+                long[] words = new long[wordCount()];
+                for ( int i = 0; i < size; i++ )
+                {
+                    words[i >>> 6] |= ( requesters[i] == code ? 1L : 0L ) << i;
+                }
+                return BitSet.valueOf( words );
+            }
+        }
+        return new BitSet();
+    }
+
+    /**
+     * Wählt alle Zeilen aus, deren geschätzte Zeit im übergebenen Bereich liegt
+     * 
+     * @param min untere Grenze (einschließlich)
+     * @param max obere Grenze (einschließlich)
+     * @return Auswahl der passenden Zeilen
+     */
+    public BitSet selectEstimated( float min, float max )
+    {
+        long[] words = new long[wordCount()];
+        for ( int i = 0; i < size; i++ )
+        {
+            float value = estimated[i];
+            words[i >>> 6] |= ( value >= min && value <= max ? 1L : 0L ) << i;
+        }
+        return BitSet.valueOf( words );
+    }
+
+    /**
+     * Zählt die ausgewählten Zeilen
+     * 
+     * @param selection Auswahl oder <code>null</code> für alle Zeilen
+     * @return Anzahl der ausgewählten Zeilen
+     */
+    public int count( BitSet selection )
+    {
+        return null == selection ? size : selection.cardinality();
+    }
+
+    /**
+     * Summiert die geschätzte Zeit der ausgewählten Zeilen
+     * 
+     * @param selection Auswahl oder <code>null</code> für alle Zeilen
+     * @return Summe der geschätzten Zeit
+     */
+    public double sumEstimated( BitSet selection )
+    {
+        return sum( estimated, selection );
+    }
+
+    /**
+     * Summiert die tatsächlich benötigte Zeit der ausgewählten Zeilen
+     * 
+     * @param selection Auswahl oder <code>null</code> für alle Zeilen
+     * @return Summe der tatsächlich benötigten Zeit
+     */
+    public double sumEffective( BitSet selection )
+    {
+        return sum( effective, selection );
+    }
+
+    /**
+     * Zählt die ausgewählten Zeilen je {@link RequirementKind}
+     * 
+     * @param selection Auswahl oder <code>null</code> für alle Zeilen
+     * @return Anzahl je {@link RequirementKind}, Position entspricht
+     *         {@link RequirementKind#ordinal()}
+     */
+    public int[] countByKind( BitSet selection )
+    {
+        return countBy( kinds, KINDS.length, selection );
+    }
+
+    /**
+     * Zählt die ausgewählten Zeilen je {@link Priority}
+     * 
+     * @param selection Auswahl oder <code>null</code> für alle Zeilen
+     * @return Anzahl je {@link Priority}, Position entspricht {@link Priority#ordinal()}
+     */
+    public int[] countByPriority( BitSet selection )
+    {
+        return countBy( priorities, PRIORITIES.length, selection );
+    }
+
+    /**
+     * Zählt die ausgewählten Zeilen je {@link ImplementState}. Anforderungen ohne Status werden
+     * nicht gezählt.
+     * 
+     * @param selection Auswahl oder <code>null</code> für alle Zeilen
+     * @return Anzahl je {@link ImplementState}, Position entspricht
+     *         {@link ImplementState#ordinal()}
+     */
+    public int[] countByState( BitSet selection )
+    {
+        int[] counts = new int[STATES.length + 1];
+        if ( null == selection )
+        {
+            for ( int i = 0; i < size; i++ )
+            {
+                counts[states[i] + 1]++;
+            }
+        }
+        else
+        {
+            for ( int i = selection.nextSetBit( 0 ); i >= 0 && i < size;
+                  i = selection.nextSetBit( i + 1 ) )
+            {
+                counts[states[i] + 1]++;
+            }
+        }
+        int[] result = new int[STATES.length];
+        System.arraycopy( counts, 1, result, 0, STATES.length );
+        return result;
+    }
+
+    /**
+     * Summiert die geschätzte Zeit der ausgewählten Zeilen je {@link RequirementKind}
+     * 
+     * @param selection Auswahl oder <code>null</code> für alle Zeilen
+     * @return Summe je {@link RequirementKind}, Position entspricht
+     *         {@link RequirementKind#ordinal()}
+     */
+    public double[] sumEstimatedByKind( BitSet selection )
+    {
+        return sumBy( estimated, kinds, KINDS.length, selection );
+    }
+
+    /**
+     * Summiert die geschätzte Zeit der ausgewählten Zeilen je {@link Priority}
+     * 
+     * @param selection Auswahl oder <code>null</code> für alle Zeilen
+     * @return Summe je {@link Priority}, Position entspricht {@link Priority#ordinal()}
+     */
+    public double[] sumEstimatedByPriority( BitSet selection )
+    {
+        return sumBy( estimated, priorities, PRIORITIES.length, selection );
+    }
+
+    /**
+     * Summiert die tatsächlich benötigte Zeit der ausgewählten Zeilen je {@link RequirementKind}
+     * 
+     * @param selection Auswahl oder <code>null</code> für alle Zeilen
+     * @return Summe je {@link RequirementKind}, Position entspricht
+     *         {@link RequirementKind#ordinal()}
+     */
+    public double[] sumEffectiveByKind( BitSet selection )
+    {
+        return sumBy( effective, kinds, KINDS.length, selection );
+    }
+
+    private void checkRow( int row )
+    {
+        if ( row < 0 || row >= size )
+        {
+            throw new IndexOutOfBoundsException( "row: " + row + ", size: " + size );
+        }
+    }
+
+    private int wordCount()
+    {
+        return ( size + 63 ) >>> 6;
+    }
+
+    /*
+     * Vergleicht die Spalte ohne Verzweigung, damit der JIT-Compiler die Schleife vektorisieren
+     * kann
+     */
+    private BitSet select( byte[] column, byte code )
+    {
+        long[] words = new long[wordCount()];
+        for ( int i = 0; i < size; i++ )
+        {
+            words[i >>> 6] |= ( column[i] == code ? 1L : 0L ) << i;
+        }
+        return BitSet.valueOf( words );
+    }
+
+    private double sum( float[] column, BitSet selection )
+    {
+        double sum = 0;
+        if ( null == selection )
+        {
+            for ( int i = 0; i < size; i++ )
+            {
+                sum += column[i];
+            }
+        }
+        else
+        {
+            for ( int i = selection.nextSetBit( 0 ); i >= 0 && i < size;
+                  i = selection.nextSetBit( i + 1 ) )
+            {
+                sum += column[i];
+            }
+        }
+        return sum;
+    }
+
+    private int[] countBy( byte[] group, int groups, BitSet selection )
+    {
+        int[] counts = new int[groups];
+        if ( null == selection )
+        {
+            for ( int i = 0; i < size; i++ )
+            {
+                counts[group[i]]++;
+            }
+        }
+        else
+        {
+            for ( int i = selection.nextSetBit( 0 ); i >= 0 && i < size;
+                  i = selection.nextSetBit( i + 1 ) )
+            {
+                counts[group[i]]++;
+            }
+        }
+        return counts;
+    }
+
+    private double[] sumBy( float[] column, byte[] group, int groups, BitSet selection )
+    {
+        double[] sums = new double[groups];
+        if ( null == selection )
+        {
+            for ( int i = 0; i < size; i++ )
+            {
+                sums[group[i]] += column[i];
+            }
+        }
+        else
+        {
+            for ( int i = selection.nextSetBit( 0 ); i >= 0 && i < size;
+                  i = selection.nextSetBit( i + 1 ) )
+            {
+                sums[group[i]] += column[i];
+            }
+        }
+        return sums;
+    }
+}
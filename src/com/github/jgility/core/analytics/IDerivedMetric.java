@@ -0,0 +1,36 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.analytics;
+
+/**
+ * Interface für eine aus dem Modell abgeleitete Kennzahl, welche über einen {@link MetricCache}
+ * zwischengespeichert werden kann. Bei der Berechnung teilt die Kennzahl über die
+ * {@link MetricDependencies} alle gelesenen Eigenschaften des Modells mit.<br>
+ * Gleiche Kennzahlen müssen über {@link Object#equals(Object)} und {@link Object#hashCode()} als
+ * gleich erkannt werden, damit ein erneuter Abruf aus dem {@link MetricCache} bedient wird.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ * @param <T> Typ des Ergebnisses
+ */
+public interface IDerivedMetric<T>
+{
+
+    /**
+     * Berechnet die Kennzahl
+     * 
+     * @param dependencies {@link MetricDependencies}, über welche alle gelesenen Eigenschaften
+     *            mitgeteilt werden
+     * @return berechnete Kennzahl
+     */
+    T compute( MetricDependencies dependencies );
+}
@@ -0,0 +1,105 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.analytics;
+
+import org.apache.commons.lang3.ObjectUtils;
+
+import com.github.jgility.core.planning.Backlog;
+import com.github.jgility.core.planning.IIteration;
+import com.github.jgility.core.requirement.IIterationRequirement;
+import com.github.jgility.core.requirement.ImplementState;
+
+/**
+ * Fertigstellungsgrad einer {@link IIteration} in Prozent. Gewichtet wird nach den Schätzwerten
+ * der Anforderungen, ohne Schätzwerte nach deren Anzahl. Eine leere {@link IIteration} ist zu
+ * <code>0</code> Prozent fertiggestellt.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public class IterationCompletion
+    implements IDerivedMetric<Float>
+{
+
+    private final IIteration iteration;
+
+    /**
+     * Instanziiert die Kennzahl für eine {@link IIteration}
+     * 
+     * @param iteration auszuwertende {@link IIteration}
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     */
+    public IterationCompletion( IIteration iteration )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, iteration ) )
+        {
+            throw new IllegalArgumentException( "null-object as iteration is not allowed" );
+        }
+        this.iteration = iteration;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see
+     * com.github.jgility.core.analytics.IDerivedMetric#compute(com.github.jgility.core.analytics
+     * .MetricDependencies)
+     */
+    @Override
+    public Float compute( MetricDependencies dependencies )
+    {
+        Backlog<IIterationRequirement> backlog = iteration.getIterationBacklog();
+        dependencies.readsRequirements( backlog );
+
+        float total = 0;
+        float done = 0;
+        int doneCount = 0;
+        for ( IIterationRequirement requirement : backlog.getRequirementList() )
+        {
+            dependencies.readsEstimated( requirement );
+            dependencies.readsImplementState( requirement );
+            total += requirement.getEstimated();
+            if ( ImplementState.DONE == requirement.getImplementState() )
+            {
+                done += requirement.getEstimated();
+                doneCount++;
+            }
+        }
+
+        if ( 0 < total )
+        {
+            return 100 * done / total;
+        }
+        return backlog.size() == 0 ? 0f : 100f * doneCount / backlog.size();
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.lang.Object#hashCode()
+     */
+    @Override
+    public int hashCode()
+    {
+        return System.identityHashCode( iteration );
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.lang.Object#equals(java.lang.Object)
+     */
+    @Override
+    public boolean equals( Object obj )
+    {
+        return obj instanceof IterationCompletion
+            && iteration == ( (IterationCompletion) obj ).iteration;
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.analytics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.ObjectUtils;
+
+import com.github.jgility.core.analytics.MetricDependencies.DependencyKey;
+import com.github.jgility.core.event.IModelListener;
+import com.github.jgility.core.event.ModelEvent;
+import com.github.jgility.core.event.ModelEventBus;
+
+/**
+ * Zwischenspeicher für {@link IDerivedMetric}s. Eine Kennzahl wird beim ersten Abruf berechnet
+ * und anschließend aus dem Zwischenspeicher geliefert, bis sich eine der bei der Berechnung
+ * gelesenen Eigenschaften ändert.<br>
+ * Der Zwischenspeicher registriert sich dafür beim {@link ModelEventBus}. Jede
+ * {@link ModelEvent} verwirft nur die Kennzahlen, welche die geänderte Eigenschaft gelesen haben.
+ * Ändert sich eine gelesene Eigenschaft während der Berechnung, wird das Ergebnis geliefert, aber
+ * nicht zwischengespeichert.<br>
+ * Abrufe und Änderungen dürfen aus verschiedenen Threads erfolgen.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public class MetricCache
+    implements IModelListener
+{
+
+    private final ModelEventBus eventBus;
+
+    private final Map<IDerivedMetric<?>, List<DependencyKey>> dependencies = new HashMap<>();
+
+    private final Map<IDerivedMetric<?>, Object> values = new HashMap<>();
+
+    private final Map<DependencyKey, Set<IDerivedMetric<?>>> dependents = new HashMap<>();
+
+    private final List<DependencyKey> changes = new ArrayList<>();
+
+    private int computing;
+
+    /**
+     * Instanziiert einen leeren {@link MetricCache}, welcher den Änderungen des
+     * Standard-{@link ModelEventBus} folgt
+     */
+    public MetricCache()
+    {
+        this( ModelEventBus.getDefault() );
+    }
+
+    /**
+     * Instanziiert einen leeren {@link MetricCache}, welcher den Änderungen des übergebenen
+     * {@link ModelEventBus} folgt
+     * 
+     * @param eventBus {@link ModelEventBus}, über welchen die Änderungen mitgeteilt werden
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     */
+    public MetricCache( ModelEventBus eventBus )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, eventBus ) )
+        {
+            throw new IllegalArgumentException( "null-object as eventBus is not allowed" );
+        }
+        this.eventBus = eventBus;
+        eventBus.addListener( this );
+    }
+
+    /**
+     * Gibt die Kennzahl aus dem Zwischenspeicher zurück oder berechnet sie
+     * 
+     * @param metric abzurufende {@link IDerivedMetric}
+     * @return Ergebnis der Kennzahl
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     */
+    public <T> T get( IDerivedMetric<T> metric )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, metric ) )
+        {
+            throw new IllegalArgumentException( "null-object as metric is not allowed" );
+        }
+
+        int firstChange;
+        synchronized ( this )
+        {
+            if ( dependencies.containsKey( metric ) )
+            {
+                @SuppressWarnings( "unchecked" )
+                T value = (T) values.get( metric );
+                return value;
+            }
+            firstChange = changes.size();
+            computing++;
+        }
+
+        MetricDependencies metricDependencies = new MetricDependencies();
+        T value = null;
+        boolean computed = false;
+        try
+        {
+            value = metric.compute( metricDependencies );
+            computed = true;
+        }
+        finally
+        {
+            synchronized ( this )
+            {
+                List<DependencyKey> keys = metricDependencies.getKeys();
+                if ( computed && isUnchanged( keys, firstChange )
+                    && !dependencies.containsKey( metric ) )
+                {
+                    put( metric, keys, value );
+                }
+                if ( 0 == --computing )
+                {
+                    changes.clear();
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Verwirft eine Kennzahl aus dem Zwischenspeicher
+     * 
+     * @param metric zu verwerfende {@link IDerivedMetric}
+     * @return <code>true</code> wenn sich die Kennzahl im Zwischenspeicher befand
+     */
+    public synchronized boolean invalidate( IDerivedMetric<?> metric )
+    {
+        return remove( metric );
+    }
+
+    /**
+     * Verwirft alle Kennzahlen des Zwischenspeichers
+     */
+    public synchronized void clear()
+    {
+        dependencies.clear();
+        values.clear();
+        dependents.clear();
+    }
+
+    /**
+     * Gibt die Anzahl der zwischengespeicherten Kennzahlen zurück
+     * 
+     * @return Anzahl der Kennzahlen
+     */
+    public synchronized int size()
+    {
+        return dependencies.size();
+    }
+
+    /**
+     * Entfernt den Zwischenspeicher vom {@link ModelEventBus} und verwirft alle Kennzahlen
+     */
+    public void close()
+    {
+        eventBus.removeListener( this );
+        clear();
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.event.IModelListener#modelChanged(java.util.List)
+     */
+    @Override
+    public synchronized void modelChanged( List<ModelEvent> events )
+    {
+        for ( ModelEvent event : events )
+        {
+            if ( null == event.getProperty() )
+            {
+                continue;
+            }
+            DependencyKey key = new DependencyKey( event.getSource(), event.getProperty() );
+            if ( 0 < computing )
+            {
+                changes.add( key );
+            }
+            Set<IDerivedMetric<?>> metrics = dependents.get( key );
+            if ( null != metrics )
+            {
+                for ( IDerivedMetric<?> metric : new ArrayList<>( metrics ) )
+                {
+                    remove( metric );
+                }
+            }
+        }
+    }
+
+    private boolean isUnchanged( List<DependencyKey> keys, int firstChange )
+    {
+        if ( firstChange == changes.size() )
+        {
+            return true;
+        }
+        Set<DependencyKey> changed =
+            new HashSet<>( changes.subList( firstChange, changes.size() ) );
+        for ( DependencyKey key : keys )
+        {
+            if ( changed.contains( key ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void put( IDerivedMetric<?> metric, List<DependencyKey> keys, Object value )
+    {
+        dependencies.put( metric, keys );
+        values.put( metric, value );
+        for ( DependencyKey key : keys )
+        {
+            Set<IDerivedMetric<?>> metrics = dependents.get( key );
+            if ( null == metrics )
+            {
+                metrics = new HashSet<>( 2 );
+                dependents.put( key, metrics );
+            }
+            metrics.add( metric );
+        }
+    }
+
+    private boolean remove( IDerivedMetric<?> metric )
+    {
+        List<DependencyKey> keys = dependencies.remove( metric );
+        if ( null == keys )
+        {
+            return false;
+        }
+        values.remove( metric );
+        for ( DependencyKey key : keys )
+        {
+            Set<IDerivedMetric<?>> metrics = dependents.get( key );
+            if ( null != metrics )
+            {
+                metrics.remove( metric );
+                if ( metrics.isEmpty() )
+                {
+                    dependents.remove( key );
+                }
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.analytics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.lang3.ObjectUtils;
+
+import com.github.jgility.core.planning.Backlog;
+import com.github.jgility.core.planning.IPlan;
+import com.github.jgility.core.planning.IRelease;
+import com.github.jgility.core.project.Team;
+import com.github.jgility.core.requirement.IImplementableRequirement;
+import com.github.jgility.core.requirement.IRequirement;
+import com.github.jgility.core.util.EqualsUtils;
+
+/**
+ * Sammelt die Eigenschaften des Modells, welche eine {@link IDerivedMetric} bei ihrer Berechnung
+ * liest. Eine Eigenschaft wird über das Objekt und den Namen der Eigenschaft einer
+ * {@link com.github.jgility.core.event.ModelEvent} bezeichnet, das Objekt wird über seine
+ * Identität verglichen.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public final class MetricDependencies
+{
+
+    private final List<DependencyKey> keys = new ArrayList<>();
+
+    MetricDependencies()
+    {
+    }
+
+    /**
+     * Teilt mit, dass die Eigenschaft eines Objekts gelesen wird
+     * 
+     * @param source gelesenes Objekt
+     * @param property Name der gelesenen Eigenschaft
+     * @throws IllegalArgumentException wenn einer der Parameter <code>null</code> ist
+     */
+    public void reads( Object source, String property )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, source ) )
+        {
+            throw new IllegalArgumentException( "null-object as source is not allowed" );
+        }
+        if ( ObjectUtils.equals( null, property ) )
+        {
+            throw new IllegalArgumentException( "null-object as property is not allowed" );
+        }
+        keys.add( new DependencyKey( source, property ) );
+    }
+
+    /**
+     * Teilt mit, dass die Anforderungen eines {@link Backlog} gelesen werden
+     * 
+     * @param backlog gelesenes {@link Backlog}
+     */
+    public void readsRequirements( Backlog<?> backlog )
+    {
+        reads( backlog, "requirements" );
+    }
+
+    /**
+     * Teilt mit, dass die Iterationen eines {@link IRelease} gelesen werden
+     * 
+     * @param release gelesenes {@link IRelease}
+     */
+    public void readsIterations( IRelease release )
+    {
+        reads( release, "iterations" );
+    }
+
+    /**
+     * Teilt mit, dass Start- und End-Zeitpunkt eines {@link IPlan} gelesen werden
+     * 
+     * @param plan gelesener {@link IPlan}
+     */
+    public void readsDates( IPlan plan )
+    {
+        reads( plan, "start" );
+        reads( plan, "end" );
+    }
+
+    /**
+     * Teilt mit, dass der Schätzwert einer Anforderung gelesen wird
+     * 
+     * @param requirement gelesene Anforderung
+     */
+    public void readsEstimated( IRequirement requirement )
+    {
+        reads( requirement, "estimated" );
+    }
+
+    /**
+     * Teilt mit, dass die Priorität einer Anforderung gelesen wird
+     * 
+     * @param requirement gelesene Anforderung
+     */
+    public void readsPriority( IRequirement requirement )
+    {
+        reads( requirement, "priority" );
+    }
+
+    /**
+     * Teilt mit, dass der Umsetzungsstatus einer Anforderung gelesen wird
+     * 
+     * @param requirement gelesene Anforderung
+     */
+    public void readsImplementState( IImplementableRequirement requirement )
+    {
+        reads( requirement, "implementState" );
+    }
+
+    /**
+     * Teilt mit, dass das zugewiesene {@link Team} einer Anforderung gelesen wird
+     * 
+     * @param requirement gelesene Anforderung
+     */
+    public void readsAssignee( IImplementableRequirement requirement )
+    {
+        reads( requirement, "assignee" );
+    }
+
+    /**
+     * Teilt mit, dass die Mitglieder eines {@link Team} gelesen werden
+     * 
+     * @param team gelesenes {@link Team}
+     */
+    public void readsMembers( Team team )
+    {
+        reads( team, "members" );
+    }
+
+    List<DependencyKey> getKeys()
+    {
+        return Collections.unmodifiableList( keys );
+    }
+
+    /*
+     * Schlüssel aus Objekt-Identität und Eigenschaft
+     */
+    static final class DependencyKey
+    {
+        private final Object source;
+
+        private final String property;
+
+        DependencyKey( Object source, String property )
+        {
+            this.source = source;
+            this.property = property;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return EqualsUtils.PRIME * System.identityHashCode( source ) + property.hashCode();
+        }
+
+        @Override
+        public boolean equals( Object obj )
+        {
+            if ( obj instanceof DependencyKey )
+            {
+                DependencyKey key = (DependencyKey) obj;
+                return source == key.source && property.equals( key.property );
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.analytics;
+
+import org.apache.commons.lang3.ObjectUtils;
+
+import com.github.jgility.core.planning.Backlog;
+import com.github.jgility.core.planning.IIteration;
+import com.github.jgility.core.planning.IRelease;
+import com.github.jgility.core.requirement.IIterationRequirement;
+import com.github.jgility.core.requirement.ImplementState;
+
+/**
+ * Geschwindigkeit eines {@link IRelease} als Summe der Schätzwerte aller erledigten Anforderungen
+ * je {@link IIteration}. Ein {@link IRelease} ohne Iterationen hat die Geschwindigkeit
+ * <code>0</code>.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public class ReleaseVelocity
+    implements IDerivedMetric<Float>
+{
+
+    private final IRelease release;
+
+    /**
+     * Instanziiert die Kennzahl für ein {@link IRelease}
+     * 
+     * @param release auszuwertendes {@link IRelease}
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     */
+    public ReleaseVelocity( IRelease release )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, release ) )
+        {
+            throw new IllegalArgumentException( "null-object as release is not allowed" );
+        }
+        this.release = release;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see
+     * com.github.jgility.core.analytics.IDerivedMetric#compute(com.github.jgility.core.analytics
+     * .MetricDependencies)
+     */
+    @Override
+    public Float compute( MetricDependencies dependencies )
+    {
+        dependencies.readsIterations( release );
+        if ( 0 == release.size() )
+        {
+            return 0f;
+        }
+
+        float done = 0;
+        for ( IIteration iteration : release.getIterationList() )
+        {
+            Backlog<IIterationRequirement> backlog = iteration.getIterationBacklog();
+            dependencies.readsRequirements( backlog );
+            for ( IIterationRequirement requirement : backlog.getRequirementList() )
+            {
+                dependencies.readsImplementState( requirement );
+                if ( ImplementState.DONE == requirement.getImplementState() )
+                {
+                    dependencies.readsEstimated( requirement );
+                    done += requirement.getEstimated();
+                }
+            }
+        }
+        return done / release.size();
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.lang.Object#hashCode()
+     */
+    @Override
+    public int hashCode()
+    {
+        return System.identityHashCode( release );
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.lang.Object#equals(java.lang.Object)
+     */
+    @Override
+    public boolean equals( Object obj )
+    {
+        return obj instanceof ReleaseVelocity && release == ( (ReleaseVelocity) obj ).release;
+    }
+}
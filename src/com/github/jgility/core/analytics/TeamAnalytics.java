@@ -0,0 +1,568 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.analytics;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.GregorianCalendar;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.ObjectUtils;
+
+import com.github.jgility.core.event.ChangeKind;
+import com.github.jgility.core.event.IModelListener;
+import com.github.jgility.core.event.ModelEvent;
+import com.github.jgility.core.event.ModelEventBus;
+import com.github.jgility.core.planning.IIteration;
+import com.github.jgility.core.planning.IRelease;
+import com.github.jgility.core.project.Project;
+import com.github.jgility.core.project.Team;
+import com.github.jgility.core.requirement.IImplementableRequirement;
+import com.github.jgility.core.requirement.ImplementState;
+
+/**
+ * Berechnet Geschwindigkeit, Kapazität und Auslastung je {@link Team} über die Iterationen der
+ * beobachteten Releases. Grundlage sind die Schätzwerte der Anforderungen, welche einem
+ * {@link Team} über {@link IImplementableRequirement#getAssignee()} zugewiesen sind.<br>
+ * Die erledigten und offenen Punkte werden je {@link Team} und {@link IIteration} geführt und über
+ * den {@link ModelEventBus} bei Änderungen an Umsetzungsstatus, Schätzwert, Zuweisung, Backlogs
+ * und Iterationen fortgeschrieben, ohne die Releases erneut zu durchlaufen. Die
+ * {@link TeamVelocity} eines {@link Team} wird nach einer Änderung einmalig aus dessen
+ * Iterationen gebildet und bis zur nächsten Änderung unverändert geliefert.<br>
+ * Eine {@link IIteration} gilt als beendet, wenn ihr Ende vor dem Stichtag liegt. Der Stichtag wird
+ * über {@link #setReferenceDate(Calendar)} fortgeschrieben. Nachträglich zu einem {@link Project}
+ * hinzugefügte Releases müssen über {@link #track(IRelease)} aufgenommen werden.<br>
+ * Abfragen und Änderungen dürfen aus verschiedenen Threads erfolgen.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public class TeamAnalytics
+    implements IModelListener
+{
+
+    /**
+     * Standardanzahl der beendeten Iterationen für den gleitenden Durchschnitt
+     */
+    public static final int DEFAULT_WINDOW = 3;
+
+    private static final Comparator<Points> LATEST_FIRST = new Comparator<Points>()
+    {
+        @Override
+        public int compare( Points first, Points second )
+        {
+            return Long.compare( second.end, first.end );
+        }
+    };
+
+    private final ModelEventBus eventBus;
+
+    private final int window;
+
+    private long referenceDate;
+
+    private final Set<Object> releases =
+        Collections.newSetFromMap( new IdentityHashMap<Object, Boolean>() );
+
+    private final Map<Object, IIteration> backlogs = new IdentityHashMap<>();
+
+    private final Map<IIteration, Map<Team, Points>> iterations = new IdentityHashMap<>();
+
+    private final Map<Object, Map<IIteration, Contribution>> requirements =
+        new IdentityHashMap<>();
+
+    private final Map<Team, TeamRecord> teams = new IdentityHashMap<>();
+
+    /**
+     * Instanziiert eine {@link TeamAnalytics}, welche den Änderungen des Standard-
+     * {@link ModelEventBus} folgt. Der gleitende Durchschnitt wird über {@link #DEFAULT_WINDOW}
+     * Iterationen gebildet, Stichtag ist der aktuelle Zeitpunkt.
+     */
+    public TeamAnalytics()
+    {
+        this( ModelEventBus.getDefault(), DEFAULT_WINDOW );
+    }
+
+    /**
+     * Instanziiert eine {@link TeamAnalytics}, deren Stichtag der aktuelle Zeitpunkt ist
+     * 
+     * @param eventBus {@link ModelEventBus}, über welchen die Änderungen mitgeteilt werden
+     * @param window Anzahl der beendeten Iterationen für den gleitenden Durchschnitt
+     * @throws IllegalArgumentException wenn der {@link ModelEventBus} <code>null</code> oder die
+     *             Anzahl nicht positiv ist
+     */
+    public TeamAnalytics( ModelEventBus eventBus, int window )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, eventBus ) )
+        {
+            throw new IllegalArgumentException( "null-object as eventBus is not allowed" );
+        }
+        if ( window <= 0 )
+        {
+            throw new IllegalArgumentException( "window has to be positive" );
+        }
+        this.eventBus = eventBus;
+        this.window = window;
+        referenceDate = System.currentTimeMillis();
+        eventBus.addListener( this );
+    }
+
+    /**
+     * Nimmt alle Releases eines {@link Project} auf
+     * 
+     * @param project aufzunehmendes {@link Project}
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     */
+    public synchronized void track( Project project )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, project ) )
+        {
+            throw new IllegalArgumentException( "null-object as project is not allowed" );
+        }
+        for ( IRelease release : project.getReleasePlan() )
+        {
+            track( release );
+        }
+    }
+
+    /**
+     * Nimmt alle Iterationen eines {@link IRelease} auf und folgt anschließend dessen Änderungen
+     * 
+     * @param release aufzunehmendes {@link IRelease}
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     */
+    public synchronized void track( IRelease release )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, release ) )
+        {
+            throw new IllegalArgumentException( "null-object as release is not allowed" );
+        }
+        if ( releases.add( release ) )
+        {
+            for ( IIteration iteration : release.getIterationList() )
+            {
+                addIteration( iteration );
+            }
+        }
+    }
+
+    /**
+     * Gibt die Kennzahlen eines {@link Team} zum Stichtag zurück
+     * 
+     * @param team auszuwertendes {@link Team}
+     * @return {@link TeamVelocity} des {@link Team}
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     */
+    public synchronized TeamVelocity getVelocity( Team team )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, team ) )
+        {
+            throw new IllegalArgumentException( "null-object as team is not allowed" );
+        }
+
+        TeamRecord record = teams.get( team );
+        if ( null == record )
+        {
+            return new TeamVelocity( 0, 0, 0, 0, team.getMembers().size() );
+        }
+        if ( null == record.velocity )
+        {
+            record.velocity = computeVelocity( team, record );
+        }
+        return record.velocity;
+    }
+
+    /**
+     * Gibt alle {@link Team}s zurück, welchen Anforderungen der beobachteten Releases zugewiesen
+     * sind
+     * 
+     * @return {@link List} der {@link Team}s
+     */
+    public synchronized List<Team> getTeams()
+    {
+        return new ArrayList<>( teams.keySet() );
+    }
+
+    /**
+     * Setzt den Stichtag, vor welchem eine {@link IIteration} als beendet gilt
+     * 
+     * @param date neuer Stichtag
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     */
+    public synchronized void setReferenceDate( Calendar date )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, date ) )
+        {
+            throw new IllegalArgumentException( "null-object as date is not allowed" );
+        }
+        referenceDate = date.getTimeInMillis();
+        for ( TeamRecord record : teams.values() )
+        {
+            record.velocity = null;
+        }
+    }
+
+    /**
+     * Gibt den Stichtag zurück
+     * 
+     * @return Stichtag als {@link Calendar}
+     */
+    public synchronized Calendar getReferenceDate()
+    {
+        Calendar date = new GregorianCalendar();
+        date.setTimeInMillis( referenceDate );
+        return date;
+    }
+
+    /**
+     * Gibt die Anzahl der beendeten Iterationen für den gleitenden Durchschnitt zurück
+     * 
+     * @return Anzahl der Iterationen
+     */
+    public int getWindow()
+    {
+        return window;
+    }
+
+    /**
+     * Entfernt die {@link TeamAnalytics} vom {@link ModelEventBus}. Die Kennzahlen können weiterhin
+     * abgefragt werden, folgen aber keinen Änderungen mehr.
+     */
+    public void close()
+    {
+        eventBus.removeListener( this );
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.event.IModelListener#modelChanged(java.util.List)
+     */
+    @Override
+    public synchronized void modelChanged( List<ModelEvent> events )
+    {
+        for ( ModelEvent event : events )
+        {
+            Object source = event.getSource();
+            String property = event.getProperty();
+            if ( "implementState".equals( property ) || "estimated".equals( property )
+                || "assignee".equals( property ) )
+            {
+                Map<IIteration, Contribution> contributions = requirements.get( source );
+                if ( null != contributions )
+                {
+                    for ( Contribution contribution : contributions.values() )
+                    {
+                        subtract( contribution );
+                        contribution.read();
+                        add( contribution );
+                    }
+                }
+            }
+            else if ( "requirements".equals( property ) && backlogs.containsKey( source ) )
+            {
+                requirementsChanged( backlogs.get( source ), event );
+            }
+            else if ( "iterations".equals( property ) && releases.contains( source ) )
+            {
+                for ( Object value : valuesOf( event.getValue() ) )
+                {
+                    if ( ChangeKind.ADDED == event.getKind() && value instanceof IIteration )
+                    {
+                        addIteration( (IIteration) value );
+                    }
+                    else if ( ChangeKind.REMOVED == event.getKind() )
+                    {
+                        removeIteration( value );
+                    }
+                }
+            }
+            else if ( ( "start".equals( property ) || "end".equals( property ) )
+                && iterations.containsKey( source ) )
+            {
+                for ( Team team : iterations.get( source ).keySet() )
+                {
+                    teams.get( team ).velocity = null;
+                }
+            }
+            else if ( "members".equals( property ) && teams.containsKey( source ) )
+            {
+                teams.get( source ).velocity = null;
+            }
+        }
+    }
+
+    private void requirementsChanged( IIteration iteration, ModelEvent event )
+    {
+        for ( Object value : valuesOf( event.getValue() ) )
+        {
+            if ( ChangeKind.ADDED == event.getKind() )
+            {
+                addRequirement( iteration, value );
+            }
+            else if ( ChangeKind.REMOVED == event.getKind() )
+            {
+                removeRequirement( iteration, value, false );
+            }
+        }
+    }
+
+    private void addIteration( IIteration iteration )
+    {
+        if ( iterations.containsKey( iteration ) )
+        {
+            return;
+        }
+        iterations.put( iteration, new IdentityHashMap<Team, Points>() );
+        backlogs.put( iteration.getIterationBacklog(), iteration );
+        for ( Object requirement : iteration.getIterationBacklog().getRequirementList() )
+        {
+            addRequirement( iteration, requirement );
+        }
+    }
+
+    private void removeIteration( Object iteration )
+    {
+        if ( !iterations.containsKey( iteration ) )
+        {
+            return;
+        }
+        IIteration removed = (IIteration) iteration;
+        for ( Object requirement : removed.getIterationBacklog().getRequirementList() )
+        {
+            removeRequirement( removed, requirement, true );
+        }
+        backlogs.remove( removed.getIterationBacklog() );
+        iterations.remove( removed );
+    }
+
+    /*
+     * Eine Anforderung trägt je Iteration einmal bei, auch wenn sie mehrfach in deren Backlog
+     * steht. Die Vorkommen werden gezählt, damit sie erst mit dem letzten Vorkommen entfällt.
+     */
+    private void addRequirement( IIteration iteration, Object requirement )
+    {
+        if ( !( requirement instanceof IImplementableRequirement ) )
+        {
+            return;
+        }
+
+        Map<IIteration, Contribution> contributions = requirements.get( requirement );
+        if ( null == contributions )
+        {
+            contributions = new IdentityHashMap<>();
+            requirements.put( requirement, contributions );
+        }
+        Contribution contribution = contributions.get( iteration );
+        if ( null == contribution )
+        {
+            contribution = new Contribution( iteration, (IImplementableRequirement) requirement );
+            contributions.put( iteration, contribution );
+            add( contribution );
+        }
+        contribution.occurrences++;
+    }
+
+    private void removeRequirement( IIteration iteration, Object requirement, boolean all )
+    {
+        Map<IIteration, Contribution> contributions = requirements.get( requirement );
+        Contribution contribution = null == contributions ? null : contributions.get( iteration );
+        if ( null == contribution )
+        {
+            return;
+        }
+
+        contribution.occurrences--;
+        if ( all || 0 == contribution.occurrences )
+        {
+            contributions.remove( iteration );
+            if ( contributions.isEmpty() )
+            {
+                requirements.remove( requirement );
+            }
+            subtract( contribution );
+        }
+    }
+
+    private void add( Contribution contribution )
+    {
+        if ( null == contribution.team )
+        {
+            return;
+        }
+
+        Map<Team, Points> iterationPoints = iterations.get( contribution.iteration );
+        Points points = iterationPoints.get( contribution.team );
+        if ( null == points )
+        {
+            points = new Points();
+            iterationPoints.put( contribution.team, points );
+        }
+        points.add( contribution, 1 );
+
+        TeamRecord record = teams.get( contribution.team );
+        if ( null == record )
+        {
+            record = new TeamRecord();
+            teams.put( contribution.team, record );
+        }
+        record.iterations.add( contribution.iteration );
+        record.velocity = null;
+    }
+
+    private void subtract( Contribution contribution )
+    {
+        if ( null == contribution.team )
+        {
+            return;
+        }
+
+        Map<Team, Points> iterationPoints = iterations.get( contribution.iteration );
+        Points points = iterationPoints.get( contribution.team );
+        points.add( contribution, -1 );
+        TeamRecord record = teams.get( contribution.team );
+        record.velocity = null;
+        if ( 0 == points.requirements )
+        {
+            iterationPoints.remove( contribution.team );
+            record.iterations.remove( contribution.iteration );
+            if ( record.iterations.isEmpty() )
+            {
+                teams.remove( contribution.team );
+            }
+        }
+    }
+
+    private TeamVelocity computeVelocity( Team team, TeamRecord record )
+    {
+        List<Points> finished = new ArrayList<>();
+        double openPoints = 0;
+        for ( IIteration iteration : record.iterations )
+        {
+            Points points = iterations.get( iteration ).get( team );
+            points.end = iteration.getEnd().getTimeInMillis();
+            if ( points.end <= referenceDate )
+            {
+                finished.add( points );
+            }
+            else
+            {
+                openPoints += points.open;
+            }
+        }
+        Collections.sort( finished, LATEST_FIRST );
+
+        double sum = 0;
+        int count = Math.min( window, finished.size() );
+        for ( int i = 0; i < count; i++ )
+        {
+            sum += finished.get( i ).done;
+        }
+        return new TeamVelocity( finished.size(), 0 == count ? 0 : (float) finished.get( 0 ).done,
+                                 0 == count ? 0 : (float) ( sum / count ), (float) openPoints,
+                                 team.getMembers().size() );
+    }
+
+    private static List<Object> valuesOf( Object value )
+    {
+        if ( value instanceof Collection )
+        {
+            return new ArrayList<Object>( (Collection<?>) value );
+        }
+        return Collections.singletonList( value );
+    }
+
+    /*
+     * Beitrag einer Anforderung zu den Punkten ihres Teams in einer Iteration. Die Werte werden bei
+     * der Aufnahme und nach jeder Änderung gelesen, damit der alte Beitrag abgezogen werden kann.
+     * Die Vorkommen zählen, wie oft die Anforderung im Backlog der Iteration steht.
+     */
+    private static final class Contribution
+    {
+        private final IIteration iteration;
+
+        private final IImplementableRequirement requirement;
+
+        private Team team;
+
+        private float estimated;
+
+        private boolean done;
+
+        private int occurrences;
+
+        private Contribution( IIteration iteration, IImplementableRequirement requirement )
+        {
+            this.iteration = iteration;
+            this.requirement = requirement;
+            read();
+        }
+
+        private void read()
+        {
+            Team assignee = requirement.getAssignee();
+            team = Team.UNASSIGNED == assignee ? null : assignee;
+            estimated = requirement.getEstimated();
+            done = ImplementState.DONE == requirement.getImplementState();
+        }
+    }
+
+    /*
+     * Erledigte und offene Punkte eines Teams in einer Iteration. Die Punkte werden als double
+     * fortgeschrieben, damit wiederholtes Abziehen und Hinzufügen keine Rundungsfehler anhäuft. Das
+     * Ende der Iteration wird nur für die Sortierung in computeVelocity gesetzt.
+     */
+    private static final class Points
+    {
+        private double done;
+
+        private double open;
+
+        private int requirements;
+
+        private long end;
+
+        private void add( Contribution contribution, int sign )
+        {
+            if ( contribution.done )
+            {
+                done += sign * contribution.estimated;
+            }
+            else
+            {
+                open += sign * contribution.estimated;
+            }
+            requirements += sign;
+        }
+    }
+
+    /*
+     * Iterationen eines Teams und zuletzt gebildete Kennzahlen
+     */
+    private static final class TeamRecord
+    {
+        private final Set<IIteration> iterations =
+            Collections.newSetFromMap( new IdentityHashMap<IIteration, Boolean>() );
+
+        private TeamVelocity velocity;
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.analytics;
+
+import java.util.Calendar;
+
+import org.apache.commons.lang3.ObjectUtils;
+
+import com.github.jgility.core.planning.Backlog;
+import com.github.jgility.core.planning.IIteration;
+import com.github.jgility.core.planning.IRelease;
+import com.github.jgility.core.project.Team;
+import com.github.jgility.core.requirement.IIterationRequirement;
+import com.github.jgility.core.requirement.ImplementState;
+import com.github.jgility.core.util.EqualsUtils;
+
+/**
+ * Auslastung eines {@link Team} als Summe der Schätzwerte aller nicht erledigten Anforderungen,
+ * welche dem {@link Team} zugewiesen sind und in einer zum Stichtag laufenden {@link IIteration}
+ * eines {@link IRelease} liegen
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public class TeamLoad
+    implements IDerivedMetric<Float>
+{
+
+    private final IRelease release;
+
+    private final Team team;
+
+    private final long date;
+
+    /**
+     * Instanziiert die Kennzahl für ein {@link Team}
+     * 
+     * @param release auszuwertendes {@link IRelease}
+     * @param team auszuwertendes {@link Team}
+     * @param date Stichtag
+     * @throws IllegalArgumentException wenn einer der Parameter <code>null</code> ist
+     */
+    public TeamLoad( IRelease release, Team team, Calendar date )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, release ) )
+        {
+            throw new IllegalArgumentException( "null-object as release is not allowed" );
+        }
+        if ( ObjectUtils.equals( null, team ) )
+        {
+            throw new IllegalArgumentException( "null-object as team is not allowed" );
+        }
+        if ( ObjectUtils.equals( null, date ) )
+        {
+            throw new IllegalArgumentException( "null-object as date is not allowed" );
+        }
+        this.release = release;
+        this.team = team;
+        this.date = date.getTimeInMillis();
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see
+     * com.github.jgility.core.analytics.IDerivedMetric#compute(com.github.jgility.core.analytics
+     * .MetricDependencies)
+     */
+    @Override
+    public Float compute( MetricDependencies dependencies )
+    {
+        dependencies.readsIterations( release );
+        float load = 0;
+        for ( IIteration iteration : release.getIterationList() )
+        {
+            dependencies.readsDates( iteration );
+            if ( date < iteration.getStart().getTimeInMillis()
+                || date >= iteration.getEnd().getTimeInMillis() )
+            {
+                continue;
+            }
+
+            Backlog<IIterationRequirement> backlog = iteration.getIterationBacklog();
+            dependencies.readsRequirements( backlog );
+            for ( IIterationRequirement requirement : backlog.getRequirementList() )
+            {
+                dependencies.readsAssignee( requirement );
+                dependencies.readsImplementState( requirement );
+                if ( team == requirement.getAssignee()
+                    && ImplementState.DONE != requirement.getImplementState() )
+                {
+                    dependencies.readsEstimated( requirement );
+                    load += requirement.getEstimated();
+                }
+            }
+        }
+        return load;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.lang.Object#hashCode()
+     */
+    @Override
+    public int hashCode()
+    {
+        int result = System.identityHashCode( release );
+        result = EqualsUtils.PRIME * result + System.identityHashCode( team );
+        return EqualsUtils.PRIME * result + (int) ( date ^ ( date >>> 32 ) );
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.lang.Object#equals(java.lang.Object)
+     */
+    @Override
+    public boolean equals( Object obj )
+    {
+        if ( obj instanceof TeamLoad )
+        {
+            TeamLoad other = (TeamLoad) obj;
+            return release == other.release && team == other.team && date == other.date;
+        }
+        return false;
+    }
+}
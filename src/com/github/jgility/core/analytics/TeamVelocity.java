@@ -0,0 +1,148 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.analytics;
+
+import com.github.jgility.core.project.Team;
+
+/**
+ * Unveränderliche Kennzahlen eines {@link Team} zu einem Stichtag, welche von der
+ * {@link TeamAnalytics} geliefert werden. Alle Punkte sind Summen der Schätzwerte der dem
+ * {@link Team} zugewiesenen Anforderungen.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public final class TeamVelocity
+{
+
+    private final int finishedIterations;
+
+    private final float velocity;
+
+    private final float averageVelocity;
+
+    private final float openPoints;
+
+    private final int members;
+
+    TeamVelocity( int finishedIterations, float velocity, float averageVelocity, float openPoints,
+                  int members )
+    {
+        this.finishedIterations = finishedIterations;
+        this.velocity = velocity;
+        this.averageVelocity = averageVelocity;
+        this.openPoints = openPoints;
+        this.members = members;
+    }
+
+    /**
+     * Gibt die Anzahl der zum Stichtag beendeten Iterationen mit Anforderungen des {@link Team}
+     * zurück
+     * 
+     * @return Anzahl der beendeten Iterationen
+     */
+    public int getFinishedIterations()
+    {
+        return finishedIterations;
+    }
+
+    /**
+     * Gibt die erledigten Punkte der zuletzt beendeten Iteration zurück
+     * 
+     * @return Geschwindigkeit oder <code>0</code>, wenn keine Iteration beendet ist
+     */
+    public float getVelocity()
+    {
+        return velocity;
+    }
+
+    /**
+     * Gibt den gleitenden Durchschnitt der erledigten Punkte über die zuletzt beendeten
+     * Iterationen zurück
+     * 
+     * @return durchschnittliche Geschwindigkeit oder <code>0</code>, wenn keine Iteration beendet
+     *         ist
+     */
+    public float getAverageVelocity()
+    {
+        return averageVelocity;
+    }
+
+    /**
+     * Gibt die nicht erledigten Punkte in den zum Stichtag nicht beendeten Iterationen zurück
+     * 
+     * @return offene Punkte
+     */
+    public float getOpenPoints()
+    {
+        return openPoints;
+    }
+
+    /**
+     * Gibt die Anzahl der Mitglieder des {@link Team} zurück
+     * 
+     * @return Anzahl der Mitglieder
+     */
+    public int getMembers()
+    {
+        return members;
+    }
+
+    /**
+     * Gibt die offenen Punkte je Mitglied zurück
+     * 
+     * @return offene Punkte je Mitglied oder <code>0</code>, wenn das {@link Team} keine
+     *         Mitglieder hat
+     */
+    public float getLoadPerMember()
+    {
+        return 0 == members ? 0 : openPoints / members;
+    }
+
+    /**
+     * Gibt die erwartete Kapazität je Mitglied für die nächste Iteration auf Basis der
+     * durchschnittlichen Geschwindigkeit zurück
+     * 
+     * @return Punkte je Mitglied oder <code>0</code>, wenn das {@link Team} keine Mitglieder hat
+     */
+    public float getCapacityPerMember()
+    {
+        return 0 == members ? 0 : averageVelocity / members;
+    }
+
+    /**
+     * Gibt die Anzahl der Iterationen zurück, welche bei durchschnittlicher Geschwindigkeit für
+     * die offenen Punkte benötigt werden
+     * 
+     * @return Anzahl der Iterationen oder <code>-1</code>, wenn noch keine Punkte erledigt wurden
+     */
+    public int getForecastIterations()
+    {
+        if ( 0 == openPoints )
+        {
+            return 0;
+        }
+        return 0 < averageVelocity ? (int) Math.ceil( openPoints / averageVelocity ) : -1;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString()
+    {
+        return "TeamVelocity [finishedIterations=" + finishedIterations + ", velocity=" + velocity
+            + ", averageVelocity=" + averageVelocity + ", openPoints=" + openPoints + ", members="
+            + members + "]";
+    }
+}
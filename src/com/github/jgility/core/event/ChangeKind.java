@@ -0,0 +1,28 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.event;
+
+/**
+ * Art einer Änderung am Modell, welche über ein {@link ModelEvent} mitgeteilt wird
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public enum ChangeKind
+{
+
+    ADDED,
+
+    REMOVED,
+
+    UPDATED;
+}
@@ -0,0 +1,33 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.event;
+
+import java.util.List;
+
+/**
+ * Interface für Beobachter von Änderungen am Modell. Wird über
+ * {@link ModelEventBus#addListener(IModelListener)} registriert.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public interface IModelListener
+{
+
+    /**
+     * Wird aufgerufen, wenn sich das Modell geändert hat. Innerhalb eines Batches werden alle
+     * Änderungen gesammelt und mit einem einzigen Aufruf mitgeteilt.
+     * 
+     * @param events unveränderliche {@link List} der Änderungen in ihrer Reihenfolge
+     */
+    void modelChanged( List<ModelEvent> events );
+}
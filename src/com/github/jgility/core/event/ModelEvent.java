@@ -0,0 +1,99 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.event;
+
+/**
+ * Unveränderliche Beschreibung einer Änderung am Modell
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public class ModelEvent
+{
+
+    private final Object source;
+
+    private final ChangeKind kind;
+
+    private final String property;
+
+    private final Object value;
+
+    /**
+     * Instanziiert ein Objekt der Klasse {@link ModelEvent}
+     * 
+     * @param source geändertes Objekt
+     * @param kind Art der Änderung
+     * @param property Name der geänderten Eigenschaft
+     * @param value hinzugefügtes, entferntes oder neues Element, bei mehreren Elementen eine
+     *            unveränderliche {@link java.util.List} (darf <code>null</code> sein)
+     */
+    public ModelEvent( Object source, ChangeKind kind, String property, Object value )
+    {
+        this.source = source;
+        this.kind = kind;
+        this.property = property;
+        this.value = value;
+    }
+
+    /**
+     * Gibt das geänderte Objekt zurück
+     * 
+     * @return geändertes Objekt
+     */
+    public Object getSource()
+    {
+        return source;
+    }
+
+    /**
+     * Gibt die Art der Änderung zurück
+     * 
+     * @return Art der Änderung als {@link ChangeKind}
+     */
+    public ChangeKind getKind()
+    {
+        return kind;
+    }
+
+    /**
+     * Gibt den Namen der geänderten Eigenschaft zurück
+     * 
+     * @return Name der Eigenschaft
+     */
+    public String getProperty()
+    {
+        return property;
+    }
+
+    /**
+     * Gibt das hinzugefügte, entfernte oder neue Element zurück. Betrifft die Änderung mehrere
+     * Elemente, ist der Wert eine unveränderliche {@link java.util.List} dieser Elemente.
+     * 
+     * @return Element der Änderung oder <code>null</code>
+     */
+    public Object getValue()
+    {
+        return value;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString()
+    {
+        return "ModelEvent [source=" + source.getClass().getSimpleName() + ", kind=" + kind
+            + ", property=" + property + "]";
+    }
+}
@@ -0,0 +1,358 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.event;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import com.github.jgility.core.util.EqualsUtils;
+
+/**
+ * Verteilt {@link ModelEvent}s an registrierte {@link IModelListener}. Ohne registrierte Beobachter
+ * verursacht eine Änderung am Modell keine zusätzlichen Objekte.<br>
+ * Über {@link #beginBatch()} und {@link #endBatch()} werden alle Änderungen des aktuellen Threads
+ * gesammelt und beim Abschluss als eine einzige Benachrichtigung verteilt. Wiederholte
+ * {@link ChangeKind#UPDATED}-Änderungen derselben Eigenschaft eines Objekts werden dabei zu einer
+ * Änderung zusammengefasst.<br>
+ * Asynchrone Beobachter werden auf einem eigenen Thread des {@link ModelEventBus} benachrichtigt.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public class ModelEventBus
+{
+
+    private static final Log LOG = LogFactory.getLog( ModelEventBus.class );
+
+    private static final ModelEventBus DEFAULT = new ModelEventBus();
+
+    private final List<IModelListener> listeners;
+
+    private final List<IModelListener> asyncListeners;
+
+    private final ExecutorService executor;
+
+    private final ThreadLocal<Batch> batch = new ThreadLocal<>();
+
+    /**
+     * Instanziiert einen {@link ModelEventBus} mit einem eigenen Thread für die asynchrone
+     * Benachrichtigung. Der Thread wird erst bei der ersten asynchronen Benachrichtigung gestartet.
+     */
+    public ModelEventBus()
+    {
+        this( Executors.newSingleThreadExecutor( new ThreadFactory()
+        {
+            @Override
+            public Thread newThread( Runnable runnable )
+            {
+                Thread thread = new Thread( runnable, "jgility-model-events" );
+                thread.setDaemon( true );
+                return thread;
+            }
+        } ) );
+    }
+
+    /**
+     * Instanziiert einen {@link ModelEventBus} mit übergebenem {@link ExecutorService} für die
+     * asynchrone Benachrichtigung. Für eine geordnete Zustellung sollte der {@link ExecutorService}
+     * nur einen Thread besitzen.
+     * 
+     * @param executor {@link ExecutorService} für asynchrone Beobachter
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     */
+    public ModelEventBus( ExecutorService executor )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, executor ) )
+        {
+            throw new IllegalArgumentException( "null-object as executor is not allowed" );
+        }
+        this.executor = executor;
+        listeners = new CopyOnWriteArrayList<>();
+        asyncListeners = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Gibt den {@link ModelEventBus} zurück, über welchen die Klassen des Modells ihre Änderungen
+     * mitteilen
+     * 
+     * @return Standard-{@link ModelEventBus}
+     */
+    public static ModelEventBus getDefault()
+    {
+        return DEFAULT;
+    }
+
+    /**
+     * Registriert einen Beobachter, welcher synchron im ändernden Thread benachrichtigt wird
+     * 
+     * @param listener zu registrierender {@link IModelListener}
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     */
+    public void addListener( IModelListener listener )
+        throws IllegalArgumentException
+    {
+        addListener( listener, false );
+    }
+
+    /**
+     * Registriert einen Beobachter
+     * 
+     * @param listener zu registrierender {@link IModelListener}
+     * @param asynchronous <code>true</code> wenn der Beobachter auf dem Thread des
+     *            {@link ModelEventBus} benachrichtigt werden soll
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     */
+    public void addListener( IModelListener listener, boolean asynchronous )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, listener ) )
+        {
+            throw new IllegalArgumentException( "null-object as listener is not allowed" );
+        }
+
+        if ( asynchronous )
+        {
+            asyncListeners.add( listener );
+        }
+        else
+        {
+            listeners.add( listener );
+        }
+    }
+
+    /**
+     * Entfernt einen registrierten Beobachter
+     * 
+     * @param listener zu entfernender {@link IModelListener}
+     * @return <code>true</code> wenn der Beobachter registriert war
+     */
+    public boolean removeListener( IModelListener listener )
+    {
+        boolean removed = listeners.remove( listener );
+        return asyncListeners.remove( listener ) || removed;
+    }
+
+    /**
+     * Prüft ob Beobachter registriert sind
+     * 
+     * @return <code>true</code> wenn mindestens ein Beobachter registriert ist
+     */
+    public boolean hasListeners()
+    {
+        return !listeners.isEmpty() || !asyncListeners.isEmpty();
+    }
+
+    /**
+     * Teilt eine Änderung am Modell mit. Innerhalb eines Batches wird die Änderung bis zum
+     * Abschluss gesammelt.
+     * 
+     * @param source geändertes Objekt
+     * @param kind Art der Änderung
+     * @param property Name der geänderten Eigenschaft
+     * @param value hinzugefügtes, entferntes oder neues Element
+     */
+    public void publish( Object source, ChangeKind kind, String property, Object value )
+    {
+        if ( !hasListeners() )
+        {
+            return;
+        }
+
+        ModelEvent event = new ModelEvent( source, kind, property, value );
+        Batch currentBatch = batch.get();
+        if ( null != currentBatch )
+        {
+            currentBatch.add( event );
+        }
+        else
+        {
+            dispatch( Collections.singletonList( event ) );
+        }
+    }
+
+    /**
+     * Beginnt einen Batch für den aktuellen Thread. Batches können verschachtelt werden, die
+     * Benachrichtigung erfolgt beim Abschluss des äußersten Batches.
+     */
+    public void beginBatch()
+    {
+        Batch currentBatch = batch.get();
+        if ( null == currentBatch )
+        {
+            currentBatch = new Batch();
+            batch.set( currentBatch );
+        }
+        currentBatch.depth++;
+    }
+
+    /**
+     * Schließt den Batch des aktuellen Threads ab und verteilt die gesammelten Änderungen
+     * 
+     * @throws IllegalStateException wenn kein Batch begonnen wurde
+     */
+    public void endBatch()
+        throws IllegalStateException
+    {
+        Batch currentBatch = batch.get();
+        if ( null == currentBatch )
+        {
+            throw new IllegalStateException( "no batch has been started" );
+        }
+
+        if ( 0 == --currentBatch.depth )
+        {
+            batch.remove();
+            if ( !currentBatch.events.isEmpty() && hasListeners() )
+            {
+                dispatch( Collections.unmodifiableList( currentBatch.events ) );
+            }
+        }
+    }
+
+    /**
+     * Verwirft alle Änderungen des Batches im aktuellen Thread ohne Benachrichtigung, z.B. nach
+     * einem Rollback. Verschachtelte Batches werden ebenfalls beendet.
+     */
+    public void discardBatch()
+    {
+        batch.remove();
+    }
+
+    /**
+     * Prüft ob im aktuellen Thread ein Batch aktiv ist
+     * 
+     * @return <code>true</code> wenn ein Batch aktiv ist
+     */
+    public boolean isBatchActive()
+    {
+        return null != batch.get();
+    }
+
+    /**
+     * Beendet den Thread für die asynchrone Benachrichtigung. Bereits eingereihte
+     * Benachrichtigungen werden noch zugestellt.
+     */
+    public void shutdown()
+    {
+        executor.shutdown();
+    }
+
+    private void dispatch( final List<ModelEvent> events )
+    {
+        for ( IModelListener listener : listeners )
+        {
+            notifyListener( listener, events );
+        }
+
+        if ( !asyncListeners.isEmpty() )
+        {
+            executor.execute( new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    for ( IModelListener listener : asyncListeners )
+                    {
+                        notifyListener( listener, events );
+                    }
+                }
+            } );
+        }
+    }
+
+    private static void notifyListener( IModelListener listener, List<ModelEvent> events )
+    {
+        try
+        {
+            listener.modelChanged( events );
+        }
+        catch ( RuntimeException e )
+        {
+            LOG.error( "model listener failed: " + listener, e );
+        }
+    }
+
+    /*
+     * Gesammelte Änderungen eines Threads. UPDATED-Änderungen werden je Objekt und Eigenschaft
+     * zusammengefasst, die Position der ersten Änderung bleibt erhalten.
+     */
+    private static final class Batch
+    {
+        private final List<ModelEvent> events = new ArrayList<>();
+
+        private final Map<EventKey, Integer> updates = new HashMap<>();
+
+        private int depth;
+
+        private void add( ModelEvent event )
+        {
+            if ( ChangeKind.UPDATED == event.getKind() )
+            {
+                EventKey key = new EventKey( event.getSource(), event.getProperty() );
+                Integer index = updates.get( key );
+                if ( null != index )
+                {
+                    events.set( index, event );
+                    return;
+                }
+                updates.put( key, events.size() );
+            }
+            events.add( event );
+        }
+    }
+
+    /*
+     * Schlüssel aus Objekt-Identität und Eigenschaft
+     */
+    private static final class EventKey
+    {
+        private final Object source;
+
+        private final String property;
+
+        private EventKey( Object source, String property )
+        {
+            this.source = source;
+            this.property = property;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return EqualsUtils.PRIME * System.identityHashCode( source )
+                + ObjectUtils.hashCode( property );
+        }
+
+        @Override
+        public boolean equals( Object obj )
+        {
+            if ( obj instanceof EventKey )
+            {
+                EventKey key = (EventKey) obj;
+                return source == key.source && ObjectUtils.equals( property, key.property );
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.exchange;
+
+/**
+ * Ausgabeformate des {@link StoryExporter}
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public enum ExportFormat
+{
+
+    /**
+     * CSV (RFC 4180) mit Kopfzeile
+     */
+    CSV,
+
+    /**
+     * JSON, <code>null</code>-Werte werden ausgelassen
+     */
+    JSON;
+}
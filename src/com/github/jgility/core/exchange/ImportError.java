@@ -0,0 +1,70 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.exchange;
+
+/**
+ * Beschreibt einen fehlerhaften Datensatz eines Imports
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public final class ImportError
+{
+
+    private final int row;
+
+    private final String message;
+
+    /**
+     * Instanziiert ein Objekt der Klasse {@link ImportError}
+     * 
+     * @param row Zeile oder Nummer des Datensatzes, beginnend bei 1
+     * @param message Beschreibung des Fehlers
+     */
+    public ImportError( int row, String message )
+    {
+        this.row = row;
+        this.message = message;
+    }
+
+    /**
+     * Gibt die Position des Datensatzes zurück. Bei CSV ist dies die Zeile der Eingabe, in welcher
+     * der Datensatz beginnt, die Kopfzeile ist Zeile 1. Bei JSON ist es die Nummer des Elements im
+     * Array.
+     * 
+     * @return Zeile oder Nummer des Datensatzes, beginnend bei 1
+     */
+    public int getRow()
+    {
+        return row;
+    }
+
+    /**
+     * Gibt die Beschreibung des Fehlers zurück
+     * 
+     * @return Beschreibung des Fehlers
+     */
+    public String getMessage()
+    {
+        return message;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString()
+    {
+        return "ImportError [row=" + row + ", message=" + message + "]";
+    }
+}
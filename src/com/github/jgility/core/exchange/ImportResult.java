@@ -0,0 +1,76 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.exchange;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Ergebnis eines Imports mit der Anzahl der übernommenen Anforderungen und den fehlerhaften
+ * Datensätzen
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public final class ImportResult
+{
+
+    private final int imported;
+
+    private final List<ImportError> errors;
+
+    ImportResult( int imported, List<ImportError> errors )
+    {
+        this.imported = imported;
+        this.errors = Collections.unmodifiableList( errors );
+    }
+
+    /**
+     * Gibt die Anzahl der übernommenen Anforderungen zurück
+     * 
+     * @return Anzahl der übernommenen Anforderungen
+     */
+    public int getImported()
+    {
+        return imported;
+    }
+
+    /**
+     * Gibt die fehlerhaften Datensätze in der Reihenfolge der Eingabe zurück
+     * 
+     * @return unveränderliche {@link List} von {@link ImportError}
+     */
+    public List<ImportError> getErrors()
+    {
+        return errors;
+    }
+
+    /**
+     * Prüft ob fehlerhafte Datensätze aufgetreten sind
+     * 
+     * @return <code>true</code> wenn mindestens ein Datensatz fehlerhaft war
+     */
+    public boolean hasErrors()
+    {
+        return !errors.isEmpty();
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString()
+    {
+        return "ImportResult [imported=" + imported + ", errors=" + errors.size() + "]";
+    }
+}
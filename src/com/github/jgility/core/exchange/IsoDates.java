@@ -0,0 +1,190 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.exchange;
+
+/**
+ * Thread-sichere Umwandlung von Zeitpunkten im Format ISO-8601 (UTC) ohne
+ * {@link java.text.SimpleDateFormat}. Gelesen werden <code>yyyy-MM-dd</code> und
+ * <code>yyyy-MM-dd'T'HH:mm:ss[.SSS]'Z'</code>, geschrieben wird immer
+ * <code>yyyy-MM-dd'T'HH:mm:ss.SSS'Z'</code>.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+final class IsoDates
+{
+
+    /**
+     * Länge eines mit {@link #format(long, char[])} geschriebenen Zeitpunkts
+     */
+    static final int FORMAT_LENGTH = 24;
+
+    private static final long MILLIS_PER_DAY = 24L * 60 * 60 * 1000;
+
+    private IsoDates()
+    {
+    }
+
+    /**
+     * Wandelt einen Zeitpunkt im Format ISO-8601 in Millisekunden seit 1970 um
+     * 
+     * @param text Zeitpunkt als Text
+     * @return Millisekunden seit 01.01.1970 UTC
+     * @throws IllegalArgumentException wenn der Text kein gültiger Zeitpunkt ist
+     */
+    static long parse( String text )
+        throws IllegalArgumentException
+    {
+        int length = text.length();
+        if ( ( 10 != length && length < 20 ) || '-' != text.charAt( 4 ) || '-' != text.charAt( 7 ) )
+        {
+            throw new IllegalArgumentException( "invalid date: " + text );
+        }
+
+        int year = digits( text, 0, 4 );
+        int month = digits( text, 5, 2 );
+        int day = digits( text, 8, 2 );
+        if ( month < 1 || month > 12 || day < 1 || day > daysOfMonth( year, month ) )
+        {
+            throw new IllegalArgumentException( "invalid date: " + text );
+        }
+        long millis = daysFromCivil( year, month, day ) * MILLIS_PER_DAY;
+        if ( 10 == length )
+        {
+            return millis;
+        }
+
+        if ( 'T' != text.charAt( 10 ) || ':' != text.charAt( 13 ) || ':' != text.charAt( 16 )
+            || 'Z' != text.charAt( length - 1 ) )
+        {
+            throw new IllegalArgumentException( "invalid date: " + text );
+        }
+        int hour = digits( text, 11, 2 );
+        int minute = digits( text, 14, 2 );
+        int second = digits( text, 17, 2 );
+        int milli = 0;
+        if ( 24 == length && '.' == text.charAt( 19 ) )
+        {
+            milli = digits( text, 20, 3 );
+        }
+        else if ( 20 != length )
+        {
+            throw new IllegalArgumentException( "invalid date: " + text );
+        }
+        if ( hour > 23 || minute > 59 || second > 59 )
+        {
+            throw new IllegalArgumentException( "invalid date: " + text );
+        }
+        return millis + ( ( hour * 60L + minute ) * 60 + second ) * 1000 + milli;
+    }
+
+    /**
+     * Schreibt einen Zeitpunkt im Format <code>yyyy-MM-dd'T'HH:mm:ss.SSS'Z'</code> in den
+     * übergebenen Puffer. Es werden keine Objekte erzeugt.
+     * 
+     * @param millis Millisekunden seit 01.01.1970 UTC
+     * @param buffer Puffer mit mindestens {@link #FORMAT_LENGTH} Zeichen
+     * @return Anzahl der geschriebenen Zeichen
+     * @throws IllegalArgumentException wenn das Jahr nicht vierstellig ist
+     */
+    static int format( long millis, char[] buffer )
+        throws IllegalArgumentException
+    {
+        long days = millis / MILLIS_PER_DAY;
+        int millisOfDay = (int) ( millis % MILLIS_PER_DAY );
+        if ( millisOfDay < 0 )
+        {
+            days--;
+            millisOfDay += MILLIS_PER_DAY;
+        }
+
+        long z = days + 719468;
+        long era = ( z >= 0 ? z : z - 146096 ) / 146097;
+        int dayOfEra = (int) ( z - era * 146097 );
+        int yearOfEra = ( dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096 ) / 365;
+        int dayOfYear = dayOfEra - ( 365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100 );
+        int mp = ( 5 * dayOfYear + 2 ) / 153;
+        int day = dayOfYear - ( 153 * mp + 2 ) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        long year = yearOfEra + era * 400 + ( month <= 2 ? 1 : 0 );
+        if ( year < 0 || year > 9999 )
+        {
+            throw new IllegalArgumentException( "year is out of range: " + year );
+        }
+
+        write( buffer, 0, (int) year, 4 );
+        buffer[4] = '-';
+        write( buffer, 5, month, 2 );
+        buffer[7] = '-';
+        write( buffer, 8, day, 2 );
+        buffer[10] = 'T';
+        write( buffer, 11, millisOfDay / 3600000, 2 );
+        buffer[13] = ':';
+        write( buffer, 14, millisOfDay / 60000 % 60, 2 );
+        buffer[16] = ':';
+        write( buffer, 17, millisOfDay / 1000 % 60, 2 );
+        buffer[19] = '.';
+        write( buffer, 20, millisOfDay % 1000, 3 );
+        buffer[23] = 'Z';
+        return FORMAT_LENGTH;
+    }
+
+    private static void write( char[] buffer, int offset, int value, int count )
+    {
+        for ( int i = offset + count - 1; i >= offset; i-- )
+        {
+            buffer[i] = (char) ( '0' + value % 10 );
+            value /= 10;
+        }
+    }
+
+    private static int digits( String text, int offset, int count )
+    {
+        int value = 0;
+        for ( int i = offset; i < offset + count; i++ )
+        {
+            char c = text.charAt( i );
+            if ( c < '0' || c > '9' )
+            {
+                throw new IllegalArgumentException( "invalid date: " + text );
+            }
+            value = value * 10 + ( c - '0' );
+        }
+        return value;
+    }
+
+    /*
+     * Anzahl der Tage eines Monats im proleptischen gregorianischen Kalender
+     */
+    private static int daysOfMonth( int year, int month )
+    {
+        if ( 2 == month )
+        {
+            boolean leap = 0 == year % 4 && ( 0 != year % 100 || 0 == year % 400 );
+            return leap ? 29 : 28;
+        }
+        return 4 == month || 6 == month || 9 == month || 11 == month ? 30 : 31;
+    }
+
+    /*
+     * Tage seit 01.01.1970 im proleptischen gregorianischen Kalender
+     */
+    private static long daysFromCivil( int year, int month, int day )
+    {
+        int y = month <= 2 ? year - 1 : year;
+        int era = ( y >= 0 ? y : y - 399 ) / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = ( 153 * ( month + ( month > 2 ? -3 : 9 ) ) + 2 ) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097L + dayOfEra - 719468;
+    }
+}
@@ -0,0 +1,738 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.exchange;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Calendar;
+import java.util.List;
+
+import org.apache.commons.lang3.ObjectUtils;
+
+import com.github.jgility.core.planning.Backlog;
+import com.github.jgility.core.planning.IIteration;
+import com.github.jgility.core.planning.IRelease;
+import com.github.jgility.core.project.Team;
+import com.github.jgility.core.requirement.IImplementableRequirement;
+import com.github.jgility.core.requirement.IRequirement;
+import com.github.jgility.core.requirement.ImplementState;
+
+/**
+ * Exportiert {@link Backlog}s, {@link IIteration}s und {@link IRelease}s als CSV oder JSON. Die
+ * Ausgabe wird direkt in den übergebenen {@link Writer} bzw. {@link OutputStream} geschrieben, der
+ * Speicherbedarf ist unabhängig von der Anzahl der Anforderungen. Zeitpunkte werden ohne
+ * {@link java.text.SimpleDateFormat} im Format ISO-8601 (UTC) geschrieben, ein
+ * {@link StoryExporter} kann daher von mehreren Threads gleichzeitig verwendet werden.<br>
+ * Die Spalten bzw. Felder einer Anforderung sind <code>id</code>, <code>title</code>,
+ * <code>description</code>, <code>createDate</code>, <code>estimated</code>,
+ * <code>effective</code>, <code>priority</code>, <code>requester</code>,
+ * <code>requirementKind</code>, <code>implementState</code>, <code>assignee</code> sowie bei CSV
+ * <code>iterationStart</code> und <code>iterationEnd</code>. Ein CSV-Export eines {@link Backlog}s
+ * kann mit dem {@link StoryImporter} wieder eingelesen werden.<br>
+ * Übergebene {@link Writer} und {@link OutputStream}s werden nicht geschlossen.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public class StoryExporter
+{
+
+    private static final Charset CHARSET = Charset.forName( "UTF-8" );
+
+    private static final String[] COLUMNS = { "id", "title", "description", "createDate",
+        "estimated", "effective", "priority", "requester", "requirementKind", "implementState",
+        "assignee", "iterationStart", "iterationEnd" };
+
+    private static final int ID = 0;
+
+    private static final int TITLE = 1;
+
+    private static final int DESCRIPTION = 2;
+
+    private static final int CREATE_DATE = 3;
+
+    private static final int ESTIMATED = 4;
+
+    private static final int EFFECTIVE = 5;
+
+    private static final int PRIORITY = 6;
+
+    private static final int REQUESTER = 7;
+
+    private static final int REQUIREMENT_KIND = 8;
+
+    private static final int IMPLEMENT_STATE = 9;
+
+    private static final int ASSIGNEE = 10;
+
+    private static final int ITERATION_START = 11;
+
+    private static final int ITERATION_END = 12;
+
+    private static final String[] BURNDOWN_COLUMNS = { "iteration", "start", "end", "planned",
+        "done", "remaining" };
+
+    private final ExportFormat format;
+
+    /**
+     * Instanziiert einen {@link StoryExporter} für das übergebene Format
+     * 
+     * @param format Ausgabeformat
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     */
+    public StoryExporter( ExportFormat format )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, format ) )
+        {
+            throw new IllegalArgumentException( "null-object as format is not allowed" );
+        }
+        this.format = format;
+    }
+
+    /**
+     * Gibt das Ausgabeformat zurück
+     * 
+     * @return Ausgabeformat
+     */
+    public ExportFormat getFormat()
+    {
+        return format;
+    }
+
+    /**
+     * Exportiert alle Anforderungen eines {@link Backlog}s. Bei JSON wird ein Array von Objekten
+     * geschrieben.
+     * 
+     * @param backlog zu exportierendes {@link Backlog}
+     * @param writer Ausgabe
+     * @throws IllegalArgumentException wenn ein Parameter <code>null</code> ist
+     * @throws IllegalStateException wenn die Ausgabe nicht geschrieben werden kann
+     */
+    public void exportBacklog( Backlog<? extends IRequirement> backlog, Writer writer )
+        throws IllegalArgumentException, IllegalStateException
+    {
+        checkParameter( backlog, writer );
+        try
+        {
+            RecordWriter record = new RecordWriter( format, new BufferedWriter( writer ), COLUMNS );
+            record.beginTable();
+            writeRequirements( record, backlog.getRequirementList(), null );
+            record.endTable();
+            record.flush();
+        }
+        catch ( IOException e )
+        {
+            throw new IllegalStateException( "export failed", e );
+        }
+    }
+
+    /**
+     * Exportiert alle Anforderungen eines {@link Backlog}s in UTF-8
+     * 
+     * @param backlog zu exportierendes {@link Backlog}
+     * @param output Ausgabe
+     * @throws IllegalArgumentException wenn ein Parameter <code>null</code> ist
+     * @throws IllegalStateException wenn die Ausgabe nicht geschrieben werden kann
+     * @see #exportBacklog(Backlog, Writer)
+     */
+    public void exportBacklog( Backlog<? extends IRequirement> backlog, OutputStream output )
+        throws IllegalArgumentException, IllegalStateException
+    {
+        exportBacklog( backlog, toWriter( output ) );
+    }
+
+    /**
+     * Exportiert eine {@link IIteration}. Bei CSV wird je Anforderung eine Zeile mit Start und Ende
+     * der {@link IIteration} geschrieben, bei JSON ein Objekt mit den Feldern <code>start</code>,
+     * <code>end</code> und <code>requirements</code>.
+     * 
+     * @param iteration zu exportierende {@link IIteration}
+     * @param writer Ausgabe
+     * @throws IllegalArgumentException wenn ein Parameter <code>null</code> ist
+     * @throws IllegalStateException wenn die Ausgabe nicht geschrieben werden kann
+     */
+    public void exportIteration( IIteration iteration, Writer writer )
+        throws IllegalArgumentException, IllegalStateException
+    {
+        checkParameter( iteration, writer );
+        try
+        {
+            RecordWriter record = new RecordWriter( format, new BufferedWriter( writer ), COLUMNS );
+            if ( ExportFormat.CSV == format )
+            {
+                record.beginTable();
+            }
+            writeIteration( record, iteration );
+            record.flush();
+        }
+        catch ( IOException e )
+        {
+            throw new IllegalStateException( "export failed", e );
+        }
+    }
+
+    /**
+     * Exportiert eine {@link IIteration} in UTF-8
+     * 
+     * @param iteration zu exportierende {@link IIteration}
+     * @param output Ausgabe
+     * @throws IllegalArgumentException wenn ein Parameter <code>null</code> ist
+     * @throws IllegalStateException wenn die Ausgabe nicht geschrieben werden kann
+     * @see #exportIteration(IIteration, Writer)
+     */
+    public void exportIteration( IIteration iteration, OutputStream output )
+        throws IllegalArgumentException, IllegalStateException
+    {
+        exportIteration( iteration, toWriter( output ) );
+    }
+
+    /**
+     * Exportiert ein {@link IRelease} mit allen {@link IIteration}s. Bei CSV wird je Anforderung
+     * eine Zeile geschrieben, bei JSON ein Objekt mit den Feldern <code>start</code>,
+     * <code>end</code> und <code>iterations</code>.
+     * 
+     * @param release zu exportierendes {@link IRelease}
+     * @param writer Ausgabe
+     * @throws IllegalArgumentException wenn ein Parameter <code>null</code> ist
+     * @throws IllegalStateException wenn die Ausgabe nicht geschrieben werden kann
+     */
+    public void exportRelease( IRelease release, Writer writer )
+        throws IllegalArgumentException, IllegalStateException
+    {
+        checkParameter( release, writer );
+        try
+        {
+            RecordWriter record = new RecordWriter( format, new BufferedWriter( writer ), COLUMNS );
+            if ( ExportFormat.CSV == format )
+            {
+                record.beginTable();
+                for ( IIteration iteration : release.getIterationList() )
+                {
+                    writeIteration( record, iteration );
+                }
+            }
+            else
+            {
+                record.beginObject();
+                record.date( "start", release.getStart() );
+                record.date( "end", release.getEnd() );
+                record.beginArray( "iterations" );
+                for ( IIteration iteration : release.getIterationList() )
+                {
+                    writeIteration( record, iteration );
+                }
+                record.endArray();
+                record.endObject();
+            }
+            record.flush();
+        }
+        catch ( IOException e )
+        {
+            throw new IllegalStateException( "export failed", e );
+        }
+    }
+
+    /**
+     * Exportiert ein {@link IRelease} in UTF-8
+     * 
+     * @param release zu exportierendes {@link IRelease}
+     * @param output Ausgabe
+     * @throws IllegalArgumentException wenn ein Parameter <code>null</code> ist
+     * @throws IllegalStateException wenn die Ausgabe nicht geschrieben werden kann
+     * @see #exportRelease(IRelease, Writer)
+     */
+    public void exportRelease( IRelease release, OutputStream output )
+        throws IllegalArgumentException, IllegalStateException
+    {
+        exportRelease( release, toWriter( output ) );
+    }
+
+    /**
+     * Exportiert den Burndown eines {@link IRelease}. Je {@link IIteration} wird ein Datensatz mit
+     * den Spalten <code>iteration</code> (beginnend bei 1), <code>start</code>, <code>end</code>,
+     * <code>planned</code> (geschätzter Aufwand der {@link IIteration}), <code>done</code>
+     * (geschätzter Aufwand der erledigten Anforderungen) und <code>remaining</code> (verbleibender
+     * Aufwand des {@link IRelease}s nach der {@link IIteration}) geschrieben.
+     * 
+     * @param release auszuwertendes {@link IRelease}
+     * @param writer Ausgabe
+     * @throws IllegalArgumentException wenn ein Parameter <code>null</code> ist
+     * @throws IllegalStateException wenn die Ausgabe nicht geschrieben werden kann
+     */
+    public void exportBurndown( IRelease release, Writer writer )
+        throws IllegalArgumentException, IllegalStateException
+    {
+        checkParameter( release, writer );
+        List<IIteration> iterations = release.getIterationList();
+        double remaining = 0;
+        for ( IIteration iteration : iterations )
+        {
+            for ( IRequirement requirement : iteration.getIterationBacklog().getRequirementList() )
+            {
+                remaining += requirement.getEstimated();
+            }
+        }
+
+        try
+        {
+            RecordWriter record =
+                new RecordWriter( format, new BufferedWriter( writer ), BURNDOWN_COLUMNS );
+            record.beginTable();
+            int number = 1;
+            for ( IIteration iteration : iterations )
+            {
+                double planned = 0;
+                double done = 0;
+                for ( IImplementableRequirement requirement : iteration.getIterationBacklog()
+                    .getRequirementList() )
+                {
+                    planned += requirement.getEstimated();
+                    if ( ImplementState.DONE == requirement.getImplementState() )
+                    {
+                        done += requirement.getEstimated();
+                    }
+                }
+                remaining -= done;
+
+                record.beginRecord();
+                record.number( 0, number++ );
+                record.date( 1, iteration.getStart() );
+                record.date( 2, iteration.getEnd() );
+                record.number( 3, (float) planned );
+                record.number( 4, (float) done );
+                record.number( 5, (float) remaining );
+                record.endRecord();
+            }
+            record.endTable();
+            record.flush();
+        }
+        catch ( IOException e )
+        {
+            throw new IllegalStateException( "export failed", e );
+        }
+    }
+
+    /**
+     * Exportiert den Burndown eines {@link IRelease} in UTF-8
+     * 
+     * @param release auszuwertendes {@link IRelease}
+     * @param output Ausgabe
+     * @throws IllegalArgumentException wenn ein Parameter <code>null</code> ist
+     * @throws IllegalStateException wenn die Ausgabe nicht geschrieben werden kann
+     * @see #exportBurndown(IRelease, Writer)
+     */
+    public void exportBurndown( IRelease release, OutputStream output )
+        throws IllegalArgumentException, IllegalStateException
+    {
+        exportBurndown( release, toWriter( output ) );
+    }
+
+    private static void checkParameter( Object source, Writer writer )
+    {
+        if ( ObjectUtils.equals( null, source ) )
+        {
+            throw new IllegalArgumentException( "null-object as source is not allowed" );
+        }
+        if ( ObjectUtils.equals( null, writer ) )
+        {
+            throw new IllegalArgumentException( "null-object as writer is not allowed" );
+        }
+    }
+
+    private static Writer toWriter( OutputStream output )
+    {
+        if ( ObjectUtils.equals( null, output ) )
+        {
+            throw new IllegalArgumentException( "null-object as output is not allowed" );
+        }
+        return new OutputStreamWriter( output, CHARSET );
+    }
+
+    private void writeIteration( RecordWriter record, IIteration iteration )
+        throws IOException
+    {
+        List<? extends IRequirement> requirements =
+            iteration.getIterationBacklog().getRequirementList();
+        if ( ExportFormat.CSV == format )
+        {
+            writeRequirements( record, requirements, iteration );
+            return;
+        }
+
+        record.beginObject();
+        record.date( "start", iteration.getStart() );
+        record.date( "end", iteration.getEnd() );
+        record.beginArray( "requirements" );
+        writeRequirements( record, requirements, null );
+        record.endArray();
+        record.endObject();
+    }
+
+    private static void writeRequirements( RecordWriter record,
+                                           List<? extends IRequirement> requirements,
+                                           IIteration iteration )
+        throws IOException
+    {
+        for ( IRequirement requirement : requirements )
+        {
+            record.beginRecord();
+            record.number( ID, requirement.getID() );
+            record.string( TITLE, requirement.getTitle() );
+            record.string( DESCRIPTION, requirement.getDescription() );
+            record.date( CREATE_DATE, requirement.getCreateDate() );
+            record.number( ESTIMATED, requirement.getEstimated() );
+            record.number( EFFECTIVE, requirement.getEffective() );
+            record.name( PRIORITY, requirement.getPriority() );
+            record.string( REQUESTER, requirement.getRequester() );
+            record.name( REQUIREMENT_KIND, requirement.getRequirementKind() );
+            if ( requirement instanceof IImplementableRequirement )
+            {
+                IImplementableRequirement implementable = (IImplementableRequirement) requirement;
+                record.name( IMPLEMENT_STATE, implementable.getImplementState() );
+                Team assignee = implementable.getAssignee();
+                if ( null != assignee && Team.UNASSIGNED != assignee )
+                {
+                    record.string( ASSIGNEE, assignee.getName() );
+                }
+            }
+            if ( null != iteration )
+            {
+                record.date( ITERATION_START, iteration.getStart() );
+                record.date( ITERATION_END, iteration.getEnd() );
+            }
+            record.endRecord();
+        }
+    }
+
+    /*
+     * Schreibt Datensätze mit festen Spalten als CSV-Zeilen oder JSON-Objekte. Leere Spalten werden
+     * bei CSV als leeres Feld geschrieben und bei JSON ausgelassen. Der Puffer für Zeitpunkte wird
+     * für alle Datensätze eines Exports wiederverwendet.
+     */
+    private static final class RecordWriter
+    {
+        private final boolean csv;
+
+        private final Writer out;
+
+        private final char[] dateBuffer = new char[IsoDates.FORMAT_LENGTH];
+
+        private final String[] columns;
+
+        private int column;
+
+        private boolean first = true;
+
+        private RecordWriter( ExportFormat format, Writer out, String[] columns )
+        {
+            this.csv = ExportFormat.CSV == format;
+            this.out = out;
+            this.columns = columns;
+        }
+
+        private void beginTable()
+            throws IOException
+        {
+            if ( csv )
+            {
+                for ( int i = 0; i < columns.length; i++ )
+                {
+                    if ( i > 0 )
+                    {
+                        out.write( ',' );
+                    }
+                    out.write( columns[i] );
+                }
+                out.write( '\n' );
+            }
+            else
+            {
+                out.write( '[' );
+            }
+        }
+
+        private void endTable()
+            throws IOException
+        {
+            if ( !csv )
+            {
+                out.write( ']' );
+            }
+        }
+
+        private void beginObject()
+            throws IOException
+        {
+            separateRecord();
+            out.write( '{' );
+            column = 0;
+        }
+
+        private void endObject()
+            throws IOException
+        {
+            out.write( '}' );
+            first = false;
+        }
+
+        private void beginArray( String name )
+            throws IOException
+        {
+            writeName( name );
+            out.write( '[' );
+            first = true;
+        }
+
+        private void endArray()
+            throws IOException
+        {
+            out.write( ']' );
+        }
+
+        private void beginRecord()
+            throws IOException
+        {
+            if ( csv )
+            {
+                column = 0;
+            }
+            else
+            {
+                beginObject();
+            }
+        }
+
+        private void endRecord()
+            throws IOException
+        {
+            if ( csv )
+            {
+                while ( column < columns.length - 1 )
+                {
+                    out.write( ',' );
+                    column++;
+                }
+                out.write( '\n' );
+            }
+            else
+            {
+                endObject();
+            }
+        }
+
+        private void string( int index, String value )
+            throws IOException
+        {
+            if ( null != value )
+            {
+                seek( index );
+                if ( csv )
+                {
+                    writeCsv( value );
+                }
+                else
+                {
+                    writeJson( value );
+                }
+            }
+        }
+
+        private void name( int index, Enum<?> value )
+            throws IOException
+        {
+            if ( null != value )
+            {
+                seek( index );
+                if ( csv )
+                {
+                    out.write( value.name() );
+                }
+                else
+                {
+                    out.write( '"' );
+                    out.write( value.name() );
+                    out.write( '"' );
+                }
+            }
+        }
+
+        private void number( int index, int value )
+            throws IOException
+        {
+            seek( index );
+            out.write( Integer.toString( value ) );
+        }
+
+        private void number( int index, float value )
+            throws IOException
+        {
+            seek( index );
+            out.write( Float.toString( value ) );
+        }
+
+        private void date( int index, Calendar value )
+            throws IOException
+        {
+            if ( null != value )
+            {
+                seek( index );
+                writeDate( value );
+            }
+        }
+
+        private void date( String name, Calendar value )
+            throws IOException
+        {
+            writeName( name );
+            writeDate( value );
+        }
+
+        private void flush()
+            throws IOException
+        {
+            out.flush();
+        }
+
+        private void writeDate( Calendar value )
+            throws IOException
+        {
+            int length = IsoDates.format( value.getTimeInMillis(), dateBuffer );
+            if ( csv )
+            {
+                out.write( dateBuffer, 0, length );
+            }
+            else
+            {
+                out.write( '"' );
+                out.write( dateBuffer, 0, length );
+                out.write( '"' );
+            }
+        }
+
+        /*
+         * CSV: fehlende Spalten bis zur Spalte auffüllen, JSON: Feldnamen schreiben
+         */
+        private void seek( int index )
+            throws IOException
+        {
+            if ( csv )
+            {
+                while ( column < index )
+                {
+                    out.write( ',' );
+                    column++;
+                }
+            }
+            else
+            {
+                writeName( columns[index] );
+            }
+        }
+
+        private void writeName( String name )
+            throws IOException
+        {
+            if ( column++ > 0 )
+            {
+                out.write( ',' );
+            }
+            out.write( '"' );
+            out.write( name );
+            out.write( "\":" );
+        }
+
+        private void separateRecord()
+            throws IOException
+        {
+            if ( !first )
+            {
+                out.write( ',' );
+            }
+            first = false;
+        }
+
+        private void writeCsv( String value )
+            throws IOException
+        {
+            boolean quote = false;
+            for ( int i = 0; i < value.length() && !quote; i++ )
+            {
+                char c = value.charAt( i );
+                quote = ',' == c || '"' == c || '\n' == c || '\r' == c;
+            }
+            if ( !quote )
+            {
+                out.write( value );
+                return;
+            }
+
+            out.write( '"' );
+            int start = 0;
+            for ( int i = 0; i < value.length(); i++ )
+            {
+                if ( '"' == value.charAt( i ) )
+                {
+                    out.write( value, start, i + 1 - start );
+                    start = i;
+                }
+            }
+            out.write( value, start, value.length() - start );
+            out.write( '"' );
+        }
+
+        private void writeJson( String value )
+            throws IOException
+        {
+            out.write( '"' );
+            int start = 0;
+            for ( int i = 0; i < value.length(); i++ )
+            {
+                char c = value.charAt( i );
+                if ( '"' != c && '\\' != c && c >= 0x20 )
+                {
+                    continue;
+                }
+                out.write( value, start, i - start );
+                start = i + 1;
+                switch ( c )
+                {
+                    case '"':
+                        out.write( "\\\"" );
+                        break;
+                    case '\\':
+                        out.write( "\\\\" );
+                        break;
+                    case '\n':
+                        out.write( "\\n" );
+                        break;
+                    case '\r':
+                        out.write( "\\r" );
+                        break;
+                    case '\t':
+                        out.write( "\\t" );
+                        break;
+                    default:
+                        out.write( "\\u00" );
+                        out.write( Character.forDigit( c >> 4, 16 ) );
+                        out.write( Character.forDigit( c & 0xF, 16 ) );
+                }
+            }
+            out.write( value, start, value.length() - start );
+            out.write( '"' );
+        }
+    }
+}
@@ -0,0 +1,894 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.exchange;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Deque;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import org.apache.commons.lang3.ObjectUtils;
+
+import com.github.jgility.core.planning.Backlog;
+import com.github.jgility.core.requirement.Priority;
+import com.github.jgility.core.requirement.ProductStory;
+import com.github.jgility.core.requirement.RequirementKind;
+
+/**
+ * Importiert {@link ProductStory}s aus CSV oder JSON in ein {@link Backlog}. Die Eingabe wird im
+ * aufrufenden Thread nur in Datensätze zerlegt, das Auslesen der Felder und die Gültigkeitsprüfung
+ * erfolgen blockweise auf mehreren Threads, es sind nur wenige Blöcke gleichzeitig in Arbeit. Erst
+ * wenn die gesamte Eingabe gelesen wurde, werden alle gültigen Anforderungen in der Reihenfolge
+ * der Eingabe mit einem Aufruf von {@link Backlog#addRequirements(int, java.util.Collection)}
+ * eingefügt. Bricht der Import mit einer {@link IllegalStateException} ab, bleibt das
+ * {@link Backlog} unverändert.<br>
+ * Erkannte Felder sind <code>id</code>, <code>title</code>, <code>description</code>,
+ * <code>estimated</code>, <code>priority</code>, <code>requester</code>,
+ * <code>requirementKind</code> und optional <code>createDate</code> im Format ISO-8601 (UTC).
+ * Weitere Felder werden ignoriert. CSV benötigt eine Kopfzeile mit den Feldnamen, JSON ein Array
+ * von Objekten. Fehlerhafte Datensätze werden übersprungen und im {@link ImportResult} gemeldet.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public class StoryImporter
+{
+
+    /**
+     * Standardanzahl an Datensätzen je Block
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 4096;
+
+    private static final String[] FIELDS = { "id", "title", "description", "estimated",
+        "priority", "requester", "requirementKind", "createDate" };
+
+    private static final int ID = 0;
+
+    private static final int TITLE = 1;
+
+    private static final int DESCRIPTION = 2;
+
+    private static final int ESTIMATED = 3;
+
+    private static final int PRIORITY = 4;
+
+    private static final int REQUESTER = 5;
+
+    private static final int REQUIREMENT_KIND = 6;
+
+    private static final int CREATE_DATE = 7;
+
+    private final ExecutorService executor;
+
+    private final int threads;
+
+    private final int chunkSize;
+
+    /**
+     * Instanziiert einen {@link StoryImporter}, welcher je Import einen Thread je Prozessor nutzt
+     */
+    public StoryImporter()
+    {
+        this( Runtime.getRuntime().availableProcessors(), DEFAULT_CHUNK_SIZE );
+    }
+
+    /**
+     * Instanziiert einen {@link StoryImporter}, welcher je Import eigene Threads startet
+     * 
+     * @param threads Anzahl der Threads
+     * @param chunkSize Anzahl der Datensätze je Block
+     * @throws IllegalArgumentException wenn ein Parameter nicht positiv ist
+     */
+    public StoryImporter( int threads, int chunkSize )
+        throws IllegalArgumentException
+    {
+        if ( threads <= 0 || chunkSize <= 0 )
+        {
+            throw new IllegalArgumentException( "threads and chunkSize have to be positive" );
+        }
+        this.executor = null;
+        this.threads = threads;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Instanziiert einen {@link StoryImporter}, welcher den übergebenen {@link ExecutorService}
+     * nutzt. Der {@link ExecutorService} wird nicht beendet.
+     * 
+     * @param executor {@link ExecutorService} für das Auslesen der Blöcke
+     * @param chunkSize Anzahl der Datensätze je Block
+     * @throws IllegalArgumentException wenn der {@link ExecutorService} <code>null</code> oder die
+     *             Blockgröße nicht positiv ist
+     */
+    public StoryImporter( ExecutorService executor, int chunkSize )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, executor ) )
+        {
+            throw new IllegalArgumentException( "null-object as executor is not allowed" );
+        }
+        if ( chunkSize <= 0 )
+        {
+            throw new IllegalArgumentException( "chunkSize has to be positive" );
+        }
+        this.executor = executor;
+        this.threads = Runtime.getRuntime().availableProcessors();
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Importiert Anforderungen aus CSV (RFC 4180) mit Kopfzeile
+     * 
+     * @param reader Eingabe, wird nicht geschlossen
+     * @param backlog {@link Backlog}, an welches die Anforderungen angehängt werden
+     * @return {@link ImportResult} mit Anzahl und fehlerhaften Datensätzen
+     * @throws IllegalArgumentException wenn ein Parameter <code>null</code> ist
+     * @throws IllegalStateException wenn die Eingabe nicht gelesen werden kann
+     */
+    public ImportResult importCsv( Reader reader, Backlog<? super ProductStory> backlog )
+        throws IllegalArgumentException, IllegalStateException
+    {
+        checkParameter( reader, backlog );
+        CsvSplitter splitter = new CsvSplitter( new CharInput( reader ) );
+        String header = splitter.next();
+        if ( null == header )
+        {
+            return new ImportResult( 0, new ArrayList<ImportError>() );
+        }
+
+        List<String> names = CsvSplitter.fields( header );
+        int[] columns = new int[FIELDS.length];
+        for ( int field = 0; field < FIELDS.length; field++ )
+        {
+            columns[field] = -1;
+            for ( int column = 0; column < names.size(); column++ )
+            {
+                if ( FIELDS[field].equalsIgnoreCase( names.get( column ).trim() ) )
+                {
+                    columns[field] = column;
+                }
+            }
+        }
+        return run( splitter, columns, backlog );
+    }
+
+    /**
+     * Importiert Anforderungen aus einem JSON-Array von Objekten
+     * 
+     * @param reader Eingabe, wird nicht geschlossen
+     * @param backlog {@link Backlog}, an welches die Anforderungen angehängt werden
+     * @return {@link ImportResult} mit Anzahl und fehlerhaften Datensätzen
+     * @throws IllegalArgumentException wenn ein Parameter <code>null</code> ist
+     * @throws IllegalStateException wenn die Eingabe nicht gelesen werden kann oder kein
+     *             JSON-Array ist
+     */
+    public ImportResult importJson( Reader reader, Backlog<? super ProductStory> backlog )
+        throws IllegalArgumentException, IllegalStateException
+    {
+        checkParameter( reader, backlog );
+        return run( new JsonSplitter( new CharInput( reader ) ), null, backlog );
+    }
+
+    private static void checkParameter( Reader reader, Backlog<?> backlog )
+    {
+        if ( ObjectUtils.equals( null, reader ) )
+        {
+            throw new IllegalArgumentException( "null-object as reader is not allowed" );
+        }
+        if ( ObjectUtils.equals( null, backlog ) )
+        {
+            throw new IllegalArgumentException( "null-object as backlog is not allowed" );
+        }
+    }
+
+    private ImportResult run( RecordSplitter splitter, int[] columns,
+                              Backlog<? super ProductStory> backlog )
+    {
+        ExecutorService pool = executor;
+        if ( null == pool )
+        {
+            pool = Executors.newFixedThreadPool( threads, new ThreadFactory()
+            {
+                @Override
+                public Thread newThread( Runnable runnable )
+                {
+                    Thread thread = new Thread( runnable, "jgility-import" );
+                    thread.setDaemon( true );
+                    return thread;
+                }
+            } );
+        }
+
+        Deque<Future<Chunk>> pending = new ArrayDeque<>();
+        List<ProductStory> stories = new ArrayList<>();
+        List<ImportError> errors = new ArrayList<>();
+        try
+        {
+            List<String> records = new ArrayList<>( chunkSize );
+            int[] rows = new int[chunkSize];
+            String record;
+            while ( null != ( record = splitter.next() ) )
+            {
+                rows[records.size()] = splitter.row();
+                records.add( record );
+                if ( records.size() == chunkSize )
+                {
+                    pending.add( pool.submit( new Chunk( rows, records, columns ) ) );
+                    records = new ArrayList<>( chunkSize );
+                    rows = new int[chunkSize];
+                    if ( pending.size() >= 2 * threads )
+                    {
+                        collect( pending.poll(), stories, errors );
+                    }
+                }
+            }
+            if ( !records.isEmpty() )
+            {
+                pending.add( pool.submit( new Chunk( rows, records, columns ) ) );
+            }
+            while ( !pending.isEmpty() )
+            {
+                collect( pending.poll(), stories, errors );
+            }
+        }
+        finally
+        {
+            for ( Future<Chunk> future : pending )
+            {
+                future.cancel( true );
+            }
+            if ( null == executor )
+            {
+                pool.shutdownNow();
+            }
+        }
+
+        if ( !stories.isEmpty() )
+        {
+            backlog.addRequirements( backlog.size(), stories );
+        }
+        return new ImportResult( stories.size(), errors );
+    }
+
+    /*
+     * Übernimmt die Anforderungen und Fehler eines ausgelesenen Blocks, ohne sie einzufügen
+     */
+    private static void collect( Future<Chunk> future, List<ProductStory> stories,
+                                 List<ImportError> errors )
+    {
+        Chunk chunk;
+        try
+        {
+            chunk = future.get();
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException( "import was interrupted", e );
+        }
+        catch ( ExecutionException e )
+        {
+            throw new IllegalStateException( "import failed", e.getCause() );
+        }
+
+        stories.addAll( chunk.stories );
+        errors.addAll( chunk.errors );
+    }
+
+    private static ProductStory createStory( String[] values, Calendar createDate )
+    {
+        int id = parseInt( values, ID );
+        float estimated = parseFloat( values, ESTIMATED );
+        Priority priority = Priority.valueOf( enumName( values, PRIORITY ) );
+        RequirementKind kind = RequirementKind.valueOf( enumName( values, REQUIREMENT_KIND ) );
+        if ( null != values[CREATE_DATE] && !values[CREATE_DATE].isEmpty() )
+        {
+            createDate.setTimeInMillis( IsoDates.parse( values[CREATE_DATE].trim() ) );
+        }
+        return new ProductStory( id, values[TITLE], values[DESCRIPTION], estimated, priority,
+                                 values[REQUESTER], kind, createDate );
+    }
+
+    private static String required( String[] values, int field )
+    {
+        String value = values[field];
+        if ( null == value )
+        {
+            throw new IllegalArgumentException( "missing field: " + FIELDS[field] );
+        }
+        return value.trim();
+    }
+
+    private static int parseInt( String[] values, int field )
+    {
+        String value = required( values, field );
+        try
+        {
+            return Integer.parseInt( value );
+        }
+        catch ( NumberFormatException e )
+        {
+            throw new IllegalArgumentException( "invalid " + FIELDS[field] + ": " + value );
+        }
+    }
+
+    private static float parseFloat( String[] values, int field )
+    {
+        String value = required( values, field );
+        try
+        {
+            return Float.parseFloat( value );
+        }
+        catch ( NumberFormatException e )
+        {
+            throw new IllegalArgumentException( "invalid " + FIELDS[field] + ": " + value );
+        }
+    }
+
+    private static String enumName( String[] values, int field )
+    {
+        return required( values, field ).toUpperCase( Locale.ROOT );
+    }
+
+    /*
+     * Block von Datensätzen, welcher auf einem Thread des Pools ausgelesen wird. Jeder Block nutzt
+     * eine eigene Vorlage für das Erstellungsdatum, welche von ProductStory kopiert wird.
+     */
+    private static final class Chunk
+        implements Callable<Chunk>
+    {
+        private final int[] rows;
+
+        private final List<String> records;
+
+        private final int[] columns;
+
+        private final List<ProductStory> stories;
+
+        private final List<ImportError> errors = new ArrayList<>();
+
+        private Chunk( int[] rows, List<String> records, int[] columns )
+        {
+            this.rows = rows;
+            this.records = records;
+            this.columns = columns;
+            stories = new ArrayList<>( records.size() );
+        }
+
+        @Override
+        public Chunk call()
+        {
+            Calendar template = new GregorianCalendar();
+            long now = template.getTimeInMillis();
+            for ( int i = 0; i < records.size(); i++ )
+            {
+                try
+                {
+                    String[] values =
+                        null == columns ? JsonSplitter.values( records.get( i ), FIELDS )
+                                        : CsvSplitter.values( records.get( i ), columns );
+                    template.setTimeInMillis( now );
+                    stories.add( createStory( values, template ) );
+                }
+                catch ( IllegalArgumentException e )
+                {
+                    errors.add( new ImportError( rows[i], e.getMessage() ) );
+                }
+            }
+            records.clear();
+            return this;
+        }
+    }
+
+    /*
+     * Zerlegt die Eingabe in einzelne Datensätze
+     */
+    private interface RecordSplitter
+    {
+        String next()
+            throws IllegalStateException;
+
+        /*
+         * Nummer des zuletzt gelieferten Datensatzes für Fehlermeldungen
+         */
+        int row();
+    }
+
+    /*
+     * Gepufferter zeichenweiser Zugriff auf einen Reader
+     */
+    private static final class CharInput
+    {
+        private final Reader reader;
+
+        private final char[] buffer = new char[64 * 1024];
+
+        private int position;
+
+        private int limit;
+
+        private CharInput( Reader reader )
+        {
+            this.reader = reader;
+        }
+
+        private int read()
+        {
+            if ( position == limit )
+            {
+                try
+                {
+                    limit = reader.read( buffer );
+                }
+                catch ( IOException e )
+                {
+                    throw new IllegalStateException( "input is not readable", e );
+                }
+                position = 0;
+                if ( limit <= 0 )
+                {
+                    limit = 0;
+                    return -1;
+                }
+            }
+            return buffer[position++];
+        }
+    }
+
+    /*
+     * Datensätze enden an Zeilenumbrüchen außerhalb von Anführungszeichen. Als Nummer eines
+     * Datensatzes dient die Zeile der Eingabe, in welcher er beginnt, die Kopfzeile ist Zeile 1.
+     */
+    private static final class CsvSplitter
+        implements RecordSplitter
+    {
+        private final CharInput input;
+
+        private final StringBuilder record = new StringBuilder();
+
+        private int lines;
+
+        private int row;
+
+        private CsvSplitter( CharInput input )
+        {
+            this.input = input;
+        }
+
+        @Override
+        public String next()
+        {
+            while ( true )
+            {
+                record.setLength( 0 );
+                row = lines + 1;
+                boolean quoted = false;
+                int c;
+                while ( -1 != ( c = input.read() ) && ( quoted || '\n' != c ) )
+                {
+                    if ( '"' == c )
+                    {
+                        quoted = !quoted;
+                    }
+                    else if ( '\n' == c )
+                    {
+                        lines++;
+                    }
+                    record.append( (char) c );
+                }
+                if ( '\n' == c )
+                {
+                    lines++;
+                }
+                int length = record.length();
+                if ( length > 0 && '\r' == record.charAt( length - 1 ) )
+                {
+                    record.setLength( length - 1 );
+                }
+                if ( record.length() > 0 )
+                {
+                    return record.toString();
+                }
+                if ( -1 == c )
+                {
+                    return null;
+                }
+            }
+        }
+
+        @Override
+        public int row()
+        {
+            return row;
+        }
+
+        private static List<String> fields( String record )
+        {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for ( int i = 0; i < record.length(); i++ )
+            {
+                char c = record.charAt( i );
+                if ( quoted )
+                {
+                    if ( '"' != c )
+                    {
+                        field.append( c );
+                    }
+                    else if ( i + 1 < record.length() && '"' == record.charAt( i + 1 ) )
+                    {
+                        field.append( '"' );
+                        i++;
+                    }
+                    else
+                    {
+                        quoted = false;
+                    }
+                }
+                else if ( '"' == c )
+                {
+                    quoted = true;
+                }
+                else if ( ',' == c )
+                {
+                    fields.add( field.toString() );
+                    field.setLength( 0 );
+                }
+                else
+                {
+                    field.append( c );
+                }
+            }
+            fields.add( field.toString() );
+            return fields;
+        }
+
+        private static String[] values( String record, int[] columns )
+        {
+            List<String> fields = fields( record );
+            String[] values = new String[columns.length];
+            for ( int field = 0; field < columns.length; field++ )
+            {
+                int column = columns[field];
+                if ( column >= 0 && column < fields.size() )
+                {
+                    values[field] = fields.get( column );
+                }
+            }
+            return values;
+        }
+    }
+
+    /*
+     * Datensätze sind die Elemente des äußeren Arrays, gezählt ab 1. Innerhalb eines Elements
+     * werden nur Klammern außerhalb von Zeichenketten gezählt. Nach dem Ende des Arrays sind nur
+     * Leerzeichen erlaubt.
+     */
+    private static final class JsonSplitter
+        implements RecordSplitter
+    {
+        private final CharInput input;
+
+        private final StringBuilder record = new StringBuilder();
+
+        private boolean started;
+
+        private boolean finished;
+
+        private int row;
+
+        private JsonSplitter( CharInput input )
+        {
+            this.input = input;
+        }
+
+        @Override
+        public String next()
+        {
+            if ( finished )
+            {
+                return null;
+            }
+            int c = skipWhitespace();
+            if ( !started )
+            {
+                if ( '[' != c )
+                {
+                    throw new IllegalStateException( "input is not a json array" );
+                }
+                started = true;
+                c = skipWhitespace();
+                if ( ']' == c )
+                {
+                    finish();
+                    return null;
+                }
+            }
+
+            record.setLength( 0 );
+            int depth = 0;
+            boolean string = false;
+            while ( true )
+            {
+                if ( -1 == c )
+                {
+                    throw new IllegalStateException( "unexpected end of json input" );
+                }
+                if ( string )
+                {
+                    record.append( (char) c );
+                    if ( '\\' == c )
+                    {
+                        c = input.read();
+                        if ( -1 != c )
+                        {
+                            record.append( (char) c );
+                        }
+                    }
+                    else if ( '"' == c )
+                    {
+                        string = false;
+                    }
+                }
+                else if ( 0 == depth && ( ',' == c || ']' == c ) )
+                {
+                    if ( ']' == c )
+                    {
+                        finish();
+                    }
+                    row++;
+                    return record.toString();
+                }
+                else
+                {
+                    if ( '"' == c )
+                    {
+                        string = true;
+                    }
+                    else if ( '{' == c || '[' == c )
+                    {
+                        depth++;
+                    }
+                    else if ( '}' == c || ']' == c )
+                    {
+                        depth--;
+                    }
+                    record.append( (char) c );
+                }
+                c = input.read();
+            }
+        }
+
+        @Override
+        public int row()
+        {
+            return row;
+        }
+
+        private void finish()
+        {
+            finished = true;
+            if ( -1 != skipWhitespace() )
+            {
+                throw new IllegalStateException( "unexpected content after json array" );
+            }
+        }
+
+        private int skipWhitespace()
+        {
+            int c;
+            do
+            {
+                c = input.read();
+            }
+            while ( -1 != c && Character.isWhitespace( c ) );
+            return c;
+        }
+
+        private static String[] values( String record, String[] names )
+        {
+            String[] values = new String[names.length];
+            int[] position = { skip( record, 0 ) };
+            expect( record, position, '{' );
+            if ( '}' == peek( record, position ) )
+            {
+                return values;
+            }
+            while ( true )
+            {
+                String key = string( record, position );
+                expect( record, position, ':' );
+                int field = -1;
+                for ( int i = 0; i < names.length; i++ )
+                {
+                    if ( names[i].equalsIgnoreCase( key ) )
+                    {
+                        field = i;
+                    }
+                }
+                char c = peek( record, position );
+                if ( '"' == c )
+                {
+                    String value = string( record, position );
+                    if ( field >= 0 )
+                    {
+                        values[field] = value;
+                    }
+                }
+                else if ( '{' == c || '[' == c )
+                {
+                    if ( field >= 0 )
+                    {
+                        throw new IllegalArgumentException( "unsupported value for field: " + key );
+                    }
+                    nested( record, position );
+                }
+                else
+                {
+                    int start = position[0];
+                    while ( position[0] < record.length() && ',' != record.charAt( position[0] )
+                        && '}' != record.charAt( position[0] ) )
+                    {
+                        position[0]++;
+                    }
+                    String value = record.substring( start, position[0] ).trim();
+                    if ( field >= 0 && !"null".equals( value ) )
+                    {
+                        values[field] = value;
+                    }
+                }
+                if ( '}' == peek( record, position ) )
+                {
+                    return values;
+                }
+                expect( record, position, ',' );
+            }
+        }
+
+        private static int skip( String record, int position )
+        {
+            while ( position < record.length()
+                && Character.isWhitespace( record.charAt( position ) ) )
+            {
+                position++;
+            }
+            return position;
+        }
+
+        private static char peek( String record, int[] position )
+        {
+            position[0] = skip( record, position[0] );
+            if ( position[0] >= record.length() )
+            {
+                throw new IllegalArgumentException( "unexpected end of object" );
+            }
+            return record.charAt( position[0] );
+        }
+
+        private static void expect( String record, int[] position, char expected )
+        {
+            if ( expected != peek( record, position ) )
+            {
+                throw new IllegalArgumentException( "expected '" + expected + "' at position "
+                    + position[0] );
+            }
+            position[0]++;
+        }
+
+        private static String string( String record, int[] position )
+        {
+            expect( record, position, '"' );
+            StringBuilder value = new StringBuilder();
+            while ( position[0] < record.length() )
+            {
+                char c = record.charAt( position[0]++ );
+                if ( '"' == c )
+                {
+                    return value.toString();
+                }
+                if ( '\\' != c )
+                {
+                    value.append( c );
+                    continue;
+                }
+                if ( position[0] >= record.length() )
+                {
+                    break;
+                }
+                char escaped = record.charAt( position[0]++ );
+                switch ( escaped )
+                {
+                    case 'b':
+                        value.append( '\b' );
+                        break;
+                    case 'f':
+                        value.append( '\f' );
+                        break;
+                    case 'n':
+                        value.append( '\n' );
+                        break;
+                    case 'r':
+                        value.append( '\r' );
+                        break;
+                    case 't':
+                        value.append( '\t' );
+                        break;
+                    case 'u':
+                        if ( position[0] + 4 > record.length() )
+                        {
+                            throw new IllegalArgumentException( "invalid unicode escape" );
+                        }
+                        String hex = record.substring( position[0], position[0] + 4 );
+                        try
+                        {
+                            value.append( (char) Integer.parseInt( hex, 16 ) );
+                        }
+                        catch ( NumberFormatException e )
+                        {
+                            throw new IllegalArgumentException( "invalid unicode escape" );
+                        }
+                        position[0] += 4;
+                        break;
+                    default:
+                        value.append( escaped );
+                }
+            }
+            throw new IllegalArgumentException( "unterminated string" );
+        }
+
+        private static void nested( String record, int[] position )
+        {
+            int depth = 0;
+            boolean string = false;
+            while ( position[0] < record.length() )
+            {
+                char c = record.charAt( position[0]++ );
+                if ( string )
+                {
+                    if ( '\\' == c )
+                    {
+                        position[0]++;
+                    }
+                    else if ( '"' == c )
+                    {
+                        string = false;
+                    }
+                }
+                else if ( '"' == c )
+                {
+                    string = true;
+                }
+                else if ( '{' == c || '[' == c )
+                {
+                    depth++;
+                }
+                else if ( ( '}' == c || ']' == c ) && 0 == --depth )
+                {
+                    return;
+                }
+            }
+            throw new IllegalArgumentException( "unexpected end of object" );
+        }
+    }
+}
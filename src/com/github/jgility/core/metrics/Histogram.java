@@ -0,0 +1,198 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-sicheres Histogramm für Zeitmessungen in Nanosekunden mit logarithmisch-linearen Klassen
+ * nach dem Vorbild von HdrHistogram. Werte bis 127 werden exakt gezählt, größere Werte mit einem
+ * relativen Fehler von höchstens 1/64. Der Speicherbedarf ist fest und unabhängig von der Anzahl
+ * der Messungen, das Aufzeichnen benötigt keine Sperren.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public class Histogram
+{
+
+    private static final int SUB_BUCKETS = 64;
+
+    private static final int BUCKETS = 59 * SUB_BUCKETS;
+
+    private final AtomicLongArray counts;
+
+    private final AtomicLong totalCount;
+
+    private final AtomicLong sum;
+
+    private final AtomicLong max;
+
+    /**
+     * Instanziiert ein leeres {@link Histogram}
+     */
+    public Histogram()
+    {
+        counts = new AtomicLongArray( BUCKETS );
+        totalCount = new AtomicLong();
+        sum = new AtomicLong();
+        max = new AtomicLong();
+    }
+
+    /**
+     * Zeichnet einen Wert auf
+     * 
+     * @param value Wert in Nanosekunden, negative Werte werden als <code>0</code> gezählt
+     */
+    public void record( long value )
+    {
+        long nanos = Math.max( 0, value );
+        counts.incrementAndGet( indexOf( nanos ) );
+        totalCount.incrementAndGet();
+        sum.addAndGet( nanos );
+        long currentMax = max.get();
+        while ( nanos > currentMax && !max.compareAndSet( currentMax, nanos ) )
+        {
+            currentMax = max.get();
+        }
+    }
+
+    /**
+     * Fügt alle Werte eines anderen {@link Histogram} hinzu
+     * 
+     * @param other hinzuzufügendes {@link Histogram}
+     */
+    public void add( Histogram other )
+    {
+        for ( int i = 0; i < BUCKETS; i++ )
+        {
+            long count = other.counts.get( i );
+            if ( 0 != count )
+            {
+                counts.addAndGet( i, count );
+            }
+        }
+        totalCount.addAndGet( other.getTotalCount() );
+        sum.addAndGet( other.sum.get() );
+        long otherMax = other.getMax();
+        long currentMax = max.get();
+        while ( otherMax > currentMax && !max.compareAndSet( currentMax, otherMax ) )
+        {
+            currentMax = max.get();
+        }
+    }
+
+    /**
+     * Gibt den Wert zurück, unter dem der übergebene Anteil aller Werte liegt
+     * 
+     * @param percentile Anteil zwischen <code>0</code> und <code>100</code>
+     * @return obere Grenze der Klasse des Perzentils in Nanosekunden
+     */
+    public long getValueAtPercentile( double percentile )
+    {
+        long total = totalCount.get();
+        if ( 0 == total )
+        {
+            return 0;
+        }
+        long rank = Math.max( 1, (long) Math.ceil( percentile / 100 * total ) );
+        long cumulative = 0;
+        for ( int i = 0; i < BUCKETS; i++ )
+        {
+            cumulative += counts.get( i );
+            if ( cumulative >= rank )
+            {
+                return Math.min( getMax(), upperBound( i ) );
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Gibt die Anzahl der aufgezeichneten Werte zurück
+     * 
+     * @return Anzahl der Werte
+     */
+    public long getTotalCount()
+    {
+        return totalCount.get();
+    }
+
+    /**
+     * Gibt den größten aufgezeichneten Wert zurück
+     * 
+     * @return größter Wert in Nanosekunden
+     */
+    public long getMax()
+    {
+        return max.get();
+    }
+
+    /**
+     * Gibt den Mittelwert aller aufgezeichneten Werte zurück
+     * 
+     * @return Mittelwert in Nanosekunden
+     */
+    public double getMean()
+    {
+        long total = totalCount.get();
+        return 0 == total ? 0 : (double) sum.get() / total;
+    }
+
+    /**
+     * Verwirft alle aufgezeichneten Werte
+     */
+    public void reset()
+    {
+        for ( int i = 0; i < BUCKETS; i++ )
+        {
+            counts.set( i, 0 );
+        }
+        totalCount.set( 0 );
+        sum.set( 0 );
+        max.set( 0 );
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString()
+    {
+        return "Histogram [count=" + getTotalCount() + ", mean=" + getMean() + ", p50="
+            + getValueAtPercentile( 50 ) + ", p99=" + getValueAtPercentile( 99 ) + ", max="
+            + getMax() + "]";
+    }
+
+    private static int indexOf( long value )
+    {
+        if ( value < 2 * SUB_BUCKETS )
+        {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros( value ) - 6;
+        return shift * SUB_BUCKETS + (int) ( value >>> shift );
+    }
+
+    private static long upperBound( int index )
+    {
+        if ( index < 2 * SUB_BUCKETS )
+        {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index - (long) shift * SUB_BUCKETS;
+        return ( ( subBucket + 1 ) << shift ) - 1;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link IMetricsRegistry}, welche Zeitmessungen je Operation in einem {@link Histogram} und
+ * Zähler als {@link AtomicLong} im Speicher hält
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public class HistogramMetricsRegistry
+    implements IMetricsRegistry
+{
+
+    private final ConcurrentMap<String, Histogram> histograms;
+
+    private final ConcurrentMap<String, AtomicLong> counters;
+
+    /**
+     * Instanziiert eine leere {@link HistogramMetricsRegistry}
+     */
+    public HistogramMetricsRegistry()
+    {
+        histograms = new ConcurrentHashMap<>();
+        counters = new ConcurrentHashMap<>();
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.metrics.IMetricsRegistry#isEnabled()
+     */
+    @Override
+    public boolean isEnabled()
+    {
+        return true;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.metrics.IMetricsRegistry#increment(java.lang.String, long)
+     */
+    @Override
+    public void increment( String name, long delta )
+    {
+        AtomicLong counter = counters.get( name );
+        if ( null == counter )
+        {
+            AtomicLong newCounter = new AtomicLong();
+            counter = counters.putIfAbsent( name, newCounter );
+            if ( null == counter )
+            {
+                counter = newCounter;
+            }
+        }
+        counter.addAndGet( delta );
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.metrics.IMetricsRegistry#record(java.lang.String, long)
+     */
+    @Override
+    public void record( String name, long nanos )
+    {
+        getHistogram( name ).record( nanos );
+    }
+
+    /**
+     * Gibt das {@link Histogram} einer Operation zurück und legt es bei Bedarf an
+     * 
+     * @param name Name der Operation
+     * @return {@link Histogram} der Operation
+     */
+    public Histogram getHistogram( String name )
+    {
+        Histogram histogram = histograms.get( name );
+        if ( null == histogram )
+        {
+            Histogram newHistogram = new Histogram();
+            histogram = histograms.putIfAbsent( name, newHistogram );
+            if ( null == histogram )
+            {
+                histogram = newHistogram;
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * Gibt den Wert eines Zählers zurück
+     * 
+     * @param name Name des Zählers
+     * @return aktueller Wert oder <code>0</code>, wenn der Zähler nicht existiert
+     */
+    public long getCount( String name )
+    {
+        AtomicLong counter = counters.get( name );
+        return null == counter ? 0 : counter.get();
+    }
+
+    /**
+     * Gibt alle bisher aufgezeichneten Operationen sortiert nach Namen zurück
+     * 
+     * @return unveränderliche {@link Map} von Namen auf {@link Histogram}
+     */
+    public Map<String, Histogram> getHistograms()
+    {
+        return Collections.unmodifiableMap( new TreeMap<>( histograms ) );
+    }
+
+    /**
+     * Gibt alle bisher aufgezeichneten Zähler sortiert nach Namen zurück
+     * 
+     * @return unveränderliche {@link Map} von Namen auf Zählerstand
+     */
+    public Map<String, Long> getCounters()
+    {
+        Map<String, Long> result = new TreeMap<>();
+        for ( Map.Entry<String, AtomicLong> entry : counters.entrySet() )
+        {
+            result.put( entry.getKey(), entry.getValue().get() );
+        }
+        return Collections.unmodifiableMap( result );
+    }
+
+    /**
+     * Verwirft alle Messwerte
+     */
+    public void reset()
+    {
+        histograms.clear();
+        counters.clear();
+    }
+}
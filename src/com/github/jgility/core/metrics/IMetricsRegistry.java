@@ -0,0 +1,48 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.metrics;
+
+/**
+ * Interface für die Aufzeichnung von Zählern und Zeitmessungen der Bibliothek. Eigene
+ * Implementierungen können Messwerte an ein vorhandenes Monitoring weiterreichen und werden über
+ * {@link Metrics#setRegistry(IMetricsRegistry)} aktiviert.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public interface IMetricsRegistry
+{
+
+    /**
+     * Prüft ob Messwerte aufgezeichnet werden. Bei <code>false</code> wird auf Zeitmessungen
+     * vollständig verzichtet.
+     * 
+     * @return <code>true</code> wenn die Aufzeichnung aktiv ist
+     */
+    boolean isEnabled();
+
+    /**
+     * Erhöht einen Zähler
+     * 
+     * @param name Name des Zählers
+     * @param delta Wert, um den erhöht wird
+     */
+    void increment( String name, long delta );
+
+    /**
+     * Zeichnet die Dauer einer Operation auf
+     * 
+     * @param name Name der Operation
+     * @param nanos Dauer in Nanosekunden
+     */
+    void record( String name, long nanos );
+}
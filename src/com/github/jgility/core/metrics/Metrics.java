@@ -0,0 +1,174 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.metrics;
+
+import org.apache.commons.lang3.ObjectUtils;
+
+/**
+ * Zentraler Zugriffspunkt für Messungen innerhalb der Bibliothek. Standardmäßig ist die
+ * {@link NoopMetricsRegistry} aktiv, dann kostet eine Messung nur das Lesen eines Feldes und es
+ * wird keine Zeit genommen.<br>
+ * Verwendung:
+ * 
+ * <pre>
+ * long start = Metrics.start();
+ * ...
+ * Metrics.stop( Metrics.BACKLOG_ADD, start );
+ * </pre>
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public final class Metrics
+{
+
+    /**
+     * Hinzufügen von Anforderungen zu einem Backlog
+     */
+    public static final String BACKLOG_ADD = "backlog.add";
+
+    /**
+     * Entfernen von Anforderungen aus einem Backlog
+     */
+    public static final String BACKLOG_REMOVE = "backlog.remove";
+
+    /**
+     * Verschieben von Anforderungen innerhalb eines Backlogs
+     */
+    public static final String BACKLOG_MOVE = "backlog.move";
+
+    /**
+     * Prüfen und Hinzufügen einer Iteration zu einem Release
+     */
+    public static final String RELEASE_ADD_ITERATION = "release.addIteration";
+
+    /**
+     * Prüfen und Ändern von Start- und End-Zeitpunkt eines Plans
+     */
+    public static final String PLAN_CHANGE_START_END = "plan.changeStartEnd";
+
+    /**
+     * Umplanen eines Release über die ReleasePlanningUtils
+     */
+    public static final String PLANNING_RESCHEDULE = "planning.reschedule";
+
+    /**
+     * Prüfen einer E-Mail-Adresse
+     */
+    public static final String PERSON_VALIDATE_EMAIL = "person.validateEMail";
+
+    /**
+     * Laden eines Produkts
+     */
+    public static final String PERSISTENCE_LOAD = "persistence.load";
+
+    /**
+     * Speichern eines Produkts
+     */
+    public static final String PERSISTENCE_SAVE = "persistence.save";
+
+    /**
+     * Zähler für Produkte, welche im Cache eines Repositorys gefunden wurden
+     */
+    public static final String REPOSITORY_HIT = "repository.hit";
+
+    /**
+     * Zähler für Produkte, welche für ein Repository geladen werden mussten
+     */
+    public static final String REPOSITORY_MISS = "repository.miss";
+
+    /**
+     * Zähler für Produkte, welche aus dem Cache eines Repositorys verdrängt wurden
+     */
+    public static final String REPOSITORY_EVICTION = "repository.eviction";
+
+    private static final long DISABLED = Long.MIN_VALUE;
+
+    private static volatile IMetricsRegistry registry = NoopMetricsRegistry.INSTANCE;
+
+    private Metrics()
+    {
+    }
+
+    /**
+     * Gibt die aktive {@link IMetricsRegistry} zurück
+     * 
+     * @return aktive {@link IMetricsRegistry}
+     */
+    public static IMetricsRegistry getRegistry()
+    {
+        return registry;
+    }
+
+    /**
+     * Aktiviert eine {@link IMetricsRegistry}
+     * 
+     * @param metricsRegistry zu aktivierende {@link IMetricsRegistry}
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     */
+    public static void setRegistry( IMetricsRegistry metricsRegistry )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, metricsRegistry ) )
+        {
+            throw new IllegalArgumentException( "null-object as registry is not allowed" );
+        }
+        registry = metricsRegistry;
+    }
+
+    /**
+     * Setzt die {@link NoopMetricsRegistry} als aktive Registry
+     */
+    public static void disable()
+    {
+        registry = NoopMetricsRegistry.INSTANCE;
+    }
+
+    /**
+     * Beginnt eine Zeitmessung
+     * 
+     * @return Startzeitpunkt für {@link #stop(String, long)}
+     */
+    public static long start()
+    {
+        return registry.isEnabled() ? System.nanoTime() : DISABLED;
+    }
+
+    /**
+     * Beendet eine Zeitmessung und zeichnet deren Dauer auf
+     * 
+     * @param name Name der Operation
+     * @param start Rückgabewert von {@link #start()}
+     */
+    public static void stop( String name, long start )
+    {
+        if ( DISABLED != start )
+        {
+            registry.record( name, System.nanoTime() - start );
+        }
+    }
+
+    /**
+     * Erhöht einen Zähler, sofern die Aufzeichnung aktiv ist
+     * 
+     * @param name Name des Zählers
+     * @param delta Wert, um den erhöht wird
+     */
+    public static void increment( String name, long delta )
+    {
+        IMetricsRegistry currentRegistry = registry;
+        if ( currentRegistry.isEnabled() )
+        {
+            currentRegistry.increment( name, delta );
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.metrics;
+
+/**
+ * Standard-{@link IMetricsRegistry}, welche keine Messwerte aufzeichnet
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public final class NoopMetricsRegistry
+    implements IMetricsRegistry
+{
+
+    /**
+     * Einzige Instanz der {@link NoopMetricsRegistry}
+     */
+    public static final NoopMetricsRegistry INSTANCE = new NoopMetricsRegistry();
+
+    private NoopMetricsRegistry()
+    {
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.metrics.IMetricsRegistry#isEnabled()
+     */
+    @Override
+    public boolean isEnabled()
+    {
+        return false;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.metrics.IMetricsRegistry#increment(java.lang.String, long)
+     */
+    @Override
+    public void increment( String name, long delta )
+    {
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.metrics.IMetricsRegistry#record(java.lang.String, long)
+     */
+    @Override
+    public void record( String name, long nanos )
+    {
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.persistence;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link InputStream}, welcher ohne Kopie aus einem {@link ByteBuffer} liest, z.B. aus einem
+ * Ausschnitt einer in den Speicher abgebildeten Datei
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+final class ByteBufferInputStream
+    extends InputStream
+{
+
+    private final ByteBuffer buffer;
+
+    /**
+     * Instanziiert einen {@link ByteBufferInputStream}
+     * 
+     * @param buffer zu lesender {@link ByteBuffer}, gelesen wird von der Position bis zum Limit
+     */
+    ByteBufferInputStream( ByteBuffer buffer )
+    {
+        this.buffer = buffer;
+    }
+
+    @Override
+    public int read()
+    {
+        return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read( byte[] b, int off, int len )
+    {
+        if ( 0 == len )
+        {
+            return 0;
+        }
+        if ( !buffer.hasRemaining() )
+        {
+            return -1;
+        }
+        int length = Math.min( len, buffer.remaining() );
+        buffer.get( b, off, length );
+        return length;
+    }
+
+    @Override
+    public int available()
+    {
+        return buffer.remaining();
+    }
+}
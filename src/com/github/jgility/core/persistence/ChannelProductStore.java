@@ -0,0 +1,431 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.persistence;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+
+import org.apache.commons.lang3.ObjectUtils;
+
+import com.github.jgility.core.metrics.Metrics;
+import com.github.jgility.core.planning.Backlog;
+import com.github.jgility.core.planning.IRelease;
+import com.github.jgility.core.project.Product;
+import com.github.jgility.core.project.Project;
+import com.github.jgility.core.requirement.IProductRequirement;
+import com.github.jgility.core.trace.TraceSpan;
+import com.github.jgility.core.trace.TraceType;
+import com.github.jgility.core.trace.Tracing;
+
+/**
+ * Implementiert einen {@link IProductStore} auf Basis eines {@link FileChannel}s. Das
+ * {@link Product}, jede Anforderung des Product-Backlogs, jedes {@link Project} und jedes
+ * {@link IRelease} wird als eigener Datensatz aus Typ, Länge und XML abgelegt. Die Datensätze
+ * werden per JAXB direkt in direkte {@link ByteBuffer} geschrieben und gebündelt mit einem
+ * Aufruf von {@link FileChannel#write(ByteBuffer[])} übergeben. Gelesen wird aus der in den
+ * Speicher abgebildeten Datei, ohne die Datensätze zu kopieren.<br>
+ * Gespeichert wird in eine temporäre Datei, welche anschließend atomar umbenannt wird. Über
+ * {@link Durability} wird festgelegt, ob und wie die Datei vor dem Umbenennen auf den
+ * Datenträger geschrieben wird. Es erfolgt höchstens ein {@link FileChannel#force(boolean)} je
+ * Speichervorgang.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public class ChannelProductStore
+    implements IProductStore
+{
+
+    private static final int MAGIC = 0x4A47434E;
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final int PRODUCT = 1;
+
+    private static final int REQUIREMENT = 2;
+
+    private static final int PROJECT = 3;
+
+    private static final int RELEASE = 4;
+
+    private static final int END = -1;
+
+    private static final int RECORDS_PER_WRITE = 16;
+
+    private static final int BYTES_PER_WRITE = 256 * 1024;
+
+    private static final String ENCODING = "UTF-8";
+
+    private final Path file;
+
+    private final Durability durability;
+
+    /**
+     * Instanziiert einen {@link ChannelProductStore} mit {@link Durability#DATA}
+     * 
+     * @param file Datei, in welcher das {@link Product} abgelegt wird
+     * @throws IllegalArgumentException wenn die Datei <code>null</code> ist
+     */
+    public ChannelProductStore( Path file )
+        throws IllegalArgumentException
+    {
+        this( file, Durability.DATA );
+    }
+
+    /**
+     * Instanziiert einen {@link ChannelProductStore}
+     * 
+     * @param file Datei, in welcher das {@link Product} abgelegt wird
+     * @param durability Absicherung des Speicherns auf dem Datenträger
+     * @throws IllegalArgumentException wenn ein Parameter <code>null</code> ist
+     */
+    public ChannelProductStore( Path file, Durability durability )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, file ) )
+        {
+            throw new IllegalArgumentException( "null-object as file is not allowed" );
+        }
+        if ( ObjectUtils.equals( null, durability ) )
+        {
+            throw new IllegalArgumentException( "null-object as durability is not allowed" );
+        }
+        this.file = file;
+        this.durability = durability;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.persistence.IProductStore#load()
+     */
+    @Override
+    public Product load()
+        throws IllegalStateException
+    {
+        TraceSpan span = Tracing.begin( TraceType.PRODUCT_LOAD );
+        long startTime = Metrics.start();
+        Product product = null;
+        long bytes = -1;
+        try (FileChannel channel = FileChannel.open( file, StandardOpenOption.READ ))
+        {
+            bytes = channel.size();
+            MappedByteBuffer map = channel.map( FileChannel.MapMode.READ_ONLY, 0, bytes );
+            product = read( map );
+            return product;
+        }
+        catch ( IOException | JAXBException | BufferUnderflowException | ClassCastException
+            | IllegalStateException e )
+        {
+            throw new IllegalStateException( "product is not readable: " + file, e );
+        }
+        finally
+        {
+            Metrics.stop( Metrics.PERSISTENCE_LOAD, startTime );
+            endTrace( span, product, bytes );
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see
+     * com.github.jgility.core.persistence.IProductStore#save(com.github.jgility.core.project.Product
+     * )
+     */
+    @Override
+    public void save( Product product )
+        throws IllegalArgumentException, IllegalStateException
+    {
+        if ( ObjectUtils.equals( null, product ) )
+        {
+            throw new IllegalArgumentException( "null-object as product is not allowed" );
+        }
+
+        TraceSpan span = Tracing.begin( TraceType.PRODUCT_SAVE );
+        long startTime = Metrics.start();
+        long bytes = -1;
+        Path tmpFile = file.resolveSibling( file.getFileName() + ".tmp" );
+        try
+        {
+            try (FileChannel channel =
+                FileChannel.open( tmpFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                  StandardOpenOption.TRUNCATE_EXISTING ))
+            {
+                write( channel, product );
+                if ( Durability.NONE != durability )
+                {
+                    channel.force( Durability.FULL == durability );
+                }
+                bytes = channel.size();
+            }
+            Files.move( tmpFile, file, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE );
+            if ( Durability.FULL == durability )
+            {
+                forceDirectory();
+            }
+        }
+        catch ( IOException | JAXBException e )
+        {
+            throw new IllegalStateException( "product is not writable: " + file, e );
+        }
+        finally
+        {
+            Metrics.stop( Metrics.PERSISTENCE_SAVE, startTime );
+            endTrace( span, product, bytes );
+        }
+    }
+
+    /**
+     * Gibt die Datei zurück, in welcher das {@link Product} abgelegt wird
+     * 
+     * @return Datei des {@link ChannelProductStore}
+     */
+    public Path getFile()
+    {
+        return file;
+    }
+
+    /**
+     * Gibt die Absicherung des Speicherns zurück
+     * 
+     * @return {@link Durability} des {@link ChannelProductStore}
+     */
+    public Durability getDurability()
+    {
+        return durability;
+    }
+
+    private static void write( FileChannel channel, Product product )
+        throws IOException, JAXBException
+    {
+        ByteBuffer header = ByteBuffer.allocateDirect( 8 );
+        header.putInt( MAGIC ).putInt( FORMAT_VERSION ).flip();
+        while ( header.hasRemaining() )
+        {
+            channel.write( header );
+        }
+
+        Marshaller marshaller = XmlProductStore.getContext().createMarshaller();
+        marshaller.setProperty( Marshaller.JAXB_ENCODING, ENCODING );
+        marshaller.setProperty( Marshaller.JAXB_FRAGMENT, Boolean.TRUE );
+        RecordBatch batch = new RecordBatch( channel, marshaller );
+        batch.add( PRODUCT, Shells.withoutContent( product ) );
+        Backlog<IProductRequirement> backlog = product.getProductBacklog();
+        if ( null != backlog )
+        {
+            for ( IProductRequirement requirement : backlog.getRequirementList() )
+            {
+                batch.add( REQUIREMENT, requirement );
+            }
+        }
+        for ( Project project : product.getProjects() )
+        {
+            batch.add( PROJECT, Shells.withoutReleases( project ) );
+            for ( IRelease release : project.getReleasePlan() )
+            {
+                batch.add( RELEASE, release );
+            }
+        }
+        batch.end();
+    }
+
+    private static Product read( ByteBuffer map )
+        throws JAXBException
+    {
+        if ( MAGIC != map.getInt() || FORMAT_VERSION != map.getInt() )
+        {
+            throw new IllegalStateException( "unsupported file format" );
+        }
+
+        Unmarshaller unmarshaller = XmlProductStore.getContext().createUnmarshaller();
+        Product product = null;
+        List<IProductRequirement> requirements = new ArrayList<>();
+        Project project = null;
+        int records = 0;
+        while ( true )
+        {
+            int type = map.getInt();
+            int length = map.getInt();
+            if ( END == type )
+            {
+                if ( length != records || null == product )
+                {
+                    throw new IllegalStateException( "incomplete file" );
+                }
+                break;
+            }
+
+            ByteBuffer record = map.duplicate();
+            record.limit( map.position() + length );
+            map.position( map.position() + length );
+            Object element = unmarshaller.unmarshal( new ByteBufferInputStream( record ) );
+            records++;
+            switch ( type )
+            {
+                case PRODUCT:
+                    product = (Product) element;
+                    break;
+                case REQUIREMENT:
+                    requirements.add( (IProductRequirement) element );
+                    break;
+                case PROJECT:
+                    addProject( product, project );
+                    project = (Project) element;
+                    break;
+                case RELEASE:
+                    if ( null == project )
+                    {
+                        throw new IllegalStateException( "release without project" );
+                    }
+                    project.addReleasePlan( (IRelease) element );
+                    break;
+                default:
+                    throw new IllegalStateException( "unknown record type: " + type );
+            }
+        }
+
+        // Projekte erst nach ihren Releases hinzufügen, da der Hash-Wert vom Release-Plan abhängt
+        addProject( product, project );
+        if ( !requirements.isEmpty() )
+        {
+            product.getProductBacklog().addRequirements( 0, requirements );
+        }
+        return product;
+    }
+
+    private static void addProject( Product product, Project project )
+    {
+        if ( null != project )
+        {
+            product.addProject( project );
+        }
+    }
+
+    private void forceDirectory()
+    {
+        Path directory = file.toAbsolutePath().getParent();
+        try (FileChannel channel = FileChannel.open( directory, StandardOpenOption.READ ))
+        {
+            channel.force( true );
+        }
+        catch ( IOException e )
+        {
+            // nicht jedes Betriebssystem erlaubt das Sichern eines Verzeichnisses
+        }
+    }
+
+    private void endTrace( TraceSpan span, Product product, long bytes )
+    {
+        if ( null == span )
+        {
+            return;
+        }
+        span.setSubject( file.toString() );
+        span.setBytes( bytes );
+        if ( null != product )
+        {
+            Tracing.describe( span, product );
+        }
+        Tracing.end( span );
+    }
+
+    /*
+     * Sammelt Datensätze in direkten Puffern und schreibt sie gebündelt mit einem Gather-Write.
+     * Kopf und Inhalt eines Datensatzes liegen in getrennten Puffern.
+     */
+    private static final class RecordBatch
+    {
+        private final FileChannel channel;
+
+        private final Marshaller marshaller;
+
+        private final ByteBuffer[] headers = new ByteBuffer[RECORDS_PER_WRITE];
+
+        private final DirectBufferOutputStream[] payloads =
+            new DirectBufferOutputStream[RECORDS_PER_WRITE];
+
+        private final ByteBuffer[] gather = new ByteBuffer[2 * RECORDS_PER_WRITE];
+
+        private int count;
+
+        private int bytes;
+
+        private int records;
+
+        private RecordBatch( FileChannel channel, Marshaller marshaller )
+        {
+            this.channel = channel;
+            this.marshaller = marshaller;
+            for ( int i = 0; i < RECORDS_PER_WRITE; i++ )
+            {
+                headers[i] = ByteBuffer.allocateDirect( 8 );
+                payloads[i] = new DirectBufferOutputStream( 4096 );
+            }
+        }
+
+        private void add( int type, Object element )
+            throws IOException, JAXBException
+        {
+            DirectBufferOutputStream payload = payloads[count];
+            payload.reset();
+            marshaller.marshal( element, payload );
+            headers[count].clear();
+            headers[count].putInt( type ).putInt( payload.size() ).flip();
+            gather[2 * count] = headers[count];
+            gather[2 * count + 1] = payload.content();
+            bytes += payload.size() + 8;
+            count++;
+            records++;
+            if ( RECORDS_PER_WRITE == count || bytes >= BYTES_PER_WRITE )
+            {
+                flush();
+            }
+        }
+
+        private void end()
+            throws IOException
+        {
+            flush();
+            headers[0].clear();
+            headers[0].putInt( END ).putInt( records ).flip();
+            while ( headers[0].hasRemaining() )
+            {
+                channel.write( headers[0] );
+            }
+        }
+
+        private void flush()
+            throws IOException
+        {
+            int length = 2 * count;
+            while ( count > 0 && gather[length - 1].hasRemaining() )
+            {
+                channel.write( gather, 0, length );
+            }
+            count = 0;
+            bytes = 0;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.persistence;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * {@link OutputStream}, welcher in einen wachsenden direkten {@link ByteBuffer} schreibt, damit
+ * der Inhalt ohne weitere Kopie an einen {@link java.nio.channels.FileChannel} übergeben werden
+ * kann
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+final class DirectBufferOutputStream
+    extends OutputStream
+{
+
+    private ByteBuffer buffer;
+
+    /**
+     * Instanziiert einen {@link DirectBufferOutputStream}
+     * 
+     * @param capacity anfängliche Größe des Puffers in Bytes
+     */
+    DirectBufferOutputStream( int capacity )
+    {
+        buffer = ByteBuffer.allocateDirect( capacity );
+    }
+
+    @Override
+    public void write( int b )
+    {
+        ensureRemaining( 1 );
+        buffer.put( (byte) b );
+    }
+
+    @Override
+    public void write( byte[] b, int off, int len )
+    {
+        ensureRemaining( len );
+        buffer.put( b, off, len );
+    }
+
+    /**
+     * Verwirft den Inhalt, der Puffer wird weiter verwendet
+     */
+    void reset()
+    {
+        buffer.clear();
+    }
+
+    /**
+     * Gibt die Anzahl der geschriebenen Bytes zurück
+     * 
+     * @return Anzahl der Bytes
+     */
+    int size()
+    {
+        return buffer.position();
+    }
+
+    /**
+     * Gibt den geschriebenen Inhalt als lesbaren {@link ByteBuffer} zurück. Der Inhalt bleibt bis
+     * zum nächsten {@link #reset()} gültig.
+     * 
+     * @return {@link ByteBuffer} von Position 0 bis zum Ende des Inhalts
+     */
+    ByteBuffer content()
+    {
+        ByteBuffer content = buffer.duplicate();
+        content.flip();
+        return content;
+    }
+
+    private void ensureRemaining( int length )
+    {
+        if ( buffer.remaining() < length )
+        {
+            int capacity = Math.max( buffer.capacity() * 2, buffer.position() + length );
+            ByteBuffer grown = ByteBuffer.allocateDirect( capacity );
+            buffer.flip();
+            grown.put( buffer );
+            buffer = grown;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.persistence;
+
+/**
+ * Legt fest, wie weit ein {@link ChannelProductStore} das Speichern auf dem Datenträger
+ * abwartet. Höhere Stufen sichern mehr gegen Stromausfall ab und kosten Durchsatz.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public enum Durability
+{
+
+    /**
+     * Kein {@link java.nio.channels.FileChannel#force(boolean)}, das Betriebssystem schreibt die
+     * Daten verzögert. Nach einem Absturz des Systems kann der vorherige oder ein leerer Stand
+     * gelesen werden.
+     */
+    NONE,
+
+    /**
+     * Ein {@link java.nio.channels.FileChannel#force(boolean)} ohne Metadaten je Speichervorgang
+     * vor dem Umbenennen der Datei
+     */
+    DATA,
+
+    /**
+     * Wie {@link #DATA} mit Metadaten, zusätzlich wird nach dem Umbenennen das Verzeichnis
+     * gesichert, sofern das Betriebssystem dies unterstützt
+     */
+    FULL;
+}
@@ -0,0 +1,410 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.persistence;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.lang3.ObjectUtils;
+
+import com.github.jgility.core.project.Product;
+
+/**
+ * Implementiert einen {@link IProductStore}, welcher Speicherungen an einen anderen
+ * {@link IProductStore} asynchron über einen einzelnen Schreiber ausführt. Über
+ * {@link #saveAsync(Product)} wird eine Speicherung nur eingereiht, der Aufrufer erhält ein
+ * {@link Future}, welches nach dem dauerhaften Schreiben erfüllt ist.<br>
+ * Alle Speicherungen, welche während eines laufenden Schreibvorgangs eingereiht werden, werden zu
+ * einem einzigen Schreibvorgang zusammengefasst (Group Commit). Da ein {@link IProductStore} genau
+ * ein {@link Product} enthält, wird dabei nur das zuletzt eingereihte {@link Product} geschrieben.
+ * Viele gleichzeitige Aufrufer von {@link #save(Product)} warten so nur auf ihr {@link Future}
+ * und teilen sich einen Schreibvorgang, anstatt jeweils eigene Schreibvorgänge auszulösen.<br>
+ * Das {@link Product} darf während des Schreibens nicht verändert werden, z.B. durch Speichern
+ * nach Abschluss einer {@link com.github.jgility.core.transaction.UnitOfWork} im selben Thread.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public class GroupCommitProductStore
+    implements IProductStore
+{
+
+    private final IProductStore store;
+
+    private final ExecutorService executor;
+
+    private final Queue<Commit> pending = new ConcurrentLinkedQueue<>();
+
+    private final Lock writeLock = new ReentrantLock();
+
+    private boolean scheduled;
+
+    private boolean shutdown;
+
+    /**
+     * Instanziiert einen {@link GroupCommitProductStore} mit einem eigenen Thread für den Schreiber
+     * 
+     * @param store {@link IProductStore}, in welchen geschrieben wird
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     */
+    public GroupCommitProductStore( IProductStore store )
+        throws IllegalArgumentException
+    {
+        this( store, Executors.newSingleThreadExecutor( new ThreadFactory()
+        {
+            @Override
+            public Thread newThread( Runnable runnable )
+            {
+                Thread thread = new Thread( runnable, "jgility-group-commit" );
+                thread.setDaemon( true );
+                return thread;
+            }
+        } ) );
+    }
+
+    /**
+     * Instanziiert einen {@link GroupCommitProductStore} mit übergebenem {@link ExecutorService}
+     * für den Schreiber. Schreibvorgänge werden auch bei mehreren Threads nacheinander ausgeführt.
+     * 
+     * @param store {@link IProductStore}, in welchen geschrieben wird
+     * @param executor {@link ExecutorService} für den Schreiber
+     * @throws IllegalArgumentException wenn einer der Parameter <code>null</code> ist
+     */
+    public GroupCommitProductStore( IProductStore store, ExecutorService executor )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, store ) )
+        {
+            throw new IllegalArgumentException( "null-object as store is not allowed" );
+        }
+        if ( ObjectUtils.equals( null, executor ) )
+        {
+            throw new IllegalArgumentException( "null-object as executor is not allowed" );
+        }
+        this.store = store;
+        this.executor = executor;
+    }
+
+    /**
+     * Lädt das {@link Product}, nachdem alle bereits eingereihten Speicherungen geschrieben wurden
+     * 
+     * @see com.github.jgility.core.persistence.IProductStore#load()
+     */
+    @Override
+    public Product load()
+        throws IllegalStateException
+    {
+        flush();
+        return store.load();
+    }
+
+    /**
+     * Reiht das {@link Product} zur Speicherung ein und wartet, bis es dauerhaft geschrieben wurde
+     * 
+     * @see com.github.jgility.core.persistence.IProductStore#save(com.github.jgility.core.project.Product)
+     */
+    @Override
+    public void save( Product product )
+        throws IllegalArgumentException, IllegalStateException
+    {
+        await( saveAsync( product ) );
+    }
+
+    /**
+     * Reiht das {@link Product} zur Speicherung ein, ohne auf den Schreibvorgang zu warten
+     * 
+     * @param product zu speicherndes {@link Product}
+     * @return {@link Future}, welches nach dem dauerhaften Schreiben das {@link Product} liefert
+     *         oder mit der {@link IllegalStateException} des Schreibvorgangs fehlschlägt
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     * @throws IllegalStateException wenn {@link #shutdown()} bereits aufgerufen wurde
+     */
+    public Future<Product> saveAsync( Product product )
+        throws IllegalArgumentException, IllegalStateException
+    {
+        if ( ObjectUtils.equals( null, product ) )
+        {
+            throw new IllegalArgumentException( "null-object as product is not allowed" );
+        }
+
+        Commit commit = new Commit( product );
+        synchronized ( pending )
+        {
+            if ( shutdown )
+            {
+                throw new IllegalStateException( "store has been shut down" );
+            }
+            pending.add( commit );
+            if ( !scheduled )
+            {
+                scheduled = true;
+                try
+                {
+                    executor.execute( new Runnable()
+                    {
+                        @Override
+                        public void run()
+                        {
+                            drain();
+                        }
+                    } );
+                }
+                catch ( RejectedExecutionException e )
+                {
+                    reject( e );
+                }
+            }
+        }
+        return commit;
+    }
+
+    /*
+     * Der Schreiber konnte nicht eingeplant werden: alle eingereihten Speicherungen schlagen fehl,
+     * damit kein Aufrufer dauerhaft wartet und spätere Speicherungen erneut einplanen
+     */
+    private void reject( RejectedExecutionException e )
+    {
+        scheduled = false;
+        IllegalStateException cause = new IllegalStateException( "writer was rejected", e );
+        Commit commit;
+        while ( null != ( commit = pending.poll() ) )
+        {
+            commit.complete( cause );
+        }
+    }
+
+    /**
+     * Wartet, bis alle bereits eingereihten Speicherungen geschrieben wurden. Fehlgeschlagene
+     * Speicherungen werden nur über ihr {@link Future} mitgeteilt.
+     * 
+     * @throws IllegalStateException wenn der aktuelle Thread unterbrochen wurde
+     */
+    public void flush()
+        throws IllegalStateException
+    {
+        Commit last = null;
+        for ( Commit commit : pending )
+        {
+            last = commit;
+        }
+        if ( null != last )
+        {
+            try
+            {
+                last.get();
+            }
+            catch ( InterruptedException e )
+            {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException( "interrupted while flushing", e );
+            }
+            catch ( ExecutionException e )
+            {
+                // wird über das Future der Speicherung mitgeteilt
+            }
+        }
+
+        // wartet auf einen bereits laufenden Schreibvorgang
+        writeLock.lock();
+        writeLock.unlock();
+    }
+
+    /**
+     * Schreibt alle eingereihten Speicherungen und beendet anschließend den Thread des Schreibers.
+     * Weitere Speicherungen werden abgelehnt.
+     * 
+     * @throws IllegalStateException wenn der aktuelle Thread unterbrochen wurde
+     */
+    public void shutdown()
+        throws IllegalStateException
+    {
+        synchronized ( pending )
+        {
+            shutdown = true;
+        }
+        executor.shutdown();
+        try
+        {
+            executor.awaitTermination( Long.MAX_VALUE, TimeUnit.NANOSECONDS );
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException( "interrupted while shutting down", e );
+        }
+        drain();
+    }
+
+    /*
+     * Schreibt alle eingereihten Speicherungen. Der Schreibvorgang hält keinen Monitor, damit
+     * wartende virtuelle Threads ihren Träger-Thread freigeben können. Jedes Future wird in jedem
+     * Fall erfüllt, auch wenn der Schreibvorgang mit einem Error abbricht.
+     */
+    private void drain()
+    {
+        writeLock.lock();
+        try
+        {
+            synchronized ( pending )
+            {
+                scheduled = false;
+            }
+
+            List<Commit> batch = new ArrayList<>();
+            Commit commit;
+            while ( null != ( commit = pending.poll() ) )
+            {
+                batch.add( commit );
+            }
+            if ( batch.isEmpty() )
+            {
+                return;
+            }
+
+            Product product = batch.get( batch.size() - 1 ).product;
+            Throwable cause = null;
+            try
+            {
+                store.save( product );
+            }
+            catch ( Throwable e )
+            {
+                cause = e;
+                if ( e instanceof Error )
+                {
+                    throw (Error) e;
+                }
+            }
+            finally
+            {
+                for ( Commit done : batch )
+                {
+                    done.complete( cause );
+                }
+            }
+        }
+        finally
+        {
+            writeLock.unlock();
+        }
+    }
+
+    private static void await( Future<Product> future )
+        throws IllegalStateException
+    {
+        try
+        {
+            future.get();
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException( "interrupted while saving product", e );
+        }
+        catch ( ExecutionException e )
+        {
+            if ( e.getCause() instanceof IllegalStateException )
+            {
+                throw (IllegalStateException) e.getCause();
+            }
+            throw new IllegalStateException( "product is not writable", e.getCause() );
+        }
+    }
+
+    /*
+     * Eingereihte Speicherung, welche vom Schreiber erfüllt wird. Eine Speicherung kann nicht
+     * abgebrochen werden, da sie mit anderen zusammen geschrieben wird.
+     */
+    private static final class Commit
+        implements Future<Product>
+    {
+        private final CountDownLatch done = new CountDownLatch( 1 );
+
+        private final Product product;
+
+        private volatile Throwable failure;
+
+        private Commit( Product product )
+        {
+            this.product = product;
+        }
+
+        /*
+         * Erfüllt die Speicherung, bei einer Ursache als fehlgeschlagen
+         */
+        private void complete( Throwable cause )
+        {
+            failure = cause;
+            done.countDown();
+        }
+
+        @Override
+        public boolean cancel( boolean mayInterruptIfRunning )
+        {
+            return false;
+        }
+
+        @Override
+        public boolean isCancelled()
+        {
+            return false;
+        }
+
+        @Override
+        public boolean isDone()
+        {
+            return 0 == done.getCount();
+        }
+
+        @Override
+        public Product get()
+            throws InterruptedException, ExecutionException
+        {
+            done.await();
+            return result();
+        }
+
+        @Override
+        public Product get( long timeout, TimeUnit unit )
+            throws InterruptedException, ExecutionException, TimeoutException
+        {
+            if ( !done.await( timeout, unit ) )
+            {
+                throw new TimeoutException();
+            }
+            return result();
+        }
+
+        private Product result()
+            throws ExecutionException
+        {
+            if ( null != failure )
+            {
+                throw new ExecutionException( failure );
+            }
+            return product;
+        }
+    }
+}
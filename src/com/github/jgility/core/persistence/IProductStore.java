@@ -0,0 +1,43 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.persistence;
+
+import com.github.jgility.core.project.Product;
+
+/**
+ * Interface für die dauerhafte Ablage eines {@link Product}
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public interface IProductStore
+{
+
+    /**
+     * Lädt das gespeicherte {@link Product}
+     * 
+     * @return geladenes {@link Product}
+     * @throws IllegalStateException wenn das {@link Product} nicht gelesen werden kann
+     */
+    Product load()
+        throws IllegalStateException;
+
+    /**
+     * Speichert das übergebene {@link Product} dauerhaft
+     * 
+     * @param product zu speicherndes {@link Product}
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     * @throws IllegalStateException wenn das {@link Product} nicht gespeichert werden kann
+     */
+    void save( Product product )
+        throws IllegalArgumentException, IllegalStateException;
+}
@@ -0,0 +1,33 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.persistence;
+
+/**
+ * Interface für die Zuordnung eines Schlüssels zu dem {@link IProductStore}, in welchem das
+ * zugehörige {@link com.github.jgility.core.project.Product} abgelegt ist
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public interface IProductStoreFactory
+{
+
+    /**
+     * Gibt den {@link IProductStore} für den übergebenen Schlüssel zurück
+     * 
+     * @param key Schlüssel des {@link com.github.jgility.core.project.Product}
+     * @return {@link IProductStore} des Schlüssels
+     * @throws IllegalArgumentException wenn der Schlüssel ungültig ist
+     */
+    IProductStore getStore( String key )
+        throws IllegalArgumentException;
+}
@@ -0,0 +1,770 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.persistence;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+
+import org.apache.commons.lang3.ObjectUtils;
+
+import com.github.jgility.core.metrics.Metrics;
+import com.github.jgility.core.project.Person;
+import com.github.jgility.core.project.Product;
+import com.github.jgility.core.project.Project;
+import com.github.jgility.core.trace.TraceSpan;
+import com.github.jgility.core.trace.TraceType;
+import com.github.jgility.core.trace.Tracing;
+
+/**
+ * Implementiert einen {@link IProductStore}, welcher ein {@link Product} auf mehrere XML-Dateien
+ * in einem Verzeichnis verteilt. Jedes {@link Project} mit Team, Release-Plan und
+ * Iteration-Backlogs liegt in einer eigenen Partition <code>project-&lt;n&gt;.&lt;g&gt;.xml</code>,
+ * das {@link Product} ohne Projekte in <code>product.&lt;g&gt;.xml</code>. Die Datei
+ * <code>manifest</code> enthält zeilenweise in UTF-8 zuerst die Datei des {@link Product}s und
+ * danach die Partitionen.<br>
+ * Jeder Speichervorgang schreibt neue Dateien mit der nächsten Generation <code>g</code> und
+ * überschreibt keine gültige Datei. Erst das atomare Ersetzen des Manifests schaltet auf die neue
+ * Generation um, danach werden die Dateien der alten Generation gelöscht. Schlägt das Schreiben
+ * einer Partition fehl oder bricht der Prozess ab, verweist das Manifest weiterhin vollständig auf
+ * die alte Generation. Übrig gebliebene Dateien werden beim nächsten {@link #save(Product)}
+ * entfernt.<br>
+ * Partitionen werden parallel auf einem Thread-Pool gelesen und geschrieben. Über
+ * {@link #saveProject(Project)} wird nur die Partition eines geladenen oder gespeicherten
+ * {@link Project}s geschrieben. Die Zuordnung von {@link Project}s zu Partitionen hält die
+ * {@link Project}s nur schwach.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public class PartitionedProductStore
+    implements IProductStore
+{
+
+    /**
+     * Name der Datei mit den Partitionen
+     */
+    public static final String MANIFEST = "manifest";
+
+    private static final String PRODUCT_PREFIX = "product.";
+
+    private static final String LEGACY_PRODUCT = "product.xml";
+
+    private static final String PARTITION_PREFIX = "project-";
+
+    private static final String SUFFIX = ".xml";
+
+    private static final String TMP_SUFFIX = ".tmp";
+
+    private static final Charset CHARSET = Charset.forName( "UTF-8" );
+
+    private static final String ENCODING = "UTF-8";
+
+    private final Path directory;
+
+    private final ExecutorService executor;
+
+    private final int threads;
+
+    private final Map<ProjectKey, Integer> partitions = new HashMap<>();
+
+    private final ReferenceQueue<Project> collected = new ReferenceQueue<>();
+
+    private int nextPartition;
+
+    /**
+     * Instanziiert einen {@link PartitionedProductStore}, welcher je Aufruf einen Thread je
+     * Prozessor nutzt
+     * 
+     * @param directory Verzeichnis der Partitionen
+     * @throws IllegalArgumentException wenn das Verzeichnis <code>null</code> ist
+     */
+    public PartitionedProductStore( Path directory )
+        throws IllegalArgumentException
+    {
+        this( directory, Runtime.getRuntime().availableProcessors() );
+    }
+
+    /**
+     * Instanziiert einen {@link PartitionedProductStore}, welcher je Aufruf eigene Threads startet
+     * 
+     * @param directory Verzeichnis der Partitionen
+     * @param threads maximale Anzahl der Threads
+     * @throws IllegalArgumentException wenn das Verzeichnis <code>null</code> oder die Anzahl
+     *             nicht positiv ist
+     */
+    public PartitionedProductStore( Path directory, int threads )
+        throws IllegalArgumentException
+    {
+        this( directory, null, threads );
+        if ( threads <= 0 )
+        {
+            throw new IllegalArgumentException( "threads has to be positive" );
+        }
+    }
+
+    /**
+     * Instanziiert einen {@link PartitionedProductStore}, welcher den übergebenen
+     * {@link ExecutorService} nutzt. Der {@link ExecutorService} wird nicht beendet.
+     * 
+     * @param directory Verzeichnis der Partitionen
+     * @param executor {@link ExecutorService} für das Lesen und Schreiben der Partitionen
+     * @throws IllegalArgumentException wenn ein Parameter <code>null</code> ist
+     */
+    public PartitionedProductStore( Path directory, ExecutorService executor )
+        throws IllegalArgumentException
+    {
+        this( directory, executor, 0 );
+        if ( ObjectUtils.equals( null, executor ) )
+        {
+            throw new IllegalArgumentException( "null-object as executor is not allowed" );
+        }
+    }
+
+    private PartitionedProductStore( Path directory, ExecutorService executor, int threads )
+    {
+        if ( ObjectUtils.equals( null, directory ) )
+        {
+            throw new IllegalArgumentException( "null-object as directory is not allowed" );
+        }
+        this.directory = directory;
+        this.executor = executor;
+        this.threads = threads;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.persistence.IProductStore#load()
+     */
+    @Override
+    public synchronized Product load()
+        throws IllegalStateException
+    {
+        TraceSpan span = Tracing.begin( TraceType.PRODUCT_LOAD );
+        long startTime = Metrics.start();
+        Product product = null;
+        long bytes = -1;
+        try
+        {
+            List<String> names = readManifest();
+            List<Callable<Object>> tasks = new ArrayList<>( names.size() );
+            for ( String name : names )
+            {
+                tasks.add( new ReadTask( directory.resolve( name ) ) );
+            }
+            List<Object> results = invokeAll( tasks );
+
+            product = (Product) results.get( 0 );
+            for ( int i = 1; i < names.size(); i++ )
+            {
+                Project project = (Project) results.get( i );
+                product.addProject( project );
+                int number = partitionNumber( names.get( i ) );
+                if ( number >= 0 )
+                {
+                    partitions.put( new ProjectKey( project, collected ), number );
+                    nextPartition = Math.max( nextPartition, number + 1 );
+                }
+            }
+            bytes = size( names );
+            return product;
+        }
+        catch ( ClassCastException e )
+        {
+            throw new IllegalStateException( "product is not readable: " + directory, e );
+        }
+        finally
+        {
+            Metrics.stop( Metrics.PERSISTENCE_LOAD, startTime );
+            endTrace( span, product, bytes );
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see
+     * com.github.jgility.core.persistence.IProductStore#save(com.github.jgility.core.project.Product
+     * )
+     */
+    @Override
+    public synchronized void save( Product product )
+        throws IllegalArgumentException, IllegalStateException
+    {
+        if ( ObjectUtils.equals( null, product ) )
+        {
+            throw new IllegalArgumentException( "null-object as product is not allowed" );
+        }
+
+        TraceSpan span = Tracing.begin( TraceType.PRODUCT_SAVE );
+        long startTime = Metrics.start();
+        long bytes = -1;
+        try
+        {
+            Files.createDirectories( directory );
+            boolean exists = Files.exists( directory.resolve( MANIFEST ) );
+            List<String> oldNames = exists ? readManifest() : new ArrayList<String>();
+            long generation = generationOf( oldNames ) + 1;
+
+            List<Project> projects = product.getProjects();
+            List<String> names = new ArrayList<>( projects.size() + 1 );
+            List<Callable<Object>> tasks = new ArrayList<>( projects.size() + 1 );
+            names.add( PRODUCT_PREFIX + generation + SUFFIX );
+            tasks.add( new WriteTask( directory.resolve( names.get( 0 ) ),
+                                      withoutProjects( product ) ) );
+            Map<ProjectKey, Integer> saved = new HashMap<>();
+            expungeCollected();
+            for ( Project project : projects )
+            {
+                ProjectKey key = new ProjectKey( project, collected );
+                Integer number = partitions.get( key );
+                if ( null == number )
+                {
+                    number = nextPartition++;
+                }
+                saved.put( key, number );
+                String name = partitionName( number, generation );
+                names.add( name );
+                tasks.add( new WriteTask( directory.resolve( name ), project ) );
+            }
+            commit( tasks, names );
+
+            partitions.clear();
+            partitions.putAll( saved );
+            deleteUnreferenced( names );
+            bytes = size( names );
+        }
+        catch ( IOException e )
+        {
+            throw new IllegalStateException( "product is not writable: " + directory, e );
+        }
+        finally
+        {
+            Metrics.stop( Metrics.PERSISTENCE_SAVE, startTime );
+            endTrace( span, product, bytes );
+        }
+    }
+
+    /**
+     * Speichert nur die Partition des übergebenen {@link Project}s. Ein {@link Project}, welches
+     * noch nicht über diesen {@link PartitionedProductStore} geladen oder gespeichert wurde, erhält
+     * eine neue Partition, welche dem Manifest hinzugefügt wird.
+     * 
+     * @param project zu speicherndes {@link Project}
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     * @throws IllegalStateException wenn kein Manifest existiert oder die Partition nicht
+     *             geschrieben werden kann
+     */
+    public synchronized void saveProject( Project project )
+        throws IllegalArgumentException, IllegalStateException
+    {
+        if ( ObjectUtils.equals( null, project ) )
+        {
+            throw new IllegalArgumentException( "null-object as project is not allowed" );
+        }
+
+        long startTime = Metrics.start();
+        try
+        {
+            List<String> names = readManifest();
+            long generation = generationOf( names ) + 1;
+            expungeCollected();
+            ProjectKey key = new ProjectKey( project, collected );
+            Integer number = partitions.get( key );
+            if ( null == number )
+            {
+                number = nextPartition++;
+            }
+            String name = partitionName( number, generation );
+
+            String oldName = null;
+            List<String> newNames = new ArrayList<>( names );
+            for ( int i = 1; i < newNames.size() && null == oldName; i++ )
+            {
+                if ( number == partitionNumber( newNames.get( i ) ) )
+                {
+                    oldName = newNames.set( i, name );
+                }
+            }
+            if ( null == oldName )
+            {
+                newNames.add( name );
+            }
+            List<Callable<Object>> tasks = new ArrayList<>( 1 );
+            tasks.add( new WriteTask( directory.resolve( name ), project ) );
+            commit( tasks, newNames );
+
+            partitions.put( key, number );
+            if ( null != oldName )
+            {
+                Files.deleteIfExists( directory.resolve( oldName ) );
+            }
+        }
+        catch ( IOException e )
+        {
+            throw new IllegalStateException( "project is not writable: " + directory, e );
+        }
+        finally
+        {
+            Metrics.stop( Metrics.PERSISTENCE_SAVE, startTime );
+        }
+    }
+
+    /**
+     * Gibt das Verzeichnis zurück, in welchem die Partitionen abgelegt werden
+     * 
+     * @return Verzeichnis des {@link PartitionedProductStore}
+     */
+    public Path getDirectory()
+    {
+        return directory;
+    }
+
+    /*
+     * Schreibt die Dateien der neuen Generation und schaltet das Manifest um. Schlägt eine Datei
+     * fehl, werden alle Dateien der neuen Generation gelöscht und das Manifest bleibt unverändert.
+     * Die Dateien und das Verzeichnis werden vor dem Umschalten auf den Datenträger gesichert,
+     * damit das Manifest nach einem Absturz nicht auf fehlende oder unvollständige Dateien zeigt.
+     */
+    private void commit( List<Callable<Object>> tasks, List<String> names )
+        throws IOException, IllegalStateException
+    {
+        boolean committed = false;
+        try
+        {
+            invokeAll( tasks );
+            forceDirectory( directory );
+            writeManifest( names );
+            committed = true;
+        }
+        finally
+        {
+            if ( !committed )
+            {
+                for ( Callable<Object> task : tasks )
+                {
+                    Files.deleteIfExists( ( (WriteTask) task ).file );
+                }
+            }
+        }
+    }
+
+    /*
+     * Löscht alle Dateien des Stores, welche nicht im Manifest stehen, z.B. die Dateien der alten
+     * Generation oder eines abgebrochenen Speichervorgangs
+     */
+    private void deleteUnreferenced( List<String> names )
+        throws IOException
+    {
+        Set<String> referenced = new HashSet<>( names );
+        List<Path> unreferenced = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream( directory ))
+        {
+            for ( Path file : files )
+            {
+                String name = file.getFileName().toString();
+                if ( isStoreFile( name ) && !referenced.contains( name ) )
+                {
+                    unreferenced.add( file );
+                }
+            }
+        }
+        for ( Path file : unreferenced )
+        {
+            Files.deleteIfExists( file );
+        }
+    }
+
+    private static boolean isStoreFile( String name )
+    {
+        String base = name.endsWith( TMP_SUFFIX )
+                        ? name.substring( 0, name.length() - TMP_SUFFIX.length() ) : name;
+        return ( base.startsWith( PRODUCT_PREFIX ) || base.startsWith( PARTITION_PREFIX ) )
+            && base.endsWith( SUFFIX ) || ( MANIFEST + TMP_SUFFIX ).equals( name );
+    }
+
+    private static String partitionName( int number, long generation )
+    {
+        return PARTITION_PREFIX + number + '.' + generation + SUFFIX;
+    }
+
+    /*
+     * Liefert die Nummer einer Partition oder -1 bei einem fremden Namen
+     */
+    private static int partitionNumber( String name )
+    {
+        int separator = name.indexOf( '.', PARTITION_PREFIX.length() );
+        if ( !name.startsWith( PARTITION_PREFIX ) || separator < 0 )
+        {
+            return -1;
+        }
+        try
+        {
+            return Integer.parseInt( name.substring( PARTITION_PREFIX.length(), separator ) );
+        }
+        catch ( NumberFormatException e )
+        {
+            return -1;
+        }
+    }
+
+    /*
+     * Liefert die höchste Generation der Dateien im Manifest
+     */
+    private static long generationOf( List<String> names )
+    {
+        long generation = 0;
+        for ( String name : names )
+        {
+            int end = name.length() - SUFFIX.length();
+            int start = name.lastIndexOf( '.', end - 1 ) + 1;
+            if ( name.endsWith( SUFFIX ) && start > 0 )
+            {
+                try
+                {
+                    long parsed = Long.parseLong( name.substring( start, end ) );
+                    generation = Math.max( generation, parsed );
+                }
+                catch ( NumberFormatException e )
+                {
+                    // fremd benannte Datei, die Generation wird davon nicht beeinflusst
+                }
+            }
+        }
+        return generation;
+    }
+
+    private void expungeCollected()
+    {
+        for ( Object key = collected.poll(); null != key; key = collected.poll() )
+        {
+            partitions.remove( key );
+        }
+    }
+
+    private List<String> readManifest()
+        throws IllegalStateException
+    {
+        Path manifest = directory.resolve( MANIFEST );
+        try
+        {
+            List<String> names = new ArrayList<>();
+            for ( String line : Files.readAllLines( manifest, CHARSET ) )
+            {
+                if ( !line.trim().isEmpty() )
+                {
+                    names.add( line.trim() );
+                }
+            }
+            if ( names.isEmpty() || !names.get( 0 ).startsWith( PRODUCT_PREFIX ) )
+            {
+                // Manifest ohne Generationen, das Product liegt in einer festen Datei
+                names.add( 0, LEGACY_PRODUCT );
+            }
+            return names;
+        }
+        catch ( IOException e )
+        {
+            throw new IllegalStateException( "manifest is not readable: " + manifest, e );
+        }
+    }
+
+    private void writeManifest( List<String> names )
+        throws IOException
+    {
+        Path manifest = directory.resolve( MANIFEST );
+        Path tmpFile = manifest.resolveSibling( MANIFEST + TMP_SUFFIX );
+        StringBuilder content = new StringBuilder();
+        for ( String name : names )
+        {
+            content.append( name ).append( '\n' );
+        }
+        try (FileChannel channel = create( tmpFile ))
+        {
+            ByteBuffer buffer = ByteBuffer.wrap( content.toString().getBytes( CHARSET ) );
+            while ( buffer.hasRemaining() )
+            {
+                channel.write( buffer );
+            }
+            channel.force( true );
+        }
+        Files.move( tmpFile, manifest, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE );
+        forceDirectory( directory );
+    }
+
+    private static FileChannel create( Path file )
+        throws IOException
+    {
+        return FileChannel.open( file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                 StandardOpenOption.TRUNCATE_EXISTING );
+    }
+
+    private static void forceDirectory( Path directory )
+    {
+        try (FileChannel channel =
+            FileChannel.open( directory.toAbsolutePath(), StandardOpenOption.READ ))
+        {
+            channel.force( true );
+        }
+        catch ( IOException e )
+        {
+            // nicht jedes Betriebssystem erlaubt das Sichern eines Verzeichnisses
+        }
+    }
+
+    private List<Object> invokeAll( List<Callable<Object>> tasks )
+        throws IllegalStateException
+    {
+        ExecutorService pool = executor;
+        if ( null == pool )
+        {
+            int poolSize = Math.min( threads, tasks.size() );
+            pool = Executors.newFixedThreadPool( poolSize, new ThreadFactory()
+            {
+                @Override
+                public Thread newThread( Runnable runnable )
+                {
+                    Thread thread = new Thread( runnable, "jgility-persistence" );
+                    thread.setDaemon( true );
+                    return thread;
+                }
+            } );
+        }
+
+        try
+        {
+            List<Object> results = new ArrayList<>( tasks.size() );
+            for ( Future<Object> future : pool.invokeAll( tasks ) )
+            {
+                results.add( future.get() );
+            }
+            return results;
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException( "interrupted while accessing " + directory, e );
+        }
+        catch ( ExecutionException e )
+        {
+            if ( e.getCause() instanceof IllegalStateException )
+            {
+                throw (IllegalStateException) e.getCause();
+            }
+            throw new IllegalStateException( "partition is not accessible: " + directory,
+                                             e.getCause() );
+        }
+        finally
+        {
+            if ( null == executor )
+            {
+                pool.shutdownNow();
+            }
+        }
+    }
+
+    private long size( List<String> names )
+    {
+        try
+        {
+            long bytes = 0;
+            for ( String name : names )
+            {
+                bytes += Files.size( directory.resolve( name ) );
+            }
+            return bytes;
+        }
+        catch ( IOException e )
+        {
+            return -1;
+        }
+    }
+
+    private void endTrace( TraceSpan span, Product product, long bytes )
+    {
+        if ( null == span )
+        {
+            return;
+        }
+        span.setSubject( directory.toString() );
+        span.setBytes( bytes );
+        if ( null != product )
+        {
+            Tracing.describe( span, product );
+        }
+        Tracing.end( span );
+    }
+
+    /*
+     * Kopie des Produkts ohne Projekte, Backlog und ProductOwner werden übernommen
+     */
+    private static Product withoutProjects( Product product )
+    {
+        Product copy = new Product( product.getName(), product.getDescription(), new Person() );
+        copy.removeProductOwner();
+        if ( null != product.getProductOwner() )
+        {
+            copy.setProductOwner( product.getProductOwner() );
+        }
+        copy.removeProductBacklog();
+        if ( null != product.getProductBacklog() )
+        {
+            copy.setProductBacklog( product.getProductBacklog() );
+        }
+        return copy;
+    }
+
+    private static void write( Path file, Object element )
+        throws IllegalStateException
+    {
+        Path tmpFile = file.resolveSibling( file.getFileName() + TMP_SUFFIX );
+        try
+        {
+            try (FileChannel channel = create( tmpFile ))
+            {
+                OutputStream out = Channels.newOutputStream( channel );
+                Marshaller marshaller = XmlProductStore.getContext().createMarshaller();
+                marshaller.setProperty( Marshaller.JAXB_ENCODING, ENCODING );
+                marshaller.marshal( element, out );
+                out.flush();
+                channel.force( true );
+            }
+            Files.move( tmpFile, file, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE );
+        }
+        catch ( IOException | JAXBException e )
+        {
+            try
+            {
+                Files.deleteIfExists( tmpFile );
+            }
+            catch ( IOException suppressed )
+            {
+                e.addSuppressed( suppressed );
+            }
+            throw new IllegalStateException( "partition is not writable: " + file, e );
+        }
+    }
+
+    /*
+     * Schwacher Schlüssel eines Projekts, verglichen wird nach Identität
+     */
+    private static final class ProjectKey
+        extends WeakReference<Project>
+    {
+        private final int hash;
+
+        private ProjectKey( Project project, ReferenceQueue<Project> queue )
+        {
+            super( project, queue );
+            hash = System.identityHashCode( project );
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+
+        @Override
+        public boolean equals( Object obj )
+        {
+            if ( this == obj )
+            {
+                return true;
+            }
+            if ( obj instanceof ProjectKey )
+            {
+                Project project = get();
+                return null != project && project == ( (ProjectKey) obj ).get();
+            }
+            return false;
+        }
+    }
+
+    /*
+     * Liest eine Partition
+     */
+    private static final class ReadTask
+        implements Callable<Object>
+    {
+        private final Path file;
+
+        private ReadTask( Path file )
+        {
+            this.file = file;
+        }
+
+        @Override
+        public Object call()
+        {
+            try (InputStream in = Files.newInputStream( file ))
+            {
+                return XmlProductStore.getContext().createUnmarshaller().unmarshal( in );
+            }
+            catch ( IOException | JAXBException e )
+            {
+                throw new IllegalStateException( "partition is not readable: " + file, e );
+            }
+        }
+    }
+
+    /*
+     * Schreibt eine Partition
+     */
+    private static final class WriteTask
+        implements Callable<Object>
+    {
+        private final Path file;
+
+        private final Object element;
+
+        private WriteTask( Path file, Object element )
+        {
+            this.file = file;
+            this.element = element;
+        }
+
+        @Override
+        public Object call()
+        {
+            write( file, element );
+            return file;
+        }
+    }
+}
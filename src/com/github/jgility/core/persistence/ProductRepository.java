@@ -0,0 +1,638 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.persistence;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import com.github.jgility.core.metrics.Metrics;
+import com.github.jgility.core.planning.IIteration;
+import com.github.jgility.core.planning.IRelease;
+import com.github.jgility.core.project.Product;
+import com.github.jgility.core.project.Project;
+import com.github.jgility.core.project.Team;
+
+/**
+ * Repository für {@link Product}s, welche über einen Schlüssel aus dem {@link IProductStore} einer
+ * {@link IProductStoreFactory} geladen werden. Geladene {@link Product}s werden in einem
+ * beschränkten Cache gehalten. Für jedes {@link Product} wird über
+ * {@link #estimateWeight(Product)} der belegte Speicher geschätzt. Übersteigt die Summe das
+ * Maximum, werden die am längsten nicht verwendeten {@link Product}s verdrängt (LRU).<br>
+ * Geänderte {@link Product}s werden über {@link #markDirty(String)} gekennzeichnet und vor der
+ * Verdrängung oder über {@link #flush()} gespeichert. Bis zum Abschluss der Speicherung liefert
+ * {@link #get(String)} weiterhin das verdrängte {@link Product}, erst {@link #markDirty(String)}
+ * nimmt es wieder in den Cache auf.<br>
+ * Fordern mehrere Threads gleichzeitig ein nicht geladenes {@link Product} an, wird es nur
+ * einmal geladen, die übrigen Threads warten auf das Ergebnis. Verschiedene {@link Product}s
+ * werden parallel geladen und gespeichert. Speicherungen desselben Schlüssels laufen
+ * nacheinander, eine Speicherung wird übersprungen, wenn bereits ein neuerer Stand des
+ * {@link Product}s gespeichert wurde.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public class ProductRepository
+{
+
+    /**
+     * Geschätzter Speicher eines {@link Product} ohne Inhalt in Byte
+     */
+    public static final long PRODUCT_WEIGHT = 2048;
+
+    /**
+     * Geschätzter Speicher eines {@link Project} ohne Team und Release-Plan in Byte
+     */
+    public static final long PROJECT_WEIGHT = 1024;
+
+    /**
+     * Geschätzter Speicher eines Release oder einer Iteration ohne Anforderungen in Byte
+     */
+    public static final long PLAN_WEIGHT = 512;
+
+    /**
+     * Geschätzter Speicher einer Anforderung in Byte
+     */
+    public static final long REQUIREMENT_WEIGHT = 512;
+
+    /**
+     * Geschätzter Speicher eines Teammitglieds in Byte
+     */
+    public static final long MEMBER_WEIGHT = 256;
+
+    private final IProductStoreFactory factory;
+
+    private final long maxWeight;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>( 16, 0.75f, true );
+
+    private final Map<String, FutureTask<Product>> loading = new HashMap<>();
+
+    private final Map<String, Entry> writing = new HashMap<>();
+
+    private final Map<String, WriteState> writes = new HashMap<>();
+
+    private long weight;
+
+    private long version;
+
+    /**
+     * Instanziiert ein {@link ProductRepository}
+     * 
+     * @param factory {@link IProductStoreFactory} für das Laden und Speichern
+     * @param maxWeight maximaler geschätzter Speicher aller {@link Product}s im Cache in Byte
+     * @throws IllegalArgumentException wenn die Factory <code>null</code> oder das Maximum nicht
+     *             positiv ist
+     */
+    public ProductRepository( IProductStoreFactory factory, long maxWeight )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, factory ) )
+        {
+            throw new IllegalArgumentException( "null-object as factory is not allowed" );
+        }
+        if ( maxWeight <= 0 )
+        {
+            throw new IllegalArgumentException( "maxWeight has to be positive" );
+        }
+        this.factory = factory;
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Gibt das {@link Product} des Schlüssels zurück und lädt es bei Bedarf
+     * 
+     * @param key Schlüssel des {@link Product}
+     * @return {@link Product} des Schlüssels
+     * @throws IllegalArgumentException wenn der Schlüssel leer ist
+     * @throws IllegalStateException wenn das {@link Product} nicht geladen oder ein verdrängtes
+     *             {@link Product} nicht gespeichert werden kann
+     */
+    public Product get( String key )
+        throws IllegalArgumentException, IllegalStateException
+    {
+        checkKey( key );
+
+        FutureTask<Product> task;
+        boolean owner = false;
+        synchronized ( this )
+        {
+            Entry entry = entries.get( key );
+            if ( null == entry )
+            {
+                entry = writing.get( key );
+            }
+            if ( null != entry )
+            {
+                Metrics.increment( Metrics.REPOSITORY_HIT, 1 );
+                return entry.product;
+            }
+
+            task = loading.get( key );
+            if ( null == task )
+            {
+                Metrics.increment( Metrics.REPOSITORY_MISS, 1 );
+                task = new FutureTask<>( new Loader( key ) );
+                loading.put( key, task );
+                owner = true;
+            }
+        }
+
+        if ( owner )
+        {
+            return load( key, task );
+        }
+        return await( key, task );
+    }
+
+    /**
+     * Legt ein neues oder ersetztes {@link Product} unter dem Schlüssel ab und kennzeichnet es als
+     * geändert
+     * 
+     * @param key Schlüssel des {@link Product}
+     * @param product abzulegendes {@link Product}
+     * @throws IllegalArgumentException wenn einer der Parameter leer oder <code>null</code> ist
+     * @throws IllegalStateException wenn ein verdrängtes {@link Product} nicht gespeichert werden
+     *             kann
+     */
+    public void put( String key, Product product )
+        throws IllegalArgumentException, IllegalStateException
+    {
+        checkKey( key );
+        if ( ObjectUtils.equals( null, product ) )
+        {
+            throw new IllegalArgumentException( "null-object as product is not allowed" );
+        }
+
+        List<Map.Entry<String, Entry>> evicted;
+        synchronized ( this )
+        {
+            evicted = insert( key, product, true );
+        }
+        writeBack( evicted );
+    }
+
+    /**
+     * Kennzeichnet das {@link Product} des Schlüssels als geändert und schätzt dessen Speicher
+     * neu
+     * 
+     * @param key Schlüssel des {@link Product}
+     * @return <code>true</code> wenn sich das {@link Product} im Cache befindet
+     * @throws IllegalArgumentException wenn der Schlüssel leer ist
+     * @throws IllegalStateException wenn ein verdrängtes {@link Product} nicht gespeichert werden
+     *             kann
+     */
+    public boolean markDirty( String key )
+        throws IllegalArgumentException, IllegalStateException
+    {
+        checkKey( key );
+
+        List<Map.Entry<String, Entry>> evicted;
+        synchronized ( this )
+        {
+            Entry entry = entries.get( key );
+            if ( null == entry )
+            {
+                entry = writing.get( key );
+            }
+            if ( null == entry )
+            {
+                return false;
+            }
+            evicted = insert( key, entry.product, true );
+        }
+        writeBack( evicted );
+        return true;
+    }
+
+    /**
+     * Entfernt das {@link Product} des Schlüssels aus dem Cache und speichert es, sofern es
+     * geändert wurde
+     * 
+     * @param key Schlüssel des {@link Product}
+     * @return <code>true</code> wenn sich das {@link Product} im Cache befand
+     * @throws IllegalArgumentException wenn der Schlüssel leer ist
+     * @throws IllegalStateException wenn das {@link Product} nicht gespeichert werden kann
+     */
+    public boolean evict( String key )
+        throws IllegalArgumentException, IllegalStateException
+    {
+        checkKey( key );
+
+        List<Map.Entry<String, Entry>> evicted = new ArrayList<>( 1 );
+        synchronized ( this )
+        {
+            Entry entry = entries.remove( key );
+            if ( null == entry )
+            {
+                return false;
+            }
+            weight -= entry.weight;
+            if ( entry.dirty )
+            {
+                startWriting( key, entry );
+                evicted.add( new AbstractMap.SimpleImmutableEntry<>( key, entry ) );
+            }
+        }
+        writeBack( evicted );
+        return true;
+    }
+
+    /**
+     * Speichert alle geänderten {@link Product}s des Caches
+     * 
+     * @throws IllegalStateException wenn ein {@link Product} nicht gespeichert werden kann
+     */
+    public void flush()
+        throws IllegalStateException
+    {
+        Map<String, Entry> dirty = new LinkedHashMap<>();
+        synchronized ( this )
+        {
+            for ( Map.Entry<String, Entry> mapEntry : entries.entrySet() )
+            {
+                Entry entry = mapEntry.getValue();
+                if ( entry.dirty )
+                {
+                    entry.dirty = false;
+                    dirty.put( mapEntry.getKey(), entry );
+                    register( mapEntry.getKey() );
+                }
+            }
+        }
+
+        IllegalStateException failure = null;
+        for ( Map.Entry<String, Entry> mapEntry : dirty.entrySet() )
+        {
+            try
+            {
+                save( mapEntry.getKey(), mapEntry.getValue(), false );
+            }
+            catch ( IllegalStateException e )
+            {
+                failure = null == failure ? e : failure;
+            }
+        }
+        if ( null != failure )
+        {
+            throw failure;
+        }
+    }
+
+    /**
+     * Prüft ob sich das {@link Product} des Schlüssels im Cache befindet, ohne die Reihenfolge der
+     * Verdrängung zu beeinflussen
+     * 
+     * @param key Schlüssel des {@link Product}
+     * @return <code>true</code> wenn sich das {@link Product} im Cache befindet
+     */
+    public synchronized boolean isCached( String key )
+    {
+        return entries.containsKey( key );
+    }
+
+    /**
+     * Gibt die Anzahl der {@link Product}s im Cache zurück
+     * 
+     * @return Anzahl der {@link Product}s
+     */
+    public synchronized int size()
+    {
+        return entries.size();
+    }
+
+    /**
+     * Gibt den geschätzten Speicher aller {@link Product}s im Cache zurück
+     * 
+     * @return geschätzter Speicher in Byte
+     */
+    public synchronized long getWeight()
+    {
+        return weight;
+    }
+
+    /**
+     * Gibt den maximalen geschätzten Speicher aller {@link Product}s im Cache zurück
+     * 
+     * @return maximaler Speicher in Byte
+     */
+    public long getMaxWeight()
+    {
+        return maxWeight;
+    }
+
+    /**
+     * Schätzt den Speicher eines {@link Product} anhand der Anzahl der Anforderungen, Projekte,
+     * Releases, Iterationen und Teammitglieder
+     * 
+     * @param product zu schätzendes {@link Product}
+     * @return geschätzter Speicher in Byte
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     */
+    public static long estimateWeight( Product product )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, product ) )
+        {
+            throw new IllegalArgumentException( "null-object as product is not allowed" );
+        }
+
+        long estimate = PRODUCT_WEIGHT + REQUIREMENT_WEIGHT * product.getProductBacklog().size();
+        for ( Project project : product.getProjects() )
+        {
+            estimate += PROJECT_WEIGHT;
+            Team team = project.getTeam();
+            if ( null != team )
+            {
+                estimate += MEMBER_WEIGHT * team.getMemberView().size();
+            }
+            for ( IRelease release : project.getReleasePlan() )
+            {
+                estimate += PLAN_WEIGHT;
+                for ( IIteration iteration : release.getIterationList() )
+                {
+                    estimate +=
+                        PLAN_WEIGHT + REQUIREMENT_WEIGHT * iteration.getIterationBacklog().size();
+                }
+            }
+        }
+        return estimate;
+    }
+
+    private Product load( String key, FutureTask<Product> task )
+    {
+        task.run();
+        List<Map.Entry<String, Entry>> evicted = null;
+        Product product;
+        synchronized ( this )
+        {
+            loading.remove( key );
+            Entry entry = entries.get( key );
+            if ( null != entry )
+            {
+                product = entry.product;
+            }
+            else
+            {
+                product = await( key, task );
+                evicted = insert( key, product, false );
+            }
+        }
+        if ( null != evicted )
+        {
+            writeBack( evicted );
+        }
+        return product;
+    }
+
+    private static Product await( String key, FutureTask<Product> task )
+    {
+        try
+        {
+            return task.get();
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException( "interrupted while loading product: " + key, e );
+        }
+        catch ( ExecutionException e )
+        {
+            if ( e.getCause() instanceof IllegalStateException )
+            {
+                throw (IllegalStateException) e.getCause();
+            }
+            throw new IllegalStateException( "product is not loadable: " + key, e.getCause() );
+        }
+    }
+
+    /*
+     * Fügt ein Product ein oder aktualisiert es und verdrängt anschließend die am längsten nicht
+     * verwendeten Products. Geänderte verdrängte Products werden in writing eingetragen und müssen
+     * außerhalb der Sperre über writeBack gespeichert werden.
+     */
+    private List<Map.Entry<String, Entry>> insert( String key, Product product, boolean dirty )
+    {
+        Entry entry = new Entry( product, estimateWeight( product ), ++version );
+        Entry previous = entries.put( key, entry );
+        if ( null != previous )
+        {
+            weight -= previous.weight;
+            entry.dirty = previous.dirty;
+        }
+        entry.dirty |= dirty;
+        weight += entry.weight;
+
+        List<Map.Entry<String, Entry>> evicted = new ArrayList<>();
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while ( weight > maxWeight && entries.size() > 1 )
+        {
+            Map.Entry<String, Entry> eldest = iterator.next();
+            iterator.remove();
+            weight -= eldest.getValue().weight;
+            Metrics.increment( Metrics.REPOSITORY_EVICTION, 1 );
+            if ( eldest.getValue().dirty )
+            {
+                startWriting( eldest.getKey(), eldest.getValue() );
+                evicted.add( new AbstractMap.SimpleImmutableEntry<>( eldest ) );
+            }
+        }
+        return evicted;
+    }
+
+    /*
+     * Trägt ein verdrängtes Product in writing ein. Ein bereits eingetragenes neueres Product wird
+     * nicht ersetzt.
+     */
+    private void startWriting( String key, Entry entry )
+    {
+        Entry current = writing.get( key );
+        if ( null == current || current.version < entry.version )
+        {
+            writing.put( key, entry );
+        }
+        register( key );
+    }
+
+    /*
+     * Meldet eine Speicherung des Schlüssels an, muss innerhalb der Sperre aufgerufen werden
+     */
+    private void register( String key )
+    {
+        WriteState state = writes.get( key );
+        if ( null == state )
+        {
+            state = new WriteState();
+            writes.put( key, state );
+        }
+        state.writers++;
+    }
+
+    /*
+     * Speichert verdrängte Products. Schlägt eine Speicherung fehl, wird das Product wieder als
+     * geändert in den Cache aufgenommen.
+     */
+    private void writeBack( List<Map.Entry<String, Entry>> evicted )
+    {
+        IllegalStateException failure = null;
+        for ( Map.Entry<String, Entry> mapEntry : evicted )
+        {
+            try
+            {
+                save( mapEntry.getKey(), mapEntry.getValue(), true );
+            }
+            catch ( IllegalStateException e )
+            {
+                failure = null == failure ? e : failure;
+            }
+        }
+        if ( null != failure )
+        {
+            throw failure;
+        }
+    }
+
+    /*
+     * Speichert ein Product unter der Sperre seines Schlüssels, Speicherungen anderer Schlüssel
+     * werden nicht blockiert. Wurde bereits ein neuerer Stand gespeichert, entfällt die
+     * Speicherung. Schlägt sie fehl, wird das Product wieder als geändert gekennzeichnet, ein
+     * verdrängtes Product nur, solange kein neuerer Stand vorliegt.
+     */
+    private void save( String key, Entry entry, boolean evicted )
+    {
+        WriteState state;
+        synchronized ( this )
+        {
+            state = writes.get( key );
+        }
+        state.lock.lock();
+        try
+        {
+            synchronized ( this )
+            {
+                if ( entry.version <= state.savedVersion )
+                {
+                    return;
+                }
+            }
+            factory.getStore( key ).save( entry.product );
+            synchronized ( this )
+            {
+                state.savedVersion = entry.version;
+            }
+        }
+        catch ( IllegalStateException e )
+        {
+            synchronized ( this )
+            {
+                entry.dirty = true;
+                Entry newest = writing.get( key );
+                if ( evicted && !entries.containsKey( key )
+                    && ( null == newest || entry == newest ) )
+                {
+                    entries.put( key, entry );
+                    weight += entry.weight;
+                }
+            }
+            throw e;
+        }
+        finally
+        {
+            state.lock.unlock();
+            synchronized ( this )
+            {
+                if ( evicted && entry == writing.get( key ) )
+                {
+                    writing.remove( key );
+                }
+                if ( 0 == --state.writers )
+                {
+                    writes.remove( key );
+                }
+            }
+        }
+    }
+
+    private static void checkKey( String key )
+    {
+        if ( StringUtils.isBlank( key ) )
+        {
+            throw new IllegalArgumentException( "key has to be not blank" );
+        }
+    }
+
+    /*
+     * Product im Cache mit geschätztem Speicher, fortlaufendem Stand und Kennzeichen für Änderungen
+     */
+    private static final class Entry
+    {
+        private final Product product;
+
+        private final long weight;
+
+        private final long version;
+
+        private boolean dirty;
+
+        private Entry( Product product, long weight, long version )
+        {
+            this.product = product;
+            this.weight = weight;
+            this.version = version;
+        }
+    }
+
+    /*
+     * Sperre und zuletzt gespeicherter Stand eines Schlüssels, solange Speicherungen angemeldet
+     * sind
+     */
+    private static final class WriteState
+    {
+        private final Lock lock = new ReentrantLock();
+
+        private long savedVersion;
+
+        private int writers;
+    }
+
+    /*
+     * Lädt ein Product aus dem IProductStore des Schlüssels
+     */
+    private final class Loader
+        implements Callable<Product>
+    {
+        private final String key;
+
+        private Loader( String key )
+        {
+            this.key = key;
+        }
+
+        @Override
+        public Product call()
+        {
+            return factory.getStore( key ).load();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.persistence;
+
+import com.github.jgility.core.project.Person;
+import com.github.jgility.core.project.Product;
+import com.github.jgility.core.project.Project;
+
+/**
+ * Erzeugt Kopien von {@link Product} und {@link Project} ohne ihre Inhalte, damit Inhalte als
+ * eigene Einträge abgelegt werden können
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+final class Shells
+{
+
+    private Shells()
+    {
+    }
+
+    /**
+     * Kopie des Produkts ohne Projekte mit leerem Product-Backlog
+     * 
+     * @param product zu kopierendes {@link Product}
+     * @return Kopie mit Name, Beschreibung und ProductOwner
+     */
+    static Product withoutContent( Product product )
+    {
+        Product shell = new Product( product.getName(), product.getDescription(), new Person() );
+        shell.removeProductOwner();
+        if ( null != product.getProductOwner() )
+        {
+            shell.setProductOwner( product.getProductOwner() );
+        }
+        return shell;
+    }
+
+    /**
+     * Kopie des Projekts ohne Release-Plan. Ein leeres Team erhält wie bei einem neuen Projekt den
+     * Namen des Projekts.
+     * 
+     * @param project zu kopierendes {@link Project}
+     * @return Kopie mit Name, Beschreibung, Team und Versionsnummer
+     */
+    static Project withoutReleases( Project project )
+    {
+        Project shell = new Project( project.getName(), project.getDescription() );
+        if ( null != project.getTeam() && !project.getTeam().getMembers().isEmpty() )
+        {
+            shell.setTeam( project.getTeam() );
+        }
+        shell.compareAndSetVersion( shell.getVersion(), project.getVersion() );
+        return shell;
+    }
+}
@@ -0,0 +1,478 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.persistence;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+
+import org.apache.commons.lang3.ObjectUtils;
+
+import com.github.jgility.core.metrics.Metrics;
+import com.github.jgility.core.planning.Backlog;
+import com.github.jgility.core.planning.IRelease;
+import com.github.jgility.core.project.Product;
+import com.github.jgility.core.project.Project;
+import com.github.jgility.core.requirement.IProductRequirement;
+import com.github.jgility.core.trace.TraceSpan;
+import com.github.jgility.core.trace.TraceType;
+import com.github.jgility.core.trace.Tracing;
+
+/**
+ * Implementiert einen {@link IProductStore}, welcher ein {@link Product} als komprimierte
+ * Snapshot-Datei ablegt (siehe {@link SnapshotWriter}). Jede Anforderung des Product-Backlogs,
+ * jedes {@link Project} ohne Release-Plan und jedes {@link IRelease} wird als eigener XML-Eintrag
+ * abgelegt. Dadurch können einzelne Releases oder Seiten des Product-Backlogs gelesen werden,
+ * ohne die gesamte Datei zu entpacken.<br>
+ * Die Einträge heißen <code>product</code>, <code>backlog/&lt;n&gt;</code>,
+ * <code>project/&lt;p&gt;</code> und <code>project/&lt;p&gt;/release/&lt;r&gt;</code>. Die
+ * Nummer eines {@link Project}s entspricht seiner Position in {@link Product#getProjects()} beim
+ * Speichern.<br>
+ * Der Index der Datei wird zwischen den Lesezugriffen vorgehalten und nur neu gelesen, wenn sich
+ * Änderungszeitpunkt oder Größe der Datei geändert haben. Lesezugriffe werden dabei serialisiert.
+ * Speicherungen werden ebenfalls serialisiert, da sie über dieselbe temporäre Datei geschrieben
+ * werden.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public class SnapshotProductStore
+    implements IProductStore, Closeable
+{
+
+    private static final String PRODUCT = "product";
+
+    private static final String BACKLOG = "backlog/";
+
+    private static final String PROJECT = "project/";
+
+    private static final String RELEASE = "/release/";
+
+    private static final String ENCODING = "UTF-8";
+
+    private final Path file;
+
+    private final int blockSize;
+
+    private final Object readerLock = new Object();
+
+    private SnapshotReader reader;
+
+    private FileTime readerModified;
+
+    private long readerSize;
+
+    /**
+     * Instanziiert einen {@link SnapshotProductStore} mit der Standardgröße für Blöcke
+     * 
+     * @param file Datei, in welcher das {@link Product} abgelegt wird
+     * @throws IllegalArgumentException wenn die Datei <code>null</code> ist
+     */
+    public SnapshotProductStore( Path file )
+        throws IllegalArgumentException
+    {
+        this( file, SnapshotWriter.DEFAULT_BLOCK_SIZE );
+    }
+
+    /**
+     * Instanziiert einen {@link SnapshotProductStore}
+     * 
+     * @param file Datei, in welcher das {@link Product} abgelegt wird
+     * @param blockSize Größe eines Blocks vor der Komprimierung in Bytes
+     * @throws IllegalArgumentException wenn die Datei <code>null</code> oder die Blockgröße nicht
+     *             positiv ist
+     */
+    public SnapshotProductStore( Path file, int blockSize )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, file ) )
+        {
+            throw new IllegalArgumentException( "null-object as file is not allowed" );
+        }
+        if ( blockSize <= 0 )
+        {
+            throw new IllegalArgumentException( "blockSize has to be positive" );
+        }
+        this.file = file;
+        this.blockSize = blockSize;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.persistence.IProductStore#load()
+     */
+    @Override
+    public Product load()
+        throws IllegalStateException
+    {
+        TraceSpan span = Tracing.begin( TraceType.PRODUCT_LOAD );
+        long startTime = Metrics.start();
+        Product product = null;
+        synchronized ( readerLock )
+        {
+            try
+            {
+                SnapshotReader reader = reader();
+                Unmarshaller unmarshaller = XmlProductStore.getContext().createUnmarshaller();
+                Product shell = (Product) unmarshal( unmarshaller, reader, PRODUCT );
+
+                int backlogSize = count( reader, BACKLOG );
+                if ( backlogSize > 0 )
+                {
+                    List<IProductRequirement> requirements =
+                        readBacklog( unmarshaller, reader, 0, backlogSize );
+                    shell.getProductBacklog().addRequirements( 0, requirements );
+                }
+                for ( int i = 0; reader.contains( PROJECT + i ); i++ )
+                {
+                    shell.addProject( readProject( unmarshaller, reader, i ) );
+                }
+                product = shell;
+                return product;
+            }
+            catch ( JAXBException | ClassCastException e )
+            {
+                throw new IllegalStateException( "product is not readable: " + file, e );
+            }
+            finally
+            {
+                Metrics.stop( Metrics.PERSISTENCE_LOAD, startTime );
+                endTrace( span, product );
+            }
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see
+     * com.github.jgility.core.persistence.IProductStore#save(com.github.jgility.core.project.Product
+     * )
+     */
+    @Override
+    public synchronized void save( Product product )
+        throws IllegalArgumentException, IllegalStateException
+    {
+        if ( ObjectUtils.equals( null, product ) )
+        {
+            throw new IllegalArgumentException( "null-object as product is not allowed" );
+        }
+
+        TraceSpan span = Tracing.begin( TraceType.PRODUCT_SAVE );
+        long startTime = Metrics.start();
+        try (SnapshotWriter writer = new SnapshotWriter( file, blockSize ))
+        {
+            Marshaller marshaller = XmlProductStore.getContext().createMarshaller();
+            marshaller.setProperty( Marshaller.JAXB_ENCODING, ENCODING );
+            marshaller.setProperty( Marshaller.JAXB_FRAGMENT, Boolean.TRUE );
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+            put( writer, marshaller, buffer, PRODUCT, Shells.withoutContent( product ) );
+            Backlog<IProductRequirement> backlog = product.getProductBacklog();
+            if ( null != backlog )
+            {
+                List<IProductRequirement> requirements = backlog.getRequirementList();
+                for ( int i = 0; i < requirements.size(); i++ )
+                {
+                    put( writer, marshaller, buffer, BACKLOG + i, requirements.get( i ) );
+                }
+            }
+            List<Project> projects = product.getProjects();
+            for ( int i = 0; i < projects.size(); i++ )
+            {
+                Project project = projects.get( i );
+                put( writer, marshaller, buffer, PROJECT + i, Shells.withoutReleases( project ) );
+                List<IRelease> releases = project.getReleasePlan();
+                for ( int j = 0; j < releases.size(); j++ )
+                {
+                    put( writer, marshaller, buffer, PROJECT + i + RELEASE + j, releases.get( j ) );
+                }
+            }
+            writer.commit();
+        }
+        catch ( JAXBException e )
+        {
+            throw new IllegalStateException( "product is not writable: " + file, e );
+        }
+        finally
+        {
+            synchronized ( readerLock )
+            {
+                closeReader();
+            }
+            Metrics.stop( Metrics.PERSISTENCE_SAVE, startTime );
+            endTrace( span, product );
+        }
+    }
+
+    /**
+     * Gibt die Anzahl der gespeicherten Projekte zurück
+     * 
+     * @return Anzahl der Projekte
+     * @throws IllegalStateException wenn die Datei nicht gelesen werden kann
+     */
+    public int getProjectCount()
+        throws IllegalStateException
+    {
+        synchronized ( readerLock )
+        {
+            SnapshotReader reader = reader();
+            int count = 0;
+            while ( reader.contains( PROJECT + count ) )
+            {
+                count++;
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Lädt ein einzelnes {@link Project} mit seinem Release-Plan
+     * 
+     * @param project Nummer des {@link Project}s
+     * @return geladenes {@link Project}
+     * @throws IllegalArgumentException wenn kein {@link Project} mit der Nummer existiert
+     * @throws IllegalStateException wenn die Datei nicht gelesen werden kann
+     */
+    public Project loadProject( int project )
+        throws IllegalArgumentException, IllegalStateException
+    {
+        synchronized ( readerLock )
+        {
+            try
+            {
+                SnapshotReader reader = reader();
+                return readProject( XmlProductStore.getContext().createUnmarshaller(), reader,
+                                    project );
+            }
+            catch ( JAXBException | ClassCastException e )
+            {
+                throw new IllegalStateException( "project is not readable: " + file, e );
+            }
+        }
+    }
+
+    /**
+     * Lädt ein einzelnes {@link IRelease}. Entpackt werden nur die Blöcke des {@link IRelease}s.
+     * 
+     * @param project Nummer des {@link Project}s
+     * @param release Position des {@link IRelease}s im Release-Plan
+     * @return geladenes {@link IRelease}
+     * @throws IllegalArgumentException wenn kein {@link IRelease} mit den Nummern existiert
+     * @throws IllegalStateException wenn die Datei nicht gelesen werden kann
+     */
+    public IRelease loadRelease( int project, int release )
+        throws IllegalArgumentException, IllegalStateException
+    {
+        synchronized ( readerLock )
+        {
+            try
+            {
+                SnapshotReader reader = reader();
+                return (IRelease) unmarshal( XmlProductStore.getContext().createUnmarshaller(),
+                                             reader, PROJECT + project + RELEASE + release );
+            }
+            catch ( JAXBException | ClassCastException e )
+            {
+                throw new IllegalStateException( "release is not readable: " + file, e );
+            }
+        }
+    }
+
+    /**
+     * Lädt einen Ausschnitt des Product-Backlogs. Entpackt werden nur die Blöcke der
+     * Anforderungen des Ausschnitts.
+     * 
+     * @param offset Position der ersten Anforderung
+     * @param limit maximale Anzahl an Anforderungen
+     * @return {@link List} der Anforderungen, leer wenn die Position hinter dem Ende liegt
+     * @throws IllegalArgumentException wenn die Position negativ oder die Anzahl nicht positiv ist
+     * @throws IllegalStateException wenn die Datei nicht gelesen werden kann
+     */
+    public List<IProductRequirement> loadBacklog( int offset, int limit )
+        throws IllegalArgumentException, IllegalStateException
+    {
+        if ( offset < 0 || limit <= 0 )
+        {
+            throw new IllegalArgumentException( "offset has to be positive or zero and limit "
+                + "has to be positive" );
+        }
+
+        synchronized ( readerLock )
+        {
+            try
+            {
+                SnapshotReader reader = reader();
+                int end = offset;
+                while ( end - offset < limit && reader.contains( BACKLOG + end ) )
+                {
+                    end++;
+                }
+                Unmarshaller unmarshaller = XmlProductStore.getContext().createUnmarshaller();
+                return readBacklog( unmarshaller, reader, offset, end );
+            }
+            catch ( JAXBException | ClassCastException e )
+            {
+                throw new IllegalStateException( "backlog is not readable: " + file, e );
+            }
+        }
+    }
+
+    /**
+     * Gibt die Datei zurück, in welcher das {@link Product} abgelegt wird
+     * 
+     * @return Datei des {@link SnapshotProductStore}
+     */
+    public Path getFile()
+    {
+        return file;
+    }
+
+    /**
+     * Schließt die vorgehaltene Datei. Spätere Lesezugriffe öffnen die Datei erneut.
+     * 
+     * @throws IllegalStateException wenn die Datei nicht geschlossen werden kann
+     */
+    @Override
+    public void close()
+        throws IllegalStateException
+    {
+        synchronized ( readerLock )
+        {
+            closeReader();
+        }
+    }
+
+    /*
+     * Gibt den Reader der Datei zurück und liest den Index nur neu, wenn die Datei seit dem letzten
+     * Öffnen ersetzt wurde. Muss unter readerLock aufgerufen werden.
+     */
+    private SnapshotReader reader()
+        throws IllegalStateException
+    {
+        BasicFileAttributes attributes;
+        try
+        {
+            attributes = Files.readAttributes( file, BasicFileAttributes.class );
+        }
+        catch ( IOException e )
+        {
+            closeReader();
+            throw new IllegalStateException( "snapshot is not readable: " + file, e );
+        }
+        if ( null == reader || !attributes.lastModifiedTime().equals( readerModified )
+            || attributes.size() != readerSize )
+        {
+            closeReader();
+            reader = new SnapshotReader( file );
+            readerModified = attributes.lastModifiedTime();
+            readerSize = attributes.size();
+        }
+        return reader;
+    }
+
+    private void closeReader()
+    {
+        if ( null != reader )
+        {
+            SnapshotReader closing = reader;
+            reader = null;
+            closing.close();
+        }
+    }
+
+    private static Project readProject( Unmarshaller unmarshaller, SnapshotReader reader,
+                                        int number )
+        throws JAXBException
+    {
+        Project project = (Project) unmarshal( unmarshaller, reader, PROJECT + number );
+        String prefix = PROJECT + number + RELEASE;
+        for ( int i = 0; reader.contains( prefix + i ); i++ )
+        {
+            project.addReleasePlan( (IRelease) unmarshal( unmarshaller, reader, prefix + i ) );
+        }
+        return project;
+    }
+
+    private static List<IProductRequirement> readBacklog( Unmarshaller unmarshaller,
+                                                          SnapshotReader reader, int from, int to )
+        throws JAXBException
+    {
+        List<IProductRequirement> requirements = new ArrayList<>( to - from );
+        for ( int i = from; i < to; i++ )
+        {
+            Object requirement = unmarshal( unmarshaller, reader, BACKLOG + i );
+            requirements.add( (IProductRequirement) requirement );
+        }
+        return requirements;
+    }
+
+    private static Object unmarshal( Unmarshaller unmarshaller, SnapshotReader reader, String key )
+        throws JAXBException
+    {
+        return unmarshaller.unmarshal( new ByteArrayInputStream( reader.get( key ) ) );
+    }
+
+    private static void put( SnapshotWriter writer, Marshaller marshaller,
+                             ByteArrayOutputStream buffer, String key, Object element )
+        throws JAXBException
+    {
+        buffer.reset();
+        marshaller.marshal( element, buffer );
+        writer.put( key, buffer.toByteArray() );
+    }
+
+    private static int count( SnapshotReader reader, String prefix )
+    {
+        int count = 0;
+        for ( String key : reader.getKeys() )
+        {
+            if ( key.startsWith( prefix ) )
+            {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void endTrace( TraceSpan span, Product product )
+    {
+        if ( null == span )
+        {
+            return;
+        }
+        span.setSubject( file.toString() );
+        try
+        {
+            span.setBytes( Files.size( file ) );
+        }
+        catch ( IOException e )
+        {
+            span.setBytes( -1 );
+        }
+        if ( null != product )
+        {
+            Tracing.describe( span, product );
+        }
+        Tracing.end( span );
+    }
+}
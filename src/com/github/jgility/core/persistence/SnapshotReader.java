@@ -0,0 +1,287 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.persistence;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import org.apache.commons.lang3.ObjectUtils;
+
+/**
+ * Liest Einträge einer mit dem {@link SnapshotWriter} geschriebenen Snapshot-Datei. Beim Öffnen
+ * wird nur der Index gelesen, ein Eintrag wird bei Bedarf aus seinem Block entpackt. Der zuletzt
+ * entpackte Block wird vorgehalten, aufeinander folgende Einträge kosten daher nur einmal das
+ * Entpacken ihres gemeinsamen Blocks.<br>
+ * Ein {@link SnapshotReader} kann von mehreren Threads gleichzeitig genutzt werden.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public class SnapshotReader
+    implements Closeable
+{
+
+    private final Path file;
+
+    private final FileChannel channel;
+
+    private final long[] blockOffsets;
+
+    private final int[] compressedLengths;
+
+    private final int[] blockLengths;
+
+    private final Map<String, int[]> entries;
+
+    private final List<String> keys;
+
+    private final Inflater inflater = new Inflater();
+
+    private int cachedBlock = -1;
+
+    private byte[] cachedData;
+
+    /**
+     * Öffnet eine Snapshot-Datei und liest deren Index
+     * 
+     * @param file zu lesende Datei
+     * @throws IllegalArgumentException wenn die Datei <code>null</code> ist
+     * @throws IllegalStateException wenn die Datei nicht gelesen werden kann oder kein Snapshot
+     *             ist
+     */
+    public SnapshotReader( Path file )
+        throws IllegalArgumentException, IllegalStateException
+    {
+        if ( ObjectUtils.equals( null, file ) )
+        {
+            throw new IllegalArgumentException( "null-object as file is not allowed" );
+        }
+        this.file = file;
+        try
+        {
+            channel = FileChannel.open( file, StandardOpenOption.READ );
+        }
+        catch ( IOException e )
+        {
+            throw new IllegalStateException( "snapshot is not readable: " + file, e );
+        }
+
+        try
+        {
+            long size = channel.size();
+            if ( size < SnapshotWriter.HEADER_SIZE + SnapshotWriter.FOOTER_SIZE )
+            {
+                throw new IllegalStateException( "file is not a snapshot: " + file );
+            }
+            ByteBuffer header = read( 0, SnapshotWriter.HEADER_SIZE );
+            ByteBuffer footer =
+                read( size - SnapshotWriter.FOOTER_SIZE, SnapshotWriter.FOOTER_SIZE );
+            long indexOffset = footer.getLong();
+            if ( SnapshotWriter.MAGIC != header.getInt() || SnapshotWriter.MAGIC != footer.getInt()
+                || indexOffset < SnapshotWriter.HEADER_SIZE
+                || indexOffset > size - SnapshotWriter.FOOTER_SIZE )
+            {
+                throw new IllegalStateException( "file is not a snapshot: " + file );
+            }
+            if ( SnapshotWriter.FORMAT_VERSION != header.getInt() )
+            {
+                throw new IllegalStateException( "unsupported snapshot version: " + file );
+            }
+
+            ByteBuffer index =
+                read( indexOffset, (int) ( size - SnapshotWriter.FOOTER_SIZE - indexOffset ) );
+            DataInputStream in =
+                new DataInputStream( new ByteArrayInputStream( index.array(), 0, index.limit() ) );
+            int blockCount = in.readInt();
+            blockOffsets = new long[blockCount];
+            compressedLengths = new int[blockCount];
+            blockLengths = new int[blockCount];
+            for ( int i = 0; i < blockCount; i++ )
+            {
+                blockOffsets[i] = in.readLong();
+                compressedLengths[i] = in.readInt();
+                blockLengths[i] = in.readInt();
+            }
+            int entryCount = in.readInt();
+            entries = new HashMap<>( entryCount * 4 / 3 + 1 );
+            List<String> entryKeys = new ArrayList<>( entryCount );
+            for ( int i = 0; i < entryCount; i++ )
+            {
+                String key = in.readUTF();
+                entries.put( key, new int[] { in.readInt(), in.readInt(), in.readInt() } );
+                entryKeys.add( key );
+            }
+            keys = Collections.unmodifiableList( entryKeys );
+        }
+        catch ( IOException | RuntimeException e )
+        {
+            closeQuietly();
+            if ( e instanceof IllegalStateException )
+            {
+                throw (IllegalStateException) e;
+            }
+            throw new IllegalStateException( "snapshot is not readable: " + file, e );
+        }
+    }
+
+    /**
+     * Gibt die Schlüssel aller Einträge in der Reihenfolge des Schreibens zurück
+     * 
+     * @return unveränderliche {@link List} der Schlüssel
+     */
+    public List<String> getKeys()
+    {
+        return keys;
+    }
+
+    /**
+     * Prüft ob ein Eintrag mit dem übergebenen Schlüssel existiert
+     * 
+     * @param key Schlüssel des Eintrags
+     * @return <code>true</code> wenn der Eintrag existiert
+     */
+    public boolean contains( String key )
+    {
+        return entries.containsKey( key );
+    }
+
+    /**
+     * Gibt die Anzahl der komprimierten Blöcke zurück
+     * 
+     * @return Anzahl der Blöcke
+     */
+    public int getBlockCount()
+    {
+        return blockOffsets.length;
+    }
+
+    /**
+     * Liest einen Eintrag. Entpackt wird nur der Block des Eintrags.
+     * 
+     * @param key Schlüssel des Eintrags
+     * @return Inhalt des Eintrags
+     * @throws IllegalArgumentException wenn kein Eintrag mit dem Schlüssel existiert
+     * @throws IllegalStateException wenn der Block nicht gelesen oder entpackt werden kann
+     */
+    public synchronized byte[] get( String key )
+        throws IllegalArgumentException, IllegalStateException
+    {
+        int[] entry = entries.get( key );
+        if ( null == entry )
+        {
+            throw new IllegalArgumentException( "unknown key: " + key );
+        }
+
+        byte[] data = block( entry[0] );
+        byte[] value = new byte[entry[2]];
+        System.arraycopy( data, entry[1], value, 0, entry[2] );
+        return value;
+    }
+
+    /**
+     * Schließt die Datei
+     * 
+     * @throws IllegalStateException wenn die Datei nicht geschlossen werden kann
+     */
+    @Override
+    public synchronized void close()
+        throws IllegalStateException
+    {
+        inflater.end();
+        try
+        {
+            channel.close();
+        }
+        catch ( IOException e )
+        {
+            throw new IllegalStateException( "snapshot is not closable: " + file, e );
+        }
+    }
+
+    private byte[] block( int number )
+    {
+        if ( number == cachedBlock )
+        {
+            return cachedData;
+        }
+
+        try
+        {
+            ByteBuffer compressed = read( blockOffsets[number], compressedLengths[number] );
+            byte[] data = new byte[blockLengths[number]];
+            inflater.reset();
+            inflater.setInput( compressed.array(), 0, compressed.limit() );
+            int length = 0;
+            while ( length < data.length && !inflater.finished() )
+            {
+                int inflated = inflater.inflate( data, length, data.length - length );
+                if ( 0 == inflated && inflater.needsInput() )
+                {
+                    break;
+                }
+                length += inflated;
+            }
+            if ( length != data.length )
+            {
+                throw new IllegalStateException( "snapshot block is corrupt: " + file );
+            }
+            cachedBlock = number;
+            cachedData = data;
+            return data;
+        }
+        catch ( IOException | DataFormatException e )
+        {
+            throw new IllegalStateException( "snapshot block is not readable: " + file, e );
+        }
+    }
+
+    private ByteBuffer read( long offset, int length )
+        throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocate( length );
+        while ( buffer.hasRemaining() )
+        {
+            if ( channel.read( buffer, offset + buffer.position() ) < 0 )
+            {
+                throw new IllegalStateException( "snapshot is truncated: " + file );
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    private void closeQuietly()
+    {
+        inflater.end();
+        try
+        {
+            channel.close();
+        }
+        catch ( IOException e )
+        {
+            // Fehler beim Öffnen wird bereits gemeldet
+        }
+    }
+}
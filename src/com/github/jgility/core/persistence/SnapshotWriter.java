@@ -0,0 +1,311 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.persistence;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.Deflater;
+
+import org.apache.commons.lang3.ObjectUtils;
+
+/**
+ * Schreibt eine Snapshot-Datei, welche beliebige Einträge unter einem Schlüssel komprimiert
+ * ablegt. Die Einträge werden in der Reihenfolge des Schreibens zu Blöcken von etwa
+ * {@link #getBlockSize()} Bytes zusammengefasst und jeder Block unabhängig per Deflate
+ * komprimiert. Am Ende der Datei liegt ein Index der Blöcke und Einträge, so dass der
+ * {@link SnapshotReader} einen Eintrag lesen kann, ohne mehr als dessen Block zu entpacken.<br>
+ * Geschrieben wird in eine temporäre Datei, welche erst bei {@link #commit()} atomar umbenannt
+ * wird. Ein {@link #close()} ohne vorheriges {@link #commit()}, z.B. nach einem Fehler beim
+ * Schreiben, löscht die temporäre Datei und lässt eine bestehende Datei unverändert.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public class SnapshotWriter
+    implements Closeable
+{
+
+    /**
+     * Standardgröße eines Blocks vor der Komprimierung in Bytes
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 64 * 1024;
+
+    static final int MAGIC = 0x4A47534E;
+
+    static final int FORMAT_VERSION = 1;
+
+    static final int HEADER_SIZE = 8;
+
+    static final int FOOTER_SIZE = 12;
+
+    private final Path file;
+
+    private final Path tmpFile;
+
+    private final int blockSize;
+
+    private final DataOutputStream out;
+
+    private final Deflater deflater = new Deflater( Deflater.DEFAULT_COMPRESSION );
+
+    private final byte[] deflateBuffer = new byte[8192];
+
+    private final Set<String> keys = new HashSet<>();
+
+    private final List<String> entryKeys = new ArrayList<>();
+
+    private final List<int[]> entries = new ArrayList<>();
+
+    private final List<long[]> blocks = new ArrayList<>();
+
+    private byte[] block;
+
+    private int blockLength;
+
+    private long position;
+
+    private boolean closed;
+
+    /**
+     * Instanziiert einen {@link SnapshotWriter} mit der Standardgröße für Blöcke
+     * 
+     * @param file zu schreibende Datei
+     * @throws IllegalArgumentException wenn die Datei <code>null</code> ist
+     * @throws IllegalStateException wenn die Datei nicht angelegt werden kann
+     */
+    public SnapshotWriter( Path file )
+        throws IllegalArgumentException, IllegalStateException
+    {
+        this( file, DEFAULT_BLOCK_SIZE );
+    }
+
+    /**
+     * Instanziiert einen {@link SnapshotWriter}. Kleinere Blöcke beschleunigen den Zugriff auf
+     * einzelne Einträge, größere Blöcke verbessern die Komprimierung.
+     * 
+     * @param file zu schreibende Datei
+     * @param blockSize Größe eines Blocks vor der Komprimierung in Bytes
+     * @throws IllegalArgumentException wenn die Datei <code>null</code> oder die Blockgröße nicht
+     *             positiv ist
+     * @throws IllegalStateException wenn die Datei nicht angelegt werden kann
+     */
+    public SnapshotWriter( Path file, int blockSize )
+        throws IllegalArgumentException, IllegalStateException
+    {
+        if ( ObjectUtils.equals( null, file ) )
+        {
+            throw new IllegalArgumentException( "null-object as file is not allowed" );
+        }
+        if ( blockSize <= 0 )
+        {
+            throw new IllegalArgumentException( "blockSize has to be positive" );
+        }
+        this.file = file;
+        this.tmpFile = file.resolveSibling( file.getFileName() + ".tmp" );
+        this.blockSize = blockSize;
+        this.block = new byte[blockSize];
+        try
+        {
+            BufferedOutputStream buffered =
+                new BufferedOutputStream( Files.newOutputStream( tmpFile ) );
+            out = new DataOutputStream( buffered );
+            out.writeInt( MAGIC );
+            out.writeInt( FORMAT_VERSION );
+            position = HEADER_SIZE;
+        }
+        catch ( IOException e )
+        {
+            throw new IllegalStateException( "snapshot is not writable: " + file, e );
+        }
+    }
+
+    /**
+     * Fügt einen Eintrag hinzu
+     * 
+     * @param key eindeutiger Schlüssel des Eintrags
+     * @param data Inhalt des Eintrags
+     * @throws IllegalArgumentException wenn ein Parameter <code>null</code> oder der Schlüssel
+     *             bereits vergeben ist
+     * @throws IllegalStateException wenn der {@link SnapshotWriter} bereits geschlossen ist oder
+     *             nicht geschrieben werden kann
+     */
+    public void put( String key, byte[] data )
+        throws IllegalArgumentException, IllegalStateException
+    {
+        if ( ObjectUtils.equals( null, key ) || ObjectUtils.equals( null, data ) )
+        {
+            throw new IllegalArgumentException( "null-object as key or data is not allowed" );
+        }
+        if ( closed )
+        {
+            throw new IllegalStateException( "snapshot is already closed: " + file );
+        }
+        if ( !keys.add( key ) )
+        {
+            throw new IllegalArgumentException( "key is already used: " + key );
+        }
+
+        if ( blockLength > 0 && blockLength + data.length > blockSize )
+        {
+            writeBlock();
+        }
+        if ( blockLength + data.length > block.length )
+        {
+            byte[] grown = new byte[blockLength + data.length];
+            System.arraycopy( block, 0, grown, 0, blockLength );
+            block = grown;
+        }
+        System.arraycopy( data, 0, block, blockLength, data.length );
+        entryKeys.add( key );
+        entries.add( new int[] { blocks.size(), blockLength, data.length } );
+        blockLength += data.length;
+    }
+
+    /**
+     * Gibt die Größe eines Blocks vor der Komprimierung zurück
+     * 
+     * @return Größe eines Blocks in Bytes
+     */
+    public int getBlockSize()
+    {
+        return blockSize;
+    }
+
+    /**
+     * Schreibt den letzten Block sowie den Index und ersetzt die Datei atomar. Schlägt dies fehl,
+     * wird die temporäre Datei gelöscht.
+     * 
+     * @throws IllegalStateException wenn der {@link SnapshotWriter} bereits geschlossen ist oder
+     *             die Datei nicht geschrieben werden kann
+     */
+    public void commit()
+        throws IllegalStateException
+    {
+        if ( closed )
+        {
+            throw new IllegalStateException( "snapshot is already closed: " + file );
+        }
+        closed = true;
+        boolean committed = false;
+        try
+        {
+            if ( blockLength > 0 )
+            {
+                writeBlock();
+            }
+            long indexOffset = position;
+            out.writeInt( blocks.size() );
+            for ( long[] entry : blocks )
+            {
+                out.writeLong( entry[0] );
+                out.writeInt( (int) entry[1] );
+                out.writeInt( (int) entry[2] );
+            }
+            out.writeInt( entries.size() );
+            for ( int i = 0; i < entries.size(); i++ )
+            {
+                int[] entry = entries.get( i );
+                out.writeUTF( entryKeys.get( i ) );
+                out.writeInt( entry[0] );
+                out.writeInt( entry[1] );
+                out.writeInt( entry[2] );
+            }
+            out.writeLong( indexOffset );
+            out.writeInt( MAGIC );
+            out.close();
+            Files.move( tmpFile, file, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE );
+            committed = true;
+        }
+        catch ( IOException e )
+        {
+            throw new IllegalStateException( "snapshot is not writable: " + file, e );
+        }
+        finally
+        {
+            deflater.end();
+            if ( !committed )
+            {
+                discard();
+            }
+        }
+    }
+
+    /**
+     * Verwirft alle Einträge, sofern {@link #commit()} nicht erfolgreich aufgerufen wurde. Die
+     * temporäre Datei wird gelöscht, eine bestehende Datei bleibt unverändert. Weitere Aufrufe
+     * haben keine Wirkung.
+     */
+    @Override
+    public void close()
+    {
+        if ( closed )
+        {
+            return;
+        }
+        closed = true;
+        deflater.end();
+        discard();
+    }
+
+    private void discard()
+    {
+        try
+        {
+            out.close();
+        }
+        catch ( IOException e )
+        {
+            // die temporäre Datei wird ohnehin verworfen
+        }
+        try
+        {
+            Files.deleteIfExists( tmpFile );
+        }
+        catch ( IOException e )
+        {
+            // eine verbliebene temporäre Datei wird beim nächsten Schreiben überschrieben
+        }
+    }
+
+    private void writeBlock()
+    {
+        try
+        {
+            deflater.reset();
+            deflater.setInput( block, 0, blockLength );
+            deflater.finish();
+            long offset = position;
+            while ( !deflater.finished() )
+            {
+                int length = deflater.deflate( deflateBuffer );
+                out.write( deflateBuffer, 0, length );
+                position += length;
+            }
+            blocks.add( new long[] { offset, position - offset, blockLength } );
+            blockLength = 0;
+        }
+        catch ( IOException e )
+        {
+            throw new IllegalStateException( "snapshot is not writable: " + file, e );
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.persistence;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+
+import org.apache.commons.lang3.ObjectUtils;
+
+import com.github.jgility.core.metrics.Metrics;
+import com.github.jgility.core.project.Product;
+import com.github.jgility.core.trace.TraceSpan;
+import com.github.jgility.core.trace.TraceType;
+import com.github.jgility.core.trace.Tracing;
+
+/**
+ * Implementiert einen {@link IProductStore}, welcher ein {@link Product} per JAXB als XML-Datei in
+ * UTF-8 ablegt. Gespeichert wird in eine temporäre Datei, welche anschließend atomar umbenannt
+ * wird, damit nach einem Absturz immer ein vollständiger Stand gelesen wird.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public class XmlProductStore
+    implements IProductStore
+{
+
+    private static final String ENCODING = "UTF-8";
+
+    private static volatile JAXBContext context;
+
+    private final Path file;
+
+    /**
+     * Instanziiert ein Objekt der Klasse {@link XmlProductStore}
+     * 
+     * @param file Datei, in welcher das {@link Product} abgelegt wird
+     * @throws IllegalArgumentException wenn die Datei <code>null</code> ist
+     */
+    public XmlProductStore( Path file )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, file ) )
+        {
+            throw new IllegalArgumentException( "null-object as file is not allowed" );
+        }
+        this.file = file;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.persistence.IProductStore#load()
+     */
+    @Override
+    public Product load()
+        throws IllegalStateException
+    {
+        TraceSpan span = Tracing.begin( TraceType.PRODUCT_LOAD );
+        long startTime = Metrics.start();
+        Product product = null;
+        try (InputStream in = Files.newInputStream( file ))
+        {
+            product = (Product) getContext().createUnmarshaller().unmarshal( in );
+            return product;
+        }
+        catch ( IOException | JAXBException e )
+        {
+            throw new IllegalStateException( "product is not readable: " + file, e );
+        }
+        finally
+        {
+            Metrics.stop( Metrics.PERSISTENCE_LOAD, startTime );
+            endTrace( span, product );
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see
+     * com.github.jgility.core.persistence.IProductStore#save(com.github.jgility.core.project.Product
+     * )
+     */
+    @Override
+    public void save( Product product )
+        throws IllegalArgumentException, IllegalStateException
+    {
+        if ( ObjectUtils.equals( null, product ) )
+        {
+            throw new IllegalArgumentException( "null-object as product is not allowed" );
+        }
+
+        TraceSpan span = Tracing.begin( TraceType.PRODUCT_SAVE );
+        long startTime = Metrics.start();
+        Path tmpFile = file.resolveSibling( file.getFileName() + ".tmp" );
+        try
+        {
+            try (OutputStream out = Files.newOutputStream( tmpFile ))
+            {
+                Marshaller marshaller = getContext().createMarshaller();
+                marshaller.setProperty( Marshaller.JAXB_ENCODING, ENCODING );
+                marshaller.marshal( product, out );
+            }
+            Files.move( tmpFile, file, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE );
+        }
+        catch ( IOException | JAXBException e )
+        {
+            throw new IllegalStateException( "product is not writable: " + file, e );
+        }
+        finally
+        {
+            Metrics.stop( Metrics.PERSISTENCE_SAVE, startTime );
+            endTrace( span, product );
+        }
+    }
+
+    /**
+     * Gibt die Datei zurück, in welcher das {@link Product} abgelegt wird
+     * 
+     * @return Datei des {@link XmlProductStore}
+     */
+    public Path getFile()
+    {
+        return file;
+    }
+
+    /*
+     * Ergänzt Dateigröße und Umfang des Produkts. Bei fehlgeschlagenem Laden wird kein Umfang
+     * aufgezeichnet
+     */
+    private void endTrace( TraceSpan span, Product product )
+    {
+        if ( null == span )
+        {
+            return;
+        }
+        span.setSubject( file.toString() );
+        try
+        {
+            span.setBytes( Files.size( file ) );
+        }
+        catch ( IOException e )
+        {
+            span.setBytes( -1 );
+        }
+        if ( null != product )
+        {
+            Tracing.describe( span, product );
+        }
+        Tracing.end( span );
+    }
+
+    /*
+     * Der JAXBContext ist thread-sicher und teuer in der Erzeugung, daher wird er nur einmal
+     * angelegt
+     */
+    static JAXBContext getContext()
+        throws JAXBException
+    {
+        JAXBContext currentContext = context;
+        if ( null == currentContext )
+        {
+            currentContext = JAXBContext.newInstance( Product.class );
+            context = currentContext;
+        }
+        return currentContext;
+    }
+}
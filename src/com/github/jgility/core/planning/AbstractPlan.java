@@ -14,17 +14,23 @@ package com.github.jgility.core.planning;
 
 import java.util.Calendar;
 import java.util.GregorianCalendar;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
+import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlType;
 
 import org.apache.commons.lang3.ObjectUtils;
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
 
+import com.github.jgility.core.event.ChangeKind;
+import com.github.jgility.core.event.ModelEventBus;
+import com.github.jgility.core.metrics.Metrics;
 import com.github.jgility.core.util.CalendarUtils;
+import com.github.jgility.core.util.EqualsUtils;
+import com.github.jgility.core.util.IVersionable;
 
 /**
  * Abstrakte Klasse und implementiert die Grundfunktionalitäten einer planbaren Datenstruktur.
@@ -35,13 +41,19 @@ import com.github.jgility.core.util.CalendarUtils;
 @XmlType( propOrder = { "start", "end" } )
 @XmlAccessorType( XmlAccessType.FIELD )
 public abstract class AbstractPlan
-    implements IPlan
+    implements IPlan, IVersionable
 {
 
+    private static final AtomicLongFieldUpdater<AbstractPlan> VERSION_UPDATER =
+        AtomicLongFieldUpdater.newUpdater( AbstractPlan.class, "version" );
+
     private Calendar start;
 
     private Calendar end;
 
+    @XmlAttribute
+    private volatile long version;
+
     /**
      * Instanziiert ein Objekt der abstrakten Klasse {@link AbstractPlan}. Der Startwert is das
      * aktuelle {@link Calendar}-Objekt. Das Ende ist auf 14-Tage datiert.
@@ -85,7 +97,8 @@ public abstract class AbstractPlan
 
         if ( end.after( start ) )
         {
-            this.start = (Calendar) start.clone();
+            this.start = computeTime( (Calendar) start.clone() );
+            ModelEventBus.getDefault().publish( this, ChangeKind.UPDATED, "start", getStart() );
         }
         else
         {
@@ -118,7 +131,8 @@ public abstract class AbstractPlan
 
         if ( start.before( end ) )
         {
-            this.end = (Calendar) end.clone();
+            this.end = computeTime( (Calendar) end.clone() );
+            ModelEventBus.getDefault().publish( this, ChangeKind.UPDATED, "end", getEnd() );
         }
         else
         {
@@ -145,16 +159,30 @@ public abstract class AbstractPlan
     public void changeStartEnd( Calendar newStart, Calendar newEnd )
         throws IllegalArgumentException
     {
-        if ( CalendarUtils.checkDate( newStart, newEnd ) )
+        long startTime = Metrics.start();
+        try
         {
-            this.start = newStart;
-            this.end = newEnd;
+            if ( CalendarUtils.checkDate( newStart, newEnd ) )
+            {
+                boolean initialized = null != start;
+                this.start = computeTime( newStart );
+                this.end = computeTime( newEnd );
+                if ( initialized )
+                {
+                    ModelEventBus eventBus = ModelEventBus.getDefault();
+                    eventBus.publish( this, ChangeKind.UPDATED, "start", newStart );
+                    eventBus.publish( this, ChangeKind.UPDATED, "end", newEnd );
+                }
+            }
+            else
+            {
+                throw new IllegalArgumentException( "start-time has to be before end-time" );
+            }
         }
-        else
+        finally
         {
-            throw new IllegalArgumentException( "start-time has to be before end-time" );
+            Metrics.stop( Metrics.PLAN_CHANGE_START_END, startTime );
         }
-
     }
 
     /*
@@ -189,6 +217,47 @@ public abstract class AbstractPlan
         return start.before( currentDate );
     }
 
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.util.IVersionable#getVersion()
+     */
+    @Override
+    public long getVersion()
+    {
+        return version;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.util.IVersionable#compareAndSetVersion(long, long)
+     */
+    @Override
+    public boolean compareAndSetVersion( long expectedVersion, long newVersion )
+    {
+        return VERSION_UPDATER.compareAndSet( this, expectedVersion, newVersion );
+    }
+
+    /*
+     * Nach Calendar#set ist der Zeitpunkt noch nicht berechnet, Calendar#equals und
+     * Calendar#hashCode legen dann bei jedem Aufruf eine Kopie an. Daher wird der Zeitpunkt bereits
+     * beim Setzen bzw. nach dem Einlesen per JAXB berechnet.
+     */
+    private static Calendar computeTime( Calendar calendar )
+    {
+        if ( null != calendar )
+        {
+            calendar.getTimeInMillis();
+        }
+        return calendar;
+    }
+
+    @SuppressWarnings( "unused" )
+    private void afterUnmarshal( Unmarshaller unmarshaller, Object parent )
+    {
+        computeTime( start );
+        computeTime( end );
+    }
+
     /*
      * (non-Javadoc)
      * @see java.lang.Object#hashCode()
@@ -196,10 +265,7 @@ public abstract class AbstractPlan
     @Override
     public int hashCode()
     {
-        HashCodeBuilder builder = new HashCodeBuilder();
-        builder.append( start );
-        builder.append( end );
-        return builder.toHashCode();
+        return EqualsUtils.PRIME * ObjectUtils.hashCode( start ) + ObjectUtils.hashCode( end );
     }
 
     /*
@@ -212,10 +278,7 @@ public abstract class AbstractPlan
         if ( obj instanceof AbstractPlan )
         {
             AbstractPlan plan = (AbstractPlan) obj;
-            EqualsBuilder builder = new EqualsBuilder();
-            builder.append( start, plan.getStart() );
-            builder.append( end, plan.getEnd() );
-            return builder.isEquals();
+            return ObjectUtils.equals( start, plan.start ) && ObjectUtils.equals( end, plan.end );
         }
         return false;
     }
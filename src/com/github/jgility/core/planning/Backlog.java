@@ -13,6 +13,7 @@
 package com.github.jgility.core.planning;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
@@ -24,8 +25,15 @@ import javax.xml.bind.annotation.XmlRootElement;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.ObjectUtils;
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import com.github.jgility.core.event.ChangeKind;
+import com.github.jgility.core.event.ModelEventBus;
+import com.github.jgility.core.metrics.Metrics;
+import com.github.jgility.core.trace.TraceSpan;
+import com.github.jgility.core.trace.TraceType;
+import com.github.jgility.core.trace.Tracing;
+import com.github.jgility.core.util.EqualsUtils;
+import com.github.jgility.core.util.Page;
 
 /**
  * Abstrakte Klasse zum erstellen von Backlogs im Sinne der agilen Softwareentwicklung
@@ -51,6 +59,15 @@ public class Backlog<T>
         requirements = new ArrayList<>();
     }
 
+    /*
+     * Kopiert die Anforderungen eines Backlogs, ohne ein Ereignis zu veröffentlichen. Die
+     * Anforderungen selbst werden geteilt.
+     */
+    Backlog( Backlog<T> backlog )
+    {
+        requirements = new ArrayList<>( backlog.requirements );
+    }
+
     /**
      * Fügt eine Anforderung der {@link List} hinzu
      * 
@@ -65,7 +82,10 @@ public class Backlog<T>
             throw new IllegalArgumentException( "null-object is not allowed to add" );
         }
 
+        long startTime = Metrics.start();
         requirements.add( requirement );
+        Metrics.stop( Metrics.BACKLOG_ADD, startTime );
+        ModelEventBus.getDefault().publish( this, ChangeKind.ADDED, "requirements", requirement );
     }
 
     /**
@@ -83,7 +103,16 @@ public class Backlog<T>
             throw new IllegalArgumentException( "null-object is not allowed to add" );
         }
 
-        return requirements.remove( requirement );
+        long startTime = Metrics.start();
+        boolean removed = requirements.remove( requirement );
+        Metrics.stop( Metrics.BACKLOG_REMOVE, startTime );
+        if ( removed )
+        {
+            ModelEventBus.getDefault().publish( this, ChangeKind.REMOVED, "requirements",
+                                                requirement );
+            return true;
+        }
+        return false;
     }
 
     /**
@@ -96,6 +125,20 @@ public class Backlog<T>
         return Collections.unmodifiableList( requirements );
     }
 
+    /**
+     * Gibt eine Seite der Anforderungen zurück. Es werden nur die Anforderungen der Seite kopiert.
+     * 
+     * @param offset Position der ersten Anforderung
+     * @param limit maximale Anzahl an Anforderungen
+     * @return {@link Page} mit den Anforderungen
+     * @throws IllegalArgumentException wenn die Position negativ oder die Anzahl nicht positiv ist
+     */
+    public Page<T> getRequirementPage( int offset, int limit )
+        throws IllegalArgumentException
+    {
+        return new Page<>( requirements, offset, limit );
+    }
+
     /**
      * Fügt eine {@link List} von Anforderung der Liste hinzu
      * 
@@ -108,7 +151,169 @@ public class Backlog<T>
             throw new IllegalArgumentException( "empty requirement list is not allowed" );
         }
 
+        TraceSpan span = Tracing.begin( TraceType.BACKLOG_IMPORT );
+        long startTime = Metrics.start();
         requirements.addAll( requirementList );
+        Metrics.stop( Metrics.BACKLOG_ADD, startTime );
+        ModelEventBus.getDefault().publish( this, ChangeKind.ADDED, "requirements",
+                                            copyOf( requirementList ) );
+        if ( null != span )
+        {
+            span.setRequirements( requirementList.size() );
+            Tracing.end( span );
+        }
+    }
+
+    /**
+     * Fügt eine {@link Collection} von Anforderungen an der Stelle <code>index</code> ein
+     * 
+     * @param index Stelle, an welcher die erste Anforderung eingefügt wird
+     * @param requirementCollection einzufügende Anforderungen
+     * @throws IllegalArgumentException wenn die {@link Collection} leer ist oder
+     *             <code>null</code>-Elemente beinhaltet
+     * @throws IndexOutOfBoundsException wenn <code>index</code> außerhalb der Liste liegt
+     */
+    public void addRequirements( int index, Collection<? extends T> requirementCollection )
+        throws IllegalArgumentException, IndexOutOfBoundsException
+    {
+        if ( CollectionUtils.isEmpty( requirementCollection ) )
+        {
+            throw new IllegalArgumentException( "empty requirement list is not allowed" );
+        }
+        for ( T requirement : requirementCollection )
+        {
+            if ( ObjectUtils.equals( null, requirement ) )
+            {
+                throw new IllegalArgumentException( "null-object is not allowed to add" );
+            }
+        }
+
+        TraceSpan span = Tracing.begin( TraceType.BACKLOG_IMPORT );
+        long startTime = Metrics.start();
+        requirements.addAll( index, requirementCollection );
+        Metrics.stop( Metrics.BACKLOG_ADD, startTime );
+        ModelEventBus.getDefault().publish( this, ChangeKind.ADDED, "requirements",
+                                            copyOf( requirementCollection ) );
+        if ( null != span )
+        {
+            span.setRequirements( requirementCollection.size() );
+            Tracing.end( span );
+        }
+    }
+
+    /**
+     * Entfernt alle Anforderungen im Bereich von <code>fromIndex</code> (inklusive) bis
+     * <code>toIndex</code> (exklusive)
+     * 
+     * @param fromIndex Beginn des Bereichs
+     * @param toIndex Ende des Bereichs
+     * @return {@link List} der entfernten Anforderungen
+     * @throws IndexOutOfBoundsException wenn der Bereich außerhalb der Liste liegt
+     */
+    public List<T> removeRequirements( int fromIndex, int toIndex )
+        throws IndexOutOfBoundsException
+    {
+        long startTime = Metrics.start();
+        List<T> range = requirements.subList( fromIndex, toIndex );
+        List<T> removed = new ArrayList<>( range );
+        range.clear();
+        Metrics.stop( Metrics.BACKLOG_REMOVE, startTime );
+        if ( !removed.isEmpty() )
+        {
+            ModelEventBus.getDefault().publish( this, ChangeKind.REMOVED, "requirements",
+                                                copyOf( removed ) );
+        }
+        return removed;
+    }
+
+    /**
+     * Entfernt alle Anforderungen, welche in der übergebenen {@link Collection} enthalten sind, in
+     * einem Durchlauf
+     * 
+     * @param requirementCollection zu entfernende Anforderungen
+     * @return <code>true</code> wenn mindestens eine Anforderung entfernt wurde
+     * @throws IllegalArgumentException wenn die {@link Collection} leer ist
+     */
+    public boolean removeAllRequirement( Collection<?> requirementCollection )
+        throws IllegalArgumentException
+    {
+        if ( CollectionUtils.isEmpty( requirementCollection ) )
+        {
+            throw new IllegalArgumentException( "empty requirement list is not allowed" );
+        }
+
+        long startTime = Metrics.start();
+        List<T> removed = new ArrayList<>();
+        List<T> retained = new ArrayList<>( requirements.size() );
+        for ( T requirement : requirements )
+        {
+            if ( requirementCollection.contains( requirement ) )
+            {
+                removed.add( requirement );
+            }
+            else
+            {
+                retained.add( requirement );
+            }
+        }
+        if ( !removed.isEmpty() )
+        {
+            requirements.clear();
+            requirements.addAll( retained );
+        }
+        Metrics.stop( Metrics.BACKLOG_REMOVE, startTime );
+        if ( !removed.isEmpty() )
+        {
+            ModelEventBus.getDefault().publish( this, ChangeKind.REMOVED, "requirements",
+                                                Collections.unmodifiableList( removed ) );
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Verschiebt eine Anforderung innerhalb des {@link Backlog} an eine neue Position
+     * 
+     * @param fromIndex aktuelle Position der Anforderung
+     * @param toIndex neue Position der Anforderung
+     * @throws IndexOutOfBoundsException wenn eine der Positionen außerhalb der Liste liegt
+     */
+    public void moveRequirement( int fromIndex, int toIndex )
+        throws IndexOutOfBoundsException
+    {
+        if ( toIndex < 0 || toIndex >= requirements.size() )
+        {
+            throw new IndexOutOfBoundsException( "index " + toIndex + " is out of range" );
+        }
+
+        long startTime = Metrics.start();
+        T requirement = requirements.remove( fromIndex );
+        requirements.add( toIndex, requirement );
+        Metrics.stop( Metrics.BACKLOG_MOVE, startTime );
+        if ( fromIndex != toIndex )
+        {
+            ModelEventBus.getDefault().publish( this, ChangeKind.UPDATED, "requirements",
+                                                requirement );
+        }
+    }
+
+    /*
+     * Wert eines Ereignisses über mehrere Anforderungen: eine unveränderliche Kopie, damit spätere
+     * Änderungen des Aufrufers das Ereignis nicht verfälschen
+     */
+    private static <E> List<E> copyOf( Collection<? extends E> collection )
+    {
+        return Collections.unmodifiableList( new ArrayList<E>( collection ) );
+    }
+
+    /**
+     * Gibt die Anzahl der Anforderungen zurück
+     * 
+     * @return Anzahl der Anforderungen
+     */
+    public int size()
+    {
+        return requirements.size();
     }
 
     /*
@@ -128,9 +333,7 @@ public class Backlog<T>
     @Override
     public int hashCode()
     {
-        HashCodeBuilder builder = new HashCodeBuilder();
-        builder.append( requirements );
-        return builder.toHashCode();
+        return EqualsUtils.hashCode( requirements );
     }
 
     /*
@@ -144,9 +347,7 @@ public class Backlog<T>
         if ( obj instanceof Backlog )
         {
             Backlog<T> backlog = (Backlog<T>) obj;
-            EqualsBuilder builder = new EqualsBuilder();
-            builder.append( requirements, backlog.requirements );
-            return builder.isEquals();
+            return EqualsUtils.equals( requirements, backlog.requirements );
         }
 
         return false;
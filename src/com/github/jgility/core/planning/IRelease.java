@@ -15,6 +15,8 @@ package com.github.jgility.core.planning;
 import java.util.Collection;
 import java.util.List;
 
+import com.github.jgility.core.util.Page;
+
 /**
  * Interface zur Generalisierung der Planungsstruktur für eine hierachischen Abbildung mit
  * Unterebenen.
@@ -75,4 +77,15 @@ public interface IRelease
      * @return eine {@link IIteration} an der Stelle <code>index</code>
      */
     IIteration getIteration( int index );
+
+    /**
+     * Gibt eine Seite der Iterationen zurück. Es werden nur die Iterationen der Seite kopiert.
+     * 
+     * @param offset Position der ersten Iteration
+     * @param limit maximale Anzahl an Iterationen
+     * @return {@link Page} mit den Iterationen
+     * @throws IllegalArgumentException wenn die Position negativ oder die Anzahl nicht positiv ist
+     */
+    Page<IIteration> getIterationPage( int offset, int limit )
+        throws IllegalArgumentException;
 }
\ No newline at end of file
@@ -12,7 +12,6 @@
  */
 package com.github.jgility.core.planning;
 
-import java.text.SimpleDateFormat;
 import java.util.Calendar;
 
 import javax.xml.bind.annotation.XmlAccessType;
@@ -21,11 +20,10 @@ import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlSeeAlso;
 
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
-
 import com.github.jgility.core.requirement.IIterationRequirement;
 import com.github.jgility.core.requirement.IterationStory;
+import com.github.jgility.core.util.CalendarUtils;
+import com.github.jgility.core.util.EqualsUtils;
 
 /**
  * Implementiert eine konkreten {@link AbstractPlan} für die Iterations-Plannung
@@ -80,10 +78,7 @@ public class Iteration
     @Override
     public int hashCode()
     {
-        HashCodeBuilder builder = new HashCodeBuilder();
-        builder.append( super.hashCode() );
-        builder.append( iterationBacklog );
-        return builder.toHashCode();
+        return EqualsUtils.PRIME * super.hashCode() + iterationBacklog.hashCode();
     }
 
     @Override
@@ -92,10 +87,7 @@ public class Iteration
         if ( obj instanceof Iteration )
         {
             Iteration plan = (Iteration) obj;
-            EqualsBuilder builder = new EqualsBuilder();
-            builder.append( iterationBacklog, plan.iterationBacklog );
-
-            return builder.isEquals() && super.equals( obj );
+            return iterationBacklog.equals( plan.iterationBacklog ) && super.equals( obj );
         }
 
         return false;
@@ -108,9 +100,9 @@ public class Iteration
     @Override
     public String toString()
     {
-        SimpleDateFormat sfd = new SimpleDateFormat( "dd.MM.yyyy" );
-        return "Iteration [start=" + sfd.format( getStart().getTime() ) + " end="
-            + sfd.format( getEnd().getTime() ) + " iterationBacklog=" + iterationBacklog + "]";
+        return "Iteration [start=" + CalendarUtils.calendarOutput( getStart() ) + " end="
+            + CalendarUtils.calendarOutput( getEnd() ) + " iterationBacklog=" + iterationBacklog
+            + "]";
     }
 
 }
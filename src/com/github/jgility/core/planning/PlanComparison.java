@@ -0,0 +1,182 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.planning;
+
+import java.util.Calendar;
+
+import com.github.jgility.core.util.CalendarUtils;
+
+/**
+ * Unveränderliches Ergebnis des Vergleichs eines {@link ReleaseScenario} mit dem Ausgangsplan.
+ * Entfernte und hinzugefügte Schätzwerte beziehen sich auf Anforderungen, welche nur in einem der
+ * beiden Pläne eingeplant sind.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public final class PlanComparison
+{
+
+    private static final long DAY_MILLIS = 1000L * 60 * 60 * 24;
+
+    private final String name;
+
+    private final Calendar baselineEnd;
+
+    private final Calendar scenarioEnd;
+
+    private final int baselineIterations;
+
+    private final int scenarioIterations;
+
+    private final float baselinePoints;
+
+    private final float scenarioPoints;
+
+    private final float droppedPoints;
+
+    private final float addedPoints;
+
+    PlanComparison( String name, Calendar baselineEnd, Calendar scenarioEnd,
+                    int baselineIterations, int scenarioIterations, float baselinePoints,
+                    float scenarioPoints, float droppedPoints, float addedPoints )
+    {
+        this.name = name;
+        this.baselineEnd = baselineEnd;
+        this.scenarioEnd = scenarioEnd;
+        this.baselineIterations = baselineIterations;
+        this.scenarioIterations = scenarioIterations;
+        this.baselinePoints = baselinePoints;
+        this.scenarioPoints = scenarioPoints;
+        this.droppedPoints = droppedPoints;
+        this.addedPoints = addedPoints;
+    }
+
+    /**
+     * Gibt den Namen des verglichenen Szenarios zurück
+     * 
+     * @return Name des {@link ReleaseScenario}
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * Gibt das späteste Release-Ende des Ausgangsplans zurück
+     * 
+     * @return Ende als {@link Calendar} oder <code>null</code> ohne Releases
+     */
+    public Calendar getBaselineEnd()
+    {
+        return null == baselineEnd ? null : (Calendar) baselineEnd.clone();
+    }
+
+    /**
+     * Gibt das späteste Release-Ende des Szenarios zurück
+     * 
+     * @return Ende als {@link Calendar} oder <code>null</code> ohne Releases
+     */
+    public Calendar getScenarioEnd()
+    {
+        return null == scenarioEnd ? null : (Calendar) scenarioEnd.clone();
+    }
+
+    /**
+     * Gibt die Verschiebung des spätesten Release-Endes in Tagen zurück
+     * 
+     * @return positive Anzahl an Tagen bei Verzögerung, negative bei früherem Ende
+     */
+    public long getDelayDays()
+    {
+        if ( null == baselineEnd || null == scenarioEnd )
+        {
+            return 0;
+        }
+        double delay = scenarioEnd.getTimeInMillis() - baselineEnd.getTimeInMillis();
+        return Math.round( delay / DAY_MILLIS );
+    }
+
+    /**
+     * Gibt die Anzahl der Iterationen im Ausgangsplan zurück
+     * 
+     * @return Anzahl der Iterationen
+     */
+    public int getBaselineIterations()
+    {
+        return baselineIterations;
+    }
+
+    /**
+     * Gibt die Anzahl der Iterationen im Szenario zurück
+     * 
+     * @return Anzahl der Iterationen
+     */
+    public int getScenarioIterations()
+    {
+        return scenarioIterations;
+    }
+
+    /**
+     * Gibt die Summe der Schätzwerte aller eingeplanten Anforderungen im Ausgangsplan zurück
+     * 
+     * @return Summe der Schätzwerte
+     */
+    public float getBaselinePoints()
+    {
+        return baselinePoints;
+    }
+
+    /**
+     * Gibt die Summe der Schätzwerte aller eingeplanten Anforderungen im Szenario zurück
+     * 
+     * @return Summe der Schätzwerte
+     */
+    public float getScenarioPoints()
+    {
+        return scenarioPoints;
+    }
+
+    /**
+     * Gibt die Summe der Schätzwerte der Anforderungen zurück, welche nur im Ausgangsplan
+     * eingeplant sind
+     * 
+     * @return Summe der Schätzwerte
+     */
+    public float getDroppedPoints()
+    {
+        return droppedPoints;
+    }
+
+    /**
+     * Gibt die Summe der Schätzwerte der Anforderungen zurück, welche nur im Szenario eingeplant
+     * sind
+     * 
+     * @return Summe der Schätzwerte
+     */
+    public float getAddedPoints()
+    {
+        return addedPoints;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "PlanComparison [name=" + name + ", baselineEnd="
+            + ( null == baselineEnd ? null : CalendarUtils.calendarOutput( baselineEnd ) )
+            + ", scenarioEnd="
+            + ( null == scenarioEnd ? null : CalendarUtils.calendarOutput( scenarioEnd ) )
+            + ", delayDays=" + getDelayDays() + ", iterations=" + baselineIterations + "/"
+            + scenarioIterations + ", points=" + baselinePoints + "/" + scenarioPoints
+            + ", droppedPoints=" + droppedPoints + ", addedPoints=" + addedPoints + "]";
+    }
+}
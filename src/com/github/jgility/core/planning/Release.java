@@ -12,7 +12,6 @@
  */
 package com.github.jgility.core.planning;
 
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collection;
@@ -28,10 +27,13 @@ import javax.xml.bind.annotation.XmlSeeAlso;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.ObjectUtils;
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
 
+import com.github.jgility.core.event.ChangeKind;
+import com.github.jgility.core.event.ModelEventBus;
+import com.github.jgility.core.metrics.Metrics;
 import com.github.jgility.core.util.CalendarUtils;
+import com.github.jgility.core.util.EqualsUtils;
+import com.github.jgility.core.util.Page;
 
 /**
  * Implementiert eine konkrete Klasse für die Release-Plannung
@@ -81,31 +83,47 @@ public class Release
     public void addIteration( IIteration iteration )
         throws IllegalArgumentException
     {
-        if ( ObjectUtils.equals( null, iteration ) || ObjectUtils.equals( this, iteration ) )
+        long startTime = Metrics.start();
+        try
         {
-            throw new IllegalArgumentException( "plan-object has a wrong reference: " + iteration );
-        }
+            if ( ObjectUtils.equals( null, iteration ) || ObjectUtils.equals( this, iteration ) )
+            {
+                throw new IllegalArgumentException( "plan-object has a wrong reference: "
+                    + iteration );
+            }
 
-        if ( CollectionUtils.isEmpty( iterationList ) )
-        {
-            iterationList.add( iteration );
-        }
-        else if ( checkPlanRange( iteration ) )
-        {
-            if ( checkSubPlan( iteration, iterationList.get( iterationList.size() - 1 ) ) )
+            if ( CollectionUtils.isEmpty( iterationList ) )
             {
                 iterationList.add( iteration );
+                fireIterationsChanged( ChangeKind.ADDED, iteration );
+            }
+            else if ( checkPlanRange( iteration ) )
+            {
+                if ( checkSubPlan( iteration, iterationList.get( iterationList.size() - 1 ) ) )
+                {
+                    iterationList.add( iteration );
+                    fireIterationsChanged( ChangeKind.ADDED, iteration );
+                }
+                else
+                {
+                    throw new IllegalArgumentException( "plan-object has a occupied start or "
+                        + "end-time" );
+                }
             }
             else
             {
-                throw new IllegalArgumentException( "plan-object has a occupied start or end-time" );
+                throw new IllegalArgumentException( "start or end-time is invalid" );
             }
         }
-        else
+        finally
         {
-            throw new IllegalArgumentException( "start or end-time is invalid" );
+            Metrics.stop( Metrics.RELEASE_ADD_ITERATION, startTime );
         }
+    }
 
+    private void fireIterationsChanged( ChangeKind kind, Object value )
+    {
+        ModelEventBus.getDefault().publish( this, kind, "iterations", value );
     }
 
     private boolean checkPlanRange( IPlan plan )
@@ -130,7 +148,12 @@ public class Release
     @Override
     public boolean removePlan( IIteration iteration )
     {
-        return iterationList.remove( iteration );
+        if ( iterationList.remove( iteration ) )
+        {
+            fireIterationsChanged( ChangeKind.REMOVED, iteration );
+            return true;
+        }
+        return false;
     }
 
     @Override
@@ -139,7 +162,9 @@ public class Release
     {
         if ( CollectionUtils.isNotEmpty( iterationCollection ) )
         {
-            this.iterationList.addAll( iterationCollection );
+            List<IIteration> added = new ArrayList<IIteration>( iterationCollection );
+            this.iterationList.addAll( added );
+            fireIterationsChanged( ChangeKind.ADDED, Collections.unmodifiableList( added ) );
         }
         else
         {
@@ -166,13 +191,17 @@ public class Release
         return iterationList.get( index );
     }
 
+    @Override
+    public Page<IIteration> getIterationPage( int offset, int limit )
+        throws IllegalArgumentException
+    {
+        return new Page<>( iterationList, offset, limit );
+    }
+
     @Override
     public int hashCode()
     {
-        HashCodeBuilder builder = new HashCodeBuilder();
-        builder.append( super.hashCode() );
-        builder.append( iterationList );
-        return builder.toHashCode();
+        return EqualsUtils.PRIME * super.hashCode() + EqualsUtils.hashCode( iterationList );
     }
 
     @Override
@@ -181,10 +210,7 @@ public class Release
         if ( obj instanceof Release )
         {
             Release plan = (Release) obj;
-            EqualsBuilder builder = new EqualsBuilder();
-            builder.append( iterationList, plan.iterationList );
-
-            return builder.isEquals() && super.equals( obj );
+            return EqualsUtils.equals( iterationList, plan.iterationList ) && super.equals( obj );
         }
 
         return false;
@@ -197,8 +223,7 @@ public class Release
     @Override
     public String toString()
     {
-        SimpleDateFormat sfd = new SimpleDateFormat( "dd.MM.yyyy" );
-        return "Release [start=" + sfd.format( getStart().getTime() ) + " end="
-            + sfd.format( getEnd().getTime() ) + " subPlanSet=" + iterationList + "]";
+        return "Release [start=" + CalendarUtils.calendarOutput( getStart() ) + " end="
+            + CalendarUtils.calendarOutput( getEnd() ) + " subPlanSet=" + iterationList + "]";
     }
 }
@@ -0,0 +1,424 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.planning;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import com.github.jgility.core.event.ModelEventBus;
+import com.github.jgility.core.requirement.IIterationRequirement;
+
+/**
+ * Zweig eines Projektplans für Was-wäre-wenn-Betrachtungen vor einer Umplanung. Das Szenario teilt
+ * sich alle unveränderten {@link IRelease}, {@link IIteration} und {@link Backlog} mit dem
+ * Ausgangsplan und kopiert eine Planungsebene erst bei ihrer ersten Änderung. Das Anlegen eines
+ * Szenarios ist daher unabhängig von der Größe des Plans.<br>
+ * Änderungen an den Plänen des Szenarios, z.B. über
+ * {@link com.github.jgility.core.util.ReleasePlanningUtils}, wirken nur im Szenario. Verschobene
+ * Datumsgrenzen und Iterationen veröffentlichen keine Ereignisse, die kopierten {@link Backlog}
+ * verhalten sich wie jedes andere {@link Backlog}. Mehrere Szenarien lassen sich über
+ * {@link #compare()} mit dem Ausgangsplan vergleichen. Anschließend wird ein Szenario mit
+ * {@link #merge()} übernommen oder mit {@link #discard()} verworfen. Die Klasse ist nicht
+ * threadsicher.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public class ReleaseScenario
+{
+
+    private final String name;
+
+    private final List<IRelease> releasePlan;
+
+    private final Map<IRelease, ScenarioRelease> releases;
+
+    private boolean closed;
+
+    /**
+     * Instanziiert ein Szenario über einem Projektplan. Die {@link List} wird nicht kopiert,
+     * spätere Änderungen am Projektplan sind im Szenario sichtbar, solange die betroffenen Pläne
+     * dort nicht verändert wurden.
+     * 
+     * @param name Name des Szenarios
+     * @param releasePlan Projektplan als {@link List} von {@link IRelease}
+     * @throws IllegalArgumentException wenn der Name leer oder der Projektplan <code>null</code>
+     *             ist
+     * @see com.github.jgility.core.project.Project#branchReleasePlan(String)
+     */
+    public ReleaseScenario( String name, List<IRelease> releasePlan )
+        throws IllegalArgumentException
+    {
+        if ( StringUtils.isBlank( name ) )
+        {
+            throw new IllegalArgumentException( "empty name for scenarios is not allowed" );
+        }
+        if ( ObjectUtils.equals( null, releasePlan ) )
+        {
+            throw new IllegalArgumentException( "null-object as release plan is not allowed" );
+        }
+        this.name = name;
+        this.releasePlan = releasePlan;
+        releases = new IdentityHashMap<>();
+    }
+
+    /**
+     * Gibt den Namen des Szenarios zurück
+     * 
+     * @return Name des Szenarios
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+    /**
+     * Gibt eine unmodifizierbare {@link List} der Releases im Szenario zurück. Die Reihenfolge
+     * entspricht dem Ausgangsplan.
+     * 
+     * @return {@link List} von {@link IRelease}
+     * @throws IllegalStateException wenn das Szenario bereits übernommen oder verworfen wurde
+     */
+    public List<IRelease> getReleasePlan()
+        throws IllegalStateException
+    {
+        checkOpen();
+        List<IRelease> plan = new ArrayList<>( releasePlan.size() );
+        for ( IRelease release : releasePlan )
+        {
+            plan.add( branch( release ) );
+        }
+        return Collections.unmodifiableList( plan );
+    }
+
+    /**
+     * Gibt das Release an der Stelle <code>index</code> im Szenario zurück
+     * 
+     * @param index Stelligkeit innerhalb des Ausgangsplans
+     * @return {@link IRelease} des Szenarios
+     * @throws IllegalStateException wenn das Szenario bereits übernommen oder verworfen wurde
+     */
+    public IRelease getRelease( int index )
+        throws IllegalStateException
+    {
+        checkOpen();
+        return branch( releasePlan.get( index ) );
+    }
+
+    /**
+     * Gibt das Release im Szenario zu einem Release des Ausgangsplans zurück
+     * 
+     * @param release {@link IRelease} des Ausgangsplans
+     * @return {@link IRelease} des Szenarios
+     * @throws IllegalArgumentException wenn das Release nicht Teil des Ausgangsplans ist
+     * @throws IllegalStateException wenn das Szenario bereits übernommen oder verworfen wurde
+     */
+    public IRelease getRelease( IRelease release )
+        throws IllegalArgumentException, IllegalStateException
+    {
+        checkOpen();
+        if ( release instanceof ScenarioRelease
+            && this == ( (ScenarioRelease) release ).getScenario() )
+        {
+            return release;
+        }
+        if ( !containsRelease( release ) )
+        {
+            throw new IllegalArgumentException( "release is not part of the release plan: "
+                + release );
+        }
+        return branch( release );
+    }
+
+    /**
+     * Prüft ob das Szenario vom Ausgangsplan abweicht
+     * 
+     * @return <code>true</code> wenn ein Plan im Szenario verändert wurde
+     */
+    public boolean isModified()
+    {
+        for ( ScenarioRelease release : releases.values() )
+        {
+            if ( release.isModified() )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Prüft ob das Szenario bereits übernommen oder verworfen wurde
+     * 
+     * @return <code>true</code> wenn das Szenario abgeschlossen ist
+     */
+    public boolean isClosed()
+    {
+        return closed;
+    }
+
+    /**
+     * Vergleicht das Szenario mit dem aktuellen Ausgangsplan
+     * 
+     * @return {@link PlanComparison} mit den Kennzahlen beider Pläne
+     * @throws IllegalStateException wenn das Szenario bereits übernommen oder verworfen wurde
+     */
+    public PlanComparison compare()
+        throws IllegalStateException
+    {
+        checkOpen();
+        PlanSummary baseline = new PlanSummary( true );
+        PlanSummary scenario = new PlanSummary( true );
+        for ( IRelease release : releasePlan )
+        {
+            ScenarioRelease branch = releases.get( release );
+            if ( null != branch && branch.isModified() )
+            {
+                baseline.add( release.getEnd(), release.getIterationList() );
+                scenario.add( branch.getEnd(), branch.getIterations() );
+            }
+            else
+            {
+                PlanSummary shared = new PlanSummary( false );
+                shared.add( release.getEnd(), release.getIterationList() );
+                baseline.add( shared );
+                scenario.add( shared );
+            }
+        }
+        return new PlanComparison( name, baseline.end, scenario.end, baseline.iterations,
+                                   scenario.iterations, baseline.points, scenario.points,
+                                   baseline.pointsWithout( scenario ),
+                                   scenario.pointsWithout( baseline ) );
+    }
+
+    /**
+     * Überträgt die Änderungen des Szenarios in einem Batch des {@link ModelEventBus} in den
+     * Ausgangsplan und schließt das Szenario. Wurde ein im Szenario veränderter Plan seit dessen
+     * Kopie im Ausgangsplan verändert, wird keine Änderung übernommen. Schlägt die Übernahme in
+     * einem Release fehl, werden die bereits übernommenen Änderungen zurückgenommen und das
+     * Szenario bleibt offen. Ein eigener Batch wird dabei ohne Benachrichtigung verworfen.
+     * 
+     * @throws IllegalStateException wenn der Ausgangsplan zwischenzeitlich verändert oder das
+     *             Szenario bereits übernommen oder verworfen wurde
+     */
+    public void merge()
+        throws IllegalStateException
+    {
+        checkOpen();
+        for ( ScenarioRelease release : releases.values() )
+        {
+            if ( release.isModified()
+                && ( release.isConflicting() || !containsRelease( release.getBaseline() ) ) )
+            {
+                throw new IllegalStateException( "release has changed since the scenario was "
+                    + "branched: " + release.getBaseline() );
+            }
+        }
+
+        ModelEventBus eventBus = ModelEventBus.getDefault();
+        boolean ownBatch = !eventBus.isBatchActive();
+        eventBus.beginBatch();
+        List<ScenarioRelease> merged = new ArrayList<>();
+        try
+        {
+            for ( IRelease release : releasePlan )
+            {
+                ScenarioRelease branch = releases.get( release );
+                if ( null != branch )
+                {
+                    merged.add( branch );
+                    branch.merge();
+                }
+            }
+        }
+        catch ( RuntimeException e )
+        {
+            try
+            {
+                for ( int i = merged.size() - 1; i >= 0; i-- )
+                {
+                    merged.get( i ).rollback();
+                }
+            }
+            finally
+            {
+                if ( ownBatch )
+                {
+                    eventBus.discardBatch();
+                }
+                else
+                {
+                    eventBus.endBatch();
+                }
+            }
+            throw e;
+        }
+        eventBus.endBatch();
+        discard();
+    }
+
+    /**
+     * Verwirft alle Änderungen des Szenarios und schließt das Szenario
+     */
+    public void discard()
+    {
+        releases.clear();
+        closed = true;
+    }
+
+    void checkOpen()
+        throws IllegalStateException
+    {
+        if ( closed )
+        {
+            throw new IllegalStateException( "scenario is already closed: " + name );
+        }
+    }
+
+    /*
+     * Vergleicht zwei Listen elementweise nach Identität
+     */
+    static boolean sameElements( List<?> first, List<?> second )
+    {
+        if ( first.size() != second.size() )
+        {
+            return false;
+        }
+        for ( int i = 0; i < first.size(); i++ )
+        {
+            if ( first.get( i ) != second.get( i ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private ScenarioRelease branch( IRelease release )
+    {
+        ScenarioRelease branch = releases.get( release );
+        if ( null == branch )
+        {
+            branch = new ScenarioRelease( this, release );
+            releases.put( release, branch );
+        }
+        return branch;
+    }
+
+    private static List<IIterationRequirement> requirementsOf( IIteration iteration )
+    {
+        if ( iteration instanceof ScenarioIteration )
+        {
+            return ( (ScenarioIteration) iteration ).getRequirements();
+        }
+        return iteration.getIterationBacklog().getRequirementList();
+    }
+
+    private boolean containsRelease( IRelease release )
+    {
+        for ( IRelease element : releasePlan )
+        {
+            if ( element == release )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ReleaseScenario [name=" + name + ", releases=" + releasePlan.size()
+            + ", modified=" + isModified() + ", closed=" + closed + "]";
+    }
+
+    /*
+     * Summiert Iterationen, Schätzwerte und das späteste Release-Ende eines Plans. Die
+     * Anforderungen werden nur für veränderte Releases gesammelt, unveränderte Releases tragen in
+     * beiden Plänen dieselben Anforderungen.
+     */
+    private static final class PlanSummary
+    {
+        private final Set<IIterationRequirement> requirements;
+
+        private Calendar end;
+
+        private int iterations;
+
+        private float points;
+
+        private PlanSummary( boolean collect )
+        {
+            if ( collect )
+            {
+                Map<IIterationRequirement, Boolean> map = new IdentityHashMap<>();
+                requirements = Collections.newSetFromMap( map );
+            }
+            else
+            {
+                requirements = null;
+            }
+        }
+
+        private void add( Calendar releaseEnd, List<IIteration> iterationList )
+        {
+            if ( null == end || releaseEnd.after( end ) )
+            {
+                end = releaseEnd;
+            }
+            for ( IIteration iteration : iterationList )
+            {
+                iterations++;
+                for ( IIterationRequirement requirement : requirementsOf( iteration ) )
+                {
+                    points += requirement.getEstimated();
+                    if ( null != requirements )
+                    {
+                        requirements.add( requirement );
+                    }
+                }
+            }
+        }
+
+        private void add( PlanSummary summary )
+        {
+            if ( null == end || summary.end.after( end ) )
+            {
+                end = summary.end;
+            }
+            iterations += summary.iterations;
+            points += summary.points;
+        }
+
+        private float pointsWithout( PlanSummary other )
+        {
+            float sum = 0;
+            for ( IIterationRequirement requirement : requirements )
+            {
+                if ( !other.requirements.contains( requirement ) )
+                {
+                    sum += requirement.getEstimated();
+                }
+            }
+            return sum;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.planning;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.jgility.core.requirement.IIterationRequirement;
+
+/*
+ * Iteration innerhalb eines ReleaseScenario. Das Backlog des Ausgangsplans wird erst beim ersten
+ * Zugriff über getIterationBacklog() kopiert, die Anforderungen selbst werden geteilt.
+ */
+final class ScenarioIteration
+    extends ScenarioPlan<IIteration>
+    implements IIteration
+{
+
+    private Backlog<IIterationRequirement> iterationBacklog;
+
+    private List<IIterationRequirement> baselineRequirements;
+
+    private List<IIterationRequirement> mergedRequirements;
+
+    ScenarioIteration( ReleaseScenario scenario, IIteration baseline )
+    {
+        super( scenario, baseline );
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.planning.IIteration#getIterationBacklog()
+     */
+    @Override
+    public Backlog<IIterationRequirement> getIterationBacklog()
+    {
+        getScenario().checkOpen();
+        if ( null == iterationBacklog )
+        {
+            iterationBacklog = new Backlog<>( getBaseline().getIterationBacklog() );
+            baselineRequirements = new ArrayList<>( iterationBacklog.getRequirementList() );
+        }
+        return iterationBacklog;
+    }
+
+    /*
+     * Gibt die Anforderungen der Iteration zurück, ohne das Backlog zu kopieren
+     */
+    List<IIterationRequirement> getRequirements()
+    {
+        if ( null == iterationBacklog )
+        {
+            return getBaseline().getIterationBacklog().getRequirementList();
+        }
+        return iterationBacklog.getRequirementList();
+    }
+
+    @Override
+    boolean isModified()
+    {
+        if ( null == iterationBacklog )
+        {
+            return super.isModified();
+        }
+        return super.isModified()
+            || !ReleaseScenario.sameElements( baselineRequirements,
+                                              iterationBacklog.getRequirementList() );
+    }
+
+    @Override
+    boolean isConflicting()
+    {
+        if ( null == iterationBacklog )
+        {
+            return super.isConflicting();
+        }
+        List<IIterationRequirement> requirements =
+            getBaseline().getIterationBacklog().getRequirementList();
+        return super.isConflicting()
+            || !ReleaseScenario.sameElements( baselineRequirements, requirements );
+    }
+
+    @Override
+    void merge()
+    {
+        super.merge();
+        if ( null != iterationBacklog )
+        {
+            Backlog<IIterationRequirement> backlog = getBaseline().getIterationBacklog();
+            List<IIterationRequirement> requirements =
+                new ArrayList<>( iterationBacklog.getRequirementList() );
+            if ( !ReleaseScenario.sameElements( backlog.getRequirementList(), requirements ) )
+            {
+                mergedRequirements = new ArrayList<>( backlog.getRequirementList() );
+                replaceRequirements( backlog, requirements );
+            }
+        }
+    }
+
+    @Override
+    void rollback()
+    {
+        if ( null != mergedRequirements )
+        {
+            replaceRequirements( getBaseline().getIterationBacklog(), mergedRequirements );
+            mergedRequirements = null;
+        }
+        super.rollback();
+    }
+
+    private static void replaceRequirements( Backlog<IIterationRequirement> backlog,
+                                             List<IIterationRequirement> requirements )
+    {
+        if ( 0 < backlog.size() )
+        {
+            backlog.removeRequirements( 0, backlog.size() );
+        }
+        if ( !requirements.isEmpty() )
+        {
+            backlog.addAllRequirement( requirements );
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ScenarioIteration [baseline=" + getBaseline() + ", modified=" + isModified() + "]";
+    }
+}
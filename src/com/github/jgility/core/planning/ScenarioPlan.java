@@ -0,0 +1,246 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.planning;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+
+import org.apache.commons.lang3.ObjectUtils;
+
+import com.github.jgility.core.util.CalendarUtils;
+
+/*
+ * Gemeinsame Grundlage der Planungsebenen eines ReleaseScenario. Solange der Plan im Szenario nicht
+ * verschoben wird, werden Start und Ende aus dem Ausgangsplan gelesen. Erst die erste Änderung
+ * kopiert die Zeitpunkte und merkt sich deren Ausgangswerte, um Konflikte beim Übernehmen zu
+ * erkennen. Änderungen im Szenario veröffentlichen keine Ereignisse.
+ */
+abstract class ScenarioPlan<T extends IPlan>
+    implements IPlan
+{
+
+    private final ReleaseScenario scenario;
+
+    private final T baseline;
+
+    private Calendar start;
+
+    private Calendar end;
+
+    private long baselineStart;
+
+    private long baselineEnd;
+
+    private Calendar mergedStart;
+
+    private Calendar mergedEnd;
+
+    ScenarioPlan( ReleaseScenario scenario, T baseline )
+    {
+        this.scenario = scenario;
+        this.baseline = baseline;
+    }
+
+    final ReleaseScenario getScenario()
+    {
+        return scenario;
+    }
+
+    final T getBaseline()
+    {
+        return baseline;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.planning.IPlan#setStart(java.util.Calendar)
+     */
+    @Override
+    public void setStart( Calendar start )
+        throws IllegalArgumentException
+    {
+        scenario.checkOpen();
+        if ( ObjectUtils.equals( null, start ) )
+        {
+            throw new IllegalArgumentException( "null-Object as start-time is not allowed" );
+        }
+
+        if ( getEnd().after( start ) )
+        {
+            copyDates();
+            this.start = (Calendar) start.clone();
+        }
+        else
+        {
+            throw new IllegalArgumentException( "start-time have to before end-time" );
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.planning.IPlan#getStart()
+     */
+    @Override
+    public Calendar getStart()
+    {
+        return null == start ? baseline.getStart() : (Calendar) start.clone();
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.planning.IPlan#setEnd(java.util.Calendar)
+     */
+    @Override
+    public void setEnd( Calendar end )
+        throws IllegalArgumentException
+    {
+        scenario.checkOpen();
+        if ( ObjectUtils.equals( null, end ) )
+        {
+            throw new IllegalArgumentException( "null-Object as end-time is not allowed" );
+        }
+
+        if ( getStart().before( end ) )
+        {
+            copyDates();
+            this.end = (Calendar) end.clone();
+        }
+        else
+        {
+            throw new IllegalArgumentException( "start-time have to before end-time" );
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.planning.IPlan#getEnd()
+     */
+    @Override
+    public Calendar getEnd()
+    {
+        return null == end ? baseline.getEnd() : (Calendar) end.clone();
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see
+     * com.github.jgility.core.planning.IPlan#changeStartEnd(java.util.Calendar,java.util.Calendar)
+     */
+    @Override
+    public void changeStartEnd( Calendar newStart, Calendar newEnd )
+        throws IllegalArgumentException
+    {
+        scenario.checkOpen();
+        if ( CalendarUtils.checkDate( newStart, newEnd ) )
+        {
+            copyDates();
+            this.start = (Calendar) newStart.clone();
+            this.end = (Calendar) newEnd.clone();
+        }
+        else
+        {
+            throw new IllegalArgumentException( "start-time has to be before end-time" );
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.planning.IPlan#getRange()
+     */
+    @Override
+    public long getRange()
+    {
+        return getEnd().getTimeInMillis() - getStart().getTimeInMillis();
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.planning.IPlan#isFinished()
+     */
+    @Override
+    public boolean isFinished()
+    {
+        return getEnd().before( new GregorianCalendar() );
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.planning.IPlan#isStarted()
+     */
+    @Override
+    public boolean isStarted()
+    {
+        return getStart().before( new GregorianCalendar() );
+    }
+
+    /*
+     * Gibt an, ob der Plan im Szenario verändert wurde
+     */
+    boolean isModified()
+    {
+        return null != start;
+    }
+
+    /*
+     * Gibt an, ob der Ausgangsplan seit der Kopie im Szenario verändert wurde
+     */
+    boolean isConflicting()
+    {
+        if ( null == start )
+        {
+            return false;
+        }
+        return baselineStart != baseline.getStart().getTimeInMillis()
+            || baselineEnd != baseline.getEnd().getTimeInMillis();
+    }
+
+    /*
+     * Überträgt die Änderungen des Szenarios in den Ausgangsplan. Die bisherigen Zeitpunkte werden
+     * nach erfolgreicher Änderung für rollback() gemerkt.
+     */
+    void merge()
+    {
+        if ( null != start )
+        {
+            Calendar oldStart = baseline.getStart();
+            Calendar oldEnd = baseline.getEnd();
+            baseline.changeStartEnd( getStart(), getEnd() );
+            mergedStart = oldStart;
+            mergedEnd = oldEnd;
+        }
+    }
+
+    /*
+     * Stellt den Ausgangsplan nach einem fehlgeschlagenen merge() wieder her
+     */
+    void rollback()
+    {
+        if ( null != mergedStart )
+        {
+            baseline.changeStartEnd( mergedStart, mergedEnd );
+            mergedStart = null;
+            mergedEnd = null;
+        }
+    }
+
+    private void copyDates()
+    {
+        if ( null == start )
+        {
+            start = baseline.getStart();
+            end = baseline.getEnd();
+            baselineStart = start.getTimeInMillis();
+            baselineEnd = end.getTimeInMillis();
+        }
+    }
+}
@@ -0,0 +1,319 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.planning;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang3.ObjectUtils;
+
+import com.github.jgility.core.util.CalendarUtils;
+import com.github.jgility.core.util.Page;
+
+/*
+ * Release innerhalb eines ReleaseScenario. Die Iterationen des Ausgangsplans werden erst beim
+ * ersten Zugriff auf die Unterstruktur in ScenarioIteration eingehüllt. Iterationen werden nach
+ * Identität verglichen.
+ */
+final class ScenarioRelease
+    extends ScenarioPlan<IRelease>
+    implements IRelease
+{
+
+    private List<IIteration> iterationList;
+
+    private List<IIteration> baselineIterations;
+
+    private List<IIteration> mergedIterations;
+
+    ScenarioRelease( ReleaseScenario scenario, IRelease baseline )
+    {
+        super( scenario, baseline );
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see
+     * com.github.jgility.core.planning.IRelease#addIteration(com.github.jgility.core.planning
+     * .IIteration)
+     */
+    @Override
+    public void addIteration( IIteration iteration )
+        throws IllegalArgumentException
+    {
+        getScenario().checkOpen();
+        if ( ObjectUtils.equals( null, iteration ) )
+        {
+            throw new IllegalArgumentException( "plan-object has a wrong reference: " + iteration );
+        }
+
+        List<IIteration> iterations = iterations();
+        if ( iterations.isEmpty() )
+        {
+            iterations.add( iteration );
+        }
+        else if ( checkPlanRange( iteration ) )
+        {
+            Calendar end = iterations.get( iterations.size() - 1 ).getEnd();
+            if ( CalendarUtils.checkDate( iteration.getStart(), end ) )
+            {
+                iterations.add( iteration );
+            }
+            else
+            {
+                throw new IllegalArgumentException( "plan-object has a occupied start or "
+                    + "end-time" );
+            }
+        }
+        else
+        {
+            throw new IllegalArgumentException( "start or end-time is invalid" );
+        }
+    }
+
+    private boolean checkPlanRange( IPlan plan )
+    {
+        return !getStart().after( plan.getStart() ) && !getEnd().before( plan.getEnd() );
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see
+     * com.github.jgility.core.planning.IRelease#addAllIterations(java.util.Collection)
+     */
+    @Override
+    public void addAllIterations( Collection<? extends IIteration> iterationCollection )
+        throws IllegalArgumentException
+    {
+        getScenario().checkOpen();
+        if ( CollectionUtils.isNotEmpty( iterationCollection ) )
+        {
+            iterations().addAll( iterationCollection );
+        }
+        else
+        {
+            throw new IllegalArgumentException( "empty collection of iteration is not "
+                + "allowed to add" );
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see
+     * com.github.jgility.core.planning.IRelease#removePlan(com.github.jgility.core.planning
+     * .IIteration)
+     */
+    @Override
+    public boolean removePlan( IIteration iteration )
+    {
+        getScenario().checkOpen();
+        return iterations().remove( iteration );
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.planning.IRelease#getIterationList()
+     */
+    @Override
+    public List<IIteration> getIterationList()
+    {
+        return Collections.unmodifiableList( iterations() );
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.planning.IRelease#size()
+     */
+    @Override
+    public int size()
+    {
+        return null == iterationList ? getBaseline().size() : iterationList.size();
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.planning.IRelease#getIteration(int)
+     */
+    @Override
+    public IIteration getIteration( int index )
+    {
+        return iterations().get( index );
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.planning.IRelease#getIterationPage(int, int)
+     */
+    @Override
+    public Page<IIteration> getIterationPage( int offset, int limit )
+        throws IllegalArgumentException
+    {
+        return new Page<>( iterations(), offset, limit );
+    }
+
+    /*
+     * Gibt die Iterationen zurück, ohne die Iterationen des Ausgangsplans einzuhüllen
+     */
+    List<IIteration> getIterations()
+    {
+        return null == iterationList ? getBaseline().getIterationList() : iterationList;
+    }
+
+    @Override
+    boolean isModified()
+    {
+        if ( null == iterationList )
+        {
+            return super.isModified();
+        }
+        if ( super.isModified() || !ReleaseScenario.sameElements( baselineIterations, unwrap() ) )
+        {
+            return true;
+        }
+        for ( IIteration iteration : iterationList )
+        {
+            if ( iteration instanceof ScenarioIteration
+                && ( (ScenarioIteration) iteration ).isModified() )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    boolean isConflicting()
+    {
+        if ( null == iterationList )
+        {
+            return super.isConflicting();
+        }
+        List<IIteration> iterations = getBaseline().getIterationList();
+        if ( super.isConflicting()
+            || !ReleaseScenario.sameElements( baselineIterations, iterations ) )
+        {
+            return true;
+        }
+        for ( IIteration iteration : iterationList )
+        {
+            if ( iteration instanceof ScenarioIteration
+                && ( (ScenarioIteration) iteration ).isConflicting() )
+            {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    void merge()
+    {
+        super.merge();
+        if ( null != iterationList )
+        {
+            for ( IIteration iteration : iterationList )
+            {
+                if ( iteration instanceof ScenarioIteration )
+                {
+                    ( (ScenarioIteration) iteration ).merge();
+                }
+            }
+
+            IRelease release = getBaseline();
+            List<IIteration> iterations = unwrap();
+            if ( !ReleaseScenario.sameElements( release.getIterationList(), iterations ) )
+            {
+                mergedIterations = new ArrayList<>( release.getIterationList() );
+                replaceIterations( release, iterations );
+            }
+        }
+    }
+
+    @Override
+    void rollback()
+    {
+        if ( null != mergedIterations )
+        {
+            replaceIterations( getBaseline(), mergedIterations );
+            mergedIterations = null;
+        }
+        if ( null != iterationList )
+        {
+            for ( IIteration iteration : iterationList )
+            {
+                if ( iteration instanceof ScenarioIteration )
+                {
+                    ( (ScenarioIteration) iteration ).rollback();
+                }
+            }
+        }
+        super.rollback();
+    }
+
+    private static void replaceIterations( IRelease release, List<IIteration> iterations )
+    {
+        for ( IIteration iteration : new ArrayList<>( release.getIterationList() ) )
+        {
+            release.removePlan( iteration );
+        }
+        if ( !iterations.isEmpty() )
+        {
+            release.addAllIterations( iterations );
+        }
+    }
+
+    private List<IIteration> iterations()
+    {
+        if ( null == iterationList )
+        {
+            baselineIterations = new ArrayList<>( getBaseline().getIterationList() );
+            iterationList = new ArrayList<>( baselineIterations.size() );
+            for ( IIteration iteration : baselineIterations )
+            {
+                iterationList.add( new ScenarioIteration( getScenario(), iteration ) );
+            }
+        }
+        return iterationList;
+    }
+
+    /*
+     * Ersetzt die eingehüllten Iterationen durch die Iterationen des Ausgangsplans
+     */
+    private List<IIteration> unwrap()
+    {
+        List<IIteration> iterations = new ArrayList<>( iterationList.size() );
+        for ( IIteration iteration : iterationList )
+        {
+            if ( iteration instanceof ScenarioIteration
+                && getScenario() == ( (ScenarioIteration) iteration ).getScenario() )
+            {
+                iterations.add( ( (ScenarioIteration) iteration ).getBaseline() );
+            }
+            else
+            {
+                iterations.add( iteration );
+            }
+        }
+        return iterations;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "ScenarioRelease [baseline=" + getBaseline() + ", modified=" + isModified() + "]";
+    }
+}
@@ -16,11 +16,13 @@ import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlRootElement;
 
+import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.validator.EmailValidator;
 
+import com.github.jgility.core.metrics.Metrics;
+import com.github.jgility.core.util.EqualsUtils;
+
 /**
  * Klasse, welche ein Nutzer bzw. eine Person im Sinne der agilen Softwareentwicklung repräsentiert.
  * Findet Verwendung als Teammitglied des {@link Project} oder ProductOwner als Besitzer des
@@ -131,14 +133,22 @@ public class Person
     public void setEMail( String eMail )
         throws IllegalArgumentException
     {
-        EmailValidator emailValidator = EmailValidator.getInstance();
-        if ( emailValidator.isValid( eMail ) )
+        long startTime = Metrics.start();
+        try
         {
-            this.eMail = eMail;
+            EmailValidator emailValidator = EmailValidator.getInstance();
+            if ( emailValidator.isValid( eMail ) )
+            {
+                this.eMail = eMail;
+            }
+            else
+            {
+                throw new IllegalArgumentException( "e-mail adress is invalid: " + eMail );
+            }
         }
-        else
+        finally
         {
-            throw new IllegalArgumentException( "e-mail adress is invalid: " + eMail );
+            Metrics.stop( Metrics.PERSON_VALIDATE_EMAIL, startTime );
         }
     }
 
@@ -178,11 +188,9 @@ public class Person
         if ( obj instanceof Person )
         {
             Person person = (Person) obj;
-            EqualsBuilder builder = new EqualsBuilder();
-            builder.append( firstname, person.getFirstname() );
-            builder.append( surname, person.getSurname() );
-            builder.append( eMail, person.eMail );
-            return builder.isEquals();
+            return ObjectUtils.equals( firstname, person.firstname )
+                && ObjectUtils.equals( surname, person.surname )
+                && ObjectUtils.equals( eMail, person.eMail );
         }
         return false;
     }
@@ -190,11 +198,9 @@ public class Person
     @Override
     public int hashCode()
     {
-        HashCodeBuilder builder = new HashCodeBuilder();
-        builder.append( firstname );
-        builder.append( surname );
-        builder.append( eMail );
-        return builder.toHashCode();
+        int hash = ObjectUtils.hashCode( firstname );
+        hash = EqualsUtils.PRIME * hash + ObjectUtils.hashCode( surname );
+        return EqualsUtils.PRIME * hash + ObjectUtils.hashCode( eMail );
     }
 
     @Override
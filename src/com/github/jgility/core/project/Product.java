@@ -13,23 +13,27 @@
 package com.github.jgility.core.project;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlSeeAlso;
+import javax.xml.bind.annotation.XmlTransient;
 
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 import com.github.jgility.core.planning.Backlog;
+import com.github.jgility.core.requirement.CompactProductStory;
 import com.github.jgility.core.requirement.IProductRequirement;
+import com.github.jgility.core.util.EqualsUtils;
+import com.github.jgility.core.util.Page;
 
 /**
  * Klasse, welche das Produkt im Sinne der agilen Softwareentwicklung repräsentiert. Beinhaltet
@@ -40,6 +44,7 @@ import com.github.jgility.core.requirement.IProductRequirement;
  */
 @XmlRootElement
 @XmlAccessorType( XmlAccessType.FIELD )
+@XmlSeeAlso( CompactProductStory.class )
 public class Product
 {
     private String name;
@@ -48,6 +53,13 @@ public class Product
 
     private final Set<Project> projects;
 
+    /*
+     * Projekte in Reihenfolge des Hinzufügens für den seitenweisen Zugriff, wird bei jeder
+     * Änderung der Projekte verworfen und beim nächsten Zugriff neu aufgebaut
+     */
+    @XmlTransient
+    private List<Project> projectOrder;
+
     private Person productOwner;
 
     private Backlog<IProductRequirement> productBacklog;
@@ -83,7 +95,7 @@ public class Product
         setDescription( description );
         setProductOwner( productOwner );
         productBacklog = new Backlog<>();
-        projects = new HashSet<>();
+        projects = new LinkedHashSet<>();
     }
 
     /**
@@ -146,6 +158,38 @@ public class Product
         return Collections.unmodifiableList( projectList );
     }
 
+    /**
+     * Gibt eine nicht modifizierbare Sicht auf die {@link Project}-Referenzen zurück. Im Gegensatz
+     * zu {@link #getProjects()} wird keine Kopie erzeugt, Änderungen am {@link Product} sind in der
+     * Sicht sichtbar.
+     * 
+     * @return nicht modifizierbare Sicht auf alle {@link Project}
+     */
+    public Collection<Project> getProjectView()
+    {
+        return Collections.unmodifiableSet( projects );
+    }
+
+    /**
+     * Gibt eine Seite der {@link Project}-Referenzen in Reihenfolge des Hinzufügens zurück. Es
+     * werden nur die Projekte der Seite kopiert, solange das {@link Product} unverändert bleibt,
+     * wird jede Seite direkt ab <code>offset</code> gelesen.
+     * 
+     * @param offset Position des ersten {@link Project}
+     * @param limit maximale Anzahl an {@link Project}
+     * @return {@link Page} von {@link Project}
+     * @throws IllegalArgumentException wenn die Position negativ oder die Anzahl nicht positiv ist
+     */
+    public Page<Project> getProjectPage( int offset, int limit )
+        throws IllegalArgumentException
+    {
+        if ( null == projectOrder )
+        {
+            projectOrder = new ArrayList<>( projects );
+        }
+        return new Page<>( projectOrder, offset, limit );
+    }
+
     /**
      * Fügt eine {@link List} von {@link Project} der bestehenden {@link List} hinzu
      * 
@@ -159,6 +203,7 @@ public class Product
         if ( CollectionUtils.isNotEmpty( projects ) )
         {
             this.projects.addAll( projects );
+            projectOrder = null;
         }
         else
         {
@@ -179,6 +224,7 @@ public class Product
         if ( ObjectUtils.notEqual( null, newProject ) )
         {
             this.projects.add( newProject );
+            projectOrder = null;
         }
         else
         {
@@ -197,17 +243,34 @@ public class Product
     {
         if ( ObjectUtils.notEqual( null, removeProject ) )
         {
-            return projects.remove( removeProject );
+            boolean removed = projects.remove( removeProject );
+            if ( removed )
+            {
+                projectOrder = null;
+            }
+            return removed;
         }
         return false;
     }
 
+    /**
+     * Prüft ob ein {@link Project} dem {@link Product} zugeordnet ist
+     * 
+     * @param project zu prüfendes {@link Project}
+     * @return <code>true</code> wenn das {@link Project} enthalten ist
+     */
+    public boolean containsProject( Project project )
+    {
+        return projects.contains( project );
+    }
+
     /**
      * Entfernt alle in der {@link List} befindlichen {@link Project}s
      */
     public void clearProject()
     {
         projects.clear();
+        projectOrder = null;
     }
 
     /**
@@ -304,14 +367,11 @@ public class Product
     @Override
     public int hashCode()
     {
-        HashCodeBuilder builder = new HashCodeBuilder();
-        builder.append( name );
-        builder.append( description );
-        builder.append( productBacklog );
-        builder.append( productOwner );
-        builder.append( projects );
-
-        return builder.toHashCode();
+        int hash = ObjectUtils.hashCode( name );
+        hash = EqualsUtils.PRIME * hash + ObjectUtils.hashCode( description );
+        hash = EqualsUtils.PRIME * hash + ObjectUtils.hashCode( productBacklog );
+        hash = EqualsUtils.PRIME * hash + ObjectUtils.hashCode( productOwner );
+        return EqualsUtils.PRIME * hash + projects.hashCode();
     }
 
     /*
@@ -324,13 +384,11 @@ public class Product
         if ( obj instanceof Product )
         {
             Product product = (Product) obj;
-            EqualsBuilder builder = new EqualsBuilder();
-            builder.append( description, product.description );
-            builder.append( name, product.name );
-            builder.append( productBacklog, product.productBacklog );
-            builder.append( productOwner, product.productOwner );
-            builder.append( projects, product.projects );
-            return builder.isEquals();
+            return ObjectUtils.equals( description, product.description )
+                && ObjectUtils.equals( name, product.name )
+                && ObjectUtils.equals( productBacklog, product.productBacklog )
+                && ObjectUtils.equals( productOwner, product.productOwner )
+                && projects.equals( product.projects );
         }
         return false;
     }
@@ -16,10 +16,12 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlAnyElement;
+import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlElementWrapper;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlSeeAlso;
@@ -27,12 +29,14 @@ import javax.xml.bind.annotation.XmlSeeAlso;
 import org.apache.commons.collections.CollectionUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 import com.github.jgility.core.planning.IPlan;
 import com.github.jgility.core.planning.IRelease;
 import com.github.jgility.core.planning.Release;
+import com.github.jgility.core.planning.ReleaseScenario;
+import com.github.jgility.core.util.EqualsUtils;
+import com.github.jgility.core.util.IVersionable;
+import com.github.jgility.core.util.Page;
 
 /**
  * Klasse, welche das Project im Sinne der agilen Softwareentwicklung repräsentiert. Besitzt eine
@@ -45,7 +49,11 @@ import com.github.jgility.core.planning.Release;
 @XmlSeeAlso( Release.class )
 @XmlAccessorType( XmlAccessType.FIELD )
 public class Project
+    implements IVersionable
 {
+    private static final AtomicLongFieldUpdater<Project> VERSION_UPDATER =
+        AtomicLongFieldUpdater.newUpdater( Project.class, "version" );
+
     private String name;
 
     private String description;
@@ -56,6 +64,9 @@ public class Project
     @XmlAnyElement( lax = true )
     private final List<IRelease> releasePlan;
 
+    @XmlAttribute
+    private volatile long version;
+
     /**
      * Parameterloser Konstruktor um ein leeres {@link Project} zu instanziieren.<br>
      * Initialisiert Standard-Werte für Name (<code>Default</code>) und Beschreibung (
@@ -240,6 +251,34 @@ public class Project
         return Collections.unmodifiableList( releasePlan );
     }
 
+    /**
+     * Gibt eine Seite des Projektplans zurück. Es werden nur die Releases der Seite kopiert.
+     * 
+     * @param offset Position des ersten {@link IRelease}
+     * @param limit maximale Anzahl an {@link IRelease}
+     * @return {@link Page} von {@link IRelease}
+     * @throws IllegalArgumentException wenn die Position negativ oder die Anzahl nicht positiv ist
+     */
+    public Page<IRelease> getReleasePage( int offset, int limit )
+        throws IllegalArgumentException
+    {
+        return new Page<>( releasePlan, offset, limit );
+    }
+
+    /**
+     * Legt ein {@link ReleaseScenario} über dem Projektplan an. Der Projektplan wird dabei nicht
+     * kopiert.
+     * 
+     * @param scenarioName Name des Szenarios
+     * @return neues {@link ReleaseScenario}
+     * @throws IllegalArgumentException wenn der Name leer oder <code>null</code> ist
+     */
+    public ReleaseScenario branchReleasePlan( String scenarioName )
+        throws IllegalArgumentException
+    {
+        return new ReleaseScenario( scenarioName, getReleasePlan() );
+    }
+
     /**
      * Setzt die {@link List} des Projektplans
      * 
@@ -304,15 +343,33 @@ public class Project
         releasePlan.clear();
     }
 
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.util.IVersionable#getVersion()
+     */
+    @Override
+    public long getVersion()
+    {
+        return version;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.util.IVersionable#compareAndSetVersion(long, long)
+     */
+    @Override
+    public boolean compareAndSetVersion( long expectedVersion, long newVersion )
+    {
+        return VERSION_UPDATER.compareAndSet( this, expectedVersion, newVersion );
+    }
+
     @Override
     public int hashCode()
     {
-        HashCodeBuilder builder = new HashCodeBuilder();
-        builder.append( name );
-        builder.append( description );
-        builder.append( team );
-        builder.append( releasePlan );
-        return builder.toHashCode();
+        int hash = ObjectUtils.hashCode( name );
+        hash = EqualsUtils.PRIME * hash + ObjectUtils.hashCode( description );
+        hash = EqualsUtils.PRIME * hash + ObjectUtils.hashCode( team );
+        return EqualsUtils.PRIME * hash + EqualsUtils.hashCode( releasePlan );
     }
 
     @Override
@@ -321,12 +378,10 @@ public class Project
         if ( obj instanceof Project )
         {
             Project project = (Project) obj;
-            EqualsBuilder builder = new EqualsBuilder();
-            builder.append( name, project.getName() );
-            builder.append( description, project.getDescription() );
-            builder.append( team, project.getTeam() );
-            builder.append( releasePlan, project.getReleasePlan() );
-            return builder.isEquals();
+            return ObjectUtils.equals( name, project.name )
+                && ObjectUtils.equals( description, project.description )
+                && ObjectUtils.equals( team, project.team )
+                && EqualsUtils.equals( releasePlan, project.releasePlan );
         }
         return false;
     }
@@ -15,16 +15,23 @@ package com.github.jgility.core.project;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlAnyElement;
+import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlElementWrapper;
 import javax.xml.bind.annotation.XmlRootElement;
 
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 
+import com.github.jgility.core.event.ChangeKind;
+import com.github.jgility.core.event.ModelEventBus;
+import com.github.jgility.core.util.IVersionable;
+import com.github.jgility.core.util.Page;
+
 /**
  * Repräsentiert ein Zusammenschluss aus mehreren {@link Person} als Team
  * 
@@ -33,14 +40,26 @@ import org.apache.commons.lang3.StringUtils;
 @XmlRootElement
 @XmlAccessorType( XmlAccessType.FIELD )
 public class Team
+    implements IVersionable
 {
 
+    private static final AtomicLongFieldUpdater<Team> VERSION_UPDATER =
+        AtomicLongFieldUpdater.newUpdater( Team.class, "version" );
+
+    /**
+     * Gemeinsames, unveränderliches {@link Team} für Anforderungen ohne zugewiesenes Team
+     */
+    public static final Team UNASSIGNED = new UnassignedTeam();
+
     private String name;
 
     @XmlElementWrapper
     @XmlAnyElement( lax = true )
     private final List<Person> members;
 
+    @XmlAttribute
+    private volatile long version;
+
     /**
      * Instanziiert ein Objekt der Klasse {@link Team} mit Standardwerten<br>
      * Leere Liste mit Mitgliedern und als Team-Namen (Default)
@@ -102,6 +121,7 @@ public class Team
         if ( ObjectUtils.notEqual( null, person ) )
         {
             members.add( person );
+            ModelEventBus.getDefault().publish( this, ChangeKind.ADDED, "members", person );
         }
         else
         {
@@ -119,7 +139,11 @@ public class Team
     {
         if ( ObjectUtils.notEqual( null, person ) )
         {
-            return members.remove( person );
+            if ( members.remove( person ) )
+            {
+                ModelEventBus.getDefault().publish( this, ChangeKind.REMOVED, "members", person );
+                return true;
+            }
         }
         return false;
     }
@@ -136,10 +160,100 @@ public class Team
     }
 
     /**
-     * Entfernt alle Elemente (<code>Person</code>) aus dem Team
+     * Gibt eine unveränderliche Sicht auf die Mitglieder des {@link Team} zurück. Im Gegensatz zu
+     * {@link #getMembers()} wird keine Kopie erzeugt, Änderungen am {@link Team} sind in der Sicht
+     * sichtbar.
+     * 
+     * @return unveränderliche Sicht auf die {@link Person}en
+     */
+    public List<Person> getMemberView()
+    {
+        return Collections.unmodifiableList( members );
+    }
+
+    /**
+     * Gibt eine Seite der Mitglieder zurück. Es werden nur die Mitglieder der Seite kopiert.
+     * 
+     * @param offset Position des ersten Mitglieds
+     * @param limit maximale Anzahl an Mitgliedern
+     * @return {@link Page} von {@link Person}
+     * @throws IllegalArgumentException wenn die Position negativ oder die Anzahl nicht positiv ist
+     */
+    public Page<Person> getMemberPage( int offset, int limit )
+        throws IllegalArgumentException
+    {
+        return new Page<>( members, offset, limit );
+    }
+
+    /**
+     * Entfernt alle Elemente (<code>Person</code>) aus dem Team. Das Ereignis enthält die
+     * entfernten Mitglieder als unveränderliche {@link List}.
      */
     public void clearMembers()
     {
+        if ( members.isEmpty() )
+        {
+            return;
+        }
+        List<Person> removed = Collections.unmodifiableList( new ArrayList<>( members ) );
         members.clear();
+        ModelEventBus.getDefault().publish( this, ChangeKind.REMOVED, "members", removed );
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.util.IVersionable#getVersion()
+     */
+    @Override
+    public long getVersion()
+    {
+        return version;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.util.IVersionable#compareAndSetVersion(long, long)
+     */
+    @Override
+    public boolean compareAndSetVersion( long expectedVersion, long newVersion )
+    {
+        return VERSION_UPDATER.compareAndSet( this, expectedVersion, newVersion );
+    }
+
+    /*
+     * Unveränderliches Team, damit der gemeinsam genutzte Platzhalter nicht über eine Anforderung
+     * für alle anderen geändert wird
+     */
+    private static final class UnassignedTeam
+        extends Team
+    {
+        private UnassignedTeam()
+        {
+            super( "Unassigned" );
+        }
+
+        @Override
+        public void setName( String name )
+        {
+            throw new IllegalStateException( "the unassigned team is not modifiable" );
+        }
+
+        @Override
+        public void addMember( Person person )
+        {
+            throw new IllegalStateException( "the unassigned team is not modifiable" );
+        }
+
+        @Override
+        public boolean removeMember( Person person )
+        {
+            return false;
+        }
+
+        @Override
+        public void clearMembers()
+        {
+            throw new IllegalStateException( "the unassigned team is not modifiable" );
+        }
     }
 }
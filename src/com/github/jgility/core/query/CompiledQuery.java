@@ -0,0 +1,310 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.commons.lang3.ObjectUtils;
+
+import com.github.jgility.core.planning.Backlog;
+import com.github.jgility.core.planning.IIteration;
+import com.github.jgility.core.planning.IRelease;
+import com.github.jgility.core.project.Product;
+import com.github.jgility.core.project.Project;
+import com.github.jgility.core.project.Team;
+import com.github.jgility.core.requirement.IImplementableRequirement;
+import com.github.jgility.core.requirement.IRequirement;
+
+/**
+ * Ausführbare, unveränderliche Form einer {@link RequirementQuery}. Beim Übersetzen werden nur die
+ * tatsächlich gesetzten Bedingungen in den Ausführungsplan übernommen, Aufzählungs-Bedingungen
+ * werden zu Bitmasken zusammengefasst und günstige Bedingungen vor teuren geprüft. Bedingungen auf
+ * Projekte, Releases und Iterationen werden vor dem Durchsuchen der Backlogs geprüft, so dass
+ * ausgeschlossene Releases und Iterationen vollständig übersprungen werden. Eine Abfrage mit
+ * widersprüchlichen Bedingungen durchsucht das Modell nicht.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public final class CompiledQuery
+{
+
+    private final boolean empty;
+
+    private final IRequirementFilter[] filters;
+
+    private final Project project;
+
+    private final long releaseFrom;
+
+    private final long releaseTo;
+
+    private final long iterationEndFrom;
+
+    private final long iterationEndTo;
+
+    private final boolean releaseRestricted;
+
+    private final boolean iterationRestricted;
+
+    private final boolean productBacklog;
+
+    CompiledQuery( boolean empty, IRequirementFilter[] filters, Project project, long releaseFrom,
+                   long releaseTo, long iterationEndFrom, long iterationEndTo,
+                   boolean productBacklog )
+    {
+        this.empty = empty;
+        this.filters = filters;
+        this.project = project;
+        this.releaseFrom = releaseFrom;
+        this.releaseTo = releaseTo;
+        this.iterationEndFrom = iterationEndFrom;
+        this.iterationEndTo = iterationEndTo;
+        this.productBacklog = productBacklog;
+        releaseRestricted = Long.MIN_VALUE != releaseFrom || Long.MAX_VALUE != releaseTo;
+        iterationRestricted =
+            Long.MIN_VALUE != iterationEndFrom || Long.MAX_VALUE != iterationEndTo;
+    }
+
+    /**
+     * Führt die Abfrage über das übergebene {@link Product} aus
+     * 
+     * @param product zu durchsuchendes {@link Product}
+     * @return gefundene Anforderungen in der Reihenfolge Product-Backlog, Projekt, Release,
+     *         Iteration
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     */
+    public List<IRequirement> execute( Product product )
+        throws IllegalArgumentException
+    {
+        List<IRequirement> result = new ArrayList<>();
+        scan( product, result );
+        return result;
+    }
+
+    /**
+     * Zählt die Anforderungen des übergebenen {@link Product}, welche die Abfrage erfüllen
+     * 
+     * @param product zu durchsuchendes {@link Product}
+     * @return Anzahl der gefundenen Anforderungen
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     */
+    public int count( Product product )
+        throws IllegalArgumentException
+    {
+        return scan( product, null );
+    }
+
+    private int scan( Product product, List<IRequirement> result )
+    {
+        if ( ObjectUtils.equals( null, product ) )
+        {
+            throw new IllegalArgumentException( "null-object as product is not allowed" );
+        }
+        if ( empty )
+        {
+            return 0;
+        }
+
+        int count = 0;
+        if ( productBacklog )
+        {
+            count += scan( product.getProductBacklog(), result );
+        }
+        for ( Project candidate : product.getProjects() )
+        {
+            if ( null != project && project != candidate )
+            {
+                continue;
+            }
+            for ( IRelease release : candidate.getReleasePlan() )
+            {
+                if ( releaseRestricted
+                    && ( release.getStart().getTimeInMillis() > releaseTo
+                        || release.getEnd().getTimeInMillis() < releaseFrom ) )
+                {
+                    continue;
+                }
+                for ( IIteration iteration : release.getIterationList() )
+                {
+                    if ( iterationRestricted )
+                    {
+                        long end = iteration.getEnd().getTimeInMillis();
+                        if ( end < iterationEndFrom || end > iterationEndTo )
+                        {
+                            continue;
+                        }
+                    }
+                    count += scan( iteration.getIterationBacklog(), result );
+                }
+            }
+        }
+        return count;
+    }
+
+    private int scan( Backlog<? extends IRequirement> backlog, List<IRequirement> result )
+    {
+        if ( null == backlog )
+        {
+            return 0;
+        }
+
+        int count = 0;
+        List<? extends IRequirement> requirements = backlog.getRequirementList();
+        for ( int i = 0; i < requirements.size(); i++ )
+        {
+            IRequirement requirement = requirements.get( i );
+            if ( accept( requirement ) )
+            {
+                count++;
+                if ( null != result )
+                {
+                    result.add( requirement );
+                }
+            }
+        }
+        return count;
+    }
+
+    private boolean accept( IRequirement requirement )
+    {
+        for ( IRequirementFilter filter : filters )
+        {
+            if ( !filter.accept( requirement ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gibt eine Bitmaske zurück, in welcher die ersten <code>count</code> Bits gesetzt sind
+     */
+    static int allOf( int count )
+    {
+        return ( 1 << count ) - 1;
+    }
+
+    static final class PriorityFilter
+        implements IRequirementFilter
+    {
+        private final int mask;
+
+        PriorityFilter( int mask )
+        {
+            this.mask = mask;
+        }
+
+        @Override
+        public boolean accept( IRequirement requirement )
+        {
+            return 0 != ( mask & 1 << requirement.getPriority().ordinal() );
+        }
+    }
+
+    static final class KindFilter
+        implements IRequirementFilter
+    {
+        private final int mask;
+
+        KindFilter( int mask )
+        {
+            this.mask = mask;
+        }
+
+        @Override
+        public boolean accept( IRequirement requirement )
+        {
+            return 0 != ( mask & 1 << requirement.getRequirementKind().ordinal() );
+        }
+    }
+
+    static final class StateFilter
+        implements IRequirementFilter
+    {
+        private final int mask;
+
+        StateFilter( int mask )
+        {
+            this.mask = mask;
+        }
+
+        @Override
+        public boolean accept( IRequirement requirement )
+        {
+            if ( requirement instanceof IImplementableRequirement )
+            {
+                IImplementableRequirement implementable = (IImplementableRequirement) requirement;
+                return 0 != ( mask & 1 << implementable.getImplementState().ordinal() );
+            }
+            return false;
+        }
+    }
+
+    static final class EstimatedFilter
+        implements IRequirementFilter
+    {
+        private final float min;
+
+        private final float max;
+
+        EstimatedFilter( float min, float max )
+        {
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public boolean accept( IRequirement requirement )
+        {
+            float estimated = requirement.getEstimated();
+            return estimated >= min && estimated <= max;
+        }
+    }
+
+    static final class RequesterFilter
+        implements IRequirementFilter
+    {
+        private final String requester;
+
+        RequesterFilter( String requester )
+        {
+            this.requester = requester;
+        }
+
+        @Override
+        public boolean accept( IRequirement requirement )
+        {
+            return requester.equals( requirement.getRequester() );
+        }
+    }
+
+    static final class AssigneeFilter
+        implements IRequirementFilter
+    {
+        private final Team assignee;
+
+        AssigneeFilter( Team assignee )
+        {
+            this.assignee = assignee;
+        }
+
+        @Override
+        public boolean accept( IRequirement requirement )
+        {
+            return requirement instanceof IImplementableRequirement
+                && assignee == ( (IImplementableRequirement) requirement ).getAssignee();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.query;
+
+import com.github.jgility.core.requirement.IRequirement;
+
+/**
+ * Interface für eine eigene Bedingung einer {@link RequirementQuery}
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public interface IRequirementFilter
+{
+
+    /**
+     * Prüft ob die Anforderung die Bedingung erfüllt
+     * 
+     * @param requirement zu prüfende Anforderung
+     * @return <code>true</code> wenn die Anforderung die Bedingung erfüllt
+     */
+    boolean accept( IRequirement requirement );
+}
@@ -0,0 +1,352 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.query;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+
+import org.apache.commons.lang3.ObjectUtils;
+
+import com.github.jgility.core.project.Project;
+import com.github.jgility.core.project.Team;
+import com.github.jgility.core.requirement.IRequirement;
+import com.github.jgility.core.requirement.ImplementState;
+import com.github.jgility.core.requirement.Priority;
+import com.github.jgility.core.requirement.RequirementKind;
+
+/**
+ * Beschreibt eine Abfrage von Anforderungen über ein
+ * {@link com.github.jgility.core.project.Product}. Die Bedingungen werden verkettet und alle
+ * müssen erfüllt sein. Mehrfache Aufrufe derselben Aufzählungs-Bedingung schränken die erlaubten
+ * Werte weiter ein.<br>
+ * Mit {@link #compile()} wird die Abfrage in eine unveränderliche {@link CompiledQuery} übersetzt,
+ * welche beliebig oft und von mehreren Threads ausgeführt werden kann.
+ * 
+ * <pre>
+ * CompiledQuery query = new RequirementQuery().priority( Priority.BLOCKER )
+ *     .kind( RequirementKind.BUG ).notState( ImplementState.DONE ).assignee( team )
+ *     .iterationEndsBetween( monthStart, monthEnd ).compile();
+ * List&lt;IRequirement&gt; result = query.execute( product );
+ * </pre>
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public class RequirementQuery
+{
+
+    private int priorityMask = CompiledQuery.allOf( Priority.values().length );
+
+    private int kindMask = CompiledQuery.allOf( RequirementKind.values().length );
+
+    private int stateMask = CompiledQuery.allOf( ImplementState.values().length );
+
+    private boolean implementable;
+
+    private float minEstimated = Float.NEGATIVE_INFINITY;
+
+    private float maxEstimated = Float.POSITIVE_INFINITY;
+
+    private String requester;
+
+    private Team assignee;
+
+    private Project project;
+
+    private long releaseFrom = Long.MIN_VALUE;
+
+    private long releaseTo = Long.MAX_VALUE;
+
+    private long iterationEndFrom = Long.MIN_VALUE;
+
+    private long iterationEndTo = Long.MAX_VALUE;
+
+    private boolean productBacklog;
+
+    private final List<IRequirementFilter> filters = new ArrayList<>();
+
+    /**
+     * Beschränkt die Abfrage auf Anforderungen mit einer der übergebenen {@link Priority}
+     * 
+     * @param priorities erlaubte {@link Priority}
+     * @return diese Abfrage
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     */
+    public RequirementQuery priority( Priority... priorities )
+        throws IllegalArgumentException
+    {
+        priorityMask &= maskOf( priorities, "priorities" );
+        return this;
+    }
+
+    /**
+     * Beschränkt die Abfrage auf Anforderungen mit einer der übergebenen {@link RequirementKind}
+     * 
+     * @param kinds erlaubte {@link RequirementKind}
+     * @return diese Abfrage
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     */
+    public RequirementQuery kind( RequirementKind... kinds )
+        throws IllegalArgumentException
+    {
+        kindMask &= maskOf( kinds, "kinds" );
+        return this;
+    }
+
+    /**
+     * Beschränkt die Abfrage auf implementierbare Anforderungen mit einem der übergebenen
+     * {@link ImplementState}
+     * 
+     * @param states erlaubte {@link ImplementState}
+     * @return diese Abfrage
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     */
+    public RequirementQuery state( ImplementState... states )
+        throws IllegalArgumentException
+    {
+        stateMask &= maskOf( states, "states" );
+        implementable = true;
+        return this;
+    }
+
+    /**
+     * Beschränkt die Abfrage auf implementierbare Anforderungen, deren {@link ImplementState} nicht
+     * zu den übergebenen gehört
+     * 
+     * @param states ausgeschlossene {@link ImplementState}
+     * @return diese Abfrage
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     */
+    public RequirementQuery notState( ImplementState... states )
+        throws IllegalArgumentException
+    {
+        stateMask &= ~maskOf( states, "states" );
+        implementable = true;
+        return this;
+    }
+
+    /**
+     * Beschränkt die Abfrage auf Anforderungen, deren Schätzung im übergebenen Bereich liegt
+     * 
+     * @param min untere Grenze (einschließlich)
+     * @param max obere Grenze (einschließlich)
+     * @return diese Abfrage
+     */
+    public RequirementQuery estimatedBetween( float min, float max )
+    {
+        minEstimated = Math.max( minEstimated, min );
+        maxEstimated = Math.min( maxEstimated, max );
+        return this;
+    }
+
+    /**
+     * Beschränkt die Abfrage auf Anforderungen des übergebenen Anforderungsstellers
+     * 
+     * @param requester Anforderungssteller
+     * @return diese Abfrage
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     */
+    public RequirementQuery requester( String requester )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, requester ) )
+        {
+            throw new IllegalArgumentException( "null-object as requester is not allowed" );
+        }
+        this.requester = requester;
+        return this;
+    }
+
+    /**
+     * Beschränkt die Abfrage auf implementierbare Anforderungen, welche dem übergebenen
+     * {@link Team} zugewiesen sind
+     * 
+     * @param assignee {@link Team}, {@link Team#UNASSIGNED} für nicht zugewiesene Anforderungen
+     * @return diese Abfrage
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     */
+    public RequirementQuery assignee( Team assignee )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, assignee ) )
+        {
+            throw new IllegalArgumentException( "null-object as assignee is not allowed" );
+        }
+        this.assignee = assignee;
+        implementable = true;
+        return this;
+    }
+
+    /**
+     * Beschränkt die Abfrage auf ein {@link Project}. Andere Projekte werden nicht durchsucht.
+     * 
+     * @param project zu durchsuchendes {@link Project}
+     * @return diese Abfrage
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     */
+    public RequirementQuery project( Project project )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, project ) )
+        {
+            throw new IllegalArgumentException( "null-object as project is not allowed" );
+        }
+        this.project = project;
+        return this;
+    }
+
+    /**
+     * Beschränkt die Abfrage auf Releases, welche sich mit dem übergebenen Zeitraum überschneiden.
+     * Andere Releases werden nicht durchsucht.
+     * 
+     * @param from Beginn des Zeitraums (einschließlich)
+     * @param to Ende des Zeitraums (einschließlich)
+     * @return diese Abfrage
+     * @throws IllegalArgumentException wenn ein Parameter <code>null</code> ist
+     */
+    public RequirementQuery releaseOverlaps( Calendar from, Calendar to )
+        throws IllegalArgumentException
+    {
+        checkRange( from, to );
+        releaseFrom = Math.max( releaseFrom, from.getTimeInMillis() );
+        releaseTo = Math.min( releaseTo, to.getTimeInMillis() );
+        return this;
+    }
+
+    /**
+     * Beschränkt die Abfrage auf Iterationen, welche im übergebenen Zeitraum enden. Andere
+     * Iterationen werden nicht durchsucht.
+     * 
+     * @param from Beginn des Zeitraums (einschließlich)
+     * @param to Ende des Zeitraums (einschließlich)
+     * @return diese Abfrage
+     * @throws IllegalArgumentException wenn ein Parameter <code>null</code> ist
+     */
+    public RequirementQuery iterationEndsBetween( Calendar from, Calendar to )
+        throws IllegalArgumentException
+    {
+        checkRange( from, to );
+        iterationEndFrom = Math.max( iterationEndFrom, from.getTimeInMillis() );
+        iterationEndTo = Math.min( iterationEndTo, to.getTimeInMillis() );
+        return this;
+    }
+
+    /**
+     * Bezieht das Product-Backlog in die Abfrage ein. Anforderungen des Product-Backlogs gehören
+     * zu keinem Release und keiner Iteration und werden daher nur ohne Bedingungen auf Releases
+     * oder Iterationen gefunden.
+     * 
+     * @return diese Abfrage
+     */
+    public RequirementQuery includeProductBacklog()
+    {
+        productBacklog = true;
+        return this;
+    }
+
+    /**
+     * Fügt eine eigene Bedingung hinzu. Eigene Bedingungen werden nach allen anderen Bedingungen
+     * geprüft.
+     * 
+     * @param filter eigene Bedingung
+     * @return diese Abfrage
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     */
+    public RequirementQuery where( IRequirementFilter filter )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, filter ) )
+        {
+            throw new IllegalArgumentException( "null-object as filter is not allowed" );
+        }
+        filters.add( filter );
+        return this;
+    }
+
+    /**
+     * Übersetzt die Abfrage in eine {@link CompiledQuery}. Spätere Änderungen an dieser Abfrage
+     * wirken sich nicht auf die {@link CompiledQuery} aus.
+     * 
+     * @return ausführbare Abfrage
+     */
+    public CompiledQuery compile()
+    {
+        boolean empty =
+            0 == priorityMask || 0 == kindMask || 0 == stateMask || minEstimated > maxEstimated
+                || releaseFrom > releaseTo || iterationEndFrom > iterationEndTo;
+        boolean planRestricted =
+            Long.MIN_VALUE != releaseFrom || Long.MAX_VALUE != releaseTo
+                || Long.MIN_VALUE != iterationEndFrom || Long.MAX_VALUE != iterationEndTo;
+
+        List<IRequirementFilter> plan = new ArrayList<>();
+        if ( !empty )
+        {
+            if ( CompiledQuery.allOf( Priority.values().length ) != priorityMask )
+            {
+                plan.add( new CompiledQuery.PriorityFilter( priorityMask ) );
+            }
+            if ( CompiledQuery.allOf( RequirementKind.values().length ) != kindMask )
+            {
+                plan.add( new CompiledQuery.KindFilter( kindMask ) );
+            }
+            if ( implementable )
+            {
+                plan.add( new CompiledQuery.StateFilter( stateMask ) );
+            }
+            if ( Float.NEGATIVE_INFINITY != minEstimated
+                || Float.POSITIVE_INFINITY != maxEstimated )
+            {
+                plan.add( new CompiledQuery.EstimatedFilter( minEstimated, maxEstimated ) );
+            }
+            if ( null != requester )
+            {
+                plan.add( new CompiledQuery.RequesterFilter( requester ) );
+            }
+            if ( null != assignee )
+            {
+                plan.add( new CompiledQuery.AssigneeFilter( assignee ) );
+            }
+            plan.addAll( filters );
+        }
+
+        return new CompiledQuery( empty, plan.toArray( new IRequirementFilter[plan.size()] ),
+                                  project, releaseFrom, releaseTo, iterationEndFrom,
+                                  iterationEndTo, productBacklog && !planRestricted );
+    }
+
+    private static int maskOf( Enum<?>[] values, String name )
+    {
+        if ( ObjectUtils.equals( null, values ) )
+        {
+            throw new IllegalArgumentException( "null-object as " + name + " is not allowed" );
+        }
+        int mask = 0;
+        for ( Enum<?> value : values )
+        {
+            if ( ObjectUtils.equals( null, value ) )
+            {
+                throw new IllegalArgumentException( "null-object in " + name + " is not allowed" );
+            }
+            mask |= 1 << value.ordinal();
+        }
+        return mask;
+    }
+
+    private static void checkRange( Calendar from, Calendar to )
+    {
+        if ( ObjectUtils.equals( null, from ) || ObjectUtils.equals( null, to ) )
+        {
+            throw new IllegalArgumentException( "null-object as range is not allowed" );
+        }
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.requirement;
+
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlTransient;
+
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import com.github.jgility.core.event.ChangeKind;
+import com.github.jgility.core.event.ModelEventBus;
+import com.github.jgility.core.util.EqualsUtils;
+import com.github.jgility.core.util.IVersionable;
+
+/**
+ * Gemeinsame Grundlage von {@link ProductStory} und {@link CompactProductStory}. Enthält
+ * Nummer, Titel, Beschreibung, Schätzung, Anforderungssteller und Version samt Prüfung und
+ * Ereignissen. Erstellungsdatum, Priorität und Anforderungsart legen die Unterklassen selbst ab.
+ * <br>
+ * Der Titel wird in den Konstruktoren zuletzt gesetzt, solange er <code>null</code> ist, werden
+ * keine Ereignisse veröffentlicht. Per JAXB werden die Felder als Teil der Unterklassen abgelegt.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+@XmlTransient
+@XmlAccessorType( XmlAccessType.FIELD )
+abstract class AbstractProductStory
+    implements IProductRequirement, IVersionable
+{
+
+    private static final AtomicLongFieldUpdater<AbstractProductStory> VERSION_UPDATER =
+        AtomicLongFieldUpdater.newUpdater( AbstractProductStory.class, "version" );
+
+    private int id;
+
+    private String title;
+
+    private String description;
+
+    private float estimated;
+
+    private String requester;
+
+    @XmlAttribute
+    private volatile long version;
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.requirement.IRequirement#getID()
+     */
+    @Override
+    public int getID()
+    {
+        return id;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.requirement.IRequirement#setID(int id)
+     */
+    @Override
+    public void setID( int id )
+        throws IllegalArgumentException
+    {
+        if ( 0 == this.id )
+        {
+            if ( 0 <= id )
+            {
+                this.id = id;
+            }
+            else
+            {
+                throw new IllegalArgumentException( "neative id is not allowed" );
+            }
+        }
+        else
+        {
+            throw new IllegalArgumentException( "change of initialize requirements-id is "
+                + "not allowed" );
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.requirement.IRequirement#getTitle()
+     */
+    @Override
+    public String getTitle()
+    {
+        return title;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.requirement.IRequirement#setTitle(java.lang.String)
+     */
+    @Override
+    public void setTitle( String title )
+        throws IllegalArgumentException
+    {
+        if ( StringUtils.isNotBlank( title ) )
+        {
+            String oldTitle = this.title;
+            this.title = title;
+            if ( null != oldTitle && !oldTitle.equals( title ) )
+            {
+                ModelEventBus.getDefault().publish( this, ChangeKind.UPDATED, "title", title );
+            }
+        }
+        else
+        {
+            throw new IllegalArgumentException( "title has to be not blank!" );
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.requirement.IRequirement#getDescription()
+     */
+    @Override
+    public String getDescription()
+    {
+        return description;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.requirement.IRequirement#setDescription(java.lang.String)
+     */
+    @Override
+    public void setDescription( String description )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.notEqual( null, description ) )
+        {
+            String oldDescription = this.description;
+            this.description = description;
+            if ( null != oldDescription && !oldDescription.equals( description ) )
+            {
+                ModelEventBus.getDefault().publish( this, ChangeKind.UPDATED, "description",
+                                                    description );
+            }
+        }
+        else
+        {
+            throw new IllegalArgumentException( "description has to be not null!" );
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.requirement.IRequirement#getRequester()
+     */
+    @Override
+    public String getRequester()
+    {
+        return requester;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.requirement.IRequirement#setRequester(java.lang.String)
+     */
+    @Override
+    public void setRequester( String requester )
+        throws IllegalArgumentException
+    {
+        if ( StringUtils.isNotBlank( requester ) )
+        {
+            this.requester = requester;
+        }
+        else
+        {
+            throw new IllegalArgumentException( "requester has to be not blank!" );
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.requirement.IEffort#getEstimated()
+     */
+    @Override
+    public float getEstimated()
+    {
+        return estimated;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.requirement.IEffort#setEstimated(float estimated)
+     */
+    @Override
+    public void setEstimated( float estimated )
+        throws IllegalArgumentException
+    {
+        if ( 0.0f <= estimated )
+        {
+            float oldEstimated = this.estimated;
+            this.estimated = estimated;
+            // der Titel wird im Konstruktor zuletzt gesetzt
+            if ( null != title && oldEstimated != estimated )
+            {
+                ModelEventBus.getDefault().publish( this, ChangeKind.UPDATED, "estimated",
+                                                    estimated );
+            }
+        }
+        else
+        {
+            throw new IllegalArgumentException( "negativ estimate is not allowed!" );
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.util.IVersionable#getVersion()
+     */
+    @Override
+    public long getVersion()
+    {
+        return version;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.util.IVersionable#compareAndSetVersion(long, long)
+     */
+    @Override
+    public boolean compareAndSetVersion( long expectedVersion, long newVersion )
+    {
+        return VERSION_UPDATER.compareAndSet( this, expectedVersion, newVersion );
+    }
+
+    /*
+     * Hashwert der gemeinsamen Felder für hashCode der Unterklassen
+     */
+    int hashStory()
+    {
+        int hash = id;
+        hash = EqualsUtils.PRIME * hash + ObjectUtils.hashCode( title );
+        hash = EqualsUtils.PRIME * hash + ObjectUtils.hashCode( description );
+        hash = EqualsUtils.PRIME * hash + Float.floatToIntBits( estimated );
+        return EqualsUtils.PRIME * hash + ObjectUtils.hashCode( requester );
+    }
+
+    /*
+     * Vergleicht die gemeinsamen Felder für equals der Unterklassen
+     */
+    boolean equalsStory( AbstractProductStory story )
+    {
+        return id == story.id && ObjectUtils.equals( title, story.title )
+            && ObjectUtils.equals( description, story.description )
+            && Float.floatToIntBits( estimated ) == Float.floatToIntBits( story.estimated )
+            && ObjectUtils.equals( requester, story.requester );
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.requirement;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+
+import javax.xml.bind.Unmarshaller;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlTransient;
+import javax.xml.bind.annotation.XmlType;
+
+import org.apache.commons.lang3.ObjectUtils;
+
+import com.github.jgility.core.event.ChangeKind;
+import com.github.jgility.core.event.ModelEventBus;
+import com.github.jgility.core.util.EqualsUtils;
+
+/**
+ * Speichersparende Variante der {@link ProductStory} für sehr große Product-Backlogs. Das
+ * Erstellungsdatum wird als Zeitstempel statt als {@link Calendar} gehalten, der
+ * Anforderungssteller wird über {@link String#intern()} geteilt und {@link Priority} sowie
+ * {@link RequirementKind} werden gemeinsam in einem <code>byte</code> abgelegt.<br>
+ * {@link #getCreateDate()} liefert daher bei jedem Aufruf einen neuen {@link Calendar}. Per JAXB
+ * wird das Erstellungsdatum wie bei der {@link ProductStory} als Datum abgelegt. Der tatsächliche
+ * Aufwand wird beim Kopieren einer Anforderung übernommen.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+@XmlRootElement
+@XmlType( propOrder = { "id", "title", "description", "createDateValue", "estimated",
+    "effective", "priorityValue", "requester", "requirementKindValue" } )
+@XmlAccessorType( XmlAccessType.FIELD )
+public class CompactProductStory
+    extends AbstractProductStory
+{
+
+    private static final Priority[] PRIORITIES = Priority.values();
+
+    private static final RequirementKind[] KINDS = RequirementKind.values();
+
+    private static final int KIND_SHIFT = 4;
+
+    private static final int PRIORITY_MASK = ( 1 << KIND_SHIFT ) - 1;
+
+    @XmlTransient
+    private long createDate;
+
+    private float effective;
+
+    @XmlTransient
+    private byte kinds;
+
+    /**
+     * Instanziiert ein Objekt der Klasse {@link CompactProductStory} mit den Standard-Werten von
+     * {@link ProductStory#ProductStory()}
+     */
+    public CompactProductStory()
+    {
+        this( 0, "Default", "Default", 0, Priority.MINOR, "Nobody", RequirementKind.USER_STORY );
+    }
+
+    /**
+     * Instanziiert auf Basis der Parameter ein Objekt der Klasse {@link CompactProductStory}
+     * 
+     * @param id ein-eindeutige Anforderungsnummer
+     * @param title Titel der Anforderung
+     * @param description Beschreibung der Anforderung
+     * @param estimated Geschätzte Zeit für Problemlösung der Anforderung
+     * @param priority Priorität der Anforderung
+     * @param requester Anforderungsstelle der Anforderung
+     * @param requirementKind Anforderungsart
+     * @throws IllegalArgumentException wenn einer der Parameter keinen gültigen Bereich unterliegt
+     */
+    public CompactProductStory( int id, String title, String description, float estimated,
+                                Priority priority, String requester,
+                                RequirementKind requirementKind )
+        throws IllegalArgumentException
+    {
+        this( id, title, description, estimated, priority, requester, requirementKind,
+              System.currentTimeMillis() );
+    }
+
+    /**
+     * Instanziiert eine {@link CompactProductStory} als Kopie einer bestehenden Anforderung. Das
+     * Erstellungsdatum und der tatsächliche Aufwand werden übernommen.
+     * 
+     * @param requirement zu kopierende Anforderung
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     */
+    public CompactProductStory( IRequirement requirement )
+        throws IllegalArgumentException
+    {
+        this( checkRequirement( requirement ).getID(), requirement.getTitle(),
+              requirement.getDescription(), requirement.getEstimated(), requirement.getPriority(),
+              requirement.getRequester(), requirement.getRequirementKind(),
+              requirement.getCreateDate().getTimeInMillis() );
+        effective = requirement.getEffective();
+    }
+
+    private CompactProductStory( int id, String title, String description, float estimated,
+                                 Priority priority, String requester,
+                                 RequirementKind requirementKind, long createDate )
+        throws IllegalArgumentException
+    {
+        setID( id );
+        setDescription( description );
+        setEstimated( estimated );
+        setPriority( priority );
+        setRequester( requester );
+        setRequirementKind( requirementKind );
+        setTitle( title );
+        this.createDate = createDate;
+    }
+
+    private static IRequirement checkRequirement( IRequirement requirement )
+    {
+        if ( ObjectUtils.equals( null, requirement ) )
+        {
+            throw new IllegalArgumentException( "null-object as requirement is not allowed" );
+        }
+        return requirement;
+    }
+
+    /**
+     * Gibt das Erstellungsdatum als neuen {@link Calendar} zurück
+     * 
+     * @see com.github.jgility.core.requirement.IRequirement#getCreateDate()
+     */
+    @Override
+    public Calendar getCreateDate()
+    {
+        Calendar calendar = new GregorianCalendar();
+        calendar.setTimeInMillis( createDate );
+        return calendar;
+    }
+
+    /**
+     * Gibt das Erstellungsdatum als Zeitstempel zurück
+     * 
+     * @return Millisekunden seit 01.01.1970 UTC
+     */
+    public long getCreateTime()
+    {
+        return createDate;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.requirement.IRequirement#getPriority()
+     */
+    @Override
+    public Priority getPriority()
+    {
+        return PRIORITIES[kinds & PRIORITY_MASK];
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see
+     * com.github.jgility.core.requirement.IRequirement#setPriority(com.github.jgility.core.requirement
+     * .Priority)
+     */
+    @Override
+    public void setPriority( Priority priority )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.notEqual( null, priority ) )
+        {
+            int oldKinds = kinds;
+            kinds = (byte) ( ( kinds & ~PRIORITY_MASK ) | priority.ordinal() );
+            // der Titel wird im Konstruktor zuletzt gesetzt
+            if ( null != getTitle() && oldKinds != kinds )
+            {
+                ModelEventBus.getDefault().publish( this, ChangeKind.UPDATED, "priority",
+                                                    priority );
+            }
+        }
+        else
+        {
+            throw new IllegalArgumentException( "priority has to be not null!" );
+        }
+    }
+
+    /**
+     * Setzt den Anforderungssteller, welcher über {@link String#intern()} geteilt wird
+     * 
+     * @see com.github.jgility.core.requirement.IRequirement#setRequester(java.lang.String)
+     */
+    @Override
+    public void setRequester( String requester )
+        throws IllegalArgumentException
+    {
+        super.setRequester( null == requester ? null : requester.intern() );
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.requirement.IRequirement#getRequirementKind()
+     */
+    @Override
+    public RequirementKind getRequirementKind()
+    {
+        return KINDS[( kinds & 0xff ) >>> KIND_SHIFT];
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see
+     * com.github.jgility.core.requirement.IRequirement#setRequirementKind(com.github.jgility.core
+     * .requirement.RequirementKind)
+     */
+    @Override
+    public void setRequirementKind( RequirementKind requirementKind )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.notEqual( null, requirementKind ) )
+        {
+            kinds = (byte) ( ( kinds & PRIORITY_MASK ) | requirementKind.ordinal() << KIND_SHIFT );
+        }
+        else
+        {
+            throw new IllegalArgumentException( "kind of requirement has to be not null!" );
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.requirement.IEffort#getEffective()
+     */
+    @Override
+    public float getEffective()
+    {
+        return effective;
+    }
+
+    @SuppressWarnings( "unused" )
+    private void afterUnmarshal( Unmarshaller unmarshaller, Object parent )
+    {
+        if ( null != getRequester() )
+        {
+            setRequester( getRequester() );
+        }
+    }
+
+    /*
+     * Das Erstellungsdatum wird per JAXB wie bei der ProductStory als Calendar abgelegt
+     */
+    @XmlElement( name = "createDate" )
+    private Calendar getCreateDateValue()
+    {
+        return getCreateDate();
+    }
+
+    @SuppressWarnings( "unused" )
+    private void setCreateDateValue( Calendar createDate )
+    {
+        this.createDate = createDate.getTimeInMillis();
+    }
+
+    /*
+     * Priorität und Anforderungsart werden per JAXB mit ihrem Namen abgelegt
+     */
+    @XmlElement( name = "priority" )
+    private Priority getPriorityValue()
+    {
+        return getPriority();
+    }
+
+    @SuppressWarnings( "unused" )
+    private void setPriorityValue( Priority priority )
+    {
+        setPriority( priority );
+    }
+
+    @XmlElement( name = "requirementKind" )
+    private RequirementKind getRequirementKindValue()
+    {
+        return getRequirementKind();
+    }
+
+    @SuppressWarnings( "unused" )
+    private void setRequirementKindValue( RequirementKind requirementKind )
+    {
+        setRequirementKind( requirementKind );
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString()
+    {
+        return "CompactProductStory [id=" + getID() + ", title=" + getTitle() + ", description="
+            + getDescription() + ", createDate=" + createDate + ", estimated=" + getEstimated()
+            + ", effective=" + effective + ", priority=" + getPriority() + ", requester="
+            + getRequester() + ", requirementKind=" + getRequirementKind() + "]";
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int hash = hashStory();
+        hash = EqualsUtils.PRIME * hash + (int) ( createDate ^ ( createDate >>> 32 ) );
+        hash = EqualsUtils.PRIME * hash + Float.floatToIntBits( effective );
+        return EqualsUtils.PRIME * hash + kinds;
+    }
+
+    @Override
+    public boolean equals( Object obj )
+    {
+        if ( obj instanceof CompactProductStory )
+        {
+            CompactProductStory story = (CompactProductStory) obj;
+            return createDate == story.createDate && kinds == story.kinds
+                && Float.floatToIntBits( effective ) == Float.floatToIntBits( story.effective )
+                && equalsStory( story );
+        }
+        return false;
+    }
+}
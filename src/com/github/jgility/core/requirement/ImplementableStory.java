@@ -17,10 +17,11 @@ import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlRootElement;
 
 import org.apache.commons.lang3.ObjectUtils;
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
 
+import com.github.jgility.core.event.ChangeKind;
+import com.github.jgility.core.event.ModelEventBus;
 import com.github.jgility.core.project.Team;
+import com.github.jgility.core.util.EqualsUtils;
 
 /**
  * Konkrete Klasse für {@link IImplementableRequirement}. Erbt Methoden von {@link ProductStory}
@@ -36,6 +37,9 @@ public class ImplementableStory
 
     private ImplementState implementState;
 
+    /*
+     * null steht für Team#UNASSIGNED, damit nicht jede Anforderung ein eigenes Team benötigt
+     */
     private Team team;
 
     /**
@@ -79,7 +83,6 @@ public class ImplementableStory
     {
         super( id, title, description, estimated, priority, requester, requirementKind );
         setImplementState( implementState );
-        team = new Team( String.valueOf( id ) + "-" + title );
     }
 
     /*
@@ -98,7 +101,13 @@ public class ImplementableStory
     {
         if ( ObjectUtils.notEqual( null, implementState ) )
         {
+            ImplementState oldState = this.implementState;
             this.implementState = implementState;
+            if ( null != oldState && oldState != implementState )
+            {
+                ModelEventBus.getDefault().publish( this, ChangeKind.UPDATED, "implementState",
+                                                    implementState );
+            }
         }
         else
         {
@@ -106,10 +115,16 @@ public class ImplementableStory
         }
     }
 
+    /**
+     * Gibt das zugewiesene {@link Team} zurück
+     * 
+     * @return zugewiesenes {@link Team} oder {@link Team#UNASSIGNED}, wenn kein Team zugewiesen ist
+     * @see com.github.jgility.core.requirement.IImplementableRequirement#getAssignee()
+     */
     @Override
     public Team getAssignee()
     {
-        return team;
+        return null == team ? Team.UNASSIGNED : team;
     }
 
     @Override
@@ -118,7 +133,13 @@ public class ImplementableStory
     {
         if ( ObjectUtils.notEqual( null, assignee ) )
         {
-            team = assignee;
+            Team oldTeam = team;
+            team = Team.UNASSIGNED == assignee ? null : assignee;
+            if ( oldTeam != team )
+            {
+                ModelEventBus.getDefault().publish( this, ChangeKind.UPDATED, "assignee",
+                                                    assignee );
+            }
         }
         else
         {
@@ -133,7 +154,7 @@ public class ImplementableStory
     @Override
     public String toString()
     {
-        return "ImplementableStory [implementState=" + implementState + ", team=" + team
+        return "ImplementableStory [implementState=" + implementState + ", team=" + getAssignee()
             + ", getID()=" + getID() + ", getTitle()=" + getTitle() + ", getDescription()="
             + getDescription() + ", getCreateDate()=" + getCreateDate() + ", getPriority()="
             + getPriority() + ", getRequester()=" + getRequester() + ", getRequirementKind()="
@@ -144,11 +165,8 @@ public class ImplementableStory
     @Override
     public int hashCode()
     {
-        HashCodeBuilder builder = new HashCodeBuilder();
-        builder.append( super.hashCode() );
-        builder.append( implementState );
-        builder.append( team );
-        return builder.toHashCode();
+        int hash = EqualsUtils.PRIME * super.hashCode() + ObjectUtils.hashCode( implementState );
+        return EqualsUtils.PRIME * hash + ObjectUtils.hashCode( team );
     }
 
     @Override
@@ -157,10 +175,8 @@ public class ImplementableStory
         if ( obj instanceof ImplementableStory )
         {
             ImplementableStory story = (ImplementableStory) obj;
-            EqualsBuilder builder = new EqualsBuilder();
-            builder.append( implementState, story.implementState );
-            builder.append( team, story.team );
-            return builder.isEquals() && super.equals( obj );
+            return implementState == story.implementState
+                && ObjectUtils.equals( team, story.team ) && super.equals( obj );
         }
 
         return false;
@@ -23,8 +23,8 @@ import javax.xml.bind.annotation.XmlElementWrapper;
 import javax.xml.bind.annotation.XmlRootElement;
 
 import org.apache.commons.lang3.ObjectUtils;
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import com.github.jgility.core.util.EqualsUtils;
 
 /**
  * @author Karsten Schulz <lennylinux.ks@googlemail.com>
@@ -208,11 +208,9 @@ public class IterationStory
     @Override
     public int hashCode()
     {
-        HashCodeBuilder builder = new HashCodeBuilder();
-        builder.append( dependencies );
-        builder.append( tasks );
-        builder.append( super.hashCode() );
-        return builder.toHashCode();
+        int hash = EqualsUtils.hashCode( dependencies );
+        hash = EqualsUtils.PRIME * hash + EqualsUtils.hashCode( tasks );
+        return EqualsUtils.PRIME * hash + super.hashCode();
     }
 
     @Override
@@ -221,10 +219,8 @@ public class IterationStory
         if ( obj instanceof IterationStory )
         {
             IterationStory story = (IterationStory) obj;
-            EqualsBuilder builder = new EqualsBuilder();
-            builder.append( tasks, story.tasks );
-            builder.append( dependencies, story.dependencies );
-            return builder.isEquals() && super.equals( obj );
+            return EqualsUtils.equals( tasks, story.tasks )
+                && EqualsUtils.equals( dependencies, story.dependencies ) && super.equals( obj );
         }
         return super.equals( obj );
     }
@@ -14,15 +14,17 @@ package com.github.jgility.core.requirement;
 
 import java.util.Calendar;
 
+import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlRootElement;
 import javax.xml.bind.annotation.XmlType;
 
 import org.apache.commons.lang3.ObjectUtils;
-import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+import com.github.jgility.core.event.ChangeKind;
+import com.github.jgility.core.event.ModelEventBus;
+import com.github.jgility.core.util.EqualsUtils;
 
 /**
  * Konkrete Klasse für grobe Erfassung einer Anforderung. Implementiert das Marker-Interface
@@ -35,23 +37,13 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
     "requester", "requirementKind" } )
 @XmlAccessorType( XmlAccessType.FIELD )
 public class ProductStory
-    implements IProductRequirement
+    extends AbstractProductStory
 {
 
-    private int id;
-
-    private String title;
-
-    private String description;
-
     private final Calendar createDate;
 
-    private float estimated;
-
     private Priority priority;
 
-    private String requester;
-
     private RequirementKind requirementKind;
 
     /**
@@ -96,98 +88,41 @@ public class ProductStory
         createDate = Calendar.getInstance();
     }
 
-    /*
-     * (non-Javadoc)
-     * @see com.github.jgility.core.requirement.IRequirement#getID()
-     */
-    @Override
-    public int getID()
-    {
-        return id;
-    }
-
-    /*
-     * (non-Javadoc)
-     * @see com.github.jgility.core.requirement.IRequirement#setID(int id)
-     */
-    @Override
-    public void setID( int id )
-        throws IllegalArgumentException
-    {
-        if ( 0 == this.id )
-        {
-            if ( 0 <= id )
-            {
-                this.id = id;
-            }
-            else
-            {
-                throw new IllegalArgumentException( "neative id is not allowed" );
-            }
-        }
-        else
-        {
-            throw new IllegalArgumentException( "change of initialize requirements-id is "
-                + "not allowed" );
-        }
-    }
-
-    /*
-     * (non-Javadoc)
-     * @see com.github.jgility.core.requirement.IRequirement#getTitle()
-     */
-    @Override
-    public String getTitle()
-    {
-        return title;
-    }
-
-    /*
-     * (non-Javadoc)
-     * @see com.github.jgility.core.requirement.IRequirement#setTitle(java.lang.String)
-     */
-    @Override
-    public void setTitle( String title )
-        throws IllegalArgumentException
-    {
-        if ( StringUtils.isNotBlank( title ) )
-        {
-            this.title = title;
-        }
-        else
-        {
-            throw new IllegalArgumentException( "title has to be not blank!" );
-        }
-
-    }
-
-    /*
-     * (non-Javadoc)
-     * @see com.github.jgility.core.requirement.IRequirement#getDescription()
-     */
-    @Override
-    public String getDescription()
-    {
-        return description;
-    }
-
-    /*
-     * (non-Javadoc)
-     * @see com.github.jgility.core.requirement.IRequirement#setDescription(java.lang.String)
+    /**
+     * Instanziiert auf Basis der Parameter ein Objekt der Klasse {@link ProductStory} mit
+     * übergebenem Erstellungsdatum. Der {@link Calendar} wird kopiert, so dass z.B. beim Import
+     * eine Vorlage wiederverwendet werden kann.
+     * 
+     * @param id ein-eindeutige Anforderungsnummer
+     * @param title Titel der Anforderung
+     * @param description Beschreibung der Anforderung
+     * @param estimated Geschätzte Zeit für Problemlösung der Anforderung
+     * @param priority Priorität der Anforderung
+     * @param requester Anforderungsstelle der Anforderung
+     * @param requirementKind Anforderungsart
+     * @param createDate Erstellungsdatum der Anforderung
+     * @throws IllegalArgumentException wenn einer der Parameter keinen gültigen Bereich unterliegt
      */
-    @Override
-    public void setDescription( String description )
+    public ProductStory( int id, String title, String description, float estimated,
+                         Priority priority, String requester, RequirementKind requirementKind,
+                         Calendar createDate )
         throws IllegalArgumentException
     {
-        if ( ObjectUtils.notEqual( null, description ) )
-        {
-            this.description = description;
-        }
-        else
+        if ( ObjectUtils.equals( null, createDate ) )
         {
-            throw new IllegalArgumentException( "description has to be not null!" );
+            throw new IllegalArgumentException( "null-object as createDate is not allowed" );
         }
-
+        setID( id );
+        setDescription( description );
+        setEstimated( estimated );
+        setPriority( priority );
+        setRequester( requester );
+        setRequirementKind( requirementKind );
+        setTitle( title );
+        this.createDate = (Calendar) createDate.clone();
+        // berechnet den Zeitpunkt der Kopie vorab, damit Calendar#equals und Calendar#hashCode
+        // keine Kopie anlegen und lesende Threads den Calendar nicht nachträglich verändern
+        this.createDate.getTimeInMillis();
     }
 
     /*
@@ -222,7 +157,13 @@ public class ProductStory
     {
         if ( ObjectUtils.notEqual( null, priority ) )
         {
+            Priority oldPriority = this.priority;
             this.priority = priority;
+            if ( null != oldPriority && oldPriority != priority )
+            {
+                ModelEventBus.getDefault().publish( this, ChangeKind.UPDATED, "priority",
+                                                    priority );
+            }
         }
         else
         {
@@ -230,34 +171,6 @@ public class ProductStory
         }
     }
 
-    /*
-     * (non-Javadoc)
-     * @see com.github.jgility.core.requirement.IRequirement#getRequester()
-     */
-    @Override
-    public String getRequester()
-    {
-        return requester;
-    }
-
-    /*
-     * (non-Javadoc)
-     * @see com.github.jgility.core.requirement.IRequirement#setRequester(java.lang.String)
-     */
-    @Override
-    public void setRequester( String requester )
-        throws IllegalArgumentException
-    {
-        if ( StringUtils.isNotBlank( requester ) )
-        {
-            this.requester = requester;
-        }
-        else
-        {
-            throw new IllegalArgumentException( "requester has to be not blank!" );
-        }
-    }
-
     /*
      * (non-Javadoc)
      * @see com.github.jgility.core.requirement.IRequirement#getRequirementKind()
@@ -288,16 +201,6 @@ public class ProductStory
         }
     }
 
-    /*
-     * (non-Javadoc)
-     * @see com.github.jgility.core.requirement.IEffort#getEstimated()
-     */
-    @Override
-    public float getEstimated()
-    {
-        return estimated;
-    }
-
     /*
      * (non-Javadoc)
      * @see com.github.jgility.core.requirement.IEffort#getEffective()
@@ -309,20 +212,15 @@ public class ProductStory
     }
 
     /*
-     * (non-Javadoc)
-     * @see com.github.jgility.core.requirement.IEffort#setEstimated(float estimated)
+     * Der per JAXB eingelesene Calendar besitzt noch keinen berechneten Zeitpunkt, so dass
+     * Calendar#equals und Calendar#hashCode bei jedem Aufruf eine Kopie anlegen würden
      */
-    @Override
-    public void setEstimated( float estimated )
-        throws IllegalArgumentException
+    @SuppressWarnings( "unused" )
+    private void afterUnmarshal( Unmarshaller unmarshaller, Object parent )
     {
-        if ( 0.0f <= estimated )
-        {
-            this.estimated = estimated;
-        }
-        else
+        if ( null != createDate )
         {
-            throw new IllegalArgumentException( "negativ estimate is not allowed!" );
+            createDate.getTimeInMillis();
         }
     }
 
@@ -333,24 +231,20 @@ public class ProductStory
     @Override
     public String toString()
     {
-        return "ProductStory [id=" + id + ", title=" + title + ", description=" + description
-            + ", createDate=" + createDate + ", estimated=" + estimated + ", priority=" + priority
-            + ", requester=" + requester + ", requirementKind=" + requirementKind + "]";
+        return "ProductStory [id=" + getID() + ", title=" + getTitle() + ", description="
+            + getDescription() + ", createDate=" + createDate + ", estimated=" + getEstimated()
+            + ", priority=" + priority + ", requester=" + getRequester() + ", requirementKind="
+            + requirementKind + "]";
     }
 
     @Override
     public int hashCode()
     {
-        HashCodeBuilder builder = new HashCodeBuilder();
-        builder.append( id );
-        builder.append( title );
-        builder.append( description );
-        builder.append( createDate );
-        builder.append( estimated );
-        builder.append( priority );
-        builder.append( requester );
-        builder.append( requirementKind );
-        return builder.toHashCode();
+        int hash = hashStory();
+        hash = EqualsUtils.PRIME * hash + ObjectUtils.hashCode( createDate );
+        hash = EqualsUtils.PRIME * hash + ObjectUtils.hashCode( priority );
+        hash = EqualsUtils.PRIME * hash + ObjectUtils.hashCode( requirementKind );
+        return hash;
     }
 
     @Override
@@ -359,16 +253,8 @@ public class ProductStory
         if ( obj instanceof ProductStory )
         {
             ProductStory story = (ProductStory) obj;
-            EqualsBuilder builder = new EqualsBuilder();
-            builder.append( id, story.id );
-            builder.append( title, story.title );
-            builder.append( description, story.description );
-            builder.append( createDate, story.createDate );
-            builder.append( estimated, story.estimated );
-            builder.append( priority, story.priority );
-            builder.append( requester, story.requester );
-            builder.append( requirementKind, story.requirementKind );
-            return builder.isEquals();
+            return equalsStory( story ) && ObjectUtils.equals( createDate, story.createDate )
+                && priority == story.priority && requirementKind == story.requirementKind;
         }
         return false;
     }
@@ -0,0 +1,634 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.apache.commons.lang3.ObjectUtils;
+
+import com.github.jgility.core.event.ChangeKind;
+import com.github.jgility.core.event.IModelListener;
+import com.github.jgility.core.event.ModelEvent;
+import com.github.jgility.core.event.ModelEventBus;
+import com.github.jgility.core.planning.Backlog;
+import com.github.jgility.core.requirement.IRequirement;
+
+/**
+ * Invertierter Index über Titel und Beschreibung der Anforderungen eines oder mehrerer
+ * {@link Backlog}s. Texte werden an allen Zeichen außer Buchstaben und Ziffern in Wörter zerlegt
+ * und ohne Beachtung der Groß- und Kleinschreibung abgelegt.<br>
+ * Der Index registriert sich beim {@link ModelEventBus} und folgt Hinzufügen und Entfernen von
+ * Anforderungen der indizierten {@link Backlog}s sowie Änderungen an Titel und Beschreibung, ohne
+ * den Bestand erneut zu durchsuchen. Anforderungen, welche in mehreren indizierten {@link Backlog}s
+ * enthalten sind, werden nur einmal geführt.<br>
+ * Suchen und Änderungen dürfen aus verschiedenen Threads erfolgen.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public class RequirementIndex
+    implements IModelListener
+{
+
+    /**
+     * Gewichtung eines Treffers im Titel gegenüber einem Treffer in der Beschreibung
+     */
+    public static final int TITLE_WEIGHT = 3;
+
+    private static final char PREFIX = '*';
+
+    private final ModelEventBus eventBus;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final NavigableMap<String, Posting> terms = new TreeMap<>();
+
+    private final Map<IRequirement, Document> documents = new IdentityHashMap<>();
+
+    private final Set<Object> backlogs =
+        Collections.newSetFromMap( new IdentityHashMap<Object, Boolean>() );
+
+    /**
+     * Instanziiert einen leeren {@link RequirementIndex}, welcher den Änderungen des
+     * Standard-{@link ModelEventBus} folgt
+     */
+    public RequirementIndex()
+    {
+        this( ModelEventBus.getDefault() );
+    }
+
+    /**
+     * Instanziiert einen leeren {@link RequirementIndex}, welcher den Änderungen des übergebenen
+     * {@link ModelEventBus} folgt
+     * 
+     * @param eventBus {@link ModelEventBus}, über welchen die Änderungen mitgeteilt werden
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     */
+    public RequirementIndex( ModelEventBus eventBus )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, eventBus ) )
+        {
+            throw new IllegalArgumentException( "null-object as eventBus is not allowed" );
+        }
+        this.eventBus = eventBus;
+        eventBus.addListener( this );
+    }
+
+    /**
+     * Nimmt alle Anforderungen des übergebenen {@link Backlog} in den Index auf und folgt
+     * anschließend dessen Änderungen
+     * 
+     * @param backlog zu indizierendes {@link Backlog}
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     */
+    public void index( Backlog<? extends IRequirement> backlog )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, backlog ) )
+        {
+            throw new IllegalArgumentException( "null-object as backlog is not allowed" );
+        }
+
+        lock.writeLock().lock();
+        try
+        {
+            if ( backlogs.add( backlog ) )
+            {
+                for ( IRequirement requirement : backlog.getRequirementList() )
+                {
+                    add( requirement );
+                }
+            }
+        }
+        finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Entfernt alle Anforderungen des übergebenen {@link Backlog} aus dem Index und folgt dessen
+     * Änderungen nicht mehr
+     * 
+     * @param backlog zu entfernendes {@link Backlog}
+     * @return <code>true</code> wenn das {@link Backlog} indiziert war
+     */
+    public boolean unindex( Backlog<? extends IRequirement> backlog )
+    {
+        lock.writeLock().lock();
+        try
+        {
+            if ( !backlogs.remove( backlog ) )
+            {
+                return false;
+            }
+            for ( IRequirement requirement : backlog.getRequirementList() )
+            {
+                remove( requirement );
+            }
+            return true;
+        }
+        finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gibt die Anzahl der indizierten Anforderungen zurück
+     * 
+     * @return Anzahl der Anforderungen
+     */
+    public int size()
+    {
+        lock.readLock().lock();
+        try
+        {
+            return documents.size();
+        }
+        finally
+        {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sucht Anforderungen, deren Titel oder Beschreibung alle Wörter der Suche enthalten. Ein
+     * Wort mit abschließendem <code>*</code> findet alle Wörter mit diesem Anfang. Treffer im
+     * Titel werden mit {@link #TITLE_WEIGHT} gewichtet, seltene Wörter stärker als häufige.
+     * 
+     * @param query Suchbegriffe
+     * @param limit maximale Anzahl an Ergebnissen
+     * @return Anforderungen absteigend nach Relevanz, bei gleicher Relevanz aufsteigend nach
+     *         Anforderungsnummer
+     * @throws IllegalArgumentException wenn die Suche <code>null</code> oder das Limit nicht
+     *             positiv ist
+     */
+    public List<IRequirement> search( String query, int limit )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, query ) )
+        {
+            throw new IllegalArgumentException( "null-object as query is not allowed" );
+        }
+        if ( limit <= 0 )
+        {
+            throw new IllegalArgumentException( "limit has to be positive: " + limit );
+        }
+
+        List<String> words = new ArrayList<>();
+        List<Boolean> prefixes = new ArrayList<>();
+        parseQuery( query, words, prefixes );
+        if ( words.isEmpty() )
+        {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try
+        {
+            // das seltenste Wort bestimmt die Kandidaten, alle weiteren Wörter werden nur noch
+            // an den Wörtern der Kandidaten geprüft
+            int rarest = 0;
+            int rarestCount = Integer.MAX_VALUE;
+            for ( int i = 0; i < words.size(); i++ )
+            {
+                int count = 0;
+                for ( Posting posting : postings( words.get( i ), prefixes.get( i ) ) )
+                {
+                    count += posting.live();
+                }
+                if ( count < rarestCount )
+                {
+                    rarest = i;
+                    rarestCount = count;
+                }
+            }
+
+            Map<Document, float[]> scores = score( words.get( rarest ), prefixes.get( rarest ) );
+            for ( int i = 0; i < words.size() && !scores.isEmpty(); i++ )
+            {
+                if ( i == rarest )
+                {
+                    continue;
+                }
+                Iterator<Map.Entry<Document, float[]>> iterator = scores.entrySet().iterator();
+                while ( iterator.hasNext() )
+                {
+                    Map.Entry<Document, float[]> entry = iterator.next();
+                    float score = score( entry.getKey(), words.get( i ), prefixes.get( i ) );
+                    if ( 0 == score )
+                    {
+                        iterator.remove();
+                    }
+                    else
+                    {
+                        entry.getValue()[0] += score;
+                    }
+                }
+            }
+            return top( scores, limit );
+        }
+        finally
+        {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Entfernt den Index vom {@link ModelEventBus}. Der Index kann weiterhin durchsucht werden,
+     * folgt aber keinen Änderungen mehr.
+     */
+    public void close()
+    {
+        eventBus.removeListener( this );
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.event.IModelListener#modelChanged(java.util.List)
+     */
+    @Override
+    public void modelChanged( List<ModelEvent> events )
+    {
+        lock.writeLock().lock();
+        try
+        {
+            for ( ModelEvent event : events )
+            {
+                Object source = event.getSource();
+                String property = event.getProperty();
+                if ( "requirements".equals( property ) && backlogs.contains( source ) )
+                {
+                    if ( ChangeKind.ADDED == event.getKind() )
+                    {
+                        for ( IRequirement requirement : requirementsOf( event.getValue() ) )
+                        {
+                            add( requirement );
+                        }
+                    }
+                    else if ( ChangeKind.REMOVED == event.getKind() )
+                    {
+                        for ( IRequirement requirement : requirementsOf( event.getValue() ) )
+                        {
+                            remove( requirement );
+                        }
+                    }
+                }
+                else if ( ( "title".equals( property ) || "description".equals( property ) )
+                    && documents.containsKey( source ) )
+                {
+                    reindex( (IRequirement) source );
+                }
+            }
+        }
+        finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static List<IRequirement> requirementsOf( Object value )
+    {
+        List<IRequirement> requirements = new ArrayList<>();
+        if ( value instanceof IRequirement )
+        {
+            requirements.add( (IRequirement) value );
+        }
+        else if ( value instanceof Collection )
+        {
+            for ( Object element : (Collection<?>) value )
+            {
+                if ( element instanceof IRequirement )
+                {
+                    requirements.add( (IRequirement) element );
+                }
+            }
+        }
+        return requirements;
+    }
+
+    private void add( IRequirement requirement )
+    {
+        Document document = documents.get( requirement );
+        if ( null != document )
+        {
+            document.references++;
+            return;
+        }
+        document = createDocument( requirement );
+        document.references = 1;
+        documents.put( requirement, document );
+    }
+
+    private void remove( IRequirement requirement )
+    {
+        Document document = documents.get( requirement );
+        if ( null != document && 0 == --document.references )
+        {
+            documents.remove( requirement );
+            deleteDocument( document );
+        }
+    }
+
+    private void reindex( IRequirement requirement )
+    {
+        Document document = documents.get( requirement );
+        deleteDocument( document );
+        Document newDocument = createDocument( requirement );
+        newDocument.references = document.references;
+        documents.put( requirement, newDocument );
+    }
+
+    private Document createDocument( IRequirement requirement )
+    {
+        Map<String, int[]> weights = new HashMap<>();
+        tokenize( requirement.getTitle(), TITLE_WEIGHT, weights );
+        tokenize( requirement.getDescription(), 1, weights );
+
+        Document document = new Document( requirement, weights );
+        for ( int i = 0; i < document.terms.length; i++ )
+        {
+            Posting posting = terms.get( document.terms[i] );
+            if ( null == posting )
+            {
+                posting = new Posting();
+                terms.put( document.terms[i], posting );
+            }
+            posting.add( document, document.weights[i] );
+        }
+        return document;
+    }
+
+    private void deleteDocument( Document document )
+    {
+        document.live = false;
+        for ( String term : document.terms )
+        {
+            Posting posting = terms.get( term );
+            posting.deleted++;
+            if ( posting.size == posting.deleted )
+            {
+                terms.remove( term );
+            }
+            else if ( posting.deleted > posting.size / 2 )
+            {
+                posting.compact();
+            }
+        }
+    }
+
+    private Collection<Posting> postings( String word, boolean prefix )
+    {
+        if ( prefix )
+        {
+            return terms.subMap( word, true, word + Character.MAX_VALUE, true ).values();
+        }
+        Posting posting = terms.get( word );
+        return null == posting ? Collections.<Posting> emptyList()
+                               : Collections.singletonList( posting );
+    }
+
+    private float idf( Posting posting )
+    {
+        return (float) Math.log( 1.0 + (double) documents.size() / posting.live() );
+    }
+
+    private Map<Document, float[]> score( String word, boolean prefix )
+    {
+        Map<Document, float[]> scores = new HashMap<>();
+        for ( Posting posting : postings( word, prefix ) )
+        {
+            float idf = idf( posting );
+            for ( int i = 0; i < posting.size; i++ )
+            {
+                Document document = posting.documents[i];
+                if ( document.live )
+                {
+                    float[] score = scores.get( document );
+                    if ( null == score )
+                    {
+                        score = new float[1];
+                        scores.put( document, score );
+                    }
+                    score[0] += posting.weights[i] * idf;
+                }
+            }
+        }
+        return scores;
+    }
+
+    private float score( Document document, String word, boolean prefix )
+    {
+        float score = 0;
+        for ( int i = 0; i < document.terms.length; i++ )
+        {
+            String term = document.terms[i];
+            if ( prefix ? term.startsWith( word ) : term.equals( word ) )
+            {
+                score += document.weights[i] * idf( terms.get( term ) );
+            }
+        }
+        return score;
+    }
+
+    private static List<IRequirement> top( Map<Document, float[]> scores, int limit )
+    {
+        Comparator<Map.Entry<Document, float[]>> comparator =
+            new Comparator<Map.Entry<Document, float[]>>()
+            {
+                @Override
+                public int compare( Map.Entry<Document, float[]> first,
+                                    Map.Entry<Document, float[]> second )
+                {
+                    int result = Float.compare( first.getValue()[0], second.getValue()[0] );
+                    if ( 0 == result )
+                    {
+                        result =
+                            Integer.compare( second.getKey().requirement.getID(),
+                                             first.getKey().requirement.getID() );
+                    }
+                    return result;
+                }
+            };
+
+        PriorityQueue<Map.Entry<Document, float[]>> queue =
+            new PriorityQueue<>( Math.min( limit, Math.max( 1, scores.size() ) ), comparator );
+        for ( Map.Entry<Document, float[]> entry : scores.entrySet() )
+        {
+            if ( queue.size() < limit )
+            {
+                queue.add( entry );
+            }
+            else if ( comparator.compare( entry, queue.peek() ) > 0 )
+            {
+                queue.poll();
+                queue.add( entry );
+            }
+        }
+
+        IRequirement[] result = new IRequirement[queue.size()];
+        for ( int i = result.length - 1; i >= 0; i-- )
+        {
+            result[i] = queue.poll().getKey().requirement;
+        }
+        return Arrays.asList( result );
+    }
+
+    private static void tokenize( String text, int weight, Map<String, int[]> weights )
+    {
+        if ( null == text )
+        {
+            return;
+        }
+
+        int start = -1;
+        for ( int i = 0; i <= text.length(); i++ )
+        {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit( text.charAt( i ) );
+            if ( wordChar && start < 0 )
+            {
+                start = i;
+            }
+            else if ( !wordChar && start >= 0 )
+            {
+                String term = text.substring( start, i ).toLowerCase( Locale.ROOT );
+                int[] termWeight = weights.get( term );
+                if ( null == termWeight )
+                {
+                    weights.put( term, new int[] { weight } );
+                }
+                else
+                {
+                    termWeight[0] += weight;
+                }
+                start = -1;
+            }
+        }
+    }
+
+    private static void parseQuery( String query, List<String> words, List<Boolean> prefixes )
+    {
+        int start = -1;
+        for ( int i = 0; i <= query.length(); i++ )
+        {
+            boolean wordChar = i < query.length() && Character.isLetterOrDigit( query.charAt( i ) );
+            if ( wordChar && start < 0 )
+            {
+                start = i;
+            }
+            else if ( !wordChar && start >= 0 )
+            {
+                words.add( query.substring( start, i ).toLowerCase( Locale.ROOT ) );
+                prefixes.add( i < query.length() && PREFIX == query.charAt( i ) );
+                start = -1;
+            }
+        }
+    }
+
+    /*
+     * Indizierte Anforderung mit ihren Wörtern und deren Gewichten. Bei Änderungen wird ein neues
+     * Dokument angelegt und das alte als gelöscht markiert, die Postings werden erst beim
+     * Verdichten bereinigt.
+     */
+    private static final class Document
+    {
+        private final IRequirement requirement;
+
+        private final String[] terms;
+
+        private final int[] weights;
+
+        private int references;
+
+        private boolean live = true;
+
+        private Document( IRequirement requirement, Map<String, int[]> termWeights )
+        {
+            this.requirement = requirement;
+            terms = new String[termWeights.size()];
+            weights = new int[termWeights.size()];
+            int i = 0;
+            for ( Map.Entry<String, int[]> entry : termWeights.entrySet() )
+            {
+                terms[i] = entry.getKey();
+                weights[i] = entry.getValue()[0];
+                i++;
+            }
+        }
+    }
+
+    /*
+     * Dokumente und Gewichte eines Wortes in parallelen Arrays
+     */
+    private static final class Posting
+    {
+        private Document[] documents = new Document[2];
+
+        private int[] weights = new int[2];
+
+        private int size;
+
+        private int deleted;
+
+        private void add( Document document, int weight )
+        {
+            if ( size == documents.length )
+            {
+                documents = Arrays.copyOf( documents, size * 2 );
+                weights = Arrays.copyOf( weights, size * 2 );
+            }
+            documents[size] = document;
+            weights[size] = weight;
+            size++;
+        }
+
+        private int live()
+        {
+            return size - deleted;
+        }
+
+        private void compact()
+        {
+            int live = 0;
+            for ( int i = 0; i < size; i++ )
+            {
+                if ( documents[i].live )
+                {
+                    documents[live] = documents[i];
+                    weights[live] = weights[i];
+                    live++;
+                }
+            }
+            Arrays.fill( documents, live, size, null );
+            size = live;
+            deleted = 0;
+        }
+    }
+}
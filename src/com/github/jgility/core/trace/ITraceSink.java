@@ -0,0 +1,46 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.trace;
+
+/**
+ * Interface für die Aufzeichnung von Ablaufereignissen, z.B. als Java Flight Recorder Events. Ein
+ * {@link ITraceSink} wird über {@link Tracing#setSink(ITraceSink)} aktiviert.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public interface ITraceSink
+{
+
+    /**
+     * Prüft ob Ereignisse der übergebenen Art aufgezeichnet werden. Bei <code>false</code> wird
+     * kein {@link TraceSpan} erzeugt.
+     * 
+     * @param type Art des Ereignisses
+     * @return <code>true</code> wenn die Aufzeichnung aktiv ist
+     */
+    boolean isEnabled( TraceType type );
+
+    /**
+     * Wird zu Beginn einer aufgezeichneten Operation aufgerufen
+     * 
+     * @param span beginnender {@link TraceSpan}
+     */
+    void begin( TraceSpan span );
+
+    /**
+     * Wird am Ende einer aufgezeichneten Operation mit allen ermittelten Werten aufgerufen
+     * 
+     * @param span beendeter {@link TraceSpan}
+     */
+    void end( TraceSpan span );
+}
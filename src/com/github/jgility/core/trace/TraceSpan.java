@@ -0,0 +1,163 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.trace;
+
+/**
+ * Daten einer aufgezeichneten Operation. Ein {@link TraceSpan} wird nur erzeugt, wenn der aktive
+ * {@link ITraceSink} Ereignisse der jeweiligen {@link TraceType} aufzeichnet. Nicht ermittelte
+ * Werte sind <code>-1</code>.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public class TraceSpan
+{
+
+    private final TraceType type;
+
+    private final ITraceSink sink;
+
+    private final long startNanos;
+
+    private Object handle;
+
+    private String subject;
+
+    private long bytes = -1;
+
+    private int projects = -1;
+
+    private int requirements = -1;
+
+    private int iterations = -1;
+
+    /**
+     * Instanziiert einen {@link TraceSpan}
+     * 
+     * @param type Art des Ereignisses
+     * @param sink aufzeichnender {@link ITraceSink}
+     */
+    TraceSpan( TraceType type, ITraceSink sink )
+    {
+        this.type = type;
+        this.sink = sink;
+        this.startNanos = System.nanoTime();
+    }
+
+    ITraceSink getSink()
+    {
+        return sink;
+    }
+
+    /**
+     * Gibt die Art des Ereignisses zurück
+     * 
+     * @return {@link TraceType}
+     */
+    public TraceType getType()
+    {
+        return type;
+    }
+
+    /**
+     * Gibt die seit dem Beginn vergangene Zeit zurück
+     * 
+     * @return Dauer in Nanosekunden
+     */
+    public long getElapsedNanos()
+    {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Gibt das vom {@link ITraceSink} in {@link ITraceSink#begin(TraceSpan)} hinterlegte Objekt
+     * zurück, z.B. das begonnene Flight Recorder Event
+     * 
+     * @return hinterlegtes Objekt oder <code>null</code>
+     */
+    public Object getHandle()
+    {
+        return handle;
+    }
+
+    public void setHandle( Object handle )
+    {
+        this.handle = handle;
+    }
+
+    /**
+     * Gibt das betroffene Objekt als Text zurück, z.B. den Speicherort oder das Release
+     * 
+     * @return Beschreibung des betroffenen Objekts
+     */
+    public String getSubject()
+    {
+        return subject;
+    }
+
+    public void setSubject( String subject )
+    {
+        this.subject = subject;
+    }
+
+    public long getBytes()
+    {
+        return bytes;
+    }
+
+    public void setBytes( long bytes )
+    {
+        this.bytes = bytes;
+    }
+
+    public int getProjects()
+    {
+        return projects;
+    }
+
+    public void setProjects( int projects )
+    {
+        this.projects = projects;
+    }
+
+    public int getRequirements()
+    {
+        return requirements;
+    }
+
+    public void setRequirements( int requirements )
+    {
+        this.requirements = requirements;
+    }
+
+    public int getIterations()
+    {
+        return iterations;
+    }
+
+    public void setIterations( int iterations )
+    {
+        this.iterations = iterations;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString()
+    {
+        return "TraceSpan [type=" + type + ", subject=" + subject + ", bytes=" + bytes
+            + ", projects=" + projects + ", requirements=" + requirements + ", iterations="
+            + iterations + "]";
+    }
+}
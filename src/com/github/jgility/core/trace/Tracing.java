@@ -0,0 +1,173 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.trace;
+
+import org.apache.commons.lang3.ObjectUtils;
+
+import com.github.jgility.core.planning.IIteration;
+import com.github.jgility.core.planning.IRelease;
+import com.github.jgility.core.project.Product;
+import com.github.jgility.core.project.Project;
+import com.github.jgility.core.util.CalendarUtils;
+
+/**
+ * Zentraler Zugriffspunkt für Ablaufereignisse der Bibliothek. Ohne aktiven {@link ITraceSink}
+ * kostet ein Ereignis nur das Lesen eines Feldes, es werden weder Objekte erzeugt noch Zeiten
+ * gemessen.<br>
+ * Verwendung:
+ * 
+ * <pre>
+ * TraceSpan span = Tracing.begin( TraceType.RELEASE_RESCHEDULE );
+ * ...
+ * if ( null != span )
+ * {
+ *     span.setIterations( release.size() );
+ *     Tracing.end( span );
+ * }
+ * </pre>
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public final class Tracing
+{
+
+    private static final ITraceSink NONE = new ITraceSink()
+    {
+        @Override
+        public boolean isEnabled( TraceType type )
+        {
+            return false;
+        }
+
+        @Override
+        public void begin( TraceSpan span )
+        {
+        }
+
+        @Override
+        public void end( TraceSpan span )
+        {
+        }
+    };
+
+    private static volatile ITraceSink sink = NONE;
+
+    private Tracing()
+    {
+    }
+
+    /**
+     * Aktiviert einen {@link ITraceSink}
+     * 
+     * @param traceSink zu aktivierender {@link ITraceSink}
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     */
+    public static void setSink( ITraceSink traceSink )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, traceSink ) )
+        {
+            throw new IllegalArgumentException( "null-object as sink is not allowed" );
+        }
+        sink = traceSink;
+    }
+
+    /**
+     * Deaktiviert die Aufzeichnung von Ablaufereignissen
+     */
+    public static void disable()
+    {
+        sink = NONE;
+    }
+
+    /**
+     * Beginnt ein Ereignis, sofern der aktive {@link ITraceSink} diese Art aufzeichnet
+     * 
+     * @param type Art des Ereignisses
+     * @return begonnener {@link TraceSpan} oder <code>null</code>, wenn nicht aufgezeichnet wird
+     */
+    public static TraceSpan begin( TraceType type )
+    {
+        ITraceSink currentSink = sink;
+        if ( !currentSink.isEnabled( type ) )
+        {
+            return null;
+        }
+        TraceSpan span = new TraceSpan( type, currentSink );
+        currentSink.begin( span );
+        return span;
+    }
+
+    /**
+     * Beendet ein Ereignis
+     * 
+     * @param span Rückgabewert von {@link #begin(TraceType)}, <code>null</code> wird ignoriert
+     */
+    public static void end( TraceSpan span )
+    {
+        if ( null != span )
+        {
+            span.getSink().end( span );
+        }
+    }
+
+    /**
+     * Überträgt die Kennzahlen eines {@link IRelease} in einen {@link TraceSpan}
+     * 
+     * @param span zu ergänzender {@link TraceSpan}
+     * @param release betroffenes {@link IRelease}, <code>null</code> wird ignoriert
+     */
+    public static void describe( TraceSpan span, IRelease release )
+    {
+        if ( null == release )
+        {
+            return;
+        }
+        span.setSubject( CalendarUtils.calendarOutput( release.getStart() ) + " - "
+            + CalendarUtils.calendarOutput( release.getEnd() ) );
+        span.setIterations( release.size() );
+        int requirements = 0;
+        for ( IIteration iteration : release.getIterationList() )
+        {
+            requirements += iteration.getIterationBacklog().size();
+        }
+        span.setRequirements( requirements );
+    }
+
+    /**
+     * Überträgt die Anzahl der Projekte, Iterationen und Anforderungen eines {@link Product} in
+     * einen {@link TraceSpan}
+     * 
+     * @param span zu ergänzender {@link TraceSpan}
+     * @param product betroffenes {@link Product}
+     */
+    public static void describe( TraceSpan span, Product product )
+    {
+        int iterations = 0;
+        int requirements = product.getProductBacklog().size();
+        for ( Project project : product.getProjects() )
+        {
+            for ( IRelease release : project.getReleasePlan() )
+            {
+                iterations += release.size();
+                for ( IIteration iteration : release.getIterationList() )
+                {
+                    requirements += iteration.getIterationBacklog().size();
+                }
+            }
+        }
+        span.setProjects( product.getProjects().size() );
+        span.setIterations( iterations );
+        span.setRequirements( requirements );
+    }
+}
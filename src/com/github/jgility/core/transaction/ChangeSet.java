@@ -0,0 +1,153 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.transaction;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.github.jgility.core.event.ModelEvent;
+import com.github.jgility.core.event.ModelEventBus;
+
+/**
+ * Unveränderliche Menge aller Änderungen einer abgeschlossenen {@link UnitOfWork}
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public class ChangeSet
+{
+
+    private final List<IMutation> mutations;
+
+    /**
+     * Instanziiert ein Objekt der Klasse {@link ChangeSet}
+     * 
+     * @param mutations ausgeführte Änderungen in ihrer Reihenfolge
+     */
+    public ChangeSet( List<IMutation> mutations )
+    {
+        this.mutations = Collections.unmodifiableList( new ArrayList<>( mutations ) );
+    }
+
+    /**
+     * Gibt die ausgeführten Änderungen in ihrer Reihenfolge zurück
+     * 
+     * @return unveränderliche {@link List} von {@link IMutation}
+     */
+    public List<IMutation> getMutations()
+    {
+        return mutations;
+    }
+
+    /**
+     * Gibt die Beschreibungen aller Änderungen zurück
+     * 
+     * @return {@link List} von {@link ModelEvent}
+     */
+    public List<ModelEvent> getEvents()
+    {
+        List<ModelEvent> events = new ArrayList<>( mutations.size() );
+        for ( IMutation mutation : mutations )
+        {
+            events.add( mutation.toEvent() );
+        }
+        return events;
+    }
+
+    /**
+     * Gibt die Anzahl der Änderungen zurück
+     * 
+     * @return Anzahl der Änderungen
+     */
+    public int size()
+    {
+        return mutations.size();
+    }
+
+    /*
+     * Prüft und führt alle Änderungen innerhalb eines Batches aus. Bei einem Fehler werden die
+     * bereits ausgeführten Änderungen rückgängig gemacht und der Batch verworfen.
+     */
+    void apply()
+        throws IllegalArgumentException
+    {
+        for ( IMutation mutation : mutations )
+        {
+            mutation.validate();
+        }
+
+        ModelEventBus eventBus = ModelEventBus.getDefault();
+        boolean ownBatch = !eventBus.isBatchActive();
+        eventBus.beginBatch();
+        int applied = 0;
+        try
+        {
+            for ( ; applied < mutations.size(); applied++ )
+            {
+                mutations.get( applied ).apply();
+            }
+        }
+        catch ( RuntimeException e )
+        {
+            for ( int i = applied - 1; i >= 0; i-- )
+            {
+                mutations.get( i ).revert();
+            }
+            closeBatch( eventBus, ownBatch );
+            throw e;
+        }
+        eventBus.endBatch();
+    }
+
+    /*
+     * Macht alle Änderungen in umgekehrter Reihenfolge innerhalb eines Batches rückgängig
+     */
+    void revert()
+    {
+        ModelEventBus eventBus = ModelEventBus.getDefault();
+        eventBus.beginBatch();
+        try
+        {
+            for ( int i = mutations.size() - 1; i >= 0; i-- )
+            {
+                mutations.get( i ).revert();
+            }
+        }
+        finally
+        {
+            eventBus.endBatch();
+        }
+    }
+
+    private static void closeBatch( ModelEventBus eventBus, boolean ownBatch )
+    {
+        if ( ownBatch )
+        {
+            eventBus.discardBatch();
+        }
+        else
+        {
+            eventBus.endBatch();
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString()
+    {
+        return "ChangeSet [mutations=" + mutations.size() + "]";
+    }
+}
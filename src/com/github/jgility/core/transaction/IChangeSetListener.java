@@ -0,0 +1,31 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.transaction;
+
+/**
+ * Interface für Beobachter von abgeschlossenen {@link UnitOfWork}s, z.B. eine Persistenz- oder
+ * Journal-Schicht
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public interface IChangeSetListener
+{
+
+    /**
+     * Wird aufgerufen, nachdem alle Änderungen einer {@link UnitOfWork} erfolgreich ausgeführt
+     * wurden
+     * 
+     * @param changeSet alle Änderungen der {@link UnitOfWork}
+     */
+    void committed( ChangeSet changeSet );
+}
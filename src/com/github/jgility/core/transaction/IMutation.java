@@ -0,0 +1,54 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.transaction;
+
+import com.github.jgility.core.event.ModelEvent;
+
+/**
+ * Interface für eine einzelne Änderung innerhalb einer {@link UnitOfWork}. Eine Änderung kann
+ * ausgeführt und wieder rückgängig gemacht werden. Der benötigte Speicher richtet sich nur nach dem
+ * Umfang der Änderung.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public interface IMutation
+{
+
+    /**
+     * Prüft die Parameter der Änderung, bevor eine Änderung der {@link UnitOfWork} ausgeführt wird
+     * 
+     * @throws IllegalArgumentException wenn die Änderung ungültige Parameter beinhaltet
+     */
+    void validate()
+        throws IllegalArgumentException;
+
+    /**
+     * Führt die Änderung aus
+     * 
+     * @throws IllegalArgumentException wenn die Änderung am aktuellen Modell nicht zulässig ist
+     */
+    void apply()
+        throws IllegalArgumentException;
+
+    /**
+     * Macht die zuvor ausgeführte Änderung rückgängig
+     */
+    void revert();
+
+    /**
+     * Beschreibt die Änderung für eine Persistenz- oder Journal-Schicht
+     * 
+     * @return Beschreibung als {@link ModelEvent}
+     */
+    ModelEvent toEvent();
+}
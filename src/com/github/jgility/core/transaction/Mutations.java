@@ -0,0 +1,638 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.transaction;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.commons.lang3.ObjectUtils;
+
+import com.github.jgility.core.event.ChangeKind;
+import com.github.jgility.core.event.ModelEvent;
+import com.github.jgility.core.planning.Backlog;
+import com.github.jgility.core.planning.IIteration;
+import com.github.jgility.core.planning.IPlan;
+import com.github.jgility.core.planning.IRelease;
+import com.github.jgility.core.project.Product;
+import com.github.jgility.core.project.Project;
+import com.github.jgility.core.util.CalendarUtils;
+import com.github.jgility.core.util.ReleasePlanningUtils;
+
+/**
+ * Fabrik-Klasse für die {@link IMutation}s des Modells. Jede {@link IMutation} merkt sich nur die
+ * für das Rückgängigmachen notwendigen Informationen.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public final class Mutations
+{
+
+    private Mutations()
+    {
+    }
+
+    /**
+     * Erstellt eine {@link IMutation}, welche Anforderungen am Ende eines {@link Backlog} anfügt
+     * 
+     * @param backlog zu änderndes {@link Backlog}
+     * @param requirements hinzuzufügende Anforderungen
+     * @return {@link IMutation} zum Hinzufügen
+     */
+    public static <T> IMutation addRequirements( Backlog<T> backlog,
+                                                 Collection<? extends T> requirements )
+    {
+        return new AddRequirements<>( backlog, requirements );
+    }
+
+    /**
+     * Erstellt eine {@link IMutation}, welche Anforderungen aus einem {@link Backlog} entfernt.
+     * Beim Rückgängigmachen werden die Anforderungen an ihrer ursprünglichen Stelle eingefügt.
+     * 
+     * @param backlog zu änderndes {@link Backlog}
+     * @param requirements zu entfernende Anforderungen
+     * @return {@link IMutation} zum Entfernen
+     */
+    public static <T> IMutation removeRequirements( Backlog<T> backlog,
+                                                    Collection<? extends T> requirements )
+    {
+        return new RemoveRequirements<>( backlog, requirements );
+    }
+
+    /**
+     * Erstellt eine {@link IMutation}, welche eine {@link IIteration} einem {@link IRelease}
+     * hinzufügt
+     * 
+     * @param release zu änderndes {@link IRelease}
+     * @param iteration hinzuzufügende {@link IIteration}
+     * @return {@link IMutation} zum Hinzufügen
+     */
+    public static IMutation addIteration( IRelease release, IIteration iteration )
+    {
+        return new AddIteration( release, iteration );
+    }
+
+    /**
+     * Erstellt eine {@link IMutation}, welche ein {@link IRelease} dem Releaseplan eines
+     * {@link Project} hinzufügt
+     * 
+     * @param project zu änderndes {@link Project}
+     * @param release hinzuzufügendes {@link IRelease}
+     * @return {@link IMutation} zum Hinzufügen
+     */
+    public static IMutation addReleasePlan( Project project, IRelease release )
+    {
+        return new AddReleasePlan( project, release );
+    }
+
+    /**
+     * Erstellt eine {@link IMutation}, welche ein {@link Project} einem {@link Product} hinzufügt
+     * 
+     * @param product zu änderndes {@link Product}
+     * @param project hinzuzufügendes {@link Project}
+     * @return {@link IMutation} zum Hinzufügen
+     */
+    public static IMutation addProject( Product product, Project project )
+    {
+        return new ProductProject( product, project, true );
+    }
+
+    /**
+     * Erstellt eine {@link IMutation}, welche ein {@link Project} aus einem {@link Product} entfernt
+     * 
+     * @param product zu änderndes {@link Product}
+     * @param project zu entfernendes {@link Project}
+     * @return {@link IMutation} zum Entfernen
+     */
+    public static IMutation removeProject( Product product, Project project )
+    {
+        return new ProductProject( product, project, false );
+    }
+
+    /**
+     * Erstellt eine {@link IMutation}, welche Start- und End-Zeitpunkt eines {@link IPlan} ändert
+     * 
+     * @param plan zu ändernder {@link IPlan}
+     * @param start neuer Startzeitpunkt
+     * @param end neuer Endzeitpunkt
+     * @return {@link IMutation} zum Ändern der Zeitpunkte
+     */
+    public static IMutation changeStartEnd( IPlan plan, Calendar start, Calendar end )
+    {
+        return new ChangeStartEnd( plan, start, end );
+    }
+
+    /**
+     * Erstellt eine {@link IMutation}, welche eine Anforderung innerhalb eines {@link Backlog}
+     * verschiebt. Beide Positionen müssen beim Ausführen innerhalb des {@link Backlog} liegen.
+     * 
+     * @param backlog zu änderndes {@link Backlog}
+     * @param fromIndex aktuelle Position der Anforderung
+     * @param toIndex neue Position der Anforderung
+     * @return {@link IMutation} zum Verschieben
+     */
+    public static <T> IMutation moveRequirement( Backlog<T> backlog, int fromIndex, int toIndex )
+    {
+        return new MoveRequirement<>( backlog, fromIndex, toIndex );
+    }
+
+    /**
+     * Erstellt eine {@link IMutation}, welche ein {@link IRelease} und seine Iterationen mittels
+     * {@link ReleasePlanningUtils#changePlanPerPercent(IRelease, Calendar, Calendar)} verschiebt.
+     * Für das Rückgängigmachen werden nur die bisherigen Zeitpunkte gemerkt.
+     * 
+     * @param release zu änderndes {@link IRelease}
+     * @param start neuer Startzeitpunkt
+     * @param end neuer Endzeitpunkt
+     * @return {@link IMutation} zum Verschieben
+     */
+    public static IMutation changePlanPerPercent( IRelease release, Calendar start, Calendar end )
+    {
+        return new ChangePlanPerPercent( release, start, end );
+    }
+
+    private static void checkNotNull( Object first, Object second )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, first ) || ObjectUtils.equals( null, second ) )
+        {
+            throw new IllegalArgumentException( "null-object is not allowed for mutation" );
+        }
+    }
+
+    private static <T> List<T> copy( Collection<? extends T> collection )
+    {
+        return null == collection ? null : new ArrayList<T>( collection );
+    }
+
+    private static final class AddRequirements<T>
+        implements IMutation
+    {
+        private final Backlog<T> backlog;
+
+        private final List<T> requirements;
+
+        private int index;
+
+        private AddRequirements( Backlog<T> backlog, Collection<? extends T> requirements )
+        {
+            this.backlog = backlog;
+            this.requirements = copy( requirements );
+        }
+
+        @Override
+        public void validate()
+            throws IllegalArgumentException
+        {
+            checkNotNull( backlog, requirements );
+            if ( CollectionUtils.isEmpty( requirements ) || requirements.contains( null ) )
+            {
+                throw new IllegalArgumentException( "empty requirement or null-object is not "
+                    + "allowed to add" );
+            }
+        }
+
+        @Override
+        public void apply()
+        {
+            index = backlog.size();
+            backlog.addRequirements( index, requirements );
+        }
+
+        @Override
+        public void revert()
+        {
+            backlog.removeRequirements( index, index + requirements.size() );
+        }
+
+        @Override
+        public ModelEvent toEvent()
+        {
+            return new ModelEvent( backlog, ChangeKind.ADDED, "requirements",
+                                   Collections.unmodifiableList( requirements ) );
+        }
+    }
+
+    private static final class RemoveRequirements<T>
+        implements IMutation
+    {
+        private final Backlog<T> backlog;
+
+        private final List<T> requirements;
+
+        private final List<Integer> positions;
+
+        private final List<T> removed;
+
+        private RemoveRequirements( Backlog<T> backlog, Collection<? extends T> requirements )
+        {
+            this.backlog = backlog;
+            this.requirements = copy( requirements );
+            this.positions = new ArrayList<>();
+            this.removed = new ArrayList<>();
+        }
+
+        @Override
+        public void validate()
+            throws IllegalArgumentException
+        {
+            checkNotNull( backlog, requirements );
+            if ( CollectionUtils.isEmpty( requirements ) )
+            {
+                throw new IllegalArgumentException( "empty requirement list is not allowed" );
+            }
+        }
+
+        @Override
+        public void apply()
+            throws IllegalArgumentException
+        {
+            Set<T> removeSet = new HashSet<>( requirements );
+            Set<T> found = new HashSet<>();
+            positions.clear();
+            removed.clear();
+
+            List<T> requirementList = backlog.getRequirementList();
+            for ( int i = 0; i < requirementList.size(); i++ )
+            {
+                T requirement = requirementList.get( i );
+                if ( removeSet.contains( requirement ) )
+                {
+                    positions.add( i );
+                    removed.add( requirement );
+                    found.add( requirement );
+                }
+            }
+
+            if ( found.size() != removeSet.size() )
+            {
+                throw new IllegalArgumentException( "requirement is not part of the backlog" );
+            }
+            backlog.removeAllRequirement( removeSet );
+        }
+
+        @Override
+        public void revert()
+        {
+            for ( int i = 0; i < positions.size(); i++ )
+            {
+                backlog.addRequirements( positions.get( i ),
+                                         Collections.singletonList( removed.get( i ) ) );
+            }
+        }
+
+        @Override
+        public ModelEvent toEvent()
+        {
+            return new ModelEvent( backlog, ChangeKind.REMOVED, "requirements",
+                                   Collections.unmodifiableList( removed ) );
+        }
+    }
+
+    private static final class AddIteration
+        implements IMutation
+    {
+        private final IRelease release;
+
+        private final IIteration iteration;
+
+        private AddIteration( IRelease release, IIteration iteration )
+        {
+            this.release = release;
+            this.iteration = iteration;
+        }
+
+        @Override
+        public void validate()
+            throws IllegalArgumentException
+        {
+            checkNotNull( release, iteration );
+        }
+
+        @Override
+        public void apply()
+            throws IllegalArgumentException
+        {
+            release.addIteration( iteration );
+        }
+
+        @Override
+        public void revert()
+        {
+            release.removePlan( iteration );
+        }
+
+        @Override
+        public ModelEvent toEvent()
+        {
+            return new ModelEvent( release, ChangeKind.ADDED, "iterations", iteration );
+        }
+    }
+
+    private static final class AddReleasePlan
+        implements IMutation
+    {
+        private final Project project;
+
+        private final IRelease release;
+
+        private AddReleasePlan( Project project, IRelease release )
+        {
+            this.project = project;
+            this.release = release;
+        }
+
+        @Override
+        public void validate()
+            throws IllegalArgumentException
+        {
+            checkNotNull( project, release );
+        }
+
+        @Override
+        public void apply()
+            throws IllegalArgumentException
+        {
+            project.addReleasePlan( release );
+        }
+
+        @Override
+        public void revert()
+        {
+            project.removeReleasePlan( release );
+        }
+
+        @Override
+        public ModelEvent toEvent()
+        {
+            return new ModelEvent( project, ChangeKind.ADDED, "releasePlan", release );
+        }
+    }
+
+    private static final class ProductProject
+        implements IMutation
+    {
+        private final Product product;
+
+        private final Project project;
+
+        private final boolean add;
+
+        private boolean changed;
+
+        private ProductProject( Product product, Project project, boolean add )
+        {
+            this.product = product;
+            this.project = project;
+            this.add = add;
+        }
+
+        @Override
+        public void validate()
+            throws IllegalArgumentException
+        {
+            checkNotNull( product, project );
+        }
+
+        @Override
+        public void apply()
+            throws IllegalArgumentException
+        {
+            if ( add )
+            {
+                changed = !product.containsProject( project );
+                product.addProject( project );
+            }
+            else
+            {
+                changed = product.removeProject( project );
+            }
+        }
+
+        @Override
+        public void revert()
+        {
+            if ( changed && add )
+            {
+                product.removeProject( project );
+            }
+            else if ( changed )
+            {
+                product.addProject( project );
+            }
+        }
+
+        @Override
+        public ModelEvent toEvent()
+        {
+            return new ModelEvent( product, add ? ChangeKind.ADDED : ChangeKind.REMOVED,
+                                   "projects", project );
+        }
+    }
+
+    private static final class ChangeStartEnd
+        implements IMutation
+    {
+        private final IPlan plan;
+
+        private final Calendar start;
+
+        private final Calendar end;
+
+        private Calendar oldStart;
+
+        private Calendar oldEnd;
+
+        private ChangeStartEnd( IPlan plan, Calendar start, Calendar end )
+        {
+            this.plan = plan;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public void validate()
+            throws IllegalArgumentException
+        {
+            checkNotNull( plan, start );
+            checkNotNull( plan, end );
+            if ( !CalendarUtils.checkDate( (Calendar) start.clone(), (Calendar) end.clone() ) )
+            {
+                throw new IllegalArgumentException( "start-time has to be before end-time" );
+            }
+        }
+
+        @Override
+        public void apply()
+            throws IllegalArgumentException
+        {
+            oldStart = plan.getStart();
+            oldEnd = plan.getEnd();
+            plan.changeStartEnd( (Calendar) start.clone(), (Calendar) end.clone() );
+        }
+
+        @Override
+        public void revert()
+        {
+            plan.changeStartEnd( oldStart, oldEnd );
+        }
+
+        @Override
+        public ModelEvent toEvent()
+        {
+            return new ModelEvent( plan, ChangeKind.UPDATED, "startEnd", end );
+        }
+    }
+
+    private static final class MoveRequirement<T>
+        implements IMutation
+    {
+        private final Backlog<T> backlog;
+
+        private final int fromIndex;
+
+        private final int toIndex;
+
+        private T requirement;
+
+        private MoveRequirement( Backlog<T> backlog, int fromIndex, int toIndex )
+        {
+            this.backlog = backlog;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+        }
+
+        @Override
+        public void validate()
+            throws IllegalArgumentException
+        {
+            checkNotNull( backlog, backlog );
+            if ( fromIndex < 0 || toIndex < 0 )
+            {
+                throw new IllegalArgumentException( "negative index is not allowed" );
+            }
+        }
+
+        @Override
+        public void apply()
+            throws IllegalArgumentException
+        {
+            int size = backlog.size();
+            if ( fromIndex >= size || toIndex >= size )
+            {
+                throw new IllegalArgumentException( "index is out of range of the backlog: "
+                    + Math.max( fromIndex, toIndex ) );
+            }
+            requirement = backlog.getRequirementList().get( fromIndex );
+            backlog.moveRequirement( fromIndex, toIndex );
+        }
+
+        @Override
+        public void revert()
+        {
+            backlog.moveRequirement( toIndex, fromIndex );
+        }
+
+        @Override
+        public ModelEvent toEvent()
+        {
+            return new ModelEvent( backlog, ChangeKind.UPDATED, "requirements", requirement );
+        }
+    }
+
+    private static final class ChangePlanPerPercent
+        implements IMutation
+    {
+        private final IRelease release;
+
+        private final Calendar start;
+
+        private final Calendar end;
+
+        private final List<IPlan> plans;
+
+        private final List<Calendar> oldDates;
+
+        private ChangePlanPerPercent( IRelease release, Calendar start, Calendar end )
+        {
+            this.release = release;
+            this.start = start;
+            this.end = end;
+            this.plans = new ArrayList<>();
+            this.oldDates = new ArrayList<>();
+        }
+
+        @Override
+        public void validate()
+            throws IllegalArgumentException
+        {
+            checkNotNull( release, start );
+            checkNotNull( release, end );
+            if ( !CalendarUtils.checkDate( (Calendar) start.clone(), (Calendar) end.clone() ) )
+            {
+                throw new IllegalArgumentException( "start-time has to be before end-time" );
+            }
+        }
+
+        @Override
+        public void apply()
+            throws IllegalArgumentException
+        {
+            plans.clear();
+            oldDates.clear();
+            remember( release );
+            for ( IIteration iteration : release.getIterationList() )
+            {
+                remember( iteration );
+            }
+
+            try
+            {
+                ReleasePlanningUtils.changePlanPerPercent( release, (Calendar) start.clone(),
+                                                           (Calendar) end.clone() );
+            }
+            catch ( RuntimeException e )
+            {
+                revert();
+                throw e;
+            }
+        }
+
+        @Override
+        public void revert()
+        {
+            for ( int i = 0; i < plans.size(); i++ )
+            {
+                plans.get( i ).changeStartEnd( oldDates.get( 2 * i ), oldDates.get( 2 * i + 1 ) );
+            }
+        }
+
+        @Override
+        public ModelEvent toEvent()
+        {
+            return new ModelEvent( release, ChangeKind.UPDATED, "startEnd", end );
+        }
+
+        private void remember( IPlan plan )
+        {
+            plans.add( plan );
+            oldDates.add( plan.getStart() );
+            oldDates.add( plan.getEnd() );
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.transaction;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+
+import org.apache.commons.lang3.ObjectUtils;
+
+/**
+ * Verwaltet eine begrenzte Historie von {@link ChangeSet}s zum Rückgängigmachen und
+ * Wiederherstellen von Änderungen. Statt Kopien des Modells werden nur die ausgeführten
+ * {@link IMutation}s gemerkt, so dass jeder Schritt nur so viel Speicher belegt wie die Änderung
+ * selbst.<br>
+ * Der {@link UndoManager} kann als {@link IChangeSetListener} an einer {@link UnitOfWork}
+ * registriert werden oder Änderungen über {@link #execute(IMutation)} selbst ausführen. Wird die
+ * maximale Größe der Historie überschritten, wird der älteste Schritt verworfen.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public class UndoManager
+    implements IChangeSetListener
+{
+
+    /**
+     * Standardgröße der Historie
+     */
+    public static final int DEFAULT_LIMIT = 100;
+
+    private final int limit;
+
+    private final Deque<ChangeSet> undoHistory;
+
+    private final Deque<ChangeSet> redoHistory;
+
+    /**
+     * Instanziiert einen {@link UndoManager} mit einer Historie von {@link #DEFAULT_LIMIT}
+     * Schritten
+     */
+    public UndoManager()
+    {
+        this( DEFAULT_LIMIT );
+    }
+
+    /**
+     * Instanziiert einen {@link UndoManager} mit übergebener Größe der Historie
+     * 
+     * @param limit maximale Anzahl der rückgängig zu machenden Schritte
+     * @throws IllegalArgumentException wenn die Größe kleiner <code>1</code> ist
+     */
+    public UndoManager( int limit )
+        throws IllegalArgumentException
+    {
+        if ( limit < 1 )
+        {
+            throw new IllegalArgumentException( "limit has to be positive: " + limit );
+        }
+        this.limit = limit;
+        undoHistory = new ArrayDeque<>();
+        redoHistory = new ArrayDeque<>();
+    }
+
+    /**
+     * Führt eine einzelne {@link IMutation} aus und nimmt sie in die Historie auf
+     * 
+     * @param mutation auszuführende {@link IMutation}
+     * @return {@link ChangeSet} der ausgeführten Änderung
+     * @throws IllegalArgumentException wenn die Änderung nicht ausgeführt werden kann
+     */
+    public ChangeSet execute( IMutation mutation )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, mutation ) )
+        {
+            throw new IllegalArgumentException( "null-object as mutation is not allowed" );
+        }
+        ChangeSet changeSet = new ChangeSet( Collections.singletonList( mutation ) );
+        changeSet.apply();
+        committed( changeSet );
+        return changeSet;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see
+     * com.github.jgility.core.transaction.IChangeSetListener#committed(com.github.jgility.core
+     * .transaction.ChangeSet)
+     */
+    @Override
+    public synchronized void committed( ChangeSet changeSet )
+    {
+        undoHistory.push( changeSet );
+        if ( undoHistory.size() > limit )
+        {
+            undoHistory.removeLast();
+        }
+        redoHistory.clear();
+    }
+
+    /**
+     * Macht den zuletzt ausgeführten Schritt rückgängig
+     * 
+     * @return rückgängig gemachtes {@link ChangeSet}
+     * @throws IllegalStateException wenn kein Schritt rückgängig gemacht werden kann
+     */
+    public synchronized ChangeSet undo()
+        throws IllegalStateException
+    {
+        if ( undoHistory.isEmpty() )
+        {
+            throw new IllegalStateException( "nothing to undo" );
+        }
+        ChangeSet changeSet = undoHistory.pop();
+        changeSet.revert();
+        redoHistory.push( changeSet );
+        return changeSet;
+    }
+
+    /**
+     * Stellt den zuletzt rückgängig gemachten Schritt wieder her
+     * 
+     * @return wiederhergestelltes {@link ChangeSet}
+     * @throws IllegalStateException wenn kein Schritt wiederhergestellt werden kann
+     * @throws IllegalArgumentException wenn die Änderungen nicht mehr ausgeführt werden können, z.B.
+     *             weil das Modell zwischenzeitlich anderweitig geändert wurde
+     */
+    public synchronized ChangeSet redo()
+        throws IllegalStateException, IllegalArgumentException
+    {
+        if ( redoHistory.isEmpty() )
+        {
+            throw new IllegalStateException( "nothing to redo" );
+        }
+        ChangeSet changeSet = redoHistory.peek();
+        changeSet.apply();
+        redoHistory.pop();
+        undoHistory.push( changeSet );
+        return changeSet;
+    }
+
+    /**
+     * Prüft ob ein Schritt rückgängig gemacht werden kann
+     * 
+     * @return <code>true</code> wenn die Historie nicht leer ist
+     */
+    public synchronized boolean canUndo()
+    {
+        return !undoHistory.isEmpty();
+    }
+
+    /**
+     * Prüft ob ein Schritt wiederhergestellt werden kann
+     * 
+     * @return <code>true</code> wenn ein rückgängig gemachter Schritt vorliegt
+     */
+    public synchronized boolean canRedo()
+    {
+        return !redoHistory.isEmpty();
+    }
+
+    /**
+     * Gibt die Anzahl der rückgängig zu machenden Schritte zurück
+     * 
+     * @return Anzahl der Schritte
+     */
+    public synchronized int getUndoCount()
+    {
+        return undoHistory.size();
+    }
+
+    /**
+     * Gibt die maximale Größe der Historie zurück
+     * 
+     * @return maximale Anzahl der Schritte
+     */
+    public int getLimit()
+    {
+        return limit;
+    }
+
+    /**
+     * Verwirft die gesamte Historie
+     */
+    public synchronized void clear()
+    {
+        undoHistory.clear();
+        redoHistory.clear();
+    }
+}
@@ -0,0 +1,271 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.transaction;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.commons.lang3.ObjectUtils;
+
+import com.github.jgility.core.event.ModelEventBus;
+import com.github.jgility.core.planning.Backlog;
+import com.github.jgility.core.planning.IIteration;
+import com.github.jgility.core.planning.IPlan;
+import com.github.jgility.core.planning.IRelease;
+import com.github.jgility.core.project.Product;
+import com.github.jgility.core.project.Project;
+
+/**
+ * Fasst mehrere Änderungen an {@link Product}, {@link Project}, {@link IRelease},
+ * {@link IIteration} und {@link Backlog} zu einer Einheit zusammen. Bei {@link #commit()} werden
+ * zunächst alle Änderungen geprüft und anschließend in einem Durchlauf ausgeführt. Schlägt eine
+ * Änderung fehl, werden alle bereits ausgeführten Änderungen in umgekehrter Reihenfolge
+ * rückgängig gemacht.<br>
+ * Beobachter des {@link ModelEventBus} erhalten eine einzige Benachrichtigung, registrierte
+ * {@link IChangeSetListener} ein einziges {@link ChangeSet}. Eine {@link UnitOfWork} ist nicht
+ * thread-sicher und kann nur einmal ausgeführt werden.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public class UnitOfWork
+{
+
+    private final List<IMutation> mutations;
+
+    private final List<IChangeSetListener> listeners;
+
+    private boolean committed;
+
+    /**
+     * Instanziiert eine leere {@link UnitOfWork}
+     */
+    public UnitOfWork()
+    {
+        mutations = new ArrayList<>();
+        listeners = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Fügt eine beliebige {@link IMutation} hinzu
+     * 
+     * @param mutation hinzuzufügende {@link IMutation}
+     * @return diese {@link UnitOfWork}
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     * @throws IllegalStateException wenn die {@link UnitOfWork} bereits ausgeführt wurde
+     */
+    public UnitOfWork add( IMutation mutation )
+        throws IllegalArgumentException, IllegalStateException
+    {
+        checkOpen();
+        if ( ObjectUtils.equals( null, mutation ) )
+        {
+            throw new IllegalArgumentException( "null-object as mutation is not allowed" );
+        }
+        mutations.add( mutation );
+        return this;
+    }
+
+    /**
+     * Fügt Anforderungen am Ende eines {@link Backlog} an
+     * 
+     * @param backlog zu änderndes {@link Backlog}
+     * @param requirements hinzuzufügende Anforderungen
+     * @return diese {@link UnitOfWork}
+     * @see Mutations#addRequirements(Backlog, Collection)
+     */
+    public <T> UnitOfWork addRequirements( Backlog<T> backlog, Collection<? extends T> requirements )
+    {
+        return add( Mutations.addRequirements( backlog, requirements ) );
+    }
+
+    /**
+     * Entfernt Anforderungen aus einem {@link Backlog}
+     * 
+     * @param backlog zu änderndes {@link Backlog}
+     * @param requirements zu entfernende Anforderungen
+     * @return diese {@link UnitOfWork}
+     * @see Mutations#removeRequirements(Backlog, Collection)
+     */
+    public <T> UnitOfWork removeRequirements( Backlog<T> backlog,
+                                              Collection<? extends T> requirements )
+    {
+        return add( Mutations.removeRequirements( backlog, requirements ) );
+    }
+
+    /**
+     * Verschiebt Anforderungen von einem {@link Backlog} in ein anderes, z.B. zwischen zwei
+     * Iterationen
+     * 
+     * @param source {@link Backlog} aus welchem die Anforderungen entfernt werden
+     * @param target {@link Backlog} an welches die Anforderungen angefügt werden
+     * @param requirements zu verschiebende Anforderungen
+     * @return diese {@link UnitOfWork}
+     */
+    public <T> UnitOfWork moveRequirements( Backlog<T> source, Backlog<T> target,
+                                            Collection<? extends T> requirements )
+    {
+        add( Mutations.removeRequirements( source, requirements ) );
+        return add( Mutations.addRequirements( target, requirements ) );
+    }
+
+    /**
+     * Verschiebt eine Anforderung innerhalb eines {@link Backlog}
+     * 
+     * @param backlog zu änderndes {@link Backlog}
+     * @param fromIndex aktuelle Position der Anforderung
+     * @param toIndex neue Position der Anforderung
+     * @return diese {@link UnitOfWork}
+     */
+    public <T> UnitOfWork moveRequirement( Backlog<T> backlog, int fromIndex, int toIndex )
+    {
+        return add( Mutations.moveRequirement( backlog, fromIndex, toIndex ) );
+    }
+
+    /**
+     * Fügt eine {@link IIteration} einem {@link IRelease} hinzu
+     * 
+     * @param release zu änderndes {@link IRelease}
+     * @param iteration hinzuzufügende {@link IIteration}
+     * @return diese {@link UnitOfWork}
+     */
+    public UnitOfWork addIteration( IRelease release, IIteration iteration )
+    {
+        return add( Mutations.addIteration( release, iteration ) );
+    }
+
+    /**
+     * Fügt ein {@link IRelease} dem Releaseplan eines {@link Project} hinzu
+     * 
+     * @param project zu änderndes {@link Project}
+     * @param release hinzuzufügendes {@link IRelease}
+     * @return diese {@link UnitOfWork}
+     */
+    public UnitOfWork addReleasePlan( Project project, IRelease release )
+    {
+        return add( Mutations.addReleasePlan( project, release ) );
+    }
+
+    /**
+     * Fügt ein {@link Project} einem {@link Product} hinzu
+     * 
+     * @param product zu änderndes {@link Product}
+     * @param project hinzuzufügendes {@link Project}
+     * @return diese {@link UnitOfWork}
+     */
+    public UnitOfWork addProject( Product product, Project project )
+    {
+        return add( Mutations.addProject( product, project ) );
+    }
+
+    /**
+     * Entfernt ein {@link Project} aus einem {@link Product}
+     * 
+     * @param product zu änderndes {@link Product}
+     * @param project zu entfernendes {@link Project}
+     * @return diese {@link UnitOfWork}
+     */
+    public UnitOfWork removeProject( Product product, Project project )
+    {
+        return add( Mutations.removeProject( product, project ) );
+    }
+
+    /**
+     * Ändert Start- und End-Zeitpunkt eines {@link IPlan}
+     * 
+     * @param plan zu ändernder {@link IPlan}
+     * @param start neuer Startzeitpunkt
+     * @param end neuer Endzeitpunkt
+     * @return diese {@link UnitOfWork}
+     */
+    public UnitOfWork changeStartEnd( IPlan plan, Calendar start, Calendar end )
+    {
+        return add( Mutations.changeStartEnd( plan, start, end ) );
+    }
+
+    /**
+     * Verschiebt ein {@link IRelease} samt seiner Iterationen prozentual in den neuen Zeitraum
+     * 
+     * @param release zu änderndes {@link IRelease}
+     * @param start neuer Startzeitpunkt
+     * @param end neuer Endzeitpunkt
+     * @return diese {@link UnitOfWork}
+     * @see Mutations#changePlanPerPercent(IRelease, Calendar, Calendar)
+     */
+    public UnitOfWork changePlanPerPercent( IRelease release, Calendar start, Calendar end )
+    {
+        return add( Mutations.changePlanPerPercent( release, start, end ) );
+    }
+
+    /**
+     * Registriert einen Beobachter, welcher nach erfolgreicher Ausführung das {@link ChangeSet}
+     * erhält
+     * 
+     * @param listener zu registrierender {@link IChangeSetListener}
+     * @throws IllegalArgumentException wenn der Parameter <code>null</code> ist
+     */
+    public void addChangeSetListener( IChangeSetListener listener )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, listener ) )
+        {
+            throw new IllegalArgumentException( "null-object as listener is not allowed" );
+        }
+        listeners.add( listener );
+    }
+
+    /**
+     * Gibt die Anzahl der gesammelten Änderungen zurück
+     * 
+     * @return Anzahl der Änderungen
+     */
+    public int size()
+    {
+        return mutations.size();
+    }
+
+    /**
+     * Prüft und führt alle gesammelten Änderungen aus. Schlägt eine Änderung fehl, werden alle
+     * bereits ausgeführten Änderungen rückgängig gemacht und die Beobachter des
+     * {@link ModelEventBus} nicht benachrichtigt.
+     * 
+     * @return {@link ChangeSet} mit allen ausgeführten Änderungen
+     * @throws IllegalArgumentException wenn die Prüfung oder Ausführung einer Änderung fehlschlägt
+     * @throws IllegalStateException wenn die {@link UnitOfWork} bereits ausgeführt wurde
+     */
+    public ChangeSet commit()
+        throws IllegalArgumentException, IllegalStateException
+    {
+        checkOpen();
+        ChangeSet changeSet = new ChangeSet( mutations );
+        changeSet.apply();
+        committed = true;
+
+        for ( IChangeSetListener listener : listeners )
+        {
+            listener.committed( changeSet );
+        }
+        return changeSet;
+    }
+
+    private void checkOpen()
+        throws IllegalStateException
+    {
+        if ( committed )
+        {
+            throw new IllegalStateException( "unit of work is already committed" );
+        }
+    }
+}
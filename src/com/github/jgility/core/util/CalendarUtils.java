@@ -12,7 +12,6 @@
  */
 package com.github.jgility.core.util;
 
-import java.text.SimpleDateFormat;
 import java.util.Calendar;
 
 /**
@@ -26,15 +25,36 @@ public final class CalendarUtils
 {
 
     /**
-     * Generiert eine Zeichenkette-Ausgabe im Format "dd.MM.yyyy"
+     * Generiert eine Zeichenkette-Ausgabe im Format "dd.MM.yyyy". Die Ausgabe wird direkt aus den
+     * Feldern des {@link Calendar} gebildet, es wird kein {@link java.text.SimpleDateFormat}
+     * benötigt.
      * 
      * @param date Datum, welches aus gegeben werden soll
      * @return einen Formatierte Datumsausgabe in Form von "dd.MM.yyyy"
      */
     public static String calendarOutput( Calendar date )
     {
-        SimpleDateFormat sdf = new SimpleDateFormat( "dd.MM.yyyy" );
-        return sdf.format( date.getTime() );
+        StringBuilder output = new StringBuilder( 10 );
+        appendPadded( output, date.get( Calendar.DAY_OF_MONTH ), 2 );
+        output.append( '.' );
+        appendPadded( output, date.get( Calendar.MONTH ) + 1, 2 );
+        output.append( '.' );
+        appendPadded( output, date.get( Calendar.YEAR ), 4 );
+        return output.toString();
+    }
+
+    private static void appendPadded( StringBuilder output, int value, int digits )
+    {
+        int power = 1;
+        for ( int i = 1; i < digits; i++ )
+        {
+            power *= 10;
+        }
+        for ( ; power > 1 && value < power; power /= 10 )
+        {
+            output.append( '0' );
+        }
+        output.append( value );
     }
 
     /**
@@ -62,9 +82,9 @@ public final class CalendarUtils
      */
     public static void modifyStartEnd( Calendar start, Calendar end )
     {
-        start.set( Calendar.HOUR, 0 );
+        start.set( Calendar.HOUR_OF_DAY, 0 );
         start.set( Calendar.MINUTE, 0 );
-        end.set( Calendar.HOUR, 23 );
+        end.set( Calendar.HOUR_OF_DAY, 23 );
         end.set( Calendar.MINUTE, 59 );
     }
 
@@ -13,10 +13,12 @@
 package com.github.jgility.core.util;
 
 /**
- * Ein einfache Counter-Klasse
+ * Ein einfache Counter-Klasse. Nicht thread-sicher.
  * 
  * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ * @deprecated für die Vergabe von Anforderungsnummern {@link IdAllocator} verwenden
  */
+@Deprecated
 public class Counter
 {
 
@@ -46,7 +48,7 @@ public class Counter
     private void setCounter( int counter )
         throws IllegalArgumentException
     {
-        if ( 0 > counter || counter > Integer.MAX_VALUE )
+        if ( 0 > counter )
         {
             throw new IllegalArgumentException( "counter has invalid range: 0 < counter > 2³¹" );
         }
@@ -58,7 +60,11 @@ public class Counter
      */
     public void increment()
     {
-        setCounter( ++counter );
+        if ( Integer.MAX_VALUE == counter )
+        {
+            throw new IllegalArgumentException( "counter has invalid range: 0 < counter > 2³¹" );
+        }
+        setCounter( counter + 1 );
     }
 
     /**
@@ -66,7 +72,7 @@ public class Counter
      */
     public void decrement()
     {
-        setCounter( --counter );
+        setCounter( counter - 1 );
     }
 
     /**
@@ -0,0 +1,104 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.util;
+
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Util-Klasse für die Implementierung von {@link Object#equals(Object)} und
+ * {@link Object#hashCode()} der Modellklassen. Die Methoden erzeugen keine Objekte, so dass
+ * Vergleiche in großen {@link java.util.HashSet}s oder {@link java.util.HashMap}s keine Last für
+ * den Garbage-Collector verursachen.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public final class EqualsUtils
+{
+
+    /**
+     * Multiplikator für die Verknüpfung einzelner Hash-Werte
+     */
+    public static final int PRIME = 31;
+
+    private EqualsUtils()
+    {
+    }
+
+    /**
+     * Vergleicht zwei {@link List}s elementweise wie {@link List#equals(Object)}. Listen mit
+     * wahlfreiem Zugriff werden ohne {@link java.util.Iterator} verglichen.
+     * 
+     * @param first erste {@link List} oder <code>null</code>
+     * @param second zweite {@link List} oder <code>null</code>
+     * @return <code>true</code> wenn beide gleich oder <code>null</code> sind
+     */
+    public static boolean equals( List<?> first, List<?> second )
+    {
+        if ( first == second )
+        {
+            return true;
+        }
+        if ( null == first || null == second )
+        {
+            return false;
+        }
+        if ( !( first instanceof RandomAccess ) || !( second instanceof RandomAccess ) )
+        {
+            return first.equals( second );
+        }
+
+        int size = first.size();
+        if ( size != second.size() )
+        {
+            return false;
+        }
+        for ( int i = 0; i < size; i++ )
+        {
+            Object element = first.get( i );
+            Object other = second.get( i );
+            if ( element != other && ( null == element || !element.equals( other ) ) )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Berechnet den Hash-Wert einer {@link List} wie {@link List#hashCode()}. Listen mit
+     * wahlfreiem Zugriff werden ohne {@link java.util.Iterator} durchlaufen.
+     * 
+     * @param list {@link List} oder <code>null</code>
+     * @return Hash-Wert, <code>0</code> für <code>null</code>
+     */
+    public static int hashCode( List<?> list )
+    {
+        if ( null == list )
+        {
+            return 0;
+        }
+        if ( !( list instanceof RandomAccess ) )
+        {
+            return list.hashCode();
+        }
+
+        int hash = 1;
+        for ( int i = 0, size = list.size(); i < size; i++ )
+        {
+            Object element = list.get( i );
+            hash = PRIME * hash + ( null == element ? 0 : element.hashCode() );
+        }
+        return hash;
+    }
+}
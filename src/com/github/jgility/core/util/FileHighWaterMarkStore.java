@@ -0,0 +1,126 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import org.apache.commons.lang3.ObjectUtils;
+
+/**
+ * Implementiert einen {@link IHighWaterMarkStore} auf Basis einer Datei. Der Wert wird in eine
+ * temporäre Datei geschrieben, auf den Datenträger gesichert und anschließend atomar umbenannt,
+ * damit auch nach einem Stromausfall immer ein vollständiger Wert gelesen wird.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public class FileHighWaterMarkStore
+    implements IHighWaterMarkStore
+{
+
+    private static final Charset CHARSET = Charset.forName( "UTF-8" );
+
+    private final Path file;
+
+    /**
+     * Instanziiert ein Objekt der Klasse {@link FileHighWaterMarkStore}
+     * 
+     * @param file Datei, in welcher der Wert abgelegt wird
+     * @throws IllegalArgumentException wenn die Datei <code>null</code> ist
+     */
+    public FileHighWaterMarkStore( Path file )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, file ) )
+        {
+            throw new IllegalArgumentException( "null-object as file is not allowed" );
+        }
+        this.file = file;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.util.IHighWaterMarkStore#load()
+     */
+    @Override
+    public long load()
+        throws IllegalStateException
+    {
+        if ( !Files.exists( file ) )
+        {
+            return 0;
+        }
+
+        try
+        {
+            String content = new String( Files.readAllBytes( file ), CHARSET ).trim();
+            return Long.parseLong( content );
+        }
+        catch ( IOException | NumberFormatException e )
+        {
+            throw new IllegalStateException( "high-water mark is not readable: " + file, e );
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see com.github.jgility.core.util.IHighWaterMarkStore#store(long)
+     */
+    @Override
+    public void store( long highWaterMark )
+        throws IllegalStateException
+    {
+        Path tmpFile = file.resolveSibling( file.getFileName() + ".tmp" );
+        try
+        {
+            try (FileChannel channel =
+                FileChannel.open( tmpFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                  StandardOpenOption.TRUNCATE_EXISTING ))
+            {
+                ByteBuffer buffer =
+                    ByteBuffer.wrap( String.valueOf( highWaterMark ).getBytes( CHARSET ) );
+                while ( buffer.hasRemaining() )
+                {
+                    channel.write( buffer );
+                }
+                channel.force( true );
+            }
+            Files.move( tmpFile, file, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE );
+            forceDirectory();
+        }
+        catch ( IOException e )
+        {
+            throw new IllegalStateException( "high-water mark is not writable: " + file, e );
+        }
+    }
+
+    private void forceDirectory()
+    {
+        Path directory = file.toAbsolutePath().getParent();
+        try (FileChannel channel = FileChannel.open( directory, StandardOpenOption.READ ))
+        {
+            channel.force( true );
+        }
+        catch ( IOException e )
+        {
+            // nicht jedes Betriebssystem erlaubt das Sichern eines Verzeichnisses
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.util;
+
+/**
+ * Interface für die dauerhafte Ablage des höchsten bereits reservierten Blocks eines
+ * {@link IdAllocator}. Nach einem Neustart wird ab diesem Wert weiter vergeben, so dass keine
+ * Anforderungsnummer doppelt vergeben wird.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public interface IHighWaterMarkStore
+{
+
+    /**
+     * Lädt den zuletzt gespeicherten Wert
+     * 
+     * @return gespeicherter Wert oder <code>0</code>, wenn noch kein Wert gespeichert wurde
+     * @throws IllegalStateException wenn der Wert nicht gelesen werden kann
+     */
+    long load()
+        throws IllegalStateException;
+
+    /**
+     * Speichert den übergebenen Wert dauerhaft
+     * 
+     * @param highWaterMark zu speichernder Wert
+     * @throws IllegalStateException wenn der Wert nicht gespeichert werden kann
+     */
+    void store( long highWaterMark )
+        throws IllegalStateException;
+}
@@ -0,0 +1,33 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.util;
+
+/**
+ * Interface für eine Änderung an einem Objekt, welche über {@link VersionUtils} versioniert
+ * ausgeführt wird
+ * 
+ * @param <T> Typ des zu ändernden Objekts
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public interface IModification<T>
+{
+
+    /**
+     * Führt die Änderung am übergebenen Objekt aus
+     * 
+     * @param entity zu änderndes Objekt
+     * @throws IllegalArgumentException wenn die Änderung nicht zulässig ist
+     */
+    void apply( T entity )
+        throws IllegalArgumentException;
+}
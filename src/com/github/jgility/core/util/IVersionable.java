@@ -0,0 +1,42 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.util;
+
+/**
+ * Interface für Objekte, welche eine Versionsnummer für die optimistische Nebenläufigkeitskontrolle
+ * besitzen. Eine gerade Versionsnummer kennzeichnet einen stabilen Zustand, eine ungerade
+ * Versionsnummer eine laufende Änderung.
+ * 
+ * @see VersionUtils
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public interface IVersionable
+{
+
+    /**
+     * Gibt die aktuelle Versionsnummer zurück
+     * 
+     * @return Versionsnummer als long
+     */
+    long getVersion();
+
+    /**
+     * Setzt atomar die Versionsnummer auf <code>newVersion</code>, sofern die aktuelle
+     * Versionsnummer <code>expectedVersion</code> entspricht
+     * 
+     * @param expectedVersion erwartete Versionsnummer
+     * @param newVersion neue Versionsnummer
+     * @return <code>true</code> wenn die Versionsnummer gesetzt wurde
+     */
+    boolean compareAndSetVersion( long expectedVersion, long newVersion );
+}
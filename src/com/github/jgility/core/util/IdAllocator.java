@@ -0,0 +1,236 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang3.ObjectUtils;
+
+import com.github.jgility.core.requirement.IRequirement;
+
+/**
+ * Thread-sichere Vergabe von ein-eindeutigen Anforderungsnummern ({@link IRequirement#getID()}).
+ * Jeder Thread erhält einen eigenen Block von Nummern, aus dem ohne Synchronisation vergeben wird.
+ * Nur für einen neuen Block wird ein gemeinsamer {@link AtomicLong} inkrementiert.<br>
+ * Für den Betrieb mit mehreren Knoten wird der Nummernraum blockweise verschränkt aufgeteilt: Knoten
+ * <code>nodeId</code> von <code>nodeCount</code> erhält die Blöcke <code>nodeId</code>,
+ * <code>nodeId + nodeCount</code>, <code>nodeId + 2 * nodeCount</code>, usw. Optional werden die
+ * reservierten Blöcke über einen {@link IHighWaterMarkStore} dauerhaft gespeichert.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public class IdAllocator
+{
+
+    /**
+     * Erste vergebene Anforderungsnummer. <code>0</code> kennzeichnet eine noch nicht vergebene
+     * Anforderungsnummer.
+     */
+    public static final int FIRST_ID = 1;
+
+    private static final int DEFAULT_BLOCK_SIZE = 128;
+
+    private final int blockSize;
+
+    private final int nodeId;
+
+    private final int nodeCount;
+
+    private final IHighWaterMarkStore store;
+
+    private final int reservation;
+
+    private final AtomicLong nextBlock;
+
+    private volatile long reservedBlocks;
+
+    private final ThreadLocal<Block> threadBlock = new ThreadLocal<Block>()
+    {
+        @Override
+        protected Block initialValue()
+        {
+            return new Block();
+        }
+    };
+
+    /**
+     * Instanziiert einen {@link IdAllocator} für einen einzelnen Knoten ohne dauerhafte Speicherung
+     */
+    public IdAllocator()
+    {
+        this( DEFAULT_BLOCK_SIZE, 0, 1 );
+    }
+
+    /**
+     * Instanziiert einen {@link IdAllocator} ohne dauerhafte Speicherung
+     * 
+     * @param blockSize Anzahl an Nummern pro Block
+     * @param nodeId Nummer des Knotens (<code>0 <= nodeId < nodeCount</code>)
+     * @param nodeCount Anzahl der Knoten
+     * @throws IllegalArgumentException wenn einer der Parameter in einem invaliden Bereich liegt
+     */
+    public IdAllocator( int blockSize, int nodeId, int nodeCount )
+        throws IllegalArgumentException
+    {
+        this( blockSize, nodeId, nodeCount, null, 0, 0 );
+    }
+
+    /**
+     * Instanziiert einen {@link IdAllocator}, welcher die reservierten Blöcke dauerhaft speichert.
+     * Es werden jeweils <code>reservation</code> Blöcke im Voraus reserviert, so dass nicht bei
+     * jedem Block gespeichert werden muss.
+     * 
+     * @param blockSize Anzahl an Nummern pro Block
+     * @param nodeId Nummer des Knotens (<code>0 <= nodeId < nodeCount</code>)
+     * @param nodeCount Anzahl der Knoten
+     * @param store Ablage des höchsten reservierten Blocks
+     * @param reservation Anzahl der Blöcke, welche pro Speichervorgang reserviert werden
+     * @throws IllegalArgumentException wenn einer der Parameter in einem invaliden Bereich liegt
+     * @throws IllegalStateException wenn die Ablage nicht gelesen werden kann
+     */
+    public IdAllocator( int blockSize, int nodeId, int nodeCount, IHighWaterMarkStore store,
+                        int reservation )
+        throws IllegalArgumentException, IllegalStateException
+    {
+        this( blockSize, nodeId, nodeCount, checkStore( store ), reservation, store.load() );
+    }
+
+    private IdAllocator( int blockSize, int nodeId, int nodeCount, IHighWaterMarkStore store,
+                         int reservation, long highWaterMark )
+        throws IllegalArgumentException
+    {
+        if ( 0 >= blockSize )
+        {
+            throw new IllegalArgumentException( "block size has to be positive: " + blockSize );
+        }
+        if ( 0 >= nodeCount || 0 > nodeId || nodeId >= nodeCount )
+        {
+            throw new IllegalArgumentException( "node id has invalid range: 0 <= " + nodeId
+                + " < " + nodeCount );
+        }
+        if ( null != store && 0 >= reservation )
+        {
+            throw new IllegalArgumentException( "reservation has to be positive: " + reservation );
+        }
+        if ( 0 > highWaterMark )
+        {
+            throw new IllegalArgumentException( "negative high-water mark is not allowed: "
+                + highWaterMark );
+        }
+
+        this.blockSize = blockSize;
+        this.nodeId = nodeId;
+        this.nodeCount = nodeCount;
+        this.store = store;
+        this.reservation = reservation;
+        this.nextBlock = new AtomicLong( highWaterMark );
+        this.reservedBlocks = null == store ? Long.MAX_VALUE : highWaterMark;
+    }
+
+    private static IHighWaterMarkStore checkStore( IHighWaterMarkStore store )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, store ) )
+        {
+            throw new IllegalArgumentException( "null-object as store is not allowed" );
+        }
+        return store;
+    }
+
+    /**
+     * Gibt die nächste freie Anforderungsnummer zurück
+     * 
+     * @return ein-eindeutige Anforderungsnummer
+     * @throws IllegalStateException wenn der Nummernraum erschöpft ist oder die Reservierung nicht
+     *             gespeichert werden kann
+     */
+    public int nextId()
+        throws IllegalStateException
+    {
+        Block block = threadBlock.get();
+        if ( block.next == block.end )
+        {
+            refill( block );
+        }
+        return (int) block.next++;
+    }
+
+    private void refill( Block block )
+        throws IllegalStateException
+    {
+        long localBlock = nextBlock.getAndIncrement();
+        if ( localBlock >= reservedBlocks )
+        {
+            reserve( localBlock );
+        }
+
+        long start = FIRST_ID + ( localBlock * nodeCount + nodeId ) * blockSize;
+        if ( start > (long) Integer.MAX_VALUE - blockSize + 1 )
+        {
+            throw new IllegalStateException( "requirement-id range is exhausted" );
+        }
+        block.next = start;
+        block.end = start + blockSize;
+    }
+
+    private synchronized void reserve( long localBlock )
+        throws IllegalStateException
+    {
+        while ( localBlock >= reservedBlocks )
+        {
+            long highWaterMark = reservedBlocks + reservation;
+            store.store( highWaterMark );
+            reservedBlocks = highWaterMark;
+        }
+    }
+
+    /**
+     * Gibt die Anzahl an Nummern pro Block zurück
+     * 
+     * @return Anzahl an Nummern pro Block
+     */
+    public int getBlockSize()
+    {
+        return blockSize;
+    }
+
+    /**
+     * Gibt die Nummer des Knotens zurück
+     * 
+     * @return Nummer des Knotens
+     */
+    public int getNodeId()
+    {
+        return nodeId;
+    }
+
+    /**
+     * Gibt die Anzahl der Knoten zurück
+     * 
+     * @return Anzahl der Knoten
+     */
+    public int getNodeCount()
+    {
+        return nodeCount;
+    }
+
+    /*
+     * Thread-lokaler Block von Anforderungsnummern: [next, end)
+     */
+    private static final class Block
+    {
+        private long next;
+
+        private long end;
+    }
+}
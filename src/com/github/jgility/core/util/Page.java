@@ -0,0 +1,150 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+
+import org.apache.commons.lang3.ObjectUtils;
+
+/**
+ * Unveränderlicher Ausschnitt einer Sammlung für seitenweisen Zugriff. Nur die Elemente der Seite
+ * werden kopiert, die Sammlung selbst bleibt unberührt. Über {@link #getNextOffset()} wird die
+ * folgende Seite angefordert.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ * @param <T> Typ der Elemente
+ */
+public final class Page<T>
+{
+
+    private final List<T> content;
+
+    private final int offset;
+
+    private final int total;
+
+    /**
+     * Instanziiert eine Seite der übergebenen Sammlung. Listen mit wahlfreiem Zugriff werden
+     * direkt ab <code>offset</code> gelesen, andere Sammlungen bis dorthin durchlaufen.
+     * 
+     * @param source Sammlung, aus welcher die Seite gebildet wird
+     * @param offset Position des ersten Elements der Seite
+     * @param limit maximale Anzahl an Elementen der Seite
+     * @throws IllegalArgumentException wenn die Sammlung <code>null</code>, die Position negativ
+     *             oder die Anzahl nicht positiv ist
+     */
+    public Page( Collection<? extends T> source, int offset, int limit )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, source ) )
+        {
+            throw new IllegalArgumentException( "null-object as source is not allowed" );
+        }
+        if ( offset < 0 || limit <= 0 )
+        {
+            throw new IllegalArgumentException( "invalid page: offset=" + offset + ", limit="
+                + limit );
+        }
+
+        total = source.size();
+        this.offset = offset;
+        int end = (int) Math.min( total, (long) offset + limit );
+        List<T> elements = new ArrayList<>( Math.max( 0, end - offset ) );
+        if ( source instanceof List && source instanceof RandomAccess )
+        {
+            List<? extends T> list = (List<? extends T>) source;
+            for ( int i = offset; i < end; i++ )
+            {
+                elements.add( list.get( i ) );
+            }
+        }
+        else
+        {
+            Iterator<? extends T> iterator = source.iterator();
+            for ( int i = 0; i < end && iterator.hasNext(); i++ )
+            {
+                T element = iterator.next();
+                if ( i >= offset )
+                {
+                    elements.add( element );
+                }
+            }
+        }
+        content = Collections.unmodifiableList( elements );
+    }
+
+    /**
+     * Gibt die Elemente der Seite zurück
+     * 
+     * @return unveränderliche {@link List} der Elemente
+     */
+    public List<T> getContent()
+    {
+        return content;
+    }
+
+    /**
+     * Gibt die Position des ersten Elements der Seite zurück
+     * 
+     * @return Position innerhalb der Sammlung
+     */
+    public int getOffset()
+    {
+        return offset;
+    }
+
+    /**
+     * Gibt die Anzahl der Elemente der gesamten Sammlung zum Zeitpunkt der Erstellung zurück
+     * 
+     * @return Gesamtanzahl der Elemente
+     */
+    public int getTotal()
+    {
+        return total;
+    }
+
+    /**
+     * Prüft ob nach dieser Seite weitere Elemente folgen
+     * 
+     * @return <code>true</code> wenn eine weitere Seite existiert
+     */
+    public boolean hasNext()
+    {
+        return getNextOffset() < total;
+    }
+
+    /**
+     * Gibt die Position der folgenden Seite zurück
+     * 
+     * @return Position des ersten Elements der folgenden Seite
+     */
+    public int getNextOffset()
+    {
+        return offset + content.size();
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.lang.Object#toString()
+     */
+    @Override
+    public String toString()
+    {
+        return "Page [offset=" + offset + ", size=" + content.size() + ", total=" + total + "]";
+    }
+}
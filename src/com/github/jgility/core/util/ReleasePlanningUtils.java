@@ -12,15 +12,20 @@
  */
 package com.github.jgility.core.util;
 
+import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
 import java.util.List;
 
 import org.apache.commons.collections.CollectionUtils;
 
+import com.github.jgility.core.metrics.Metrics;
 import com.github.jgility.core.planning.IIteration;
 import com.github.jgility.core.planning.IPlan;
 import com.github.jgility.core.planning.IRelease;
+import com.github.jgility.core.trace.TraceSpan;
+import com.github.jgility.core.trace.TraceType;
+import com.github.jgility.core.trace.Tracing;
 
 /**
  * Util-Klasse für diverse Verfahrensweisen für die Änderung an der Release und Iterations-Planung.
@@ -69,17 +74,31 @@ public final class ReleasePlanningUtils
     public static void changePlan( IRelease release, Calendar start, Calendar end )
         throws IllegalArgumentException
     {
-        List<IIteration> iterationList = release.getIterationList();
-        if ( CalendarUtils.checkDate( start, end ) )
+        TraceSpan span = Tracing.begin( TraceType.RELEASE_RESCHEDULE );
+        long startTime = Metrics.start();
+        try
         {
-            if ( null == iterationList || CollectionUtils.isEmpty( iterationList ) )
+            List<IIteration> iterationList = release.getIterationList();
+            if ( CalendarUtils.checkDate( start, end ) )
             {
-                release.changeStartEnd( start, end );
+                if ( null == iterationList || CollectionUtils.isEmpty( iterationList ) )
+                {
+                    release.changeStartEnd( start, end );
+                }
+                else
+                {
+                    throw new IllegalArgumentException( "a plan with subplan is not allowed to "
+                        + "simple change the start- and end-time" );
+                }
             }
-            else
+        }
+        finally
+        {
+            Metrics.stop( Metrics.PLANNING_RESCHEDULE, startTime );
+            if ( null != span )
             {
-                throw new IllegalArgumentException( "a plan with subplan is not allowed to simple "
-                    + "change the start- and end-time" );
+                Tracing.describe( span, release );
+                Tracing.end( span );
             }
         }
     }
@@ -98,14 +117,28 @@ public final class ReleasePlanningUtils
     public static void changePlanCutSubPlan( IRelease release, Calendar start, Calendar end )
         throws IllegalArgumentException
     {
-        if ( CalendarUtils.checkDate( start, end ) )
+        TraceSpan span = Tracing.begin( TraceType.RELEASE_RESCHEDULE );
+        long startTime = Metrics.start();
+        try
         {
-            release.changeStartEnd( start, end );
-            cutIterationList( release, start, end );
+            if ( CalendarUtils.checkDate( start, end ) )
+            {
+                release.changeStartEnd( start, end );
+                cutIterationList( release, start, end );
+            }
+            else
+            {
+                throw new IllegalArgumentException( "start-time or end-time is invalid" );
+            }
         }
-        else
+        finally
         {
-            throw new IllegalArgumentException( "start-time or end-time is invalid" );
+            Metrics.stop( Metrics.PLANNING_RESCHEDULE, startTime );
+            if ( null != span )
+            {
+                Tracing.describe( span, release );
+                Tracing.end( span );
+            }
         }
     }
 
@@ -121,34 +154,48 @@ public final class ReleasePlanningUtils
     public static void changePlanPerPercent( IRelease release, Calendar start, Calendar end )
         throws IllegalArgumentException
     {
-        if ( CalendarUtils.checkDate( start, end ) )
+        TraceSpan span = Tracing.begin( TraceType.RELEASE_RESCHEDULE );
+        long startTime = Metrics.start();
+        try
         {
-            List<IIteration> iterationList = release.getIterationList();
-            if ( CollectionUtils.isNotEmpty( iterationList ) )
+            if ( CalendarUtils.checkDate( start, end ) )
             {
-                long oldRange = calculateRangeInDays( release.getStart(), release.getEnd() );
-                release.changeStartEnd( start, end );
-                long newRange = calculateRangeInDays( start, end );
-
-                Calendar preEnd = start;
-                for ( IIteration iteration : iterationList )
+                List<IIteration> iterationList = release.getIterationList();
+                if ( CollectionUtils.isNotEmpty( iterationList ) )
                 {
-                    long dayOffset =
-                        calculateNewDayRange( oldRange,
-                                              newRange,
-                                              calculateRangeInDays( iteration.getStart(),
-                                                                    iteration.getEnd() ) );
-                    iteration.changeStartEnd( preEnd, addDayOffset( preEnd, dayOffset ) );
-                    preEnd = iteration.getEnd();
+                    long oldRange = calculateRangeInDays( release.getStart(), release.getEnd() );
+                    release.changeStartEnd( start, end );
+                    long newRange = calculateRangeInDays( start, end );
+
+                    Calendar preEnd = start;
+                    for ( IIteration iteration : iterationList )
+                    {
+                        long dayOffset =
+                            calculateNewDayRange( oldRange,
+                                                  newRange,
+                                                  calculateRangeInDays( iteration.getStart(),
+                                                                        iteration.getEnd() ) );
+                        iteration.changeStartEnd( preEnd, addDayOffset( preEnd, dayOffset ) );
+                        preEnd = iteration.getEnd();
+                    }
+
+                    IIteration iteration = release.getIteration( release.size() - 1 );
+                    iteration.setEnd( end );
                 }
-
-                IIteration iteration = release.getIteration( release.size() - 1 );
-                iteration.setEnd( end );
+            }
+            else
+            {
+                throw new IllegalArgumentException( "start-time or end-time is invalid" );
             }
         }
-        else
+        finally
         {
-            throw new IllegalArgumentException( "start-time or end-time is invalid" );
+            Metrics.stop( Metrics.PLANNING_RESCHEDULE, startTime );
+            if ( null != span )
+            {
+                Tracing.describe( span, release );
+                Tracing.end( span );
+            }
         }
     }
 
@@ -158,7 +205,8 @@ public final class ReleasePlanningUtils
         List<IIteration> iterationList = release.getIterationList();
         if ( CollectionUtils.isNotEmpty( iterationList ) )
         {
-            for ( IIteration iteration : iterationList )
+            // Kopie, da während der Iteration Unterpläne entfernt werden
+            for ( IIteration iteration : new ArrayList<>( iterationList ) )
             {
                 if ( iteration.getEnd().before( start ) )
                 {
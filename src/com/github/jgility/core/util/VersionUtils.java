@@ -0,0 +1,137 @@
+/*
+ * 
+ * Copyright (c) 2011 by Jgility Development Group
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Karsten Schulz
+ *
+ */
+package com.github.jgility.core.util;
+
+import java.util.ConcurrentModificationException;
+
+import org.apache.commons.lang3.ObjectUtils;
+
+/**
+ * Util-Klasse für die optimistische Nebenläufigkeitskontrolle von {@link IVersionable}-Objekten.
+ * Eine Änderung belegt die Versionsnummer per compare-and-set (ungerade Versionsnummer), führt die
+ * {@link IModification} aus und gibt die Versionsnummer um zwei erhöht wieder frei. Konkurrierende
+ * Änderungen werden dadurch ohne Sperren erkannt und abgewiesen oder erneut ausgeführt.
+ * 
+ * @author Karsten Schulz <lennylinux.ks@googlemail.com>
+ */
+public final class VersionUtils
+{
+
+    private VersionUtils()
+    {
+    }
+
+    /**
+     * Prüft ob die Versionsnummer einen stabilen Zustand kennzeichnet (keine laufende Änderung)
+     * 
+     * @param version zu prüfende Versionsnummer
+     * @return <code>true</code> wenn die Versionsnummer gerade ist
+     */
+    public static boolean isStable( long version )
+    {
+        return 0 == ( version & 1L );
+    }
+
+    /**
+     * Führt eine Änderung aus, sofern das Objekt noch die erwartete Versionsnummer besitzt
+     * (compare-and-set). Wurde das Objekt zwischenzeitlich geändert, wird die Änderung abgewiesen.
+     * 
+     * @param entity zu änderndes Objekt
+     * @param expectedVersion zuvor gelesene Versionsnummer
+     * @param modification auszuführende Änderung
+     * @return neue Versionsnummer nach der Änderung
+     * @throws ConcurrentModificationException wird geworfen, wenn die Versionsnummer nicht mehr
+     *             der erwarteten Versionsnummer entspricht
+     * @throws IllegalArgumentException wird geworfen, wenn einer der Parameter <code>null</code>
+     *             ist oder die Änderung selbst nicht zulässig ist
+     */
+    public static <T extends IVersionable> long update( T entity, long expectedVersion,
+                                                        IModification<? super T> modification )
+        throws ConcurrentModificationException, IllegalArgumentException
+    {
+        checkParameter( entity, modification );
+
+        if ( !isStable( expectedVersion ) || !entity.compareAndSetVersion( expectedVersion,
+                                                                           expectedVersion + 1 ) )
+        {
+            throw new ConcurrentModificationException( "version conflict: expected "
+                + expectedVersion + " but was " + entity.getVersion() );
+        }
+
+        return applyAndRelease( entity, expectedVersion, modification );
+    }
+
+    /**
+     * Führt eine Änderung auf dem jeweils aktuellen Stand des Objekts aus. Bei einem Konflikt wird
+     * die Änderung mit der neuen Versionsnummer erneut ausgeführt, bis maximal
+     * <code>maxAttempts</code> Versuche erreicht sind. Geeignet für Änderungen, die unabhängig vom
+     * vorherigen Stand zusammengeführt werden können (z.B. das Hinzufügen eines Elements).
+     * 
+     * @param entity zu änderndes Objekt
+     * @param modification auszuführende Änderung
+     * @param maxAttempts maximale Anzahl an Versuchen
+     * @return neue Versionsnummer nach der Änderung
+     * @throws ConcurrentModificationException wird geworfen, wenn nach <code>maxAttempts</code>
+     *             Versuchen die Änderung nicht ausgeführt werden konnte
+     * @throws IllegalArgumentException wird geworfen, wenn einer der Parameter ungültig ist oder die
+     *             Änderung selbst nicht zulässig ist
+     */
+    public static <T extends IVersionable> long update( T entity,
+                                                        IModification<? super T> modification,
+                                                        int maxAttempts )
+        throws ConcurrentModificationException, IllegalArgumentException
+    {
+        checkParameter( entity, modification );
+        if ( 0 >= maxAttempts )
+        {
+            throw new IllegalArgumentException( "at least one attempt is required: " + maxAttempts );
+        }
+
+        for ( int attempt = 0; attempt < maxAttempts; attempt++ )
+        {
+            long version = entity.getVersion();
+            if ( isStable( version ) && entity.compareAndSetVersion( version, version + 1 ) )
+            {
+                return applyAndRelease( entity, version, modification );
+            }
+            Thread.yield();
+        }
+
+        throw new ConcurrentModificationException( "version conflict after " + maxAttempts
+            + " attempts" );
+    }
+
+    private static <T extends IVersionable> long applyAndRelease( T entity, long version,
+                                                                  IModification<? super T> modification )
+    {
+        try
+        {
+            modification.apply( entity );
+        }
+        finally
+        {
+            // Auch eine fehlgeschlagene Änderung kann den Zustand verändert haben
+            entity.compareAndSetVersion( version + 1, version + 2 );
+        }
+        return version + 2;
+    }
+
+    private static void checkParameter( IVersionable entity, IModification<?> modification )
+        throws IllegalArgumentException
+    {
+        if ( ObjectUtils.equals( null, entity ) || ObjectUtils.equals( null, modification ) )
+        {
+            throw new IllegalArgumentException( "null-object is not allowed for versioned update" );
+        }
+    }
+}
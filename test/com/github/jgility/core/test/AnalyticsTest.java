@@ -0,0 +1,137 @@
+package com.github.jgility.core.test;
+
+import java.util.BitSet;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.jgility.core.analytics.ColumnarBacklog;
+import com.github.jgility.core.planning.Backlog;
+import com.github.jgility.core.requirement.IRequirement;
+import com.github.jgility.core.requirement.ImplementState;
+import com.github.jgility.core.requirement.IterationStory;
+import com.github.jgility.core.requirement.Priority;
+import com.github.jgility.core.requirement.ProductStory;
+import com.github.jgility.core.requirement.RequirementKind;
+
+public class AnalyticsTest
+{
+
+    private Backlog<IRequirement> backlog;
+
+    @Before
+    public void setUp()
+    {
+        backlog = new Backlog<>();
+        backlog.addRequirement( new ProductStory( 1, "Eins", "Beschreibung", 1.0f, Priority.MINOR,
+                                                  "Max", RequirementKind.USER_STORY ) );
+        backlog.addRequirement( new ProductStory( 2, "Zwei", "Beschreibung", 2.0f, Priority.MAJOR,
+                                                  "Erika", RequirementKind.BUG ) );
+        IterationStory story =
+            new IterationStory( 3, "Drei", "Beschreibung", 3.0f, Priority.MAJOR, "Max",
+                                RequirementKind.USER_STORY );
+        story.setImplementState( ImplementState.DONE );
+        backlog.addRequirement( story );
+        backlog.addRequirement( new IterationStory( 4, "Vier", "Beschreibung", 5.0f,
+                                                    Priority.BLOCKER, "Erika",
+                                                    RequirementKind.TASK ) );
+    }
+
+    @Test
+    public void testColumns()
+    {
+        ColumnarBacklog columns = new ColumnarBacklog( backlog );
+
+        Assert.assertEquals( 4, columns.size() );
+        for ( int row = 0; row < columns.size(); row++ )
+        {
+            IRequirement requirement = backlog.getRequirementList().get( row );
+            Assert.assertEquals( requirement.getID(), columns.getID( row ) );
+            Assert.assertEquals( requirement.getEstimated(), columns.getEstimated( row ), 0.0f );
+            Assert.assertEquals( requirement.getPriority(), columns.getPriority( row ) );
+            Assert.assertEquals( requirement.getRequirementKind(),
+                                 columns.getRequirementKind( row ) );
+            Assert.assertEquals( requirement.getRequester(), columns.getRequester( row ) );
+        }
+        Assert.assertNull( columns.getImplementState( 0 ) );
+        Assert.assertEquals( ImplementState.DONE, columns.getImplementState( 2 ) );
+        Assert.assertEquals( ImplementState.PENDING, columns.getImplementState( 3 ) );
+        Assert.assertEquals( 2, columns.getRequesters().length );
+
+        try
+        {
+            columns.getID( 4 );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IndexOutOfBoundsException ioobe )
+        {
+        }
+    }
+
+    @Test
+    public void testSelectAndAggregate()
+    {
+        ColumnarBacklog columns = new ColumnarBacklog( backlog );
+
+        Assert.assertEquals( 11.0, columns.sumEstimated( null ), 0.0 );
+
+        BitSet major = columns.selectPriority( Priority.MAJOR );
+        Assert.assertEquals( 2, columns.count( major ) );
+        Assert.assertEquals( 5.0, columns.sumEstimated( major ), 0.0 );
+
+        BitSet max = columns.selectRequester( "Max" );
+        max.and( columns.selectKind( RequirementKind.USER_STORY ) );
+        Assert.assertEquals( 2, columns.count( max ) );
+        Assert.assertTrue( columns.selectRequester( "Unbekannt" ).isEmpty() );
+
+        Assert.assertEquals( 2, columns.count( columns.selectState( null ) ) );
+        Assert.assertEquals( 1, columns.count( columns.selectState( ImplementState.DONE ) ) );
+        Assert.assertEquals( 3, columns.count( columns.selectEstimated( 2.0f, 5.0f ) ) );
+
+        int[] byKind = columns.countByKind( null );
+        Assert.assertEquals( 2, byKind[RequirementKind.USER_STORY.ordinal()] );
+        Assert.assertEquals( 0, byKind[RequirementKind.TECHNICAL_STORY.ordinal()] );
+
+        double[] byPriority = columns.sumEstimatedByPriority( null );
+        Assert.assertEquals( 1.0, byPriority[Priority.MINOR.ordinal()], 0.0 );
+        Assert.assertEquals( 5.0, byPriority[Priority.MAJOR.ordinal()], 0.0 );
+        Assert.assertEquals( 5.0, byPriority[Priority.BLOCKER.ordinal()], 0.0 );
+
+        int[] byState = columns.countByState( columns.selectPriority( Priority.BLOCKER ) );
+        Assert.assertEquals( 1, byState[ImplementState.PENDING.ordinal()] );
+        Assert.assertEquals( 0, byState[ImplementState.DONE.ordinal()] );
+    }
+
+    @Test
+    public void testLargeSelection()
+    {
+        Backlog<IRequirement> large = new Backlog<>();
+        for ( int i = 1; i <= 200; i++ )
+        {
+            large.addRequirement( new ProductStory( i, "Test", "Beschreibung", i, Priority.MINOR,
+                                                    "Max", i % 2 == 0 ? RequirementKind.BUG
+                                                                    : RequirementKind.TASK ) );
+        }
+        ColumnarBacklog columns = new ColumnarBacklog( large );
+        BitSet bugs = columns.selectKind( RequirementKind.BUG );
+
+        Assert.assertEquals( 100, bugs.cardinality() );
+        Assert.assertTrue( bugs.get( 199 ) );
+        Assert.assertFalse( bugs.get( 198 ) );
+        Assert.assertEquals( 10100.0, columns.sumEstimated( bugs ), 0.0 );
+    }
+
+    @Test
+    public void testInvalidParameter()
+    {
+        try
+        {
+            new ColumnarBacklog( (Backlog<IRequirement>) null );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalArgumentException iae )
+        {
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.github.jgility.core.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.GregorianCalendar;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.jgility.core.persistence.ChannelProductStore;
+import com.github.jgility.core.persistence.Durability;
+import com.github.jgility.core.planning.Iteration;
+import com.github.jgility.core.planning.Release;
+import com.github.jgility.core.project.Person;
+import com.github.jgility.core.project.Product;
+import com.github.jgility.core.project.Project;
+import com.github.jgility.core.requirement.IterationStory;
+import com.github.jgility.core.requirement.Priority;
+import com.github.jgility.core.requirement.ProductStory;
+import com.github.jgility.core.requirement.RequirementKind;
+
+public class ChannelStoreTest
+{
+
+    private Path file;
+
+    @Before
+    public void setUp()
+        throws IOException
+    {
+        file = File.createTempFile( "jgility", ".dat" ).toPath();
+    }
+
+    @After
+    public void tearDown()
+        throws IOException
+    {
+        Files.deleteIfExists( file );
+    }
+
+    @Test
+    public void testRoundTrip()
+    {
+        Product product = createProduct();
+        for ( Durability durability : Durability.values() )
+        {
+            ChannelProductStore store = new ChannelProductStore( file, durability );
+            store.save( product );
+            Product loaded = store.load();
+
+            Assert.assertEquals( product.getName(), loaded.getName() );
+            Assert.assertEquals( product.getProductOwner(), loaded.getProductOwner() );
+            Assert.assertEquals( 100, loaded.getProductBacklog().size() );
+            Assert.assertEquals( "Story 42", loaded.getProductBacklog().getRequirementList()
+                .get( 42 ).getTitle() );
+            Assert.assertEquals( 2, loaded.getProjects().size() );
+            for ( Project project : loaded.getProjects() )
+            {
+                Assert.assertTrue( loaded.containsProject( project ) );
+                if ( "Projekt".equals( project.getName() ) )
+                {
+                    Assert.assertEquals( 2, project.getReleasePlan().size() );
+                    Assert.assertEquals( 1, project.getReleasePlan().get( 1 ).getIteration( 0 )
+                        .getIterationBacklog().size() );
+                }
+                else
+                {
+                    Assert.assertTrue( project.getReleasePlan().isEmpty() );
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTruncatedFile()
+        throws IOException
+    {
+        ChannelProductStore store = new ChannelProductStore( file, Durability.NONE );
+        store.save( createProduct() );
+        try (FileChannel channel = FileChannel.open( file, StandardOpenOption.WRITE ))
+        {
+            channel.truncate( channel.size() - 8 );
+        }
+
+        try
+        {
+            store.load();
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalStateException ise )
+        {
+        }
+    }
+
+    @Test
+    public void testInvalidParameter()
+    {
+        try
+        {
+            new ChannelProductStore( file, null );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalArgumentException iae )
+        {
+        }
+
+        try
+        {
+            new ChannelProductStore( file ).save( null );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalArgumentException iae )
+        {
+        }
+    }
+
+    private static Product createProduct()
+    {
+        Product product = new Product( "Produkt", "Beschreibung", new Person() );
+        for ( int i = 0; i < 100; i++ )
+        {
+            product.getProductBacklog()
+                .addRequirement( new ProductStory( i, "Story " + i, "Beschreibung " + i, 3,
+                                                   Priority.MINOR, "Requester",
+                                                   RequirementKind.TASK ) );
+        }
+        Project project = new Project( "Projekt", "Beschreibung" );
+        for ( int month = 0; month < 2; month++ )
+        {
+            Release release =
+                new Release( new GregorianCalendar( 2012, month, 1 ),
+                             new GregorianCalendar( 2012, month, 28 ) );
+            Iteration iteration =
+                new Iteration( new GregorianCalendar( 2012, month, 1 ),
+                               new GregorianCalendar( 2012, month, 14 ) );
+            iteration.getIterationBacklog().addRequirement( new IterationStory() );
+            release.addIteration( iteration );
+            project.addReleasePlan( release );
+        }
+        product.addProject( project );
+        product.addProject( new Project( "Leer", "Ohne Releases" ) );
+        return product;
+    }
+}
@@ -0,0 +1,185 @@
+package com.github.jgility.core.test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UnsupportedEncodingException;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.jgility.core.exchange.ExportFormat;
+import com.github.jgility.core.exchange.ImportResult;
+import com.github.jgility.core.exchange.StoryExporter;
+import com.github.jgility.core.exchange.StoryImporter;
+import com.github.jgility.core.planning.Backlog;
+import com.github.jgility.core.planning.Iteration;
+import com.github.jgility.core.planning.Release;
+import com.github.jgility.core.project.Team;
+import com.github.jgility.core.requirement.IProductRequirement;
+import com.github.jgility.core.requirement.ImplementState;
+import com.github.jgility.core.requirement.IterationStory;
+import com.github.jgility.core.requirement.Priority;
+import com.github.jgility.core.requirement.ProductStory;
+import com.github.jgility.core.requirement.RequirementKind;
+
+public class ExportTest
+{
+
+    @Test
+    public void testCsvRoundTrip()
+    {
+        Calendar createDate = Calendar.getInstance( TimeZone.getTimeZone( "UTC" ) );
+        createDate.clear();
+        createDate.set( 2012, Calendar.MARCH, 1, 10, 15, 30 );
+        createDate.set( Calendar.MILLISECOND, 500 );
+
+        Backlog<IProductRequirement> backlog = new Backlog<>();
+        backlog.addRequirement( new ProductStory( 1, "Login", "Anmeldung, mit \"Passwort\"", 2.5f,
+                                                  Priority.MAJOR, "Max", RequirementKind.BUG,
+                                                  createDate ) );
+        backlog.addRequirement( new ProductStory( 2, "Logout", "Zwei\nZeilen", 1, Priority.MINOR,
+                                                  "Erika", RequirementKind.TASK, createDate ) );
+
+        StringWriter writer = new StringWriter();
+        new StoryExporter( ExportFormat.CSV ).exportBacklog( backlog, writer );
+        String csv = writer.toString();
+        Assert.assertTrue( csv.startsWith( "id,title,description,createDate,estimated," ) );
+        Assert.assertTrue( csv.contains( "1,Login,\"Anmeldung, mit \"\"Passwort\"\"\","
+            + "2012-03-01T10:15:30.500Z,2.5,0.0,MAJOR,Max,BUG,,,,\n" ) );
+
+        Backlog<IProductRequirement> imported = new Backlog<>();
+        ImportResult result =
+            new StoryImporter( 1, 16 ).importCsv( new StringReader( csv ), imported );
+        Assert.assertFalse( result.hasErrors() );
+        Assert.assertEquals( backlog.size(), imported.size() );
+        for ( int i = 0; i < backlog.size(); i++ )
+        {
+            IProductRequirement expected = backlog.getRequirementList().get( i );
+            IProductRequirement actual = imported.getRequirementList().get( i );
+            Assert.assertEquals( expected.getID(), actual.getID() );
+            Assert.assertEquals( expected.getTitle(), actual.getTitle() );
+            Assert.assertEquals( expected.getDescription(), actual.getDescription() );
+            Assert.assertEquals( expected.getEstimated(), actual.getEstimated(), 0.0f );
+            Assert.assertEquals( expected.getPriority(), actual.getPriority() );
+            Assert.assertEquals( expected.getRequirementKind(), actual.getRequirementKind() );
+            Assert.assertEquals( expected.getCreateDate().getTimeInMillis(), actual
+                .getCreateDate().getTimeInMillis() );
+        }
+    }
+
+    @Test
+    public void testJsonBacklog()
+        throws UnsupportedEncodingException
+    {
+        Backlog<IProductRequirement> backlog = new Backlog<>();
+        ProductStory story =
+            new ProductStory( 7, "Tab\tund \"Ä\"", "a\\b", 3, Priority.BLOCKER, "Max",
+                              RequirementKind.USER_STORY );
+        backlog.addRequirement( story );
+        backlog.addRequirement( new ProductStory() );
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new StoryExporter( ExportFormat.JSON ).exportBacklog( backlog, output );
+        String json = output.toString( "UTF-8" );
+
+        Assert.assertTrue( json.startsWith( "[{\"id\":7,\"title\":\"Tab\\tund \\\"Ä\\\"\","
+            + "\"description\":\"a\\\\b\",\"createDate\":\"" ) );
+        Assert.assertTrue( json.contains( "\"priority\":\"BLOCKER\",\"requester\":\"Max\","
+            + "\"requirementKind\":\"USER_STORY\"},{\"id\":0," ) );
+        Assert.assertFalse( json.contains( "implementState" ) );
+        Assert.assertTrue( json.endsWith( "}]" ) );
+    }
+
+    @Test
+    public void testRelease()
+    {
+        Release release = createRelease();
+
+        StringWriter writer = new StringWriter();
+        new StoryExporter( ExportFormat.JSON ).exportRelease( release, writer );
+        String json = writer.toString();
+        Assert.assertTrue( json.startsWith( "{\"start\":\"" ) );
+        Assert.assertTrue( json.contains( "\"iterations\":[{\"start\":\"" ) );
+        Assert.assertTrue( json.contains( "\"requirements\":[{\"id\":1," ) );
+        Assert.assertTrue( json.contains( "\"implementState\":\"DONE\",\"assignee\":\"Alpha\"}" ) );
+        Assert.assertTrue( json.contains( "\"requirements\":[]}]}" ) );
+
+        writer = new StringWriter();
+        new StoryExporter( ExportFormat.CSV ).exportRelease( release, writer );
+        String[] lines = writer.toString().split( "\n" );
+        Assert.assertEquals( 3, lines.length );
+        Assert.assertTrue( lines[1].contains( ",DONE,Alpha,2012-03-01T" ) );
+        Assert.assertTrue( lines[2].contains( ",PENDING,,2012-03-01T" ) );
+    }
+
+    @Test
+    public void testBurndown()
+    {
+        Release release = createRelease();
+
+        StringWriter writer = new StringWriter();
+        new StoryExporter( ExportFormat.CSV ).exportBurndown( release, writer );
+        String[] lines = writer.toString().split( "\n" );
+        Assert.assertEquals( 3, lines.length );
+        Assert.assertEquals( "iteration,start,end,planned,done,remaining", lines[0] );
+        Assert.assertTrue( lines[1].startsWith( "1," ) );
+        Assert.assertTrue( lines[1].endsWith( ",5.0,2.0,3.0" ) );
+        Assert.assertTrue( lines[2].endsWith( ",0.0,0.0,3.0" ) );
+
+        writer = new StringWriter();
+        new StoryExporter( ExportFormat.JSON ).exportBurndown( release, writer );
+        Assert.assertTrue( writer.toString().contains( "{\"iteration\":2,\"start\":\"" ) );
+    }
+
+    @Test
+    public void testInvalidParameter()
+    {
+        try
+        {
+            new StoryExporter( ExportFormat.CSV ).exportBacklog( null, new StringWriter() );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalArgumentException iae )
+        {
+        }
+
+        try
+        {
+            new StoryExporter( null );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalArgumentException iae )
+        {
+        }
+    }
+
+    private static Release createRelease()
+    {
+        Release release =
+            new Release( new GregorianCalendar( 2012, 2, 1 ),
+                         new GregorianCalendar( 2012, 2, 28 ) );
+        Iteration first =
+            new Iteration( new GregorianCalendar( 2012, 2, 1 ),
+                           new GregorianCalendar( 2012, 2, 15 ) );
+        Iteration second =
+            new Iteration( new GregorianCalendar( 2012, 2, 15 ),
+                           new GregorianCalendar( 2012, 2, 28 ) );
+        release.addIteration( first );
+        release.addIteration( second );
+
+        IterationStory done =
+            new IterationStory( 1, "Login", "Anmeldung", 2, Priority.MAJOR, "Max",
+                                RequirementKind.USER_STORY );
+        done.setImplementState( ImplementState.DONE );
+        done.setAssignee( new Team( "Alpha" ) );
+        first.getIterationBacklog().addRequirement( done );
+        first.getIterationBacklog().addRequirement( new IterationStory( 2, "Logout", "Abmelden", 3,
+                                                                        Priority.MINOR, "Max",
+                                                                        RequirementKind.TASK ) );
+        return release;
+    }
+}
@@ -0,0 +1,224 @@
+package com.github.jgility.core.test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.jgility.core.persistence.GroupCommitProductStore;
+import com.github.jgility.core.persistence.IProductStore;
+import com.github.jgility.core.project.Person;
+import com.github.jgility.core.project.Product;
+
+public class GroupCommitTest
+{
+
+    @Test
+    public void testGroupCommit()
+        throws InterruptedException, ExecutionException
+    {
+        BlockingStore blocking = new BlockingStore();
+        GroupCommitProductStore store = new GroupCommitProductStore( blocking );
+
+        Future<Product> first = store.saveAsync( createProduct( "Erstes" ) );
+        Assert.assertTrue( blocking.entered.await( 5, TimeUnit.SECONDS ) );
+
+        List<Future<Product>> futures = new ArrayList<>();
+        for ( int i = 0; i < 100; i++ )
+        {
+            futures.add( store.saveAsync( createProduct( "Produkt " + i ) ) );
+        }
+        Assert.assertFalse( futures.get( 99 ).isDone() );
+        blocking.release.countDown();
+
+        Assert.assertEquals( "Erstes", first.get().getName() );
+        for ( int i = 0; i < futures.size(); i++ )
+        {
+            Assert.assertEquals( "Produkt " + i, futures.get( i ).get().getName() );
+        }
+        Assert.assertEquals( 2, blocking.saves.size() );
+        Assert.assertEquals( "Produkt 99", store.load().getName() );
+        store.shutdown();
+    }
+
+    @Test
+    public void testFailedCommit()
+        throws InterruptedException
+    {
+        GroupCommitProductStore store = new GroupCommitProductStore( new IProductStore()
+        {
+            @Override
+            public void save( Product product )
+            {
+                throw new IllegalStateException( "disk full" );
+            }
+
+            @Override
+            public Product load()
+            {
+                return null;
+            }
+        } );
+
+        Future<Product> future = store.saveAsync( createProduct( "Produkt" ) );
+        try
+        {
+            future.get();
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( ExecutionException ee )
+        {
+            Assert.assertEquals( "disk full", ee.getCause().getMessage() );
+        }
+
+        try
+        {
+            store.save( createProduct( "Produkt" ) );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalStateException ise )
+        {
+            Assert.assertEquals( "disk full", ise.getMessage() );
+        }
+        store.shutdown();
+    }
+
+    @Test
+    public void testFailedCommitWithError()
+        throws InterruptedException, ExecutionException
+    {
+        final List<Product> saves = new ArrayList<>();
+        GroupCommitProductStore store = new GroupCommitProductStore( new IProductStore()
+        {
+            @Override
+            public synchronized void save( Product product )
+            {
+                saves.add( product );
+                if ( 1 == saves.size() )
+                {
+                    throw new LinkageError( "broken store" );
+                }
+            }
+
+            @Override
+            public synchronized Product load()
+            {
+                return saves.get( saves.size() - 1 );
+            }
+        } );
+
+        Future<Product> future = store.saveAsync( createProduct( "Erstes" ) );
+        try
+        {
+            future.get( 5, TimeUnit.SECONDS );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( ExecutionException ee )
+        {
+            Assert.assertTrue( ee.getCause() instanceof LinkageError );
+        }
+        catch ( TimeoutException te )
+        {
+            Assert.fail( "future was not completed" );
+        }
+
+        store.save( createProduct( "Zweites" ) );
+        Assert.assertEquals( "Zweites", store.load().getName() );
+        store.shutdown();
+    }
+
+    @Test
+    public void testRejectedWriter()
+        throws InterruptedException
+    {
+        BlockingStore blocking = new BlockingStore();
+        blocking.release.countDown();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        executor.shutdown();
+        GroupCommitProductStore store = new GroupCommitProductStore( blocking, executor );
+
+        for ( int i = 0; i < 2; i++ )
+        {
+            Future<Product> future = store.saveAsync( createProduct( "Produkt" ) );
+            Assert.assertTrue( future.isDone() );
+            try
+            {
+                future.get();
+                Assert.fail( "no exception was threw" );
+            }
+            catch ( ExecutionException ee )
+            {
+                Assert.assertTrue( ee.getCause().getCause() instanceof RejectedExecutionException );
+            }
+        }
+        Assert.assertTrue( blocking.saves.isEmpty() );
+    }
+
+    @Test
+    public void testShutdown()
+    {
+        BlockingStore blocking = new BlockingStore();
+        blocking.release.countDown();
+        GroupCommitProductStore store = new GroupCommitProductStore( blocking );
+        store.saveAsync( createProduct( "Produkt" ) );
+        store.shutdown();
+
+        Assert.assertEquals( 1, blocking.saves.size() );
+        try
+        {
+            store.saveAsync( createProduct( "Produkt" ) );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalStateException ise )
+        {
+        }
+    }
+
+    private static Product createProduct( String name )
+    {
+        return new Product( name, "Beschreibung", new Person() );
+    }
+
+    /*
+     * Hält den ersten Schreibvorgang an, bis release freigegeben wird
+     */
+    private static final class BlockingStore
+        implements IProductStore
+    {
+        private final CountDownLatch entered = new CountDownLatch( 1 );
+
+        private final CountDownLatch release = new CountDownLatch( 1 );
+
+        private final List<Product> saves = new ArrayList<>();
+
+        @Override
+        public synchronized void save( Product product )
+        {
+            entered.countDown();
+            try
+            {
+                release.await();
+            }
+            catch ( InterruptedException e )
+            {
+                throw new IllegalStateException( e );
+            }
+            saves.add( product );
+        }
+
+        @Override
+        public synchronized Product load()
+        {
+            return saves.get( saves.size() - 1 );
+        }
+    }
+}
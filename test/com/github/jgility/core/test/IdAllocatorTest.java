@@ -0,0 +1,163 @@
+package com.github.jgility.core.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.jgility.core.util.FileHighWaterMarkStore;
+import com.github.jgility.core.util.IHighWaterMarkStore;
+import com.github.jgility.core.util.IdAllocator;
+
+@SuppressWarnings( "deprecation" )
+public class IdAllocatorTest
+{
+
+    @Test
+    public void testConcurrentUniqueIds()
+        throws InterruptedException, ExecutionException
+    {
+        final IdAllocator allocator = new IdAllocator( 16, 0, 1 );
+        final int idsPerThread = 10000;
+        int threads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool( threads );
+        List<Future<int[]>> futures = new ArrayList<>();
+        try
+        {
+            for ( int i = 0; i < threads; i++ )
+            {
+                futures.add( executor.submit( new Callable<int[]>()
+                {
+                    @Override
+                    public int[] call()
+                    {
+                        int[] ids = new int[idsPerThread];
+                        for ( int j = 0; j < idsPerThread; j++ )
+                        {
+                            ids[j] = allocator.nextId();
+                        }
+                        return ids;
+                    }
+                } ) );
+            }
+
+            Set<Integer> ids = new HashSet<>();
+            for ( Future<int[]> future : futures )
+            {
+                for ( int id : future.get() )
+                {
+                    Assert.assertTrue( id >= IdAllocator.FIRST_ID );
+                    Assert.assertTrue( ids.add( id ) );
+                }
+            }
+            Assert.assertEquals( threads * idsPerThread, ids.size() );
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testDisjointNodes()
+    {
+        IdAllocator first = new IdAllocator( 8, 0, 2 );
+        IdAllocator second = new IdAllocator( 8, 1, 2 );
+        Set<Integer> ids = new HashSet<>();
+        for ( int i = 0; i < 1000; i++ )
+        {
+            Assert.assertTrue( ids.add( first.nextId() ) );
+            Assert.assertTrue( ids.add( second.nextId() ) );
+        }
+    }
+
+    @Test
+    public void testPersistentHighWaterMark()
+        throws IOException
+    {
+        File file = File.createTempFile( "jgility", ".hwm" );
+        file.delete();
+        try
+        {
+            IHighWaterMarkStore store = new FileHighWaterMarkStore( file.toPath() );
+            IdAllocator allocator = new IdAllocator( 4, 0, 1, store, 2 );
+            int maxId = 0;
+            for ( int i = 0; i < 10; i++ )
+            {
+                maxId = Math.max( maxId, allocator.nextId() );
+            }
+            Assert.assertEquals( 4, store.load() );
+
+            IdAllocator restarted = new IdAllocator( 4, 0, 1, store, 2 );
+            Assert.assertTrue( restarted.nextId() > maxId );
+        }
+        finally
+        {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testExhaustedRange()
+    {
+        IdAllocator allocator = new IdAllocator( Integer.MAX_VALUE / 2 + 1, 1, 2 );
+        try
+        {
+            allocator.nextId();
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalStateException ise )
+        {
+        }
+    }
+
+    @Test
+    public void testInvalidParameter()
+    {
+        try
+        {
+            new IdAllocator( 16, 2, 2 );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalArgumentException iae )
+        {
+        }
+    }
+
+    @Test
+    public void testCounterRange()
+    {
+        com.github.jgility.core.util.Counter counter =
+            new com.github.jgility.core.util.Counter( Integer.MAX_VALUE );
+        try
+        {
+            counter.increment();
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalArgumentException iae )
+        {
+        }
+        Assert.assertEquals( Integer.MAX_VALUE, counter.currentValue() );
+
+        counter = new com.github.jgility.core.util.Counter( 0 );
+        try
+        {
+            counter.decrement();
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalArgumentException iae )
+        {
+        }
+        Assert.assertEquals( 0, counter.currentValue() );
+    }
+}
@@ -0,0 +1,177 @@
+package com.github.jgility.core.test;
+
+import java.io.StringReader;
+import java.util.Calendar;
+import java.util.TimeZone;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.jgility.core.exchange.ImportResult;
+import com.github.jgility.core.exchange.StoryImporter;
+import com.github.jgility.core.planning.Backlog;
+import com.github.jgility.core.requirement.IProductRequirement;
+import com.github.jgility.core.requirement.Priority;
+import com.github.jgility.core.requirement.RequirementKind;
+
+public class ImportTest
+{
+
+    @Test
+    public void testCsvImport()
+    {
+        String csv =
+            "id,title,description,estimated,priority,requester,requirementKind,createDate\r\n"
+                + "1,Login,\"Anmeldung, mit \"\"Passwort\"\"\",2.5,major,Max,USER_STORY,"
+                + "2012-03-01T10:15:30.500Z\r\n" + "2,Logout,\"Zwei\nZeilen\",1,MINOR,Max,BUG,\n"
+                + "\n" + "3,,Ohne Titel,1,MINOR,Max,BUG,\n" + "4,Export,Test,viel,MINOR,Max,BUG,\n"
+                + "5,Bericht,Test,3,MINOR,Erika,TASK,2012-03-01\n";
+        Backlog<IProductRequirement> backlog = new Backlog<>();
+        ImportResult result =
+            new StoryImporter( 2, 2 ).importCsv( new StringReader( csv ), backlog );
+
+        Assert.assertEquals( 3, result.getImported() );
+        Assert.assertEquals( 3, backlog.size() );
+        Assert.assertEquals( 2, result.getErrors().size() );
+        Assert.assertEquals( 6, result.getErrors().get( 0 ).getRow() );
+        Assert.assertEquals( 7, result.getErrors().get( 1 ).getRow() );
+        Assert.assertEquals( "invalid estimated: viel", result.getErrors().get( 1 ).getMessage() );
+
+        IProductRequirement first = backlog.getRequirementList().get( 0 );
+        Assert.assertEquals( "Anmeldung, mit \"Passwort\"", first.getDescription() );
+        Assert.assertEquals( Priority.MAJOR, first.getPriority() );
+        Assert.assertEquals( 2.5f, first.getEstimated(), 0.0f );
+        Calendar expected = Calendar.getInstance( TimeZone.getTimeZone( "UTC" ) );
+        expected.clear();
+        expected.set( 2012, Calendar.MARCH, 1, 10, 15, 30 );
+        expected.set( Calendar.MILLISECOND, 500 );
+        Assert.assertEquals( expected.getTimeInMillis(), first.getCreateDate().getTimeInMillis() );
+
+        Assert.assertEquals( "Zwei\nZeilen",
+                             backlog.getRequirementList().get( 1 ).getDescription() );
+        Assert.assertEquals( 5, backlog.getRequirementList().get( 2 ).getID() );
+        Assert.assertEquals( RequirementKind.TASK, backlog.getRequirementList().get( 2 )
+            .getRequirementKind() );
+    }
+
+    @Test
+    public void testJsonImport()
+    {
+        String json =
+            "[ {\"id\": 1, \"title\": \"Login \\\"neu\\\"\", \"description\": \"A\\u00e4, [x]\","
+                + " \"estimated\": 2, \"priority\": \"BLOCKER\", \"requester\": \"Max\","
+                + " \"requirementKind\": \"BUG\", \"tags\": [\"a\", {\"b\": 1}]},\n"
+                + " {\"id\": 2, \"title\": \"Ohne Art\", \"description\": \"\","
+                + " \"estimated\": 1, \"priority\": \"MINOR\", \"requester\": \"Max\"},\n"
+                + " {\"id\": 3, \"title\": \"Drei\", \"description\": \"\", \"estimated\": 1.5,"
+                + " \"priority\": \"MINOR\", \"requester\": \"Max\","
+                + " \"requirementKind\": \"TASK\"} ]";
+        Backlog<IProductRequirement> backlog = new Backlog<>();
+        ImportResult result = new StoryImporter().importJson( new StringReader( json ), backlog );
+
+        Assert.assertEquals( 2, result.getImported() );
+        Assert.assertEquals( 1, result.getErrors().size() );
+        Assert.assertEquals( 2, result.getErrors().get( 0 ).getRow() );
+        Assert.assertEquals( "missing field: requirementKind", result.getErrors().get( 0 )
+            .getMessage() );
+
+        IProductRequirement first = backlog.getRequirementList().get( 0 );
+        Assert.assertEquals( "Login \"neu\"", first.getTitle() );
+        Assert.assertEquals( "Aä, [x]", first.getDescription() );
+        Assert.assertEquals( Priority.BLOCKER, first.getPriority() );
+        Assert.assertEquals( 3, backlog.getRequirementList().get( 1 ).getID() );
+    }
+
+    @Test
+    public void testInvalidDate()
+    {
+        String csv =
+            "id,title,description,estimated,priority,requester,requirementKind,createDate\n"
+                + "1,Eins,A,1,MINOR,Max,BUG,2021-02-31\n" + "2,Zwei,A,1,MINOR,Max,BUG,2021-04-31\n"
+                + "3,Drei,A,1,MINOR,Max,BUG,2020-02-29\n" + "4,Vier,A,1,MINOR,Max,BUG,1900-02-29\n"
+                + "5,Fünf,A,1,MINOR,Max,BUG,2000-02-29T12:00:00Z\n";
+        Backlog<IProductRequirement> backlog = new Backlog<>();
+        ImportResult result = new StoryImporter().importCsv( new StringReader( csv ), backlog );
+
+        Assert.assertEquals( 2, result.getImported() );
+        Assert.assertEquals( 3, result.getErrors().size() );
+        Assert.assertEquals( 2, result.getErrors().get( 0 ).getRow() );
+        Assert.assertEquals( "invalid date: 2021-02-31", result.getErrors().get( 0 ).getMessage() );
+        Assert.assertEquals( 3, result.getErrors().get( 1 ).getRow() );
+        Assert.assertEquals( 5, result.getErrors().get( 2 ).getRow() );
+    }
+
+    @Test
+    public void testFailedImport()
+    {
+        Backlog<IProductRequirement> backlog = new Backlog<>();
+        String story =
+            "{\"id\": 1, \"title\": \"Eins\", \"description\": \"\", \"estimated\": 1,"
+                + " \"priority\": \"MINOR\", \"requester\": \"Max\", \"requirementKind\": \"BUG\"}";
+        // die ersten Blöcke sind bereits ausgelesen, bevor das Ende der Eingabe fehlt
+        String json =
+            "[ " + story + ", " + story + ", " + story + ", {\"id\": 4, \"title\": \"Vier\"";
+        try
+        {
+            new StoryImporter( 1, 1 ).importJson( new StringReader( json ), backlog );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalStateException ise )
+        {
+        }
+        Assert.assertEquals( 0, backlog.size() );
+
+        try
+        {
+            new StoryImporter().importJson( new StringReader( "[ {\"id\": 1} ] ]" ), backlog );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalStateException ise )
+        {
+        }
+        try
+        {
+            new StoryImporter().importJson( new StringReader( "[] x" ), backlog );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalStateException ise )
+        {
+        }
+        Assert.assertEquals( 0, backlog.size() );
+    }
+
+    @Test
+    public void testEmptyInput()
+    {
+        Backlog<IProductRequirement> backlog = new Backlog<>();
+        StoryImporter importer = new StoryImporter();
+        Assert.assertEquals( 0, importer.importCsv( new StringReader( "" ), backlog )
+            .getImported() );
+        Assert.assertEquals( 0, importer.importJson( new StringReader( " [ ] " ), backlog )
+            .getImported() );
+        Assert.assertEquals( 0, backlog.size() );
+    }
+
+    @Test
+    public void testInvalidInput()
+    {
+        try
+        {
+            new StoryImporter().importJson( new StringReader( "{}" ),
+                                            new Backlog<IProductRequirement>() );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalStateException ise )
+        {
+        }
+
+        try
+        {
+            new StoryImporter().importCsv( null, new Backlog<IProductRequirement>() );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalArgumentException iae )
+        {
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.github.jgility.core.test;
+
+import java.util.GregorianCalendar;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.jgility.core.analytics.BlockerCount;
+import com.github.jgility.core.analytics.IDerivedMetric;
+import com.github.jgility.core.analytics.IterationCompletion;
+import com.github.jgility.core.analytics.MetricCache;
+import com.github.jgility.core.analytics.MetricDependencies;
+import com.github.jgility.core.analytics.ReleaseVelocity;
+import com.github.jgility.core.analytics.TeamLoad;
+import com.github.jgility.core.planning.Backlog;
+import com.github.jgility.core.planning.Iteration;
+import com.github.jgility.core.planning.Release;
+import com.github.jgility.core.project.Person;
+import com.github.jgility.core.project.Team;
+import com.github.jgility.core.requirement.IProductRequirement;
+import com.github.jgility.core.requirement.ImplementState;
+import com.github.jgility.core.requirement.IterationStory;
+import com.github.jgility.core.requirement.Priority;
+import com.github.jgility.core.requirement.ProductStory;
+import com.github.jgility.core.requirement.RequirementKind;
+
+public class MetricCacheTest
+{
+
+    private MetricCache cache;
+
+    private Release release;
+
+    private Iteration iteration;
+
+    private IterationStory first;
+
+    private IterationStory second;
+
+    @Before
+    public void setUp()
+    {
+        cache = new MetricCache();
+        release =
+            new Release( new GregorianCalendar( 2012, 0, 1 ), new GregorianCalendar( 2012, 2, 1 ) );
+        iteration =
+            new Iteration( new GregorianCalendar( 2012, 0, 1 ),
+                           new GregorianCalendar( 2012, 0, 14 ) );
+        first = createStory( 1, 3 );
+        second = createStory( 2, 1 );
+        iteration.getIterationBacklog().addRequirement( first );
+        iteration.getIterationBacklog().addRequirement( second );
+        release.addIteration( iteration );
+    }
+
+    @After
+    public void tearDown()
+    {
+        cache.close();
+    }
+
+    @Test
+    public void testIterationCompletion()
+    {
+        CountingMetric<Float> metric = new CountingMetric<>( new IterationCompletion( iteration ) );
+        Assert.assertEquals( 0f, cache.get( metric ), 0f );
+        Assert.assertEquals( 0f, cache.get( metric ), 0f );
+        Assert.assertEquals( 1, metric.computations );
+
+        first.setImplementState( ImplementState.DONE );
+        Assert.assertEquals( 75f, cache.get( metric ), 0f );
+        Assert.assertEquals( 2, metric.computations );
+
+        new Backlog<IProductRequirement>().addRequirement( new ProductStory() );
+        iteration.setEnd( new GregorianCalendar( 2012, 0, 10 ) );
+        Assert.assertEquals( 75f, cache.get( metric ), 0f );
+        Assert.assertEquals( 2, metric.computations );
+
+        second.setEstimated( 3 );
+        Assert.assertEquals( 50f, cache.get( metric ), 0f );
+        Assert.assertEquals( 3, metric.computations );
+    }
+
+    @Test
+    public void testReleaseVelocity()
+    {
+        CountingMetric<Float> metric = new CountingMetric<>( new ReleaseVelocity( release ) );
+        first.setImplementState( ImplementState.DONE );
+        Assert.assertEquals( 3f, cache.get( metric ), 0f );
+
+        second.setEstimated( 5 );
+        Assert.assertEquals( 3f, cache.get( metric ), 0f );
+        Assert.assertEquals( 1, metric.computations );
+
+        release.addIteration( new Iteration( new GregorianCalendar( 2012, 0, 10 ),
+                                             new GregorianCalendar( 2012, 1, 10 ) ) );
+        Assert.assertEquals( 1.5f, cache.get( metric ), 0f );
+        Assert.assertEquals( 2, metric.computations );
+    }
+
+    @Test
+    public void testTeamLoad()
+    {
+        Team team = new Team( "Team" );
+        team.addMember( new Person() );
+        first.setAssignee( team );
+        TeamLoad teamLoad = new TeamLoad( release, team, new GregorianCalendar( 2012, 0, 5 ) );
+        CountingMetric<Float> metric = new CountingMetric<>( teamLoad );
+        Assert.assertEquals( 3f, cache.get( metric ), 0f );
+
+        second.setAssignee( team );
+        Assert.assertEquals( 4f, cache.get( metric ), 0f );
+
+        iteration.setStart( new GregorianCalendar( 2012, 0, 7 ) );
+        Assert.assertEquals( 0f, cache.get( metric ), 0f );
+        Assert.assertEquals( 3, metric.computations );
+        Assert.assertEquals( 1, cache.size() );
+    }
+
+    @Test
+    public void testBlockerCount()
+    {
+        Backlog<IProductRequirement> backlog = new Backlog<>();
+        ProductStory story = new ProductStory();
+        backlog.addRequirement( story );
+        BlockerCount metric = new BlockerCount( backlog );
+        Assert.assertEquals( Integer.valueOf( 0 ), cache.get( metric ) );
+
+        story.setPriority( Priority.BLOCKER );
+        Assert.assertEquals( Integer.valueOf( 1 ), cache.get( metric ) );
+        Assert.assertEquals( Integer.valueOf( 1 ), cache.get( new BlockerCount( backlog ) ) );
+
+        Assert.assertTrue( cache.invalidate( metric ) );
+        Assert.assertEquals( 0, cache.size() );
+    }
+
+    @Test
+    public void testFailedComputation()
+    {
+        IDerivedMetric<Float> metric = new IDerivedMetric<Float>()
+        {
+            @Override
+            public Float compute( MetricDependencies dependencies )
+            {
+                throw new IllegalStateException( "failed" );
+            }
+        };
+        try
+        {
+            cache.get( metric );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalStateException ise )
+        {
+        }
+        Assert.assertEquals( 0, cache.size() );
+    }
+
+    private static IterationStory createStory( int id, float estimated )
+    {
+        return new IterationStory( id, "Story " + id, "Beschreibung", estimated, Priority.MINOR,
+                                   "Requester", RequirementKind.TASK );
+    }
+
+    /*
+     * Zählt die Berechnungen einer Kennzahl
+     */
+    private static final class CountingMetric<T>
+        implements IDerivedMetric<T>
+    {
+        private final IDerivedMetric<T> metric;
+
+        private int computations;
+
+        private CountingMetric( IDerivedMetric<T> metric )
+        {
+            this.metric = metric;
+        }
+
+        @Override
+        public T compute( MetricDependencies dependencies )
+        {
+            computations++;
+            return metric.compute( dependencies );
+        }
+    }
+}
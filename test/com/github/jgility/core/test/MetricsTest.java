@@ -0,0 +1,129 @@
+package com.github.jgility.core.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.GregorianCalendar;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.jgility.core.metrics.Histogram;
+import com.github.jgility.core.metrics.HistogramMetricsRegistry;
+import com.github.jgility.core.metrics.Metrics;
+import com.github.jgility.core.metrics.NoopMetricsRegistry;
+import com.github.jgility.core.persistence.XmlProductStore;
+import com.github.jgility.core.planning.Backlog;
+import com.github.jgility.core.planning.Iteration;
+import com.github.jgility.core.planning.Release;
+import com.github.jgility.core.project.Person;
+import com.github.jgility.core.project.Product;
+import com.github.jgility.core.requirement.IProductRequirement;
+import com.github.jgility.core.requirement.ProductStory;
+
+public class MetricsTest
+{
+
+    private HistogramMetricsRegistry registry;
+
+    @Before
+    public void setUp()
+    {
+        registry = new HistogramMetricsRegistry();
+        Metrics.setRegistry( registry );
+    }
+
+    @After
+    public void tearDown()
+    {
+        Metrics.disable();
+    }
+
+    @Test
+    public void testDisabledByDefault()
+    {
+        Metrics.disable();
+        Assert.assertSame( NoopMetricsRegistry.INSTANCE, Metrics.getRegistry() );
+        new Backlog<IProductRequirement>().addRequirement( new ProductStory() );
+        Assert.assertTrue( registry.getHistograms().isEmpty() );
+    }
+
+    @Test
+    public void testHotPaths()
+    {
+        Backlog<IProductRequirement> backlog = new Backlog<>();
+        ProductStory story = new ProductStory();
+        backlog.addRequirement( story );
+        backlog.removeRequirement( story );
+
+        Release release =
+            new Release( new GregorianCalendar( 2012, 2, 1 ), new GregorianCalendar( 2012, 2, 28 ) );
+        release.addIteration( new Iteration( new GregorianCalendar( 2012, 2, 1 ),
+                                             new GregorianCalendar( 2012, 2, 14 ) ) );
+        new Person().setEMail( "max@mustermann.de" );
+
+        Assert.assertEquals( 1, registry.getHistogram( Metrics.BACKLOG_ADD ).getTotalCount() );
+        Assert.assertEquals( 1, registry.getHistogram( Metrics.BACKLOG_REMOVE ).getTotalCount() );
+        Assert.assertEquals( 1, registry.getHistogram( Metrics.RELEASE_ADD_ITERATION )
+            .getTotalCount() );
+        Assert.assertEquals( 2, registry.getHistogram( Metrics.PLAN_CHANGE_START_END )
+            .getTotalCount() );
+        Assert.assertTrue( registry.getHistogram( Metrics.PERSON_VALIDATE_EMAIL )
+            .getTotalCount() > 0 );
+    }
+
+    @Test
+    public void testPersistence()
+        throws IOException
+    {
+        File file = File.createTempFile( "jgility", ".xml" );
+        try
+        {
+            XmlProductStore store = new XmlProductStore( file.toPath() );
+            Product product = new Product();
+            product.getProductBacklog().addRequirement( new ProductStory() );
+            store.save( product );
+            Assert.assertEquals( product.getName(), store.load().getName() );
+        }
+        finally
+        {
+            file.delete();
+        }
+        Assert.assertEquals( 1, registry.getHistogram( Metrics.PERSISTENCE_SAVE ).getTotalCount() );
+        Assert.assertEquals( 1, registry.getHistogram( Metrics.PERSISTENCE_LOAD ).getTotalCount() );
+    }
+
+    @Test
+    public void testHistogramPercentiles()
+    {
+        Histogram histogram = new Histogram();
+        for ( int i = 1; i <= 100000; i++ )
+        {
+            histogram.record( i * 1000L );
+        }
+        Assert.assertEquals( 100000, histogram.getTotalCount() );
+        Assert.assertEquals( 100000000L, histogram.getMax() );
+        assertWithin( 50000000L, histogram.getValueAtPercentile( 50 ) );
+        assertWithin( 99000000L, histogram.getValueAtPercentile( 99 ) );
+        Assert.assertEquals( 50000500.0, histogram.getMean(), 1.0 );
+
+        Histogram exact = new Histogram();
+        exact.record( 42 );
+        Assert.assertEquals( 42, exact.getValueAtPercentile( 50 ) );
+    }
+
+    @Test
+    public void testCounter()
+    {
+        Metrics.increment( "test", 2 );
+        Metrics.increment( "test", 3 );
+        Assert.assertEquals( 5, registry.getCount( "test" ) );
+    }
+
+    private static void assertWithin( long expected, long actual )
+    {
+        Assert.assertTrue( "expected " + expected + " but was " + actual,
+                           Math.abs( expected - actual ) <= expected / 64 );
+    }
+}
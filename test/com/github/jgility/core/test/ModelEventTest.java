@@ -0,0 +1,231 @@
+package com.github.jgility.core.test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.jgility.core.event.ChangeKind;
+import com.github.jgility.core.event.IModelListener;
+import com.github.jgility.core.event.ModelEvent;
+import com.github.jgility.core.event.ModelEventBus;
+import com.github.jgility.core.planning.Backlog;
+import com.github.jgility.core.planning.IIteration;
+import com.github.jgility.core.planning.Iteration;
+import com.github.jgility.core.planning.Release;
+import com.github.jgility.core.project.Person;
+import com.github.jgility.core.project.Team;
+import com.github.jgility.core.requirement.IProductRequirement;
+import com.github.jgility.core.requirement.ImplementState;
+import com.github.jgility.core.requirement.IterationStory;
+import com.github.jgility.core.requirement.ProductStory;
+
+public class ModelEventTest
+{
+
+    private final List<List<ModelEvent>> notifications = new ArrayList<>();
+
+    private final IModelListener listener = new IModelListener()
+    {
+        @Override
+        public void modelChanged( List<ModelEvent> events )
+        {
+            notifications.add( events );
+        }
+    };
+
+    @Before
+    public void setUp()
+    {
+        ModelEventBus.getDefault().addListener( listener );
+    }
+
+    @After
+    public void tearDown()
+    {
+        ModelEventBus.getDefault().removeListener( listener );
+    }
+
+    @Test
+    public void testSingleEvent()
+    {
+        Team team = new Team( "Test" );
+        Person person = new Person();
+        team.addMember( person );
+
+        Assert.assertEquals( 1, notifications.size() );
+        ModelEvent event = notifications.get( 0 ).get( 0 );
+        Assert.assertSame( team, event.getSource() );
+        Assert.assertEquals( ChangeKind.ADDED, event.getKind() );
+        Assert.assertEquals( "members", event.getProperty() );
+        Assert.assertSame( person, event.getValue() );
+    }
+
+    @Test
+    public void testPlanPayload()
+    {
+        Iteration iteration =
+            new Iteration( new GregorianCalendar( 2012, 0, 1 ),
+                           new GregorianCalendar( 2012, 0, 14 ) );
+        Calendar end = new GregorianCalendar( 2012, 0, 20 );
+        iteration.setEnd( end );
+        end.add( Calendar.DATE, 5 );
+
+        Object value = notifications.get( 0 ).get( 0 ).getValue();
+        Assert.assertEquals( iteration.getEnd(), value );
+        Assert.assertNotSame( end, value );
+    }
+
+    @Test
+    public void testNoEventOnConstruction()
+    {
+        IterationStory story = new IterationStory();
+        story.setImplementState( ImplementState.PENDING );
+        Assert.assertTrue( notifications.isEmpty() );
+    }
+
+    @Test
+    public void testBatchCoalescing()
+    {
+        IterationStory story = new IterationStory();
+        Backlog<IProductRequirement> backlog = new Backlog<>();
+        Iteration iteration = new Iteration();
+
+        ModelEventBus bus = ModelEventBus.getDefault();
+        bus.beginBatch();
+        try
+        {
+            for ( int i = 0; i < 100; i++ )
+            {
+                backlog.addRequirement( new ProductStory() );
+            }
+            story.setImplementState( ImplementState.START );
+            story.setImplementState( ImplementState.READY );
+            story.setImplementState( ImplementState.DONE );
+            iteration.getIterationBacklog().addRequirement( story );
+            Assert.assertTrue( notifications.isEmpty() );
+        }
+        finally
+        {
+            bus.endBatch();
+        }
+
+        Assert.assertEquals( 1, notifications.size() );
+        List<ModelEvent> events = notifications.get( 0 );
+        Assert.assertEquals( 102, events.size() );
+        ModelEvent stateEvent = events.get( 100 );
+        Assert.assertEquals( ChangeKind.UPDATED, stateEvent.getKind() );
+        Assert.assertEquals( ImplementState.DONE, stateEvent.getValue() );
+    }
+
+    @Test
+    public void testAsynchronousListener()
+        throws InterruptedException
+    {
+        final CountDownLatch latch = new CountDownLatch( 1 );
+        final List<Thread> threads = new ArrayList<>();
+        ModelEventBus bus = new ModelEventBus();
+        bus.addListener( new IModelListener()
+        {
+            @Override
+            public void modelChanged( List<ModelEvent> events )
+            {
+                threads.add( Thread.currentThread() );
+                latch.countDown();
+            }
+        }, true );
+
+        bus.publish( this, ChangeKind.UPDATED, "test", null );
+        Assert.assertTrue( latch.await( 5, TimeUnit.SECONDS ) );
+        Assert.assertNotSame( Thread.currentThread(), threads.get( 0 ) );
+        bus.shutdown();
+    }
+
+    @Test
+    public void testDiscardBatch()
+    {
+        ModelEventBus bus = ModelEventBus.getDefault();
+        bus.beginBatch();
+        new Team().addMember( new Person() );
+        bus.discardBatch();
+
+        Assert.assertFalse( bus.isBatchActive() );
+        Assert.assertTrue( notifications.isEmpty() );
+    }
+
+    @Test
+    public void testCollectionPayload()
+    {
+        Backlog<IProductRequirement> backlog = new Backlog<>();
+        ProductStory first = new ProductStory();
+        ProductStory second = new ProductStory();
+        second.setTitle( "Zweite" );
+        List<IProductRequirement> stories = new ArrayList<>();
+        stories.add( first );
+        stories.add( second );
+        notifications.clear();
+        backlog.addAllRequirement( stories );
+        stories.clear();
+
+        List<?> added = (List<?>) notifications.get( 0 ).get( 0 ).getValue();
+        Assert.assertEquals( 2, added.size() );
+        Assert.assertSame( first, added.get( 0 ) );
+        try
+        {
+            added.clear();
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( UnsupportedOperationException uoe )
+        {
+        }
+
+        backlog.removeAllRequirement( Arrays.asList( second, new Object() ) );
+        List<?> removed = (List<?>) notifications.get( 1 ).get( 0 ).getValue();
+        Assert.assertEquals( 1, removed.size() );
+        Assert.assertSame( second, removed.get( 0 ) );
+
+        Team team = new Team( "Test" );
+        Person person = new Person();
+        team.addMember( person );
+        team.clearMembers();
+        ModelEvent cleared = notifications.get( 3 ).get( 0 );
+        Assert.assertEquals( ChangeKind.REMOVED, cleared.getKind() );
+        Assert.assertEquals( Arrays.asList( person ), cleared.getValue() );
+        team.clearMembers();
+        Assert.assertEquals( 4, notifications.size() );
+    }
+
+    @Test
+    public void testIterationPayload()
+    {
+        Release release =
+            new Release( new GregorianCalendar( 2012, 0, 1 ), new GregorianCalendar( 2012, 2, 1 ) );
+        Iteration iteration =
+            new Iteration( new GregorianCalendar( 2012, 0, 1 ),
+                           new GregorianCalendar( 2012, 0, 14 ) );
+        List<IIteration> iterations = new ArrayList<>();
+        iterations.add( iteration );
+        notifications.clear();
+        release.addAllIterations( iterations );
+        iterations.clear();
+
+        ModelEvent event = notifications.get( 0 ).get( 0 );
+        Assert.assertEquals( Arrays.asList( iteration ), event.getValue() );
+        try
+        {
+            ( (List<?>) event.getValue() ).clear();
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( UnsupportedOperationException uoe )
+        {
+        }
+    }
+}
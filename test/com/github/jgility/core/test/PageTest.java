@@ -0,0 +1,114 @@
+package com.github.jgility.core.test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.jgility.core.planning.Backlog;
+import com.github.jgility.core.project.Person;
+import com.github.jgility.core.project.Product;
+import com.github.jgility.core.project.Project;
+import com.github.jgility.core.project.Team;
+import com.github.jgility.core.requirement.IProductRequirement;
+import com.github.jgility.core.requirement.Priority;
+import com.github.jgility.core.requirement.ProductStory;
+import com.github.jgility.core.requirement.RequirementKind;
+import com.github.jgility.core.util.Page;
+
+public class PageTest
+{
+
+    @Test
+    public void testRequirementPages()
+    {
+        Backlog<IProductRequirement> backlog = new Backlog<>();
+        for ( int i = 1; i <= 120; i++ )
+        {
+            backlog.addRequirement( new ProductStory( i, "Story " + i, "Test", 1.0f,
+                                                      Priority.MINOR, "Max",
+                                                      RequirementKind.USER_STORY ) );
+        }
+
+        List<IProductRequirement> collected = new ArrayList<>();
+        Page<IProductRequirement> page = backlog.getRequirementPage( 0, 50 );
+        int pages = 1;
+        collected.addAll( page.getContent() );
+        while ( page.hasNext() )
+        {
+            page = backlog.getRequirementPage( page.getNextOffset(), 50 );
+            collected.addAll( page.getContent() );
+            pages++;
+        }
+
+        Assert.assertEquals( 3, pages );
+        Assert.assertEquals( 20, page.getContent().size() );
+        Assert.assertEquals( 120, page.getTotal() );
+        Assert.assertEquals( backlog.getRequirementList(), collected );
+
+        page = backlog.getRequirementPage( 500, 50 );
+        Assert.assertTrue( page.getContent().isEmpty() );
+        Assert.assertFalse( page.hasNext() );
+
+        try
+        {
+            backlog.getRequirementPage( 0, 0 );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalArgumentException iae )
+        {
+        }
+    }
+
+    @Test
+    public void testProjectPages()
+    {
+        Product product = new Product( "Test Product", "Test Description", new Person() );
+        for ( int i = 0; i < 5; i++ )
+        {
+            product.addProject( new Project( "Project " + i, "Test" ) );
+        }
+
+        List<Project> collected = new ArrayList<>();
+        collected.addAll( product.getProjectPage( 0, 2 ).getContent() );
+        collected.addAll( product.getProjectPage( 2, 2 ).getContent() );
+        Page<Project> last = product.getProjectPage( 4, 2 );
+        collected.addAll( last.getContent() );
+
+        Assert.assertFalse( last.hasNext() );
+        Assert.assertEquals( product.getProjects(), collected );
+        Assert.assertEquals( 5, product.getProjectView().size() );
+        for ( int i = 0; i < 5; i++ )
+        {
+            Assert.assertEquals( "Project " + i, collected.get( i ).getName() );
+        }
+
+        product.removeProject( collected.get( 1 ) );
+        product.addProject( new Project( "Project 5", "Test" ) );
+        List<Project> page = product.getProjectPage( 0, 2 ).getContent();
+        Assert.assertEquals( "Project 2", page.get( 1 ).getName() );
+        Assert.assertEquals( "Project 5", product.getProjectPage( 4, 2 ).getContent().get( 0 )
+            .getName() );
+    }
+
+    @Test
+    public void testMemberView()
+    {
+        Team team = new Team( "Test" );
+        List<Person> view = team.getMemberView();
+        team.addMember( new Person() );
+        team.addMember( new Person() );
+
+        Assert.assertEquals( 2, view.size() );
+        Assert.assertEquals( 1, team.getMemberPage( 1, 50 ).getContent().size() );
+        try
+        {
+            view.clear();
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( UnsupportedOperationException uoe )
+        {
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.github.jgility.core.test;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.GregorianCalendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.jgility.core.persistence.PartitionedProductStore;
+import com.github.jgility.core.planning.Iteration;
+import com.github.jgility.core.planning.Release;
+import com.github.jgility.core.project.Person;
+import com.github.jgility.core.project.Product;
+import com.github.jgility.core.project.Project;
+import com.github.jgility.core.requirement.IIterationRequirement;
+import com.github.jgility.core.requirement.IterationStory;
+import com.github.jgility.core.requirement.ProductStory;
+
+public class PartitionedStoreTest
+{
+
+    private Path directory;
+
+    @Before
+    public void setUp()
+        throws IOException
+    {
+        directory = Files.createTempDirectory( "jgility" );
+    }
+
+    @After
+    public void tearDown()
+        throws IOException
+    {
+        for ( Path file : Files.newDirectoryStream( directory ) )
+        {
+            Files.delete( file );
+        }
+        Files.delete( directory );
+    }
+
+    @Test
+    public void testRoundTrip()
+    {
+        Product product = createProduct( 3 );
+        new PartitionedProductStore( directory, 2 ).save( product );
+
+        Assert.assertEquals( Arrays.asList( "product.1.xml", "project-0.1.xml", "project-1.1.xml",
+                                            "project-2.1.xml" ), readManifest() );
+        for ( String name : readManifest() )
+        {
+            Assert.assertTrue( Files.exists( directory.resolve( name ) ) );
+        }
+
+        Product loaded = new PartitionedProductStore( directory, 2 ).load();
+        assertProjects( product, loaded );
+        Assert.assertEquals( product.getName(), loaded.getName() );
+        Assert.assertEquals( product.getProductOwner(), loaded.getProductOwner() );
+        Assert.assertEquals( 1, loaded.getProductBacklog().size() );
+        Project project = loaded.getProjects().get( 0 );
+        Assert.assertEquals( 1, project.getReleasePlan().get( 0 ).getIteration( 0 )
+            .getIterationBacklog().size() );
+    }
+
+    @Test
+    public void testSaveProject()
+        throws IOException
+    {
+        new PartitionedProductStore( directory ).save( createProduct( 2 ) );
+
+        PartitionedProductStore store = new PartitionedProductStore( directory );
+        Product product = store.load();
+        Project project = product.getProjects().get( 0 );
+        List<String> manifest = readManifest();
+        int index = 1;
+        if ( !new String( Files.readAllBytes( directory.resolve( manifest.get( index ) ) ),
+                          StandardCharsets.UTF_8 ).contains( project.getName() ) )
+        {
+            index = 2;
+        }
+        Path partition = directory.resolve( manifest.get( index ) );
+        byte[] other = Files.readAllBytes( directory.resolve( manifest.get( 3 - index ) ) );
+        byte[] before = Files.readAllBytes( partition );
+
+        project.setDescription( "geändert" );
+        store.saveProject( project );
+        List<String> changed = readManifest();
+        Assert.assertEquals( manifest.get( 0 ), changed.get( 0 ) );
+        Assert.assertEquals( manifest.get( 3 - index ), changed.get( 3 - index ) );
+        Assert.assertFalse( manifest.get( index ).equals( changed.get( index ) ) );
+        Assert.assertFalse( Files.exists( partition ) );
+        Assert.assertFalse( Arrays.equals( before, Files.readAllBytes( directory.resolve( changed
+            .get( index ) ) ) ) );
+        Assert.assertArrayEquals( other, Files.readAllBytes( directory.resolve( changed
+            .get( 3 - index ) ) ) );
+
+        Project added = new Project( "Neu", "Neues Projekt" );
+        store.saveProject( added );
+        Assert.assertEquals( 4, readManifest().size() );
+        product.addProject( added );
+        assertProjects( product, new PartitionedProductStore( directory ).load() );
+    }
+
+    @Test
+    public void testRemovedProject()
+        throws IOException
+    {
+        PartitionedProductStore store = new PartitionedProductStore( directory );
+        Product product = createProduct( 2 );
+        store.save( product );
+        product.removeProject( product.getProjects().get( 0 ) );
+        store.save( product );
+
+        List<String> manifest = readManifest();
+        Assert.assertEquals( 2, manifest.size() );
+        Assert.assertEquals( Arrays.asList( "product.2.xml", "project-1.2.xml" ), manifest );
+        Assert.assertEquals( manifest, listFiles() );
+        assertProjects( product, store.load() );
+    }
+
+    @Test
+    public void testFailedSave()
+        throws IOException
+    {
+        PartitionedProductStore store = new PartitionedProductStore( directory, 2 );
+        Product product = createProduct( 3 );
+        store.save( product );
+        List<String> manifest = readManifest();
+
+        product.getProjects().get( 1 ).getReleasePlan().get( 0 ).getIteration( 0 )
+            .getIterationBacklog().addRequirement( createUnknownRequirement() );
+        product.getProjects().get( 0 ).setDescription( "geändert" );
+        try
+        {
+            store.save( product );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalStateException ise )
+        {
+        }
+        Assert.assertEquals( manifest, readManifest() );
+        Assert.assertEquals( manifest, listFiles() );
+        assertProjects( createProduct( 3 ), new PartitionedProductStore( directory ).load() );
+
+        try
+        {
+            store.saveProject( product.getProjects().get( 1 ) );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalStateException ise )
+        {
+        }
+        Assert.assertEquals( manifest, readManifest() );
+        Assert.assertEquals( manifest, listFiles() );
+    }
+
+    @Test
+    public void testMissingManifest()
+    {
+        try
+        {
+            new PartitionedProductStore( directory ).load();
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalStateException ise )
+        {
+        }
+
+        try
+        {
+            new PartitionedProductStore( directory, 0 );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalArgumentException iae )
+        {
+        }
+    }
+
+    private List<String> readManifest()
+    {
+        try
+        {
+            return Files.readAllLines( directory.resolve( PartitionedProductStore.MANIFEST ),
+                                       StandardCharsets.UTF_8 );
+        }
+        catch ( IOException e )
+        {
+            throw new IllegalStateException( e );
+        }
+    }
+
+    /*
+     * Liefert die Dateien des Stores ohne Manifest in der Reihenfolge des Manifests
+     */
+    private List<String> listFiles()
+        throws IOException
+    {
+        List<String> names = new ArrayList<>();
+        for ( Path file : Files.newDirectoryStream( directory ) )
+        {
+            String name = file.getFileName().toString();
+            if ( !PartitionedProductStore.MANIFEST.equals( name ) )
+            {
+                names.add( name );
+            }
+        }
+        Collections.sort( names );
+        return names;
+    }
+
+    /*
+     * Kalender werden nach dem Laden mit anderer Zeitzone erzeugt, daher werden die Projekte über
+     * Name, Beschreibung und Umfang des Release-Plans verglichen
+     */
+    private static void assertProjects( Product expected, Product actual )
+    {
+        Map<String, String> expectedProjects = new HashMap<>();
+        for ( Project project : expected.getProjects() )
+        {
+            expectedProjects.put( project.getName(), project.getDescription() + "/"
+                + project.getReleasePlan().size() );
+        }
+        Map<String, String> actualProjects = new HashMap<>();
+        for ( Project project : actual.getProjects() )
+        {
+            actualProjects.put( project.getName(), project.getDescription() + "/"
+                + project.getReleasePlan().size() );
+        }
+        Assert.assertEquals( expectedProjects, actualProjects );
+    }
+
+    private static Product createProduct( int projects )
+    {
+        Product product = new Product( "Produkt", "Beschreibung", new Person() );
+        product.getProductBacklog().addRequirement( new ProductStory() );
+        for ( int i = 0; i < projects; i++ )
+        {
+            Project project = new Project( "Projekt " + i, "Beschreibung " + i );
+            Release release =
+                new Release( new GregorianCalendar( 2012, 2, 1 ),
+                             new GregorianCalendar( 2012, 2, 28 ) );
+            Iteration iteration =
+                new Iteration( new GregorianCalendar( 2012, 2, 1 ),
+                               new GregorianCalendar( 2012, 2, 15 ) );
+            iteration.getIterationBacklog().addRequirement( new IterationStory() );
+            release.addIteration( iteration );
+            project.addReleasePlan( release );
+            product.addProject( project );
+        }
+        return product;
+    }
+
+    /*
+     * JAXB kennt die Klasse des Proxys nicht, das Schreiben der Partition schlägt daher fehl
+     */
+    private static IIterationRequirement createUnknownRequirement()
+    {
+        InvocationHandler handler = new InvocationHandler()
+        {
+            @Override
+            public Object invoke( Object proxy, Method method, Object[] args )
+            {
+                return null;
+            }
+        };
+        Class<?>[] interfaces = { IIterationRequirement.class };
+        return (IIterationRequirement) Proxy
+            .newProxyInstance( PartitionedStoreTest.class.getClassLoader(), interfaces, handler );
+    }
+}
@@ -1,7 +1,10 @@
 package com.github.jgility.core.test;
 
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
+import java.util.LinkedList;
+import java.util.List;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -13,6 +16,9 @@ import com.github.jgility.core.planning.Release;
 import com.github.jgility.core.project.Person;
 import com.github.jgility.core.project.Product;
 import com.github.jgility.core.project.Project;
+import com.github.jgility.core.requirement.IterationStory;
+import com.github.jgility.core.util.CalendarUtils;
+import com.github.jgility.core.util.EqualsUtils;
 import com.github.jgility.core.util.ReleasePlanningUtils;
 
 public class PlanningTest
@@ -52,6 +58,44 @@ public class PlanningTest
         project.addReleasePlan( release );
     }
 
+    @Test
+    public void testCheckDateKeepsDay()
+    {
+        Calendar start = new GregorianCalendar( 2012, 2, 1, 15, 30 );
+        Calendar end = new GregorianCalendar( 2012, 2, 14, 15, 30 );
+        start.getTimeInMillis();
+        end.getTimeInMillis();
+
+        Assert.assertTrue( CalendarUtils.checkDate( start, end ) );
+        Assert.assertEquals( 1, start.get( Calendar.DAY_OF_MONTH ) );
+        Assert.assertEquals( 0, start.get( Calendar.HOUR_OF_DAY ) );
+        Assert.assertEquals( 14, end.get( Calendar.DAY_OF_MONTH ) );
+        Assert.assertEquals( 23, end.get( Calendar.HOUR_OF_DAY ) );
+    }
+
+    @Test
+    public void testPlanEquality()
+    {
+        Calendar start = new GregorianCalendar( 2012, 2, 1 );
+        Release release = new Release( start, new GregorianCalendar( 2012, 2, 28 ) );
+        release.addIteration( new Iteration( release.getStart(),
+                                             new GregorianCalendar( 2012, 2, 14 ) ) );
+        Release copy = new Release( release.getStart(), release.getEnd() );
+        copy.addIteration( new Iteration( release.getIteration( 0 ).getStart(),
+                                          release.getIteration( 0 ).getEnd() ) );
+
+        Assert.assertEquals( release, copy );
+        Assert.assertEquals( release.hashCode(), copy.hashCode() );
+
+        copy.getIteration( 0 ).getIterationBacklog().addRequirement( new IterationStory() );
+        Assert.assertFalse( release.equals( copy ) );
+
+        List<Integer> list = Arrays.asList( 1, null, 3 );
+        Assert.assertTrue( EqualsUtils.equals( list, new LinkedList<>( list ) ) );
+        Assert.assertEquals( list.hashCode(), EqualsUtils.hashCode( list ) );
+        Assert.assertFalse( EqualsUtils.equals( list, Arrays.asList( 1, 2, 3 ) ) );
+    }
+
     private void checkDate( Calendar first, Calendar second )
     {
         Assert.assertTrue( first.get( Calendar.YEAR ) == second.get( Calendar.YEAR ) );
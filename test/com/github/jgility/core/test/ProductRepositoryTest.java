@@ -0,0 +1,316 @@
+package com.github.jgility.core.test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.jgility.core.persistence.IProductStore;
+import com.github.jgility.core.persistence.IProductStoreFactory;
+import com.github.jgility.core.persistence.ProductRepository;
+import com.github.jgility.core.project.Person;
+import com.github.jgility.core.project.Product;
+import com.github.jgility.core.requirement.Priority;
+import com.github.jgility.core.requirement.ProductStory;
+import com.github.jgility.core.requirement.RequirementKind;
+
+public class ProductRepositoryTest
+{
+
+    private static final long WEIGHT = ProductRepository.estimateWeight( createProduct( "P" ) );
+
+    @Test
+    public void testReadThrough()
+    {
+        MemoryStores stores = new MemoryStores();
+        stores.products.put( "a", createProduct( "A" ) );
+        ProductRepository repository = new ProductRepository( stores, 10 * WEIGHT );
+
+        Product product = repository.get( "a" );
+        Assert.assertSame( product, repository.get( "a" ) );
+        Assert.assertEquals( 1, stores.loads.get() );
+        Assert.assertTrue( repository.isCached( "a" ) );
+        Assert.assertEquals( WEIGHT, repository.getWeight() );
+    }
+
+    @Test
+    public void testEstimateWeight()
+    {
+        Assert.assertEquals( ProductRepository.PRODUCT_WEIGHT + 10
+            * ProductRepository.REQUIREMENT_WEIGHT, WEIGHT );
+    }
+
+    @Test
+    public void testEviction()
+    {
+        MemoryStores stores = new MemoryStores();
+        stores.products.put( "a", createProduct( "A" ) );
+        ProductRepository repository = new ProductRepository( stores, 2 * WEIGHT );
+
+        repository.get( "a" );
+        repository.put( "b", createProduct( "B" ) );
+        repository.get( "a" );
+        repository.put( "c", createProduct( "C" ) );
+
+        Assert.assertEquals( 2, repository.size() );
+        Assert.assertFalse( repository.isCached( "b" ) );
+        Assert.assertEquals( "B", stores.products.get( "b" ).getName() );
+        Assert.assertFalse( stores.products.containsKey( "c" ) );
+        Assert.assertEquals( 1, stores.saves.get() );
+
+        repository.put( "d", createProduct( "D" ) );
+        Assert.assertFalse( repository.isCached( "a" ) );
+        Assert.assertEquals( 1, stores.saves.get() );
+
+        repository.flush();
+        Assert.assertEquals( "C", stores.products.get( "c" ).getName() );
+        Assert.assertEquals( "D", stores.products.get( "d" ).getName() );
+        repository.flush();
+        Assert.assertEquals( 3, stores.saves.get() );
+    }
+
+    @Test
+    public void testMarkDirty()
+    {
+        MemoryStores stores = new MemoryStores();
+        stores.products.put( "a", createProduct( "A" ) );
+        ProductRepository repository = new ProductRepository( stores, 10 * WEIGHT );
+
+        Assert.assertFalse( repository.markDirty( "a" ) );
+        Product product = repository.get( "a" );
+        product.getProductBacklog().addRequirement( createStory( 100 ) );
+        Assert.assertTrue( repository.markDirty( "a" ) );
+        Assert.assertEquals( WEIGHT + ProductRepository.REQUIREMENT_WEIGHT,
+                             repository.getWeight() );
+
+        Assert.assertTrue( repository.evict( "a" ) );
+        Assert.assertEquals( 1, stores.saves.get() );
+        Assert.assertEquals( 0, repository.getWeight() );
+        Assert.assertFalse( repository.evict( "a" ) );
+    }
+
+    @Test
+    public void testConcurrentMiss()
+        throws InterruptedException
+    {
+        final MemoryStores stores = new MemoryStores();
+        stores.products.put( "a", createProduct( "A" ) );
+        stores.delay = new CountDownLatch( 1 );
+        final ProductRepository repository = new ProductRepository( stores, 10 * WEIGHT );
+        final List<Product> results = new ArrayList<>();
+        Thread[] threads = new Thread[8];
+        for ( int i = 0; i < threads.length; i++ )
+        {
+            threads[i] = new Thread( new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    Product product = repository.get( "a" );
+                    synchronized ( results )
+                    {
+                        results.add( product );
+                    }
+                }
+            } );
+            threads[i].start();
+        }
+        Thread.sleep( 100 );
+        stores.delay.countDown();
+        for ( Thread thread : threads )
+        {
+            thread.join();
+        }
+
+        Assert.assertEquals( 1, stores.loads.get() );
+        Assert.assertEquals( threads.length, results.size() );
+        for ( Product product : results )
+        {
+            Assert.assertSame( results.get( 0 ), product );
+        }
+    }
+
+    @Test
+    public void testConcurrentWriteBack()
+        throws InterruptedException
+    {
+        final MemoryStores stores = new MemoryStores();
+        stores.delayedKey = "b";
+        stores.saveDelay = new CountDownLatch( 1 );
+        final ProductRepository repository = new ProductRepository( stores, 2 * WEIGHT );
+        repository.put( "b", createProduct( "B" ) );
+        repository.put( "a", createProduct( "A" ) );
+
+        final Product large = createProduct( "C" );
+        large.getProductBacklog().addAllRequirement( createProduct( "C" ).getProductBacklog()
+            .getRequirementList() );
+        Thread writer = new Thread( new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                repository.put( "c", large );
+            }
+        } );
+        writer.start();
+        Assert.assertTrue( stores.saveEntered.await( 5, TimeUnit.SECONDS ) );
+
+        // das Speichern von b blockiert weder a noch den neueren Stand von a
+        Product newer = createProduct( "A2" );
+        repository.put( "a", newer );
+        Assert.assertTrue( repository.evict( "a" ) );
+        Assert.assertSame( newer, stores.products.get( "a" ) );
+
+        stores.saveDelay.countDown();
+        writer.join();
+        Assert.assertSame( newer, stores.products.get( "a" ) );
+        Assert.assertEquals( "B", stores.products.get( "b" ).getName() );
+        Assert.assertEquals( 1, stores.savesOf( "a" ) );
+    }
+
+    @Test
+    public void testFailedLoad()
+    {
+        ProductRepository repository = new ProductRepository( new MemoryStores(), WEIGHT );
+        try
+        {
+            repository.get( "a" );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalStateException ise )
+        {
+        }
+        Assert.assertEquals( 0, repository.size() );
+    }
+
+    @Test
+    public void testInvalidParameter()
+    {
+        try
+        {
+            new ProductRepository( new MemoryStores(), 0 );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalArgumentException iae )
+        {
+        }
+
+        try
+        {
+            new ProductRepository( new MemoryStores(), WEIGHT ).get( " " );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalArgumentException iae )
+        {
+        }
+    }
+
+    private static Product createProduct( String name )
+    {
+        Product product = new Product( name, "Beschreibung", new Person() );
+        for ( int i = 0; i < 10; i++ )
+        {
+            product.getProductBacklog().addRequirement( createStory( i ) );
+        }
+        return product;
+    }
+
+    private static ProductStory createStory( int id )
+    {
+        return new ProductStory( id, "Story " + id, "Beschreibung", 3, Priority.MINOR,
+                                 "Requester", RequirementKind.TASK );
+    }
+
+    /*
+     * Hält die Products je Schlüssel im Speicher und zählt Lade- und Speichervorgänge
+     */
+    private static final class MemoryStores
+        implements IProductStoreFactory
+    {
+        private final Map<String, Product> products = new HashMap<>();
+
+        private final AtomicInteger loads = new AtomicInteger();
+
+        private final AtomicInteger saves = new AtomicInteger();
+
+        private final Map<String, Integer> savesByKey = new HashMap<>();
+
+        private final CountDownLatch saveEntered = new CountDownLatch( 1 );
+
+        private volatile CountDownLatch delay;
+
+        private volatile String delayedKey;
+
+        private volatile CountDownLatch saveDelay;
+
+        private int savesOf( String key )
+        {
+            synchronized ( products )
+            {
+                Integer count = savesByKey.get( key );
+                return null == count ? 0 : count;
+            }
+        }
+
+        @Override
+        public IProductStore getStore( final String key )
+        {
+            return new IProductStore()
+            {
+                @Override
+                public void save( Product product )
+                {
+                    saves.incrementAndGet();
+                    if ( key.equals( delayedKey ) )
+                    {
+                        saveEntered.countDown();
+                        try
+                        {
+                            saveDelay.await();
+                        }
+                        catch ( InterruptedException e )
+                        {
+                            throw new IllegalStateException( e );
+                        }
+                    }
+                    synchronized ( products )
+                    {
+                        products.put( key, product );
+                        savesByKey.put( key, savesOf( key ) + 1 );
+                    }
+                }
+
+                @Override
+                public Product load()
+                {
+                    loads.incrementAndGet();
+                    if ( null != delay )
+                    {
+                        try
+                        {
+                            delay.await();
+                        }
+                        catch ( InterruptedException e )
+                        {
+                            throw new IllegalStateException( e );
+                        }
+                    }
+                    synchronized ( products )
+                    {
+                        if ( !products.containsKey( key ) )
+                        {
+                            throw new IllegalStateException( "product is not readable: " + key );
+                        }
+                        return products.get( key );
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.github.jgility.core.test;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.jgility.core.planning.Iteration;
+import com.github.jgility.core.planning.Release;
+import com.github.jgility.core.project.Person;
+import com.github.jgility.core.project.Product;
+import com.github.jgility.core.project.Project;
+import com.github.jgility.core.project.Team;
+import com.github.jgility.core.query.CompiledQuery;
+import com.github.jgility.core.query.IRequirementFilter;
+import com.github.jgility.core.query.RequirementQuery;
+import com.github.jgility.core.requirement.IRequirement;
+import com.github.jgility.core.requirement.ImplementState;
+import com.github.jgility.core.requirement.IterationStory;
+import com.github.jgility.core.requirement.Priority;
+import com.github.jgility.core.requirement.ProductStory;
+import com.github.jgility.core.requirement.RequirementKind;
+
+public class QueryTest
+{
+
+    private Product product;
+
+    private Team teamA;
+
+    private IterationStory pendingBug;
+
+    private IterationStory aprilBug;
+
+    @Before
+    public void setUp()
+    {
+        teamA = new Team( "A" );
+        Team teamB = new Team( "B" );
+
+        product = new Product( "Test Product", "Test Description", new Person() );
+        product.getProductBacklog().addRequirement( new ProductStory( 100, "Produkt", "Test", 1.0f,
+                                                                      Priority.BLOCKER, "Max",
+                                                                      RequirementKind.BUG ) );
+        Project project = new Project( "Test Project", "Test Description" );
+        product.addProject( project );
+
+        Release march =
+            new Release( new GregorianCalendar( 2012, 2, 1 ),
+                         new GregorianCalendar( 2012, 2, 31 ) );
+        Iteration first =
+            new Iteration( new GregorianCalendar( 2012, 2, 1 ),
+                           new GregorianCalendar( 2012, 2, 15 ) );
+        Iteration second =
+            new Iteration( new GregorianCalendar( 2012, 2, 15 ),
+                           new GregorianCalendar( 2012, 2, 28 ) );
+        march.addIteration( first );
+        march.addIteration( second );
+        project.addReleasePlan( march );
+
+        Release april =
+            new Release( new GregorianCalendar( 2012, 3, 1 ),
+                         new GregorianCalendar( 2012, 3, 30 ) );
+        Iteration third =
+            new Iteration( new GregorianCalendar( 2012, 3, 1 ),
+                           new GregorianCalendar( 2012, 3, 14 ) );
+        april.addIteration( third );
+        project.addReleasePlan( april );
+
+        pendingBug = createStory( 1, Priority.BLOCKER, RequirementKind.BUG, ImplementState.PENDING,
+                                  teamA );
+        first.getIterationBacklog().addRequirement( pendingBug );
+        first.getIterationBacklog().addRequirement( createStory( 2, Priority.BLOCKER,
+                                                                 RequirementKind.BUG,
+                                                                 ImplementState.DONE, teamA ) );
+        second.getIterationBacklog().addRequirement( createStory( 3, Priority.BLOCKER,
+                                                                  RequirementKind.BUG,
+                                                                  ImplementState.START, teamB ) );
+        second.getIterationBacklog().addRequirement( createStory( 4, Priority.MINOR,
+                                                                  RequirementKind.USER_STORY,
+                                                                  ImplementState.PENDING, teamA ) );
+        aprilBug = createStory( 5, Priority.BLOCKER, RequirementKind.BUG, ImplementState.PENDING,
+                                teamA );
+        third.getIterationBacklog().addRequirement( aprilBug );
+    }
+
+    private IterationStory createStory( int id, Priority priority, RequirementKind kind,
+                                        ImplementState state, Team team )
+    {
+        IterationStory story =
+            new IterationStory( id, "Story " + id, "Test", id, priority, "Max", kind );
+        story.setImplementState( state );
+        story.setAssignee( team );
+        return story;
+    }
+
+    @Test
+    public void testCombinedQuery()
+    {
+        RequirementQuery query =
+            new RequirementQuery().priority( Priority.BLOCKER ).kind( RequirementKind.BUG )
+                .notState( ImplementState.DONE ).assignee( teamA );
+
+        Assert.assertEquals( Arrays.<IRequirement> asList( pendingBug, aprilBug ),
+                             query.compile().execute( product ) );
+
+        query.iterationEndsBetween( new GregorianCalendar( 2012, 2, 1 ),
+                                    new GregorianCalendar( 2012, 2, 31 ) );
+        Assert.assertEquals( Arrays.<IRequirement> asList( pendingBug ),
+                             query.compile().execute( product ) );
+    }
+
+    @Test
+    public void testProductBacklog()
+    {
+        RequirementQuery query =
+            new RequirementQuery().priority( Priority.BLOCKER ).kind( RequirementKind.BUG );
+        Assert.assertEquals( 4, query.compile().count( product ) );
+        Assert.assertEquals( 5, query.includeProductBacklog().compile().count( product ) );
+
+        List<IRequirement> result =
+            new RequirementQuery().includeProductBacklog().requester( "Max" )
+                .estimatedBetween( 1.0f, 1.0f ).compile().execute( product );
+        Assert.assertEquals( 2, result.size() );
+        Assert.assertEquals( 100, result.get( 0 ).getID() );
+
+        Assert.assertEquals( 2, new RequirementQuery().includeProductBacklog()
+            .state( ImplementState.PENDING ).kind( RequirementKind.BUG ).compile()
+            .count( product ) );
+    }
+
+    @Test
+    public void testPushDown()
+    {
+        final int[] evaluated = new int[1];
+        IRequirementFilter counter = new IRequirementFilter()
+        {
+            @Override
+            public boolean accept( IRequirement requirement )
+            {
+                evaluated[0]++;
+                return true;
+            }
+        };
+
+        Calendar from = new GregorianCalendar( 2012, 3, 1 );
+        Calendar to = new GregorianCalendar( 2012, 3, 30 );
+        CompiledQuery query =
+            new RequirementQuery().releaseOverlaps( from, to ).where( counter ).compile();
+        Assert.assertEquals( Arrays.<IRequirement> asList( aprilBug ), query.execute( product ) );
+        Assert.assertEquals( 1, evaluated[0] );
+
+        evaluated[0] = 0;
+        query =
+            new RequirementQuery().iterationEndsBetween( new GregorianCalendar( 2012, 2, 20 ),
+                                                         new GregorianCalendar( 2012, 2, 31 ) )
+                .where( counter ).compile();
+        Assert.assertEquals( 2, query.count( product ) );
+        Assert.assertEquals( 2, evaluated[0] );
+
+        evaluated[0] = 0;
+        query =
+            new RequirementQuery().priority( Priority.MINOR ).priority( Priority.MAJOR )
+                .where( counter ).compile();
+        Assert.assertEquals( 0, query.count( product ) );
+        Assert.assertEquals( 0, evaluated[0] );
+    }
+
+    @Test
+    public void testInvalidParameter()
+    {
+        try
+        {
+            new RequirementQuery().kind( (RequirementKind) null );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalArgumentException iae )
+        {
+        }
+
+        try
+        {
+            new RequirementQuery().compile().execute( null );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalArgumentException iae )
+        {
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.github.jgility.core.test;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
@@ -9,6 +12,7 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.github.jgility.core.persistence.XmlProductStore;
 import com.github.jgility.core.planning.Backlog;
 import com.github.jgility.core.planning.IIteration;
 import com.github.jgility.core.planning.IPlan;
@@ -17,6 +21,8 @@ import com.github.jgility.core.planning.Release;
 import com.github.jgility.core.project.Person;
 import com.github.jgility.core.project.Product;
 import com.github.jgility.core.project.Project;
+import com.github.jgility.core.project.Team;
+import com.github.jgility.core.requirement.CompactProductStory;
 import com.github.jgility.core.requirement.IIterationRequirement;
 import com.github.jgility.core.requirement.IProductRequirement;
 import com.github.jgility.core.requirement.ImplementState;
@@ -148,4 +154,77 @@ public class RequirementTest
             productBacklog.addRequirement( requirement );
         }
     }
+
+    @Test
+    public void testCompactProductStory()
+        throws IOException
+    {
+        ProductStory story =
+            new ProductStory( 1, "Test", "Test Beschreibung", 2.5f, Priority.BLOCKER,
+                              new String( "Max" ), RequirementKind.TECHNICAL_STORY )
+            {
+                @Override
+                public float getEffective()
+                {
+                    return 1.5f;
+                }
+            };
+        CompactProductStory compact = new CompactProductStory( story );
+        Assert.assertEquals( 1.5f, compact.getEffective(), 0.0f );
+        Assert.assertEquals( 1, compact.getID() );
+        Assert.assertEquals( Priority.BLOCKER, compact.getPriority() );
+        Assert.assertEquals( RequirementKind.TECHNICAL_STORY, compact.getRequirementKind() );
+        Assert.assertEquals( story.getCreateDate().getTimeInMillis(), compact.getCreateTime() );
+        Assert.assertSame( "Max", compact.getRequester() );
+
+        compact.setPriority( Priority.MINOR );
+        Assert.assertEquals( RequirementKind.TECHNICAL_STORY, compact.getRequirementKind() );
+        compact.setRequirementKind( RequirementKind.BUG );
+        Assert.assertEquals( Priority.MINOR, compact.getPriority() );
+
+        product.getProductBacklog().addRequirement( compact );
+        File file = File.createTempFile( "jgility", ".xml" );
+        try
+        {
+            XmlProductStore store = new XmlProductStore( file.toPath() );
+            store.save( product );
+            List<IProductRequirement> loadedList =
+                store.load().getProductBacklog().getRequirementList();
+            CompactProductStory loaded = (CompactProductStory) loadedList.get( 0 );
+            Assert.assertEquals( compact, loaded );
+            Assert.assertEquals( compact.hashCode(), loaded.hashCode() );
+            Assert.assertSame( compact.getRequester(), loaded.getRequester() );
+            Assert.assertEquals( 1.5f, loaded.getEffective(), 0.0f );
+
+            String xml = new String( Files.readAllBytes( file.toPath() ), "UTF-8" );
+            Assert.assertTrue( xml.matches( "(?s).*<createDate>\\d{4}-\\d{2}-\\d{2}T.*" ) );
+        }
+        finally
+        {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testUnassignedTeam()
+    {
+        IterationStory story = new IterationStory();
+        IterationStory other = new IterationStory();
+        Assert.assertSame( Team.UNASSIGNED, story.getAssignee() );
+        Assert.assertSame( story.getAssignee(), other.getAssignee() );
+        try
+        {
+            story.getAssignee().addMember( new Person() );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalStateException ise )
+        {
+        }
+
+        Team team = new Team( "Team" );
+        story.setAssignee( team );
+        Assert.assertSame( team, story.getAssignee() );
+        story.setAssignee( Team.UNASSIGNED );
+        Assert.assertSame( Team.UNASSIGNED, story.getAssignee() );
+    }
 }
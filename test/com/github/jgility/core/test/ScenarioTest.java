@@ -0,0 +1,291 @@
+package com.github.jgility.core.test;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.jgility.core.event.IModelListener;
+import com.github.jgility.core.event.ModelEvent;
+import com.github.jgility.core.event.ModelEventBus;
+import com.github.jgility.core.planning.Backlog;
+import com.github.jgility.core.planning.IRelease;
+import com.github.jgility.core.planning.Iteration;
+import com.github.jgility.core.planning.PlanComparison;
+import com.github.jgility.core.planning.Release;
+import com.github.jgility.core.planning.ReleaseScenario;
+import com.github.jgility.core.project.Project;
+import com.github.jgility.core.requirement.IIterationRequirement;
+import com.github.jgility.core.requirement.IterationStory;
+import com.github.jgility.core.requirement.Priority;
+import com.github.jgility.core.requirement.RequirementKind;
+import com.github.jgility.core.util.CalendarUtils;
+import com.github.jgility.core.util.ReleasePlanningUtils;
+
+public class ScenarioTest
+{
+
+    private final List<List<ModelEvent>> notifications = new ArrayList<>();
+
+    private final IModelListener listener = new IModelListener()
+    {
+        @Override
+        public void modelChanged( List<ModelEvent> events )
+        {
+            notifications.add( events );
+        }
+    };
+
+    private Project project;
+
+    private Release release;
+
+    @Before
+    public void setUp()
+    {
+        release =
+            new Release( new GregorianCalendar( 2012, 0, 1 ),
+                         new GregorianCalendar( 2012, 2, 31 ) );
+        Iteration first = createIteration( 0, 1, 0, 14 );
+        addStory( first, 3 );
+        addStory( first, 2 );
+        Iteration second = createIteration( 0, 14, 0, 28 );
+        addStory( second, 5 );
+        Iteration third = createIteration( 0, 28, 1, 11 );
+        addStory( third, 8 );
+        release.addIteration( first );
+        release.addIteration( second );
+        release.addIteration( third );
+
+        project = new Project( "Projekt", "Beschreibung" );
+        project.addReleasePlan( release );
+        ModelEventBus.getDefault().addListener( listener );
+    }
+
+    @After
+    public void tearDown()
+    {
+        ModelEventBus.getDefault().removeListener( listener );
+    }
+
+    @Test
+    public void testIsolation()
+    {
+        ReleaseScenario scenario = project.branchReleasePlan( "Verlängerung" );
+        Assert.assertFalse( scenario.isModified() );
+
+        IRelease branch = scenario.getRelease( 0 );
+        ReleasePlanningUtils.changePlanPerPercent( branch, new GregorianCalendar( 2012, 0, 1 ),
+                                                   new GregorianCalendar( 2012, 3, 30 ) );
+        Assert.assertTrue( scenario.isModified() );
+        Assert.assertEquals( "30.04.2012", output( branch.getIteration( 2 ).getEnd() ) );
+        Assert.assertEquals( "31.03.2012", output( release.getEnd() ) );
+        Assert.assertEquals( "14.01.2012", output( release.getIteration( 0 ).getEnd() ) );
+        Assert.assertSame( branch, scenario.getRelease( release ) );
+        Assert.assertTrue( notifications.isEmpty() );
+
+        PlanComparison comparison = scenario.compare();
+        Assert.assertEquals( 30, comparison.getDelayDays() );
+        Assert.assertEquals( 18f, comparison.getScenarioPoints(), 0f );
+        Assert.assertEquals( 0f, comparison.getDroppedPoints(), 0f );
+    }
+
+    @Test
+    public void testCutSubPlan()
+    {
+        ReleaseScenario scenario = project.branchReleasePlan( "Kürzung" );
+        IRelease branch = scenario.getRelease( release );
+        ReleasePlanningUtils.changePlanCutSubPlan( branch, new GregorianCalendar( 2012, 0, 1 ),
+                                                   new GregorianCalendar( 2012, 0, 20 ) );
+        Assert.assertEquals( 2, branch.size() );
+        Assert.assertEquals( 3, release.size() );
+
+        PlanComparison comparison = scenario.compare();
+        Assert.assertEquals( 3, comparison.getBaselineIterations() );
+        Assert.assertEquals( 2, comparison.getScenarioIterations() );
+        Assert.assertEquals( 18f, comparison.getBaselinePoints(), 0f );
+        Assert.assertEquals( 10f, comparison.getScenarioPoints(), 0f );
+        Assert.assertEquals( 8f, comparison.getDroppedPoints(), 0f );
+        Assert.assertEquals( -71, comparison.getDelayDays() );
+    }
+
+    @Test
+    public void testMerge()
+    {
+        ReleaseScenario scenario = project.branchReleasePlan( "Kürzung" );
+        IRelease branch = scenario.getRelease( 0 );
+        ReleasePlanningUtils.changePlanCutSubPlan( branch, new GregorianCalendar( 2012, 0, 1 ),
+                                                   new GregorianCalendar( 2012, 0, 20 ) );
+        IterationStory story = createStory( 10, 4 );
+        branch.getIteration( 0 ).getIterationBacklog().addRequirement( story );
+        Assert.assertEquals( 2, release.getIteration( 0 ).getIterationBacklog().size() );
+        Assert.assertEquals( 4f, scenario.compare().getAddedPoints(), 0f );
+
+        notifications.clear();
+        scenario.merge();
+        Assert.assertTrue( scenario.isClosed() );
+        Assert.assertEquals( 1, notifications.size() );
+        Assert.assertEquals( 2, release.size() );
+        Assert.assertEquals( "20.01.2012", output( release.getEnd() ) );
+        Assert.assertEquals( "20.01.2012", output( release.getIteration( 1 ).getEnd() ) );
+        Assert.assertSame( story,
+                           release.getIteration( 0 ).getIterationBacklog().getRequirementList()
+                               .get( 2 ) );
+
+        try
+        {
+            scenario.getReleasePlan();
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalStateException ise )
+        {
+        }
+    }
+
+    @Test
+    public void testFailedMerge()
+    {
+        final boolean[] failing = new boolean[1];
+        Release next =
+            new Release( new GregorianCalendar( 2012, 3, 1 ), new GregorianCalendar( 2012, 5, 30 ) )
+            {
+                @Override
+                public void changeStartEnd( Calendar newStart, Calendar newEnd )
+                {
+                    if ( failing[0] )
+                    {
+                        throw new IllegalArgumentException( "broken release" );
+                    }
+                    super.changeStartEnd( newStart, newEnd );
+                }
+            };
+        project.addReleasePlan( next );
+
+        ReleaseScenario scenario = project.branchReleasePlan( "Kürzung" );
+        IRelease branch = scenario.getRelease( 0 );
+        ReleasePlanningUtils.changePlanCutSubPlan( branch, new GregorianCalendar( 2012, 0, 1 ),
+                                                   new GregorianCalendar( 2012, 0, 20 ) );
+        branch.getIteration( 0 ).getIterationBacklog().addRequirement( createStory( 10, 4 ) );
+        scenario.getRelease( 1 ).setEnd( new GregorianCalendar( 2012, 5, 20 ) );
+
+        notifications.clear();
+        failing[0] = true;
+        try
+        {
+            scenario.merge();
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalArgumentException iae )
+        {
+        }
+        Assert.assertFalse( scenario.isClosed() );
+        Assert.assertFalse( ModelEventBus.getDefault().isBatchActive() );
+        Assert.assertTrue( notifications.isEmpty() );
+        Assert.assertEquals( 3, release.size() );
+        Assert.assertEquals( "31.03.2012", output( release.getEnd() ) );
+        Assert.assertEquals( "28.01.2012", output( release.getIteration( 1 ).getEnd() ) );
+        Assert.assertEquals( 2, release.getIteration( 0 ).getIterationBacklog().size() );
+
+        failing[0] = false;
+        scenario.merge();
+        Assert.assertEquals( 2, release.size() );
+        Assert.assertEquals( "20.06.2012", output( next.getEnd() ) );
+    }
+
+    @Test
+    public void testConflict()
+    {
+        ReleaseScenario scenario = project.branchReleasePlan( "Verlängerung" );
+        IRelease branch = scenario.getRelease( 0 );
+        branch.setEnd( new GregorianCalendar( 2012, 3, 30 ) );
+        release.setEnd( new GregorianCalendar( 2012, 2, 20 ) );
+
+        try
+        {
+            scenario.merge();
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalStateException ise )
+        {
+        }
+        Assert.assertEquals( "20.03.2012", output( release.getEnd() ) );
+        Assert.assertFalse( scenario.isClosed() );
+
+        ReleaseScenario unchanged = project.branchReleasePlan( "Unverändert" );
+        Assert.assertEquals( 3, unchanged.getRelease( 0 ).getIterationList().size() );
+        release.getIteration( 0 ).getIterationBacklog().addRequirement( createStory( 11, 1 ) );
+        unchanged.merge();
+        Assert.assertEquals( 3, release.getIteration( 0 ).getIterationBacklog().size() );
+    }
+
+    @Test
+    public void testSideBySide()
+    {
+        ReleaseScenario longer = project.branchReleasePlan( "Verlängerung" );
+        ReleaseScenario shorter = project.branchReleasePlan( "Kürzung" );
+        ReleasePlanningUtils.changePlanPerPercent( longer.getRelease( 0 ),
+                                                   new GregorianCalendar( 2012, 0, 1 ),
+                                                   new GregorianCalendar( 2012, 3, 30 ) );
+        ReleasePlanningUtils.changePlanCutSubPlan( shorter.getRelease( 0 ),
+                                                   new GregorianCalendar( 2012, 0, 1 ),
+                                                   new GregorianCalendar( 2012, 0, 20 ) );
+        Assert.assertEquals( 3, longer.getRelease( 0 ).size() );
+        Assert.assertEquals( 2, shorter.getRelease( 0 ).size() );
+
+        longer.discard();
+        shorter.merge();
+        Assert.assertEquals( 2, release.size() );
+        Assert.assertEquals( "20.01.2012", output( release.getEnd() ) );
+    }
+
+    @Test
+    public void testInvalidParameter()
+    {
+        try
+        {
+            project.branchReleasePlan( " " );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalArgumentException iae )
+        {
+        }
+
+        try
+        {
+            project.branchReleasePlan( "Szenario" ).getRelease( new Release() );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalArgumentException iae )
+        {
+        }
+    }
+
+    private static String output( Calendar date )
+    {
+        return CalendarUtils.calendarOutput( date );
+    }
+
+    private static Iteration createIteration( int startMonth, int startDay, int endMonth,
+                                              int endDay )
+    {
+        return new Iteration( new GregorianCalendar( 2012, startMonth, startDay ),
+                              new GregorianCalendar( 2012, endMonth, endDay ) );
+    }
+
+    private static void addStory( Iteration iteration, float estimated )
+    {
+        Backlog<IIterationRequirement> backlog = iteration.getIterationBacklog();
+        backlog.addRequirement( createStory( backlog.size() + 1, estimated ) );
+    }
+
+    private static IterationStory createStory( int id, float estimated )
+    {
+        return new IterationStory( id, "Story " + id, "Beschreibung", estimated, Priority.MINOR,
+                                   "Requester", RequirementKind.TASK );
+    }
+}
@@ -0,0 +1,163 @@
+package com.github.jgility.core.test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.jgility.core.event.ModelEventBus;
+import com.github.jgility.core.planning.Backlog;
+import com.github.jgility.core.requirement.IProductRequirement;
+import com.github.jgility.core.requirement.IRequirement;
+import com.github.jgility.core.requirement.Priority;
+import com.github.jgility.core.requirement.ProductStory;
+import com.github.jgility.core.requirement.RequirementKind;
+import com.github.jgility.core.search.RequirementIndex;
+import com.github.jgility.core.transaction.UnitOfWork;
+
+public class SearchTest
+{
+
+    private Backlog<IProductRequirement> backlog;
+
+    private RequirementIndex index;
+
+    private ProductStory login;
+
+    private ProductStory logout;
+
+    private ProductStory report;
+
+    @Before
+    public void setUp()
+    {
+        backlog = new Backlog<>();
+        login = createStory( 1, "Login mit Passwort", "Anmeldung am System" );
+        logout = createStory( 2, "Logout", "Abmeldung vom System, danach Login-Seite anzeigen" );
+        report = createStory( 3, "Monatsbericht", "Bericht als PDF exportieren" );
+        backlog.addRequirement( login );
+        backlog.addRequirement( logout );
+        backlog.addRequirement( report );
+
+        index = new RequirementIndex();
+        index.index( backlog );
+    }
+
+    @After
+    public void tearDown()
+    {
+        index.close();
+    }
+
+    private static ProductStory createStory( int id, String title, String description )
+    {
+        return new ProductStory( id, title, description, 1.0f, Priority.MINOR, "Max",
+                                 RequirementKind.USER_STORY );
+    }
+
+    @Test
+    public void testSearch()
+    {
+        Assert.assertEquals( 3, index.size() );
+        Assert.assertEquals( Arrays.<IRequirement> asList( login, logout ),
+                             index.search( "login", 10 ) );
+        Assert.assertEquals( Arrays.<IRequirement> asList( login, logout ),
+                             index.search( "SYSTEM LOGIN", 10 ) );
+        Assert.assertEquals( Arrays.<IRequirement> asList( logout ),
+                             index.search( "system abmeldung", 10 ) );
+        Assert.assertEquals( Arrays.<IRequirement> asList( login ), index.search( "login", 1 ) );
+        Assert.assertTrue( index.search( "login pdf", 10 ).isEmpty() );
+        Assert.assertTrue( index.search( "  ", 10 ).isEmpty() );
+    }
+
+    @Test
+    public void testPrefixSearch()
+    {
+        List<IRequirement> result = index.search( "log*", 10 );
+        Assert.assertEquals( Arrays.<IRequirement> asList( logout, login ), result );
+        Assert.assertEquals( Arrays.<IRequirement> asList( report ),
+                             index.search( "bericht", 10 ) );
+        Assert.assertEquals( Arrays.<IRequirement> asList( report ),
+                             index.search( "monats*", 10 ) );
+        Assert.assertTrue( index.search( "monats", 10 ).isEmpty() );
+    }
+
+    @Test
+    public void testIncrementalUpdate()
+    {
+        report.setTitle( "Jahresbericht" );
+        Assert.assertTrue( index.search( "monatsbericht", 10 ).isEmpty() );
+        Assert.assertEquals( Arrays.<IRequirement> asList( report ),
+                             index.search( "jahresbericht", 10 ) );
+
+        login.setDescription( "Anmeldung per Jahresbericht" );
+        Assert.assertEquals( Arrays.<IRequirement> asList( report, login ),
+                             index.search( "jahresbericht", 10 ) );
+
+        backlog.removeRequirement( logout );
+        Assert.assertEquals( 2, index.size() );
+        Assert.assertTrue( index.search( "logout", 10 ).isEmpty() );
+
+        ProductStory export = createStory( 4, "Export", "Backlog als CSV" );
+        backlog.addAllRequirement( Arrays.<IProductRequirement> asList( export ) );
+        Assert.assertEquals( Arrays.<IRequirement> asList( export ), index.search( "csv", 10 ) );
+
+        Assert.assertTrue( index.unindex( backlog ) );
+        Assert.assertEquals( 0, index.size() );
+        Assert.assertTrue( index.search( "csv", 10 ).isEmpty() );
+    }
+
+    @Test
+    public void testUnitOfWork()
+    {
+        ProductStory export = createStory( 4, "Export", "Backlog als CSV" );
+        new UnitOfWork().addRequirements( backlog, Arrays.asList( export ) ).commit();
+        Assert.assertEquals( Arrays.<IRequirement> asList( export ), index.search( "csv", 10 ) );
+        Assert.assertFalse( ModelEventBus.getDefault().isBatchActive() );
+    }
+
+    @Test
+    public void testSharedRequirement()
+    {
+        Backlog<IProductRequirement> other = new Backlog<>();
+        other.addRequirement( login );
+        index.index( other );
+
+        backlog.removeRequirement( login );
+        Assert.assertEquals( Arrays.<IRequirement> asList( login, logout ),
+                             index.search( "login", 10 ) );
+        other.removeRequirement( login );
+        Assert.assertEquals( Arrays.<IRequirement> asList( logout ), index.search( "login", 10 ) );
+    }
+
+    @Test
+    public void testCompaction()
+    {
+        for ( int i = 10; i < 100; i++ )
+        {
+            backlog.addRequirement( createStory( i, "Aufgabe " + i, "Gemeinsam" ) );
+        }
+        for ( int i = 0; i < 80; i++ )
+        {
+            backlog.removeRequirement( backlog.getRequirementList().get( 3 ) );
+        }
+        Assert.assertEquals( 10, index.search( "gemeinsam", 100 ).size() );
+        Assert.assertEquals( 1, index.search( "aufgabe 99", 100 ).size() );
+    }
+
+    @Test
+    public void testInvalidParameter()
+    {
+        try
+        {
+            index.search( "login", 0 );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalArgumentException iae )
+        {
+        }
+    }
+}
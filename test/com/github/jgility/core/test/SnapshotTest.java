@@ -0,0 +1,308 @@
+package com.github.jgility.core.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.jgility.core.persistence.SnapshotProductStore;
+import com.github.jgility.core.persistence.SnapshotReader;
+import com.github.jgility.core.persistence.SnapshotWriter;
+import com.github.jgility.core.persistence.XmlProductStore;
+import com.github.jgility.core.planning.IRelease;
+import com.github.jgility.core.planning.Iteration;
+import com.github.jgility.core.planning.Release;
+import com.github.jgility.core.project.Person;
+import com.github.jgility.core.project.Product;
+import com.github.jgility.core.project.Project;
+import com.github.jgility.core.requirement.IProductRequirement;
+import com.github.jgility.core.requirement.IterationStory;
+import com.github.jgility.core.requirement.Priority;
+import com.github.jgility.core.requirement.ProductStory;
+import com.github.jgility.core.requirement.RequirementKind;
+
+public class SnapshotTest
+{
+
+    private Path file;
+
+    @Before
+    public void setUp()
+        throws IOException
+    {
+        file = File.createTempFile( "jgility", ".snapshot" ).toPath();
+    }
+
+    @After
+    public void tearDown()
+        throws IOException
+    {
+        Files.deleteIfExists( file );
+    }
+
+    @Test
+    public void testBlocks()
+    {
+        try (SnapshotWriter writer = new SnapshotWriter( file, 1024 ))
+        {
+            for ( int i = 0; i < 100; i++ )
+            {
+                writer.put( "entry/" + i, ( "Eintrag " + i + " " + repeat( i ) )
+                    .getBytes( StandardCharsets.UTF_8 ) );
+            }
+            writer.put( "empty", new byte[0] );
+            writer.commit();
+        }
+
+        try (SnapshotReader reader = new SnapshotReader( file ))
+        {
+            Assert.assertEquals( 101, reader.getKeys().size() );
+            Assert.assertEquals( "entry/0", reader.getKeys().get( 0 ) );
+            Assert.assertTrue( reader.getBlockCount() > 1 );
+            Assert.assertEquals( "Eintrag 57 " + repeat( 57 ), text( reader.get( "entry/57" ) ) );
+            Assert.assertEquals( "Eintrag 3 " + repeat( 3 ), text( reader.get( "entry/3" ) ) );
+            Assert.assertEquals( 0, reader.get( "empty" ).length );
+            Assert.assertFalse( reader.contains( "entry/100" ) );
+            try
+            {
+                reader.get( "entry/100" );
+                Assert.fail( "no exception was threw" );
+            }
+            catch ( IllegalArgumentException iae )
+            {
+            }
+        }
+    }
+
+    @Test
+    public void testDuplicateKey()
+    {
+        try (SnapshotWriter writer = new SnapshotWriter( file ))
+        {
+            writer.put( "key", new byte[1] );
+            writer.put( "key", new byte[1] );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalArgumentException iae )
+        {
+        }
+    }
+
+    @Test
+    public void testNoSnapshot()
+        throws IOException
+    {
+        Files.write( file, "<product/>".getBytes( StandardCharsets.UTF_8 ) );
+        try
+        {
+            new SnapshotReader( file );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalStateException ise )
+        {
+        }
+    }
+
+    @Test
+    public void testProductStore()
+        throws IOException
+    {
+        Product product = new Product( "Produkt", "Beschreibung", new Person() );
+        for ( int i = 0; i < 500; i++ )
+        {
+            product.getProductBacklog()
+                .addRequirement( new ProductStory( i, "Story " + i, "Beschreibung der Story " + i,
+                                                   i % 8, Priority.MAJOR, "Requester",
+                                                   RequirementKind.USER_STORY ) );
+        }
+        Project project = new Project( "Projekt", "Beschreibung" );
+        project.addMember( new Person( "Max", "Mustermann", "max@mustermann.de" ) );
+        for ( int month = 0; month < 3; month++ )
+        {
+            Release release =
+                new Release( new GregorianCalendar( 2012, month, 1 ),
+                             new GregorianCalendar( 2012, month, 28 ) );
+            Iteration iteration =
+                new Iteration( new GregorianCalendar( 2012, month, 1 ),
+                               new GregorianCalendar( 2012, month, 14 ) );
+            iteration.getIterationBacklog().addRequirement( new IterationStory() );
+            release.addIteration( iteration );
+            project.addReleasePlan( release );
+        }
+        product.addProject( project );
+        product.addProject( new Project( "Leer", "Ohne Releases" ) );
+
+        SnapshotProductStore store = new SnapshotProductStore( file, 4096 );
+        store.save( product );
+
+        Path xmlFile = file.resolveSibling( file.getFileName() + ".xml" );
+        try
+        {
+            new XmlProductStore( xmlFile ).save( product );
+            Assert.assertTrue( Files.size( file ) * 3 < Files.size( xmlFile ) );
+        }
+        finally
+        {
+            Files.deleteIfExists( xmlFile );
+        }
+
+        Product loaded = store.load();
+        Assert.assertEquals( product.getName(), loaded.getName() );
+        Assert.assertEquals( product.getProductOwner(), loaded.getProductOwner() );
+        Assert.assertEquals( 500, loaded.getProductBacklog().size() );
+        Assert.assertEquals( "Story 499", loaded.getProductBacklog().getRequirementList().get( 499 )
+            .getTitle() );
+        Assert.assertEquals( 2, loaded.getProjects().size() );
+        Assert.assertEquals( 2, store.getProjectCount() );
+
+        int number = product.getProjects().indexOf( project );
+        Project loadedProject = store.loadProject( number );
+        Assert.assertEquals( 3, loadedProject.getReleasePlan().size() );
+        Assert.assertEquals( project.getTeam().getName(), loadedProject.getTeam().getName() );
+        Assert.assertEquals( project.getTeam().getMembers(), loadedProject.getTeam().getMembers() );
+
+        IRelease release = store.loadRelease( number, 1 );
+        Assert.assertEquals( 1, release.getIteration( 0 ).getIterationBacklog().size() );
+        Assert.assertEquals( project.getReleasePlan().get( 1 ).getStart().getTimeInMillis(),
+                             release.getStart().getTimeInMillis() );
+
+        List<IProductRequirement> page = store.loadBacklog( 490, 20 );
+        Assert.assertEquals( 10, page.size() );
+        Assert.assertEquals( 490, page.get( 0 ).getID() );
+        Assert.assertTrue( store.loadBacklog( 600, 20 ).isEmpty() );
+
+        try
+        {
+            store.loadRelease( number, 3 );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalArgumentException iae )
+        {
+        }
+        store.close();
+    }
+
+    @Test
+    public void testFailedSave()
+    {
+        Product product = new Product( "Produkt", "Beschreibung", new Person() );
+        for ( int i = 0; i < 3; i++ )
+        {
+            product.getProductBacklog().addRequirement( createStory( i ) );
+        }
+        SnapshotProductStore store = new SnapshotProductStore( file );
+        store.save( product );
+
+        product.getProductBacklog().getRequirementList().get( 0 ).setTitle( "Geändert" );
+        product.getProductBacklog().addRequirement( createUnknownRequirement() );
+        try
+        {
+            store.save( product );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalStateException ise )
+        {
+        }
+
+        Assert.assertFalse( Files.exists( file.resolveSibling( file.getFileName() + ".tmp" ) ) );
+        Product loaded = store.load();
+        Assert.assertEquals( 3, loaded.getProductBacklog().size() );
+        Assert.assertEquals( "Story 0", loaded.getProductBacklog().getRequirementList().get( 0 )
+            .getTitle() );
+        store.close();
+    }
+
+    @Test
+    public void testConcurrentSave()
+        throws InterruptedException, ExecutionException
+    {
+        final SnapshotProductStore store = new SnapshotProductStore( file, 512 );
+        ExecutorService executor = Executors.newFixedThreadPool( 4 );
+        List<Future<?>> futures = new ArrayList<>();
+        try
+        {
+            for ( int i = 0; i < 8; i++ )
+            {
+                final Product product = new Product( "Produkt " + i, "Test", new Person() );
+                for ( int j = 0; j < 50; j++ )
+                {
+                    product.getProductBacklog().addRequirement( createStory( j ) );
+                }
+                futures.add( executor.submit( new Runnable()
+                {
+                    @Override
+                    public void run()
+                    {
+                        store.save( product );
+                    }
+                } ) );
+            }
+            for ( Future<?> future : futures )
+            {
+                future.get();
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+
+        Product loaded = store.load();
+        Assert.assertTrue( loaded.getName().startsWith( "Produkt " ) );
+        Assert.assertEquals( 50, loaded.getProductBacklog().size() );
+        store.close();
+    }
+
+    private static ProductStory createStory( int id )
+    {
+        return new ProductStory( id, "Story " + id, "Beschreibung", 3, Priority.MAJOR,
+                                 "Requester", RequirementKind.USER_STORY );
+    }
+
+    /*
+     * Anforderung, deren Klasse dem JAXB-Kontext unbekannt ist
+     */
+    private static IProductRequirement createUnknownRequirement()
+    {
+        InvocationHandler handler = new InvocationHandler()
+        {
+            @Override
+            public Object invoke( Object proxy, Method method, Object[] args )
+            {
+                return null;
+            }
+        };
+        Class<?>[] interfaces = { IProductRequirement.class };
+        return (IProductRequirement) Proxy.newProxyInstance( SnapshotTest.class.getClassLoader(),
+                                                             interfaces, handler );
+    }
+
+    private static String text( byte[] data )
+    {
+        return new String( data, StandardCharsets.UTF_8 );
+    }
+
+    private static String repeat( int count )
+    {
+        char[] chars = new char[count * 10];
+        Arrays.fill( chars, 'x' );
+        return new String( chars );
+    }
+}
@@ -0,0 +1,218 @@
+package com.github.jgility.core.test;
+
+import java.util.GregorianCalendar;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.jgility.core.analytics.TeamAnalytics;
+import com.github.jgility.core.analytics.TeamVelocity;
+import com.github.jgility.core.planning.Backlog;
+import com.github.jgility.core.planning.Iteration;
+import com.github.jgility.core.planning.Release;
+import com.github.jgility.core.project.Person;
+import com.github.jgility.core.project.Project;
+import com.github.jgility.core.project.Team;
+import com.github.jgility.core.requirement.IIterationRequirement;
+import com.github.jgility.core.requirement.ImplementState;
+import com.github.jgility.core.requirement.IterationStory;
+import com.github.jgility.core.requirement.Priority;
+import com.github.jgility.core.requirement.RequirementKind;
+
+public class TeamAnalyticsTest
+{
+
+    private TeamAnalytics analytics;
+
+    private Team team;
+
+    private Release release;
+
+    private Iteration first;
+
+    private Iteration second;
+
+    private Iteration third;
+
+    @Before
+    public void setUp()
+    {
+        team = new Team( "Team" );
+        team.addMember( new Person() );
+        team.addMember( new Person() );
+
+        release =
+            new Release( new GregorianCalendar( 2012, 0, 1 ), new GregorianCalendar( 2012, 2, 1 ) );
+        first = createIteration( 0, 1, 0, 14 );
+        second = createIteration( 0, 10, 0, 28 );
+        third = createIteration( 0, 20, 1, 10 );
+        addStory( first, 3, ImplementState.DONE, team );
+        addStory( first, 2, ImplementState.PENDING, team );
+        addStory( second, 5, ImplementState.DONE, team );
+        addStory( third, 8, ImplementState.PENDING, team );
+        addStory( third, 1, ImplementState.PENDING, Team.UNASSIGNED );
+        release.addIteration( first );
+        release.addIteration( second );
+        release.addIteration( third );
+
+        Project project = new Project( "Projekt", "Beschreibung" );
+        project.addReleasePlan( release );
+        analytics = new TeamAnalytics();
+        analytics.setReferenceDate( new GregorianCalendar( 2012, 1, 1 ) );
+        analytics.track( project );
+    }
+
+    @After
+    public void tearDown()
+    {
+        analytics.close();
+    }
+
+    @Test
+    public void testVelocity()
+    {
+        TeamVelocity velocity = analytics.getVelocity( team );
+        Assert.assertEquals( 2, velocity.getFinishedIterations() );
+        Assert.assertEquals( 5f, velocity.getVelocity(), 0f );
+        Assert.assertEquals( 4f, velocity.getAverageVelocity(), 0f );
+        Assert.assertEquals( 8f, velocity.getOpenPoints(), 0f );
+        Assert.assertEquals( 4f, velocity.getLoadPerMember(), 0f );
+        Assert.assertEquals( 2f, velocity.getCapacityPerMember(), 0f );
+        Assert.assertEquals( 2, velocity.getForecastIterations() );
+        Assert.assertSame( velocity, analytics.getVelocity( team ) );
+        Assert.assertEquals( 1, analytics.getTeams().size() );
+    }
+
+    @Test
+    public void testIncrementalUpdate()
+    {
+        List<IIterationRequirement> stories = third.getIterationBacklog().getRequirementList();
+        IIterationRequirement open = stories.get( 0 );
+        IIterationRequirement unassigned = stories.get( 1 );
+        TeamVelocity before = analytics.getVelocity( team );
+
+        unassigned.setAssignee( team );
+        open.setEstimated( 4 );
+        Assert.assertNotSame( before, analytics.getVelocity( team ) );
+        Assert.assertEquals( 5f, analytics.getVelocity( team ).getOpenPoints(), 0f );
+
+        open.setImplementState( ImplementState.DONE );
+        Assert.assertEquals( 1f, analytics.getVelocity( team ).getOpenPoints(), 0f );
+
+        Backlog<IIterationRequirement> backlog = second.getIterationBacklog();
+        backlog.removeRequirement( backlog.getRequirementList().get( 0 ) );
+        TeamVelocity velocity = analytics.getVelocity( team );
+        Assert.assertEquals( 1, velocity.getFinishedIterations() );
+        Assert.assertEquals( 3f, velocity.getVelocity(), 0f );
+
+        Iteration fourth = createIteration( 1, 5, 1, 20 );
+        addStory( fourth, 6, ImplementState.PENDING, team );
+        release.addIteration( fourth );
+        Assert.assertEquals( 7f, analytics.getVelocity( team ).getOpenPoints(), 0f );
+    }
+
+    @Test
+    public void testMovedRequirement()
+    {
+        IIterationRequirement done = second.getIterationBacklog().getRequirementList().get( 0 );
+        third.getIterationBacklog().addRequirement( done );
+        second.getIterationBacklog().removeRequirement( done );
+
+        analytics.setReferenceDate( new GregorianCalendar( 2012, 1, 20 ) );
+        TeamVelocity velocity = analytics.getVelocity( team );
+        Assert.assertEquals( 2, velocity.getFinishedIterations() );
+        Assert.assertEquals( 5f, velocity.getVelocity(), 0f );
+    }
+
+    @Test
+    public void testSharedRequirement()
+    {
+        IIterationRequirement open = third.getIterationBacklog().getRequirementList().get( 0 );
+        Iteration fourth = createIteration( 1, 5, 1, 20 );
+        fourth.getIterationBacklog().addRequirement( open );
+        release.addIteration( fourth );
+        Assert.assertEquals( 16f, analytics.getVelocity( team ).getOpenPoints(), 0f );
+
+        third.getIterationBacklog().addRequirement( open );
+        third.getIterationBacklog().removeRequirement( open );
+        Assert.assertEquals( 16f, analytics.getVelocity( team ).getOpenPoints(), 0f );
+
+        third.getIterationBacklog().removeRequirement( open );
+        Assert.assertEquals( 8f, analytics.getVelocity( team ).getOpenPoints(), 0f );
+    }
+
+    @Test
+    public void testFractionalPoints()
+    {
+        List<IIterationRequirement> stories = third.getIterationBacklog().getRequirementList();
+        stories.get( 1 ).setEstimated( 7.7f );
+        stories.get( 1 ).setAssignee( team );
+        for ( int i = 0; i < 1000; i++ )
+        {
+            stories.get( 0 ).setEstimated( 1.1f );
+            stories.get( 0 ).setEstimated( 0.7f );
+        }
+        stories.get( 0 ).setEstimated( 8 );
+        Assert.assertEquals( 7.7f + 8f, analytics.getVelocity( team ).getOpenPoints(), 0f );
+    }
+
+    @Test
+    public void testReferenceDate()
+    {
+        analytics.setReferenceDate( new GregorianCalendar( 2012, 1, 20 ) );
+        TeamVelocity velocity = analytics.getVelocity( team );
+        Assert.assertEquals( 3, velocity.getFinishedIterations() );
+        Assert.assertEquals( 0f, velocity.getVelocity(), 0f );
+        Assert.assertEquals( 0f, velocity.getOpenPoints(), 0f );
+
+        third.setEnd( new GregorianCalendar( 2012, 1, 25 ) );
+        velocity = analytics.getVelocity( team );
+        Assert.assertEquals( 2, velocity.getFinishedIterations() );
+        Assert.assertEquals( 8f, velocity.getOpenPoints(), 0f );
+    }
+
+    @Test
+    public void testUnknownTeam()
+    {
+        Team other = new Team( "Andere" );
+        other.addMember( new Person() );
+        TeamVelocity velocity = analytics.getVelocity( other );
+        Assert.assertEquals( 0, velocity.getFinishedIterations() );
+        Assert.assertEquals( 1, velocity.getMembers() );
+        Assert.assertEquals( 0, velocity.getForecastIterations() );
+    }
+
+    @Test
+    public void testInvalidParameter()
+    {
+        try
+        {
+            analytics.getVelocity( null );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalArgumentException iae )
+        {
+        }
+    }
+
+    private static Iteration createIteration( int startMonth, int startDay, int endMonth,
+                                              int endDay )
+    {
+        return new Iteration( new GregorianCalendar( 2012, startMonth, startDay ),
+                              new GregorianCalendar( 2012, endMonth, endDay ) );
+    }
+
+    private static void addStory( Iteration iteration, float estimated, ImplementState state,
+                                  Team team )
+    {
+        IterationStory story =
+            new IterationStory( iteration.getIterationBacklog().size() + 1, "Story", "Test",
+                                estimated, Priority.MINOR, "Requester", RequirementKind.TASK );
+        story.setImplementState( state );
+        story.setAssignee( team );
+        iteration.getIterationBacklog().addRequirement( story );
+    }
+}
@@ -0,0 +1,187 @@
+package com.github.jgility.core.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.jgility.core.persistence.XmlProductStore;
+import com.github.jgility.core.planning.Backlog;
+import com.github.jgility.core.planning.Iteration;
+import com.github.jgility.core.planning.Release;
+import com.github.jgility.core.project.Person;
+import com.github.jgility.core.project.Product;
+import com.github.jgility.core.requirement.IProductRequirement;
+import com.github.jgility.core.requirement.ProductStory;
+import com.github.jgility.core.trace.ITraceSink;
+import com.github.jgility.core.trace.TraceSpan;
+import com.github.jgility.core.trace.TraceType;
+import com.github.jgility.core.trace.Tracing;
+import com.github.jgility.core.util.ReleasePlanningUtils;
+
+public class TracingTest
+{
+
+    private final List<TraceSpan> begun = new ArrayList<>();
+
+    private final List<TraceSpan> ended = new ArrayList<>();
+
+    private boolean enabled = true;
+
+    private final ITraceSink sink = new ITraceSink()
+    {
+        @Override
+        public boolean isEnabled( TraceType type )
+        {
+            return enabled;
+        }
+
+        @Override
+        public void begin( TraceSpan span )
+        {
+            begun.add( span );
+        }
+
+        @Override
+        public void end( TraceSpan span )
+        {
+            ended.add( span );
+        }
+    };
+
+    @After
+    public void tearDown()
+    {
+        Tracing.disable();
+    }
+
+    @Test
+    public void testDisabledCreatesNoSpan()
+    {
+        Assert.assertNull( Tracing.begin( TraceType.PRODUCT_LOAD ) );
+        Tracing.end( null );
+
+        enabled = false;
+        Tracing.setSink( sink );
+        new Backlog<IProductRequirement>().addAllRequirement( createStories( 3 ) );
+        Assert.assertNull( Tracing.begin( TraceType.BACKLOG_IMPORT ) );
+        Assert.assertTrue( begun.isEmpty() );
+    }
+
+    @Test
+    public void testBacklogImport()
+    {
+        Tracing.setSink( sink );
+        Backlog<IProductRequirement> backlog = new Backlog<>();
+        backlog.addAllRequirement( createStories( 3 ) );
+        backlog.addRequirements( 1, createStories( 2 ) );
+        backlog.addRequirement( new ProductStory() );
+
+        Assert.assertEquals( 2, ended.size() );
+        Assert.assertEquals( TraceType.BACKLOG_IMPORT, ended.get( 0 ).getType() );
+        Assert.assertEquals( 3, ended.get( 0 ).getRequirements() );
+        Assert.assertEquals( 2, ended.get( 1 ).getRequirements() );
+        Assert.assertEquals( begun, ended );
+    }
+
+    @Test
+    public void testReleaseReschedule()
+    {
+        Release release =
+            new Release( new GregorianCalendar( 2012, Calendar.JANUARY, 1 ),
+                         new GregorianCalendar( 2012, Calendar.JANUARY, 31 ) );
+        Calendar iterationEnd = new GregorianCalendar( 2012, Calendar.JANUARY, 14 );
+        release.addIteration( new Iteration( new GregorianCalendar( 2012, Calendar.JANUARY, 1 ),
+                                             iterationEnd ) );
+        Tracing.setSink( sink );
+        Calendar start = new GregorianCalendar( 2012, Calendar.FEBRUARY, 1 );
+        Calendar end = new GregorianCalendar( 2012, Calendar.MARCH, 1 );
+        ReleasePlanningUtils.changePlanPerPercent( release, start, end );
+
+        Assert.assertEquals( 1, ended.size() );
+        TraceSpan span = ended.get( 0 );
+        Assert.assertEquals( TraceType.RELEASE_RESCHEDULE, span.getType() );
+        Assert.assertEquals( 1, span.getIterations() );
+        Assert.assertEquals( 0, span.getRequirements() );
+        Assert.assertEquals( "01.02.2012 - 01.03.2012", span.getSubject() );
+        Assert.assertTrue( span.getElapsedNanos() >= 0 );
+    }
+
+    @Test
+    public void testProductLoadSave()
+        throws IOException
+    {
+        File file = File.createTempFile( "jgility", ".xml" );
+        try
+        {
+            Product product = new Product( "Test", "Description", new Person() );
+            product.getProductBacklog().addRequirement( new ProductStory() );
+            XmlProductStore store = new XmlProductStore( file.toPath() );
+            Tracing.setSink( sink );
+            store.save( product );
+            store.load();
+
+            Assert.assertEquals( 2, ended.size() );
+            TraceSpan save = ended.get( 0 );
+            TraceSpan load = ended.get( 1 );
+            Assert.assertEquals( TraceType.PRODUCT_SAVE, save.getType() );
+            Assert.assertEquals( TraceType.PRODUCT_LOAD, load.getType() );
+            Assert.assertEquals( file.length(), load.getBytes() );
+            Assert.assertEquals( file.toString(), load.getSubject() );
+            Assert.assertEquals( 0, load.getProjects() );
+            Assert.assertEquals( 1, load.getRequirements() );
+            Assert.assertEquals( save.getBytes(), load.getBytes() );
+        }
+        finally
+        {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void testFailedLoad()
+    {
+        Tracing.setSink( sink );
+        try
+        {
+            new XmlProductStore( new File( "does-not-exist.xml" ).toPath() ).load();
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalStateException ise )
+        {
+        }
+        Assert.assertEquals( 1, ended.size() );
+        Assert.assertEquals( -1, ended.get( 0 ).getBytes() );
+        Assert.assertEquals( -1, ended.get( 0 ).getRequirements() );
+    }
+
+    @Test
+    public void testInvalidSink()
+    {
+        try
+        {
+            Tracing.setSink( null );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalArgumentException iae )
+        {
+        }
+    }
+
+    private static List<IProductRequirement> createStories( int count )
+    {
+        IProductRequirement[] stories = new IProductRequirement[count];
+        for ( int i = 0; i < count; i++ )
+        {
+            stories[i] = new ProductStory();
+        }
+        return Arrays.asList( stories );
+    }
+}
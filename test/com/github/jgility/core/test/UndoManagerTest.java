@@ -0,0 +1,118 @@
+package com.github.jgility.core.test;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.jgility.core.planning.Backlog;
+import com.github.jgility.core.planning.Iteration;
+import com.github.jgility.core.planning.Release;
+import com.github.jgility.core.requirement.IProductRequirement;
+import com.github.jgility.core.requirement.Priority;
+import com.github.jgility.core.requirement.ProductStory;
+import com.github.jgility.core.requirement.RequirementKind;
+import com.github.jgility.core.transaction.Mutations;
+import com.github.jgility.core.transaction.UndoManager;
+import com.github.jgility.core.transaction.UnitOfWork;
+
+public class UndoManagerTest
+{
+
+    @Test
+    public void testUndoRedoReorder()
+    {
+        Backlog<IProductRequirement> backlog = createBacklog( 5 );
+        List<IProductRequirement> original = new ArrayList<>( backlog.getRequirementList() );
+
+        UndoManager undoManager = new UndoManager();
+        undoManager.execute( Mutations.moveRequirement( backlog, 0, 4 ) );
+        undoManager.execute( Mutations.moveRequirement( backlog, 1, 2 ) );
+        List<IProductRequirement> reordered = new ArrayList<>( backlog.getRequirementList() );
+        Assert.assertEquals( original.get( 0 ), reordered.get( 4 ) );
+
+        undoManager.undo();
+        undoManager.undo();
+        Assert.assertEquals( original, backlog.getRequirementList() );
+        Assert.assertFalse( undoManager.canUndo() );
+
+        undoManager.redo();
+        undoManager.redo();
+        Assert.assertEquals( reordered, backlog.getRequirementList() );
+        Assert.assertFalse( undoManager.canRedo() );
+    }
+
+    @Test
+    public void testUndoChangePlanPerPercent()
+    {
+        Release release =
+            new Release( new GregorianCalendar( 2012, 2, 1 ), new GregorianCalendar( 2012, 2, 28 ) );
+        release.addIteration( new Iteration( new GregorianCalendar( 2012, 2, 1 ),
+                                             new GregorianCalendar( 2012, 2, 15 ) ) );
+        release.addIteration( new Iteration( new GregorianCalendar( 2012, 2, 15 ),
+                                             new GregorianCalendar( 2012, 2, 28 ) ) );
+        Calendar oldStart = release.getStart();
+        Calendar oldEnd = release.getIteration( 0 ).getEnd();
+        Calendar oldLastEnd = release.getIteration( 1 ).getEnd();
+
+        UndoManager undoManager = new UndoManager();
+        UnitOfWork unitOfWork = new UnitOfWork();
+        unitOfWork.addChangeSetListener( undoManager );
+        unitOfWork.changePlanPerPercent( release, new GregorianCalendar( 2012, 3, 1 ),
+                                         new GregorianCalendar( 2012, 4, 1 ) ).commit();
+        Assert.assertEquals( 3, release.getStart().get( Calendar.MONTH ) );
+
+        undoManager.undo();
+        Assert.assertEquals( oldStart, release.getStart() );
+        Assert.assertEquals( oldEnd, release.getIteration( 0 ).getEnd() );
+        Assert.assertEquals( oldLastEnd, release.getIteration( 1 ).getEnd() );
+    }
+
+    @Test
+    public void testBoundedHistory()
+    {
+        Backlog<IProductRequirement> backlog = createBacklog( 3 );
+        UndoManager undoManager = new UndoManager( 2 );
+        for ( int i = 0; i < 5; i++ )
+        {
+            undoManager.execute( Mutations.moveRequirement( backlog, 0, 2 ) );
+        }
+        Assert.assertEquals( 2, undoManager.getUndoCount() );
+    }
+
+    @Test
+    public void testNewChangeClearsRedo()
+    {
+        Backlog<IProductRequirement> backlog = createBacklog( 3 );
+        UndoManager undoManager = new UndoManager();
+        undoManager.execute( Mutations.moveRequirement( backlog, 0, 2 ) );
+        undoManager.undo();
+        Assert.assertTrue( undoManager.canRedo() );
+
+        undoManager.execute( Mutations.moveRequirement( backlog, 1, 2 ) );
+        Assert.assertFalse( undoManager.canRedo() );
+        try
+        {
+            undoManager.redo();
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalStateException ise )
+        {
+        }
+    }
+
+    private static Backlog<IProductRequirement> createBacklog( int count )
+    {
+        Backlog<IProductRequirement> backlog = new Backlog<>();
+        for ( int i = 1; i <= count; i++ )
+        {
+            backlog.addRequirement( new ProductStory( i, "Story " + i, "Description", 1,
+                                                      Priority.MINOR, "Tester",
+                                                      RequirementKind.USER_STORY ) );
+        }
+        return backlog;
+    }
+}
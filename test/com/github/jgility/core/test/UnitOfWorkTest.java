@@ -0,0 +1,214 @@
+package com.github.jgility.core.test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.jgility.core.event.IModelListener;
+import com.github.jgility.core.event.ModelEvent;
+import com.github.jgility.core.event.ModelEventBus;
+import com.github.jgility.core.planning.Backlog;
+import com.github.jgility.core.planning.Iteration;
+import com.github.jgility.core.requirement.IIterationRequirement;
+import com.github.jgility.core.requirement.IterationStory;
+import com.github.jgility.core.requirement.Priority;
+import com.github.jgility.core.requirement.RequirementKind;
+import com.github.jgility.core.transaction.ChangeSet;
+import com.github.jgility.core.transaction.IChangeSetListener;
+import com.github.jgility.core.transaction.Mutations;
+import com.github.jgility.core.transaction.UnitOfWork;
+
+public class UnitOfWorkTest
+{
+
+    private final List<List<ModelEvent>> notifications = new ArrayList<>();
+
+    private final IModelListener listener = new IModelListener()
+    {
+        @Override
+        public void modelChanged( List<ModelEvent> events )
+        {
+            notifications.add( events );
+        }
+    };
+
+    @Before
+    public void setUp()
+    {
+        ModelEventBus.getDefault().addListener( listener );
+    }
+
+    @After
+    public void tearDown()
+    {
+        ModelEventBus.getDefault().removeListener( listener );
+    }
+
+    @Test
+    public void testBulkAdd()
+    {
+        Backlog<IIterationRequirement> backlog = new Iteration().getIterationBacklog();
+        List<IIterationRequirement> stories = createStories( 100 );
+
+        final List<ChangeSet> changeSets = new ArrayList<>();
+        UnitOfWork unitOfWork = new UnitOfWork().addRequirements( backlog, stories );
+        unitOfWork.addChangeSetListener( new IChangeSetListener()
+        {
+            @Override
+            public void committed( ChangeSet changeSet )
+            {
+                changeSets.add( changeSet );
+            }
+        } );
+        unitOfWork.commit();
+
+        Assert.assertEquals( stories, backlog.getRequirementList() );
+        Assert.assertEquals( 1, notifications.size() );
+        Assert.assertEquals( 1, changeSets.size() );
+        Assert.assertEquals( 1, changeSets.get( 0 ).size() );
+    }
+
+    @Test
+    public void testMoveRequirements()
+    {
+        Backlog<IIterationRequirement> source = new Iteration().getIterationBacklog();
+        Backlog<IIterationRequirement> target = new Iteration().getIterationBacklog();
+        List<IIterationRequirement> stories = createStories( 5 );
+        source.addAllRequirement( stories );
+        notifications.clear();
+
+        List<IIterationRequirement> moved = Arrays.asList( stories.get( 1 ), stories.get( 3 ) );
+        new UnitOfWork().moveRequirements( source, target, moved ).commit();
+
+        Assert.assertEquals( 3, source.size() );
+        Assert.assertEquals( moved, target.getRequirementList() );
+        Assert.assertEquals( 1, notifications.size() );
+        Assert.assertEquals( 2, notifications.get( 0 ).size() );
+    }
+
+    @Test
+    public void testRollback()
+    {
+        Backlog<IIterationRequirement> source = new Iteration().getIterationBacklog();
+        Backlog<IIterationRequirement> target = new Iteration().getIterationBacklog();
+        List<IIterationRequirement> stories = createStories( 4 );
+        source.addAllRequirement( stories.subList( 0, 3 ) );
+        notifications.clear();
+
+        UnitOfWork unitOfWork = new UnitOfWork();
+        unitOfWork.moveRequirements( source, target, stories.subList( 0, 2 ) );
+        unitOfWork.removeRequirements( source, Collections.singletonList( stories.get( 3 ) ) );
+        try
+        {
+            unitOfWork.commit();
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalArgumentException iae )
+        {
+        }
+
+        Assert.assertEquals( stories.subList( 0, 3 ), source.getRequirementList() );
+        Assert.assertTrue( target.getRequirementList().isEmpty() );
+        Assert.assertTrue( notifications.isEmpty() );
+        Assert.assertFalse( ModelEventBus.getDefault().isBatchActive() );
+    }
+
+    @Test
+    public void testInvalidMutation()
+    {
+        Backlog<IIterationRequirement> backlog = new Iteration().getIterationBacklog();
+        UnitOfWork unitOfWork = new UnitOfWork();
+        unitOfWork.addRequirements( backlog, createStories( 2 ) );
+        unitOfWork.addRequirements( backlog, new ArrayList<IIterationRequirement>() );
+        try
+        {
+            unitOfWork.commit();
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalArgumentException iae )
+        {
+        }
+        Assert.assertEquals( 0, backlog.size() );
+    }
+
+    @Test
+    public void testMoveWithinBacklog()
+    {
+        Backlog<IIterationRequirement> backlog = new Iteration().getIterationBacklog();
+        List<IIterationRequirement> stories = createStories( 3 );
+        backlog.addAllRequirement( stories );
+        notifications.clear();
+
+        final List<ChangeSet> changeSets = new ArrayList<>();
+        UnitOfWork unitOfWork = new UnitOfWork().add( Mutations.moveRequirement( backlog, 0, 2 ) );
+        unitOfWork.addChangeSetListener( new IChangeSetListener()
+        {
+            @Override
+            public void committed( ChangeSet changeSet )
+            {
+                changeSets.add( changeSet );
+            }
+        } );
+        unitOfWork.commit();
+
+        Assert.assertSame( stories.get( 0 ), backlog.getRequirementList().get( 2 ) );
+        ModelEvent published = notifications.get( 0 ).get( 0 );
+        ModelEvent described = changeSets.get( 0 ).getEvents().get( 0 );
+        Assert.assertSame( stories.get( 0 ), published.getValue() );
+        Assert.assertSame( published.getValue(), described.getValue() );
+        Assert.assertEquals( published.getKind(), described.getKind() );
+    }
+
+    @Test
+    public void testInvalidMove()
+    {
+        Backlog<IIterationRequirement> backlog = new Iteration().getIterationBacklog();
+        UnitOfWork unitOfWork = new UnitOfWork();
+        unitOfWork.addRequirements( backlog, createStories( 2 ) );
+        unitOfWork.add( Mutations.moveRequirement( backlog, 0, 2 ) );
+        try
+        {
+            unitOfWork.commit();
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalArgumentException iae )
+        {
+        }
+        Assert.assertEquals( 0, backlog.size() );
+        Assert.assertTrue( notifications.isEmpty() );
+    }
+
+    @Test
+    public void testCommitTwice()
+    {
+        UnitOfWork unitOfWork = new UnitOfWork();
+        unitOfWork.addRequirements( new Backlog<IIterationRequirement>(), createStories( 1 ) );
+        unitOfWork.commit();
+        try
+        {
+            unitOfWork.commit();
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalStateException ise )
+        {
+        }
+    }
+
+    private static List<IIterationRequirement> createStories( int count )
+    {
+        List<IIterationRequirement> stories = new ArrayList<>();
+        for ( int i = 1; i <= count; i++ )
+        {
+            stories.add( new IterationStory( i, "Story " + i, "Description", 1,
+                                             Priority.MINOR, "Tester",
+                                             RequirementKind.USER_STORY ) );
+        }
+        return stories;
+    }
+}
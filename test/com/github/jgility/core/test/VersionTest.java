@@ -0,0 +1,133 @@
+package com.github.jgility.core.test;
+
+import java.util.ConcurrentModificationException;
+import java.util.GregorianCalendar;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.github.jgility.core.planning.Iteration;
+import com.github.jgility.core.planning.Release;
+import com.github.jgility.core.project.Person;
+import com.github.jgility.core.project.Team;
+import com.github.jgility.core.requirement.ImplementState;
+import com.github.jgility.core.requirement.IterationStory;
+import com.github.jgility.core.util.IModification;
+import com.github.jgility.core.util.VersionUtils;
+
+public class VersionTest
+{
+
+    @Test
+    public void testUpdate()
+    {
+        IterationStory story = new IterationStory();
+        long version = story.getVersion();
+        Assert.assertEquals( 0, version );
+
+        long newVersion =
+            VersionUtils.update( story, version, new IModification<IterationStory>()
+            {
+                @Override
+                public void apply( IterationStory entity )
+                {
+                    entity.setImplementState( ImplementState.DONE );
+                }
+            } );
+
+        Assert.assertEquals( version + 2, newVersion );
+        Assert.assertEquals( newVersion, story.getVersion() );
+        Assert.assertEquals( ImplementState.DONE, story.getImplementState() );
+    }
+
+    @Test
+    public void testUpdateStaleVersion()
+    {
+        Release release =
+            new Release( new GregorianCalendar( 2012, 2, 1 ), new GregorianCalendar( 2012, 2, 28 ) );
+        long version = release.getVersion();
+        IModification<Release> modification = new IModification<Release>()
+        {
+            @Override
+            public void apply( Release entity )
+            {
+                entity.addIteration( new Iteration( new GregorianCalendar( 2012, 2, 1 ),
+                                                    new GregorianCalendar( 2012, 2, 14 ) ) );
+            }
+        };
+        VersionUtils.update( release, version, modification );
+
+        try
+        {
+            VersionUtils.update( release, version, modification );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( ConcurrentModificationException cme )
+        {
+        }
+
+        Assert.assertEquals( 1, release.size() );
+    }
+
+    @Test
+    public void testUpdateFailedModification()
+    {
+        Team team = new Team( "Test" );
+        try
+        {
+            VersionUtils.update( team, team.getVersion(), new IModification<Team>()
+            {
+                @Override
+                public void apply( Team entity )
+                {
+                    entity.setName( "" );
+                }
+            } );
+            Assert.fail( "no exception was threw" );
+        }
+        catch ( IllegalArgumentException iae )
+        {
+        }
+
+        Assert.assertTrue( VersionUtils.isStable( team.getVersion() ) );
+        Assert.assertEquals( 2, team.getVersion() );
+    }
+
+    @Test
+    public void testConcurrentMergeUpdate()
+        throws InterruptedException
+    {
+        final Team team = new Team( "Test" );
+        final int updatesPerThread = 500;
+        Thread[] threads = new Thread[4];
+        for ( int i = 0; i < threads.length; i++ )
+        {
+            threads[i] = new Thread( new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    for ( int j = 0; j < updatesPerThread; j++ )
+                    {
+                        VersionUtils.update( team, new IModification<Team>()
+                        {
+                            @Override
+                            public void apply( Team entity )
+                            {
+                                entity.addMember( new Person() );
+                            }
+                        }, Integer.MAX_VALUE );
+                    }
+                }
+            } );
+            threads[i].start();
+        }
+        for ( Thread thread : threads )
+        {
+            thread.join();
+        }
+
+        Assert.assertEquals( threads.length * updatesPerThread, team.getMembers().size() );
+        Assert.assertEquals( 2L * threads.length * updatesPerThread, team.getVersion() );
+    }
+}